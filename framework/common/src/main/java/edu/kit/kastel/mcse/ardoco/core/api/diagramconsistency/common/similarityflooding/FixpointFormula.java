@@ -1,8 +1,7 @@
-/* Licensed under MIT 2023. */
+/* Licensed under MIT 2023-2024. */
 package edu.kit.kastel.mcse.ardoco.core.api.diagramconsistency.common.similarityflooding;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 import java.util.function.UnaryOperator;
 
 /**
@@ -20,7 +19,7 @@ public interface FixpointFormula {
      * @param third  The third mapping.
      * @return The sum of the mappings.
      */
-    static List<Double> add(List<Double> first, List<Double> second, List<Double> third) {
+    static double[] add(double[] first, double[] second, double[] third) {
         return add(add(first, second), third);
     }
 
@@ -33,14 +32,14 @@ static List<Double> add(List<Double> first, List<Double> second, List<Double> th
      *               The second mapping.
      * @return The sum of the mappings.
      */
-    static List<Double> add(List<Double> first, List<Double> second) {
-        if (first.size() != second.size()) {
+    static double[] add(double[] first, double[] second) {
+        if (first.length != second.length) {
             throw new IllegalArgumentException("The given mappings must have the same size.");
         }
 
-        List<Double> result = new ArrayList<>(first.size());
-        for (int i = 0; i < first.size(); i++) {
-            result.add(first.get(i) + second.get(i));
+        double[] result = new double[first.length];
+        for (int i = 0; i < first.length; i++) {
+            result[i] = first[i] + second[i];
         }
 
         return result;
@@ -53,14 +52,19 @@ static List<Double> add(List<Double> first, List<Double> second) {
      *                The mapping to normalize.
      * @return The normalized mapping.
      */
-    static List<Double> normalize(List<Double> mapping) {
-        double max = mapping.stream().mapToDouble(Double::doubleValue).max().orElse(0.0);
+    static double[] normalize(double[] mapping) {
+        double max = Arrays.stream(mapping).max().orElse(0.0);
 
         if (max == 0) {
             return mapping;
         }
 
-        return mapping.stream().map(value -> value / max).toList();
+        double[] result = new double[mapping.length];
+        for (int i = 0; i < mapping.length; i++) {
+            result[i] = mapping[i] / max;
+        }
+
+        return result;
     }
 
     /**
@@ -116,5 +120,5 @@ static FixpointFormula getCFormula() {
      *                        The flooding function.
      * @return The next mapping.
      */
-    List<Double> calculate(List<Double> initialMapping, List<Double> previousMapping, UnaryOperator<List<Double>> flood);
+    double[] calculate(double[] initialMapping, double[] previousMapping, UnaryOperator<double[]> flood);
 }
@@ -1,23 +1,19 @@
-/* Licensed under MIT 2023. */
+/* Licensed under MIT 2023-2024. */
 package edu.kit.kastel.mcse.ardoco.core.api.diagramconsistency.common.similarityflooding;
 
-import java.util.AbstractMap;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.SequencedSet;
 import java.util.Set;
-import java.util.function.BiFunction;
-import java.util.function.Function;
-import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
-import org.eclipse.collections.impl.factory.Sets;
-import org.jgrapht.Graph;
 import org.jgrapht.alg.util.Pair;
-import org.jgrapht.graph.DefaultWeightedEdge;
 import org.jgrapht.graph.DirectedMultigraph;
-import org.jgrapht.graph.DirectedWeightedMultigraph;
 
 import edu.kit.kastel.mcse.ardoco.core.architecture.Deterministic;
 
@@ -39,9 +35,10 @@
     private final int maxIterations;
     private final PropagationCoefficientFormula<A, B> propagationCoefficientFormula;
     private final FixpointFormula fixpointFormula;
+    private final boolean parallel;
 
     /**
-     * Create a new instance of the SimilarityFloodingAlgorithm.
+     * Create a new instance of the SimilarityFloodingAlgorithm that floods the similarities sequentially.
      *
      * @param epsilon
      *                                      The threshold at which the algorithm stops.
@@ -54,6 +51,25 @@
      */
     public SimilarityFloodingAlgorithm(double epsilon, int maxIterations, PropagationCoefficientFormula<A, B> propagationCoefficientFormula,
             FixpointFormula fixpointFormula) {
+        this(epsilon, maxIterations, propagationCoefficientFormula, fixpointFormula, false);
+    }
+
+    /**
+     * Create a new instance of the SimilarityFloodingAlgorithm.
+     *
+     * @param epsilon
+     *                                      The threshold at which the algorithm stops.
+     * @param maxIterations
+     *                                      The maximum number of iterations the algorithm should perform, even if the threshold is not reached.
+     * @param propagationCoefficientFormula
+     *                                      The equation used to calculate the propagation coefficient.
+     * @param fixpointFormula
+     *                                      The equation used to calculate the next iteration's similarity mapping.
+     * @param parallel
+     *                                      Whether the similarities of the vertices are flooded in parallel. The result is the same in both cases.
+     */
+    public SimilarityFloodingAlgorithm(double epsilon, int maxIterations, PropagationCoefficientFormula<A, B> propagationCoefficientFormula,
+            FixpointFormula fixpointFormula, boolean parallel) {
         if (maxIterations < 0) {
             throw new IllegalArgumentException("maxIterations cannot be negative");
         }
@@ -62,6 +78,7 @@ public SimilarityFloodingAlgorithm(double epsilon, int maxIterations, Propagatio
         this.maxIterations = maxIterations;
         this.propagationCoefficientFormula = propagationCoefficientFormula;
         this.fixpointFormula = fixpointFormula;
+        this.parallel = parallel;
     }
 
     /**
@@ -80,24 +97,22 @@ public SimilarityFloodingAlgorithm(double epsilon, int maxIterations, Propagatio
      */
     public <E extends LabeledEdge<L>> SimilarityMapping<A, B> match(DirectedMultigraph<A, E> a, DirectedMultigraph<B, E> b,
             SimilarityMapping<A, B> initialSimilarityValues) {
-        DirectedWeightedMultigraph<Pair<A, B>, Edge> basePropagationGraph = this.buildPropagationGraph(a, b);
-
-        List<Pair<A, B>> vertices = new ArrayList<>(basePropagationGraph.vertexSet());
-        DirectedWeightedMultigraph<Integer, Edge> workingPropagationGraph = this.changeVertexType(vertices, basePropagationGraph);
+        PropagationGraph<Pair<A, B>> propagationGraph = this.buildPropagationGraph(a, b);
+        List<Pair<A, B>> vertices = propagationGraph.vertices();
 
         // The SimilarityMapping can be represented by the function (a, b) -> double.
-        // To reduce overhead of searching in maps, list are used instead.
-        // The list provides the operation int -> double.
-        // The method changeVertexType determines the mapping (a, b) -> int.
+        // To reduce overhead of searching in maps, arrays are used instead.
+        // The array provides the operation int -> double.
+        // The propagation graph determines the mapping (a, b) -> int.
         // With these two new mappings, the same functionality is achieved.
 
-        List<Double> initialMapping = initialSimilarityValues.getMappedValues(vertices);
-        List<Double> previousMapping = initialMapping;
-        List<Double> nextMapping = initialMapping;
+        double[] initialMapping = initialSimilarityValues.getMappedValuesAsArray(vertices);
+        double[] previousMapping = initialMapping;
+        double[] nextMapping = initialMapping;
 
         double delta = Double.POSITIVE_INFINITY;
         for (int iteration = 0; iteration < this.maxIterations && delta > this.epsilon; iteration++) {
-            nextMapping = this.fixpointFormula.calculate(initialMapping, previousMapping, mapping -> this.floodSimilarities(workingPropagationGraph, mapping));
+            nextMapping = this.fixpointFormula.calculate(initialMapping, previousMapping, mapping -> this.floodSimilarities(propagationGraph, mapping));
             delta = this.residuum(previousMapping, nextMapping);
 
             previousMapping = nextMapping;
@@ -106,158 +121,261 @@ public <E extends LabeledEdge<L>> SimilarityMapping<A, B> match(DirectedMultigra
         return new SimilarityMapping<>(vertices, nextMapping);
     }
 
-    private <V, E extends LabeledEdge<L>> Map<L, Set<V>> getInNeighbors(DirectedMultigraph<V, E> graph, V vertex) {
-        return graph.incomingEdgesOf(vertex)
-                .stream()
-                .collect(Collectors.groupingBy(LabeledEdge::getLabel, Collectors.mapping(graph::getEdgeSource, Collectors.toCollection(LinkedHashSet::new))));
-    }
-
-    private <V, E extends LabeledEdge<L>> Map<L, Set<V>> getOutNeighbors(DirectedMultigraph<V, E> graph, V vertex) {
-        return graph.outgoingEdgesOf(vertex)
-                .stream()
-                .collect(Collectors.groupingBy(LabeledEdge::getLabel, Collectors.mapping(graph::getEdgeTarget, Collectors.toCollection(LinkedHashSet::new))));
-    }
+    /**
+     * Group the in- or out-neighbors of every vertex by the label of the connecting edge. The result is indexed like the
+     * given vertex list.
+     */
+    private <V, E extends LabeledEdge<L>> List<Map<L, Neighbors<V>>> groupNeighbors(DirectedMultigraph<V, E> graph, List<V> vertices,
+            Map<V, Integer> indices, boolean incoming) {
+        List<Map<L, Neighbors<V>>> neighbors = new ArrayList<>(vertices.size());
+
+        for (V vertex : vertices) {
+            Map<L, SequencedSet<V>> neighborsByLabel = new LinkedHashMap<>();
+            for (E edge : incoming ? graph.incomingEdgesOf(vertex) : graph.outgoingEdgesOf(vertex)) {
+                V neighbor = incoming ? graph.getEdgeSource(edge) : graph.getEdgeTarget(edge);
+                neighborsByLabel.computeIfAbsent(edge.getLabel(), label -> new LinkedHashSet<>()).add(neighbor);
+            }
 
-    private <E extends LabeledEdge<L>> Map<L, Pair<Set<A>, Set<B>>> getPairwiseNeighbors(DirectedMultigraph<A, E> a, DirectedMultigraph<B, E> b,
-            BiFunction<DirectedMultigraph<A, E>, A, Map<L, Set<A>>> neighborInAProvider,
-            BiFunction<DirectedMultigraph<B, E>, B, Map<L, Set<B>>> neighborInBProvider, Pair<A, B> vertex) {
-        Map<L, Set<A>> neighborsInGraphA = neighborInAProvider.apply(a, vertex.getFirst());
-        Map<L, Set<B>> neighborsInGraphB = neighborInBProvider.apply(b, vertex.getSecond());
+            Map<L, Neighbors<V>> groups = new LinkedHashMap<>();
+            for (var entry : neighborsByLabel.entrySet()) {
+                int[] neighborIndices = entry.getValue().stream().mapToInt(indices::get).toArray();
+                groups.put(entry.getKey(), new Neighbors<>(entry.getValue(), neighborIndices));
+            }
+            neighbors.add(groups);
+        }
 
-        return Sets.union(neighborsInGraphA.keySet(), neighborsInGraphB.keySet())
-                .toMap(label -> label, label -> Pair.of(neighborsInGraphA.getOrDefault(label, Set.of()), neighborsInGraphB.getOrDefault(label, Set.of())));
+        return neighbors;
     }
 
-    private <E extends LabeledEdge<L>> Map<L, Pair<Set<A>, Set<B>>> getInNeighbors(DirectedMultigraph<A, E> a, DirectedMultigraph<B, E> b, Pair<A, B> vertex) {
-        return this.getPairwiseNeighbors(a, b, this::getInNeighbors, this::getInNeighbors, vertex);
+    private static <V> Map<V, Integer> indexVertices(List<V> vertices) {
+        Map<V, Integer> indices = new LinkedHashMap<>();
+        for (int i = 0; i < vertices.size(); i++) {
+            indices.put(vertices.get(i), i);
+        }
+        return indices;
     }
 
-    private <E extends LabeledEdge<L>> Map<L, Pair<Set<A>, Set<B>>> getOutNeighbors(DirectedMultigraph<A, E> a, DirectedMultigraph<B, E> b, Pair<A, B> vertex) {
-        return this.getPairwiseNeighbors(a, b, this::getOutNeighbors, this::getOutNeighbors, vertex);
+    /**
+     * Calculate the propagation coefficient of every label that occurs at one of the two vertices. If the coefficient is
+     * 0.0, the label is filtered out. Otherwise, the neighbors reached via the label in both graphs are recorded as a
+     * neighbor group of the given source. This is deterministic as the order of the labels is not used by the formula.
+     *
+     * @return Whether any label has a coefficient other than 0.0.
+     */
+    private boolean collectNeighborGroups(List<NeighborGroup> groups, int source, Map<L, Neighbors<A>> neighborsInA, Map<L, Neighbors<B>> neighborsInB) {
+        Set<L> labels = new LinkedHashSet<>(neighborsInA.keySet());
+        labels.addAll(neighborsInB.keySet());
+
+        boolean propagates = false;
+        for (L label : labels) {
+            Neighbors<A> labelNeighborsInA = neighborsInA.getOrDefault(label, Neighbors.empty());
+            Neighbors<B> labelNeighborsInB = neighborsInB.getOrDefault(label, Neighbors.empty());
+
+            double coefficient = this.propagationCoefficientFormula.calculate(Pair.of(labelNeighborsInA.vertices(), labelNeighborsInB.vertices()));
+            if (coefficient > 0.0) {
+                propagates = true;
+                groups.add(new NeighborGroup(source, labelNeighborsInA.indices(), labelNeighborsInB.indices(), coefficient));
+            }
+        }
+
+        return propagates;
     }
 
     /**
-     * Calculate the propagation coefficients for each label. If the coefficient is 0.0, the label is filtered out. This
-     * is deterministic as the order of the labels is not used by the formula.
+     * Index the vertices of a graph by the labels of their in- or out-neighbors.
      */
-    private Map<L, Double> calculateFilteredCoefficients(Map<L, Pair<Set<A>, Set<B>>> verticesByLabel) {
-        return verticesByLabel.entrySet()
-                .stream()
-                .map(entry -> new AbstractMap.SimpleEntry<>(entry.getKey(), this.propagationCoefficientFormula.calculate(entry.getValue())))
-                .filter(entry -> entry.getValue() > 0.0)
-                .collect(Collectors.toMap(AbstractMap.SimpleEntry::getKey, AbstractMap.SimpleEntry::getValue));
+    private <V> Map<L, List<Integer>> indexLabels(List<Map<L, Neighbors<V>>> neighbors) {
+        Map<L, List<Integer>> verticesByLabel = new LinkedHashMap<>();
+        for (int vertex = 0; vertex < neighbors.size(); vertex++) {
+            for (L label : neighbors.get(vertex).keySet()) {
+                verticesByLabel.computeIfAbsent(label, key -> new ArrayList<>()).add(vertex);
+            }
+        }
+        return verticesByLabel;
     }
 
     /**
-     * Add edges to all neighbors given by the cartesian product of components in 'neighbors'.
+     * Determine for every vertex of the first graph whether one of its labels has a propagation coefficient other than
+     * 0.0 if the paired vertex of the second graph has no neighbors via that label. Such a vertex is part of the
+     * propagation graph paired with every vertex of the second graph it shares no label with.
      */
-    private void addEdgesToNeighbors(Graph<Pair<A, B>, Edge> graph, Pair<A, B> vertex, Pair<Set<A>, Set<B>> neighbors, double coefficient) {
-        var combinedNeighbors = Sets.cartesianProduct(neighbors.getFirst(), neighbors.getSecond(), Pair::new);
-        for (Pair<A, B> neighbor : combinedNeighbors) {
-            graph.addVertex(neighbor);
+    private boolean[] propagatesAloneInA(List<Map<L, Neighbors<A>>> inNeighbors, List<Map<L, Neighbors<A>>> outNeighbors) {
+        boolean[] propagatesAlone = new boolean[inNeighbors.size()];
+        for (int vertex = 0; vertex < propagatesAlone.length; vertex++) {
+            propagatesAlone[vertex] = Stream.concat(inNeighbors.get(vertex).values().stream(), outNeighbors.get(vertex).values().stream())
+                    .anyMatch(neighbors -> this.propagationCoefficientFormula.calculate(Pair.of(neighbors.vertices(), Set.<B>of())) > 0.0);
+        }
+        return propagatesAlone;
+    }
 
-            Edge edge = graph.addEdge(vertex, neighbor);
-            graph.setEdgeWeight(edge, coefficient);
+    /**
+     * The counterpart of {@link #propagatesAloneInA(List, List)} for the second graph.
+     */
+    private boolean[] propagatesAloneInB(List<Map<L, Neighbors<B>>> inNeighbors, List<Map<L, Neighbors<B>>> outNeighbors) {
+        boolean[] propagatesAlone = new boolean[inNeighbors.size()];
+        for (int vertex = 0; vertex < propagatesAlone.length; vertex++) {
+            propagatesAlone[vertex] = Stream.concat(inNeighbors.get(vertex).values().stream(), outNeighbors.get(vertex).values().stream())
+                    .anyMatch(neighbors -> this.propagationCoefficientFormula.calculate(Pair.of(Set.<A>of(), neighbors.vertices())) > 0.0);
         }
+        return propagatesAlone;
     }
 
     /**
-     * For a given vertex, add edges to all neighbors given by the cartesian product of components in 'neighborsByLabel'.
-     * The edge weights are determined by 'coefficientsByLabel'.
+     * Mark the vertices of the second graph that share an in- or out-label with the given vertex of the first graph.
+     *
+     * @return The marked vertices in ascending order.
      */
-    private void addEdgesToAllNeighbors(Graph<Pair<A, B>, Edge> graph, Pair<A, B> vertex, Map<L, Pair<Set<A>, Set<B>>> neighborsByLabel,
-            Map<L, Double> coefficientsByLabel) {
-        for (var entry : coefficientsByLabel.entrySet()) {
-            Pair<Set<A>, Set<B>> currentNeighborGroup = neighborsByLabel.get(entry.getKey());
-            this.addEdgesToNeighbors(graph, vertex, currentNeighborGroup, entry.getValue());
+    private <V> int[] markLabelCompatible(boolean[] compatible, Map<L, Neighbors<V>> inNeighbors, Map<L, List<Integer>> inLabelsOfB,
+            Map<L, Neighbors<V>> outNeighbors, Map<L, List<Integer>> outLabelsOfB) {
+        IntStream.Builder marked = IntStream.builder();
+        for (L label : inNeighbors.keySet()) {
+            mark(compatible, inLabelsOfB.getOrDefault(label, List.of()), marked);
+        }
+        for (L label : outNeighbors.keySet()) {
+            mark(compatible, outLabelsOfB.getOrDefault(label, List.of()), marked);
+        }
+        return marked.build().sorted().toArray();
+    }
+
+    private static void mark(boolean[] compatible, List<Integer> vertices, IntStream.Builder marked) {
+        for (int vertex : vertices) {
+            if (!compatible[vertex]) {
+                compatible[vertex] = true;
+                marked.add(vertex);
+            }
         }
     }
 
     /**
      * Build the propagation graph from the two given graphs.
-     * The propagation graph uses the cartesian product of the vertices of the two graphs as vertices.
+     * The propagation graph uses pairs of vertices of the two graphs as vertices.
      * The edges are weighted according to the propagation coefficient formula.
      * If an edge as weight 0.0, it is not added to the graph.
      * If a vertex has no incoming or outgoing edges, it is not added to the graph.
+     * <p>
+     * The neighbors of each vertex are grouped by label once per graph. Edges are only built for the pairs that share an
+     * in- or out-label, which are found via an index of the second graph by label. A pair that shares no label has no
+     * edges, it is only a vertex if one of its vertices propagates without a counterpart (see
+     * {@link #propagatesAloneInA(List, List)}), so such pairs are only visited if they become a vertex. The vertices are
+     * ordered by the vertex order of the first and then of the second graph. The vertex of a pair is looked up in a
+     * sparse row per vertex of the first graph, and the edges are stored by target in compressed sparse row form.
      */
-    private <E extends LabeledEdge<L>> DirectedWeightedMultigraph<Pair<A, B>, Edge> buildPropagationGraph(DirectedMultigraph<A, E> a,
-            DirectedMultigraph<B, E> b) {
-        DirectedWeightedMultigraph<Pair<A, B>, Edge> propagation = new DirectedWeightedMultigraph<>(null, Edge::new);
-
-        Set<Pair<A, B>> possibleVertices = Sets.cartesianProduct(a.vertexSet(), b.vertexSet(), Pair::new).toSet();
-        Set<Pair<A, B>> requiredVertices = new LinkedHashSet<>();
-
-        for (Pair<A, B> vertex : possibleVertices) {
-            Map<L, Pair<Set<A>, Set<B>>> inNeighbors = this.getInNeighbors(a, b, vertex);
-            Map<L, Double> inCoefficients = this.calculateFilteredCoefficients(inNeighbors);
-
-            Map<L, Pair<Set<A>, Set<B>>> outNeighbors = this.getOutNeighbors(a, b, vertex);
-            Map<L, Double> outCoefficients = this.calculateFilteredCoefficients(outNeighbors);
+    private <E extends LabeledEdge<L>> PropagationGraph<Pair<A, B>> buildPropagationGraph(DirectedMultigraph<A, E> a, DirectedMultigraph<B, E> b) {
+        List<A> verticesOfA = new ArrayList<>(a.vertexSet());
+        List<B> verticesOfB = new ArrayList<>(b.vertexSet());
+        Map<A, Integer> indicesOfA = indexVertices(verticesOfA);
+        Map<B, Integer> indicesOfB = indexVertices(verticesOfB);
+
+        List<Map<L, Neighbors<A>>> inNeighborsOfA = this.groupNeighbors(a, verticesOfA, indicesOfA, true);
+        List<Map<L, Neighbors<A>>> outNeighborsOfA = this.groupNeighbors(a, verticesOfA, indicesOfA, false);
+        List<Map<L, Neighbors<B>>> inNeighborsOfB = this.groupNeighbors(b, verticesOfB, indicesOfB, true);
+        List<Map<L, Neighbors<B>>> outNeighborsOfB = this.groupNeighbors(b, verticesOfB, indicesOfB, false);
+
+        Map<L, List<Integer>> inLabelsOfB = this.indexLabels(inNeighborsOfB);
+        Map<L, List<Integer>> outLabelsOfB = this.indexLabels(outNeighborsOfB);
+        boolean[] propagatesAloneInA = this.propagatesAloneInA(inNeighborsOfA, outNeighborsOfA);
+        boolean[] propagatesAloneInB = this.propagatesAloneInB(inNeighborsOfB, outNeighborsOfB);
+        int[] verticesOfBPropagatingAlone = IntStream.range(0, verticesOfB.size()).filter(indexOfB -> propagatesAloneInB[indexOfB]).toArray();
+
+        List<Pair<A, B>> vertices = new ArrayList<>();
+        List<NeighborGroup> groups = new ArrayList<>();
+        int[][] pairedVerticesOfB = new int[verticesOfA.size()][];
+        int[][] pairVertices = new int[verticesOfA.size()][];
+        boolean[] compatible = new boolean[verticesOfB.size()];
+
+        for (int indexOfA = 0; indexOfA < verticesOfA.size(); indexOfA++) {
+            int[] compatibleVerticesOfB = this.markLabelCompatible(compatible, inNeighborsOfA.get(indexOfA), inLabelsOfB, outNeighborsOfA.get(indexOfA),
+                    outLabelsOfB);
+            IntStream candidates;
+            if (propagatesAloneInA[indexOfA]) {
+                candidates = IntStream.range(0, verticesOfB.size());
+            } else {
+                candidates = IntStream.concat(Arrays.stream(compatibleVerticesOfB), Arrays.stream(verticesOfBPropagatingAlone)).sorted().distinct();
+            }
 
-            if (inCoefficients.isEmpty() && outCoefficients.isEmpty()) {
-                continue;
+            IntStream.Builder pairedVertices = IntStream.builder();
+            IntStream.Builder pairs = IntStream.builder();
+            for (int indexOfB : candidates.toArray()) {
+                int vertex = vertices.size();
+                boolean isVertex = true;
+                if (compatible[indexOfB]) {
+                    boolean propagatesIn = this.collectNeighborGroups(groups, vertex, inNeighborsOfA.get(indexOfA), inNeighborsOfB.get(indexOfB));
+                    boolean propagatesOut = this.collectNeighborGroups(groups, vertex, outNeighborsOfA.get(indexOfA), outNeighborsOfB.get(indexOfB));
+                    isVertex = propagatesIn || propagatesOut;
+                }
+
+                if (isVertex) {
+                    pairedVertices.add(indexOfB);
+                    pairs.add(vertex);
+                    vertices.add(new Pair<>(verticesOfA.get(indexOfA), verticesOfB.get(indexOfB)));
+                }
             }
+            pairedVerticesOfB[indexOfA] = pairedVertices.build().toArray();
+            pairVertices[indexOfA] = pairs.build().toArray();
 
-            propagation.addVertex(vertex);
-            requiredVertices.add(vertex);
+            for (int indexOfB : compatibleVerticesOfB) {
+                compatible[indexOfB] = false;
+            }
+        }
 
-            this.addEdgesToAllNeighbors(propagation, vertex, inNeighbors, inCoefficients);
-            this.addEdgesToAllNeighbors(propagation, vertex, outNeighbors, outCoefficients);
+        int[] offsets = new int[vertices.size() + 1];
+        for (NeighborGroup group : groups) {
+            for (int neighborInA : group.neighborsInA()) {
+                for (int neighborInB : group.neighborsInB()) {
+                    int target = findVertex(pairedVerticesOfB, pairVertices, neighborInA, neighborInB);
+                    if (target >= 0) {
+                        offsets[target + 1]++;
+                    }
+                }
+            }
+        }
+        for (int vertex = 0; vertex < vertices.size(); vertex++) {
+            offsets[vertex + 1] += offsets[vertex];
         }
 
-        propagation.removeAllVertices(Sets.difference(possibleVertices, requiredVertices).toSet());
+        int[] sources = new int[offsets[vertices.size()]];
+        double[] weights = new double[sources.length];
+        int[] nextPositions = Arrays.copyOf(offsets, vertices.size());
+        for (NeighborGroup group : groups) {
+            for (int neighborInA : group.neighborsInA()) {
+                for (int neighborInB : group.neighborsInB()) {
+                    int target = findVertex(pairedVerticesOfB, pairVertices, neighborInA, neighborInB);
+                    if (target >= 0) {
+                        int position = nextPositions[target]++;
+                        sources[position] = group.source();
+                        weights[position] = group.coefficient();
+                    }
+                }
+            }
+        }
 
-        return propagation;
+        return new PropagationGraph<>(vertices, offsets, sources, weights);
     }
 
     /**
-     * Change the vertex type of the propagation graph from {@link Pair} to {@link Integer}.
-     * This is done to improve performance, as hashing and comparing integers is faster.
-     * The integers are indices into the mapping list.
+     * Find the vertex of the propagation graph for the given pair.
+     *
+     * @return The index of the vertex or -1 if the pair is not a vertex.
      */
-    private DirectedWeightedMultigraph<Integer, Edge> changeVertexType(List<Pair<A, B>> vertices,
-            DirectedWeightedMultigraph<Pair<A, B>, Edge> propagationGraph) {
-        Map<Pair<A, B>, Integer> vertexMapping = IntStream.range(0, vertices.size()).boxed().collect(Collectors.toMap(vertices::get, Function.identity()));
-
-        DirectedWeightedMultigraph<Integer, Edge> newGraph = new DirectedWeightedMultigraph<>(null, Edge::new);
-
-        for (Pair<A, B> vertex : propagationGraph.vertexSet()) {
-            newGraph.addVertex(vertexMapping.get(vertex));
-        }
-
-        for (Edge edge : propagationGraph.edgeSet()) {
-            Pair<A, B> source = propagationGraph.getEdgeSource(edge);
-            Pair<A, B> target = propagationGraph.getEdgeTarget(edge);
-
-            Edge newEdge = newGraph.addEdge(vertexMapping.get(source), vertexMapping.get(target));
-            newGraph.setEdgeWeight(newEdge, propagationGraph.getEdgeWeight(edge));
-        }
-
-        return newGraph;
+    private static int findVertex(int[][] pairedVerticesOfB, int[][] pairVertices, int indexOfA, int indexOfB) {
+        int position = Arrays.binarySearch(pairedVerticesOfB[indexOfA], indexOfB);
+        return position >= 0 ? pairVertices[indexOfA][position] : -1;
     }
 
     /**
      * Propagate the similarities of each vertex along the edges of the propagation graph.
      * The edge weights are used as coefficients.
-     * This method is deterministic as addition is commutative.
+     * This method is deterministic, as the incoming edges of each vertex are always summed up in the same order, even if
+     * the vertices are processed in parallel.
      */
-    private List<Double> floodSimilarities(DirectedWeightedMultigraph<Integer, Edge> propagationGraph, List<Double> previousMapping) {
-        List<Double> nextMapping = new ArrayList<>(previousMapping.size());
+    private double[] floodSimilarities(PropagationGraph<Pair<A, B>> propagationGraph, double[] previousMapping) {
+        double[] nextMapping = new double[previousMapping.length];
 
-        for (int vertex = 0; vertex < previousMapping.size(); vertex++) {
-            Set<Edge> edges = propagationGraph.incomingEdgesOf(vertex);
-
-            double similarity = 0.0;
-
-            for (Edge edge : edges) {
-                int source = propagationGraph.getEdgeSource(edge);
-                double coefficient = propagationGraph.getEdgeWeight(edge);
-
-                similarity += coefficient * previousMapping.get(source);
-            }
-
-            nextMapping.add(similarity);
+        IntStream vertices = IntStream.range(0, previousMapping.length);
+        if (this.parallel) {
+            vertices = vertices.parallel();
         }
+        vertices.forEach(vertex -> nextMapping[vertex] = propagationGraph.flood(vertex, previousMapping));
 
         return nextMapping;
     }
@@ -265,17 +383,43 @@ private List<Double> floodSimilarities(DirectedWeightedMultigraph<Integer, Edge>
     /**
      * The Euclidean distance of the two mappings, interpreted as vectors.
      */
-    private double residuum(List<Double> previousMapping, List<Double> nextMapping) {
+    private double residuum(double[] previousMapping, double[] nextMapping) {
         double residuum = 0.0;
 
-        for (int i = 0; i < previousMapping.size(); i++) {
-            double delta = Math.abs(previousMapping.get(i) - nextMapping.get(i));
+        for (int i = 0; i < previousMapping.length; i++) {
+            double delta = Math.abs(previousMapping[i] - nextMapping[i]);
             residuum += delta * delta;
         }
 
         return Math.sqrt(residuum);
     }
 
-    private static final class Edge extends DefaultWeightedEdge {
+    /**
+     * The neighbors of a vertex that are reached via edges with the same label and direction.
+     */
+    private record Neighbors<V>(SequencedSet<V> vertices, int[] indices) {
+        private static <V> Neighbors<V> empty() {
+            return new Neighbors<>(new LinkedHashSet<>(), new int[0]);
+        }
+    }
+
+    /**
+     * The edges from a vertex of the propagation graph to all pairs of the given neighbors, weighted with the coefficient.
+     */
+    private record NeighborGroup(int source, int[] neighborsInA, int[] neighborsInB, double coefficient) {
+    }
+
+    /**
+     * The propagation graph. The incoming edges of vertex {@code i} are stored at the positions {@code offsets[i]}
+     * (inclusive) to {@code offsets[i + 1]} (exclusive) of {@code sources} and {@code weights}.
+     */
+    private record PropagationGraph<V>(List<V> vertices, int[] offsets, int[] sources, double[] weights) {
+        private double flood(int vertex, double[] mapping) {
+            double similarity = 0.0;
+            for (int edge = this.offsets[vertex]; edge < this.offsets[vertex + 1]; edge++) {
+                similarity += this.weights[edge] * mapping[this.sources[edge]];
+            }
+            return similarity;
+        }
     }
 }
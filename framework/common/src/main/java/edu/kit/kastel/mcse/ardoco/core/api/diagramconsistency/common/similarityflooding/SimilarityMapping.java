@@ -1,4 +1,4 @@
-/* Licensed under MIT 2023. */
+/* Licensed under MIT 2023-2024. */
 package edu.kit.kastel.mcse.ardoco.core.api.diagramconsistency.common.similarityflooding;
 
 import java.util.Collection;
@@ -68,6 +68,28 @@ public SimilarityMapping(List<Pair<A, B>> entries, List<Double> similarities) {
         }
     }
 
+    /**
+     * Initialize with a list and an array that can be zipped together.
+     *
+     * @param entries
+     *                     The list of entries.
+     * @param similarities
+     *                     The array of similarities.
+     */
+    public SimilarityMapping(List<Pair<A, B>> entries, double[] similarities) {
+        this.defaultProvider = pair -> {
+            throw new IllegalArgumentException("No similarity for pair " + pair);
+        };
+
+        if (entries.size() != similarities.length) {
+            throw new IllegalArgumentException("The number of entries and similarities must be equal.");
+        }
+
+        for (int i = 0; i < entries.size(); i++) {
+            this.similarities.put(entries.get(i), similarities[i]);
+        }
+    }
+
     /**
      * Get all elements that have an explicit similarity mapping.
      *
@@ -88,6 +110,21 @@ public List<Double> getMappedValues(List<Pair<A, B>> entries) {
         return entries.stream().map(this::getSimilarity).toList();
     }
 
+    /**
+     * Get all similarities of the given elements as an array.
+     *
+     * @param entries
+     *                The elements.
+     * @return Their similarities, in the order of the elements.
+     */
+    public double[] getMappedValuesAsArray(List<Pair<A, B>> entries) {
+        double[] values = new double[entries.size()];
+        for (int i = 0; i < entries.size(); i++) {
+            values[i] = this.getSimilarity(entries.get(i));
+        }
+        return values;
+    }
+
     /**
      * Update the similarity of a pair of elements.
      *
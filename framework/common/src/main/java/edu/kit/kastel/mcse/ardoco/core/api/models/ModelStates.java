@@ -59,12 +59,16 @@ public SortedSet<String> modelIds() {
     }
 
     /**
-     * Adds a {@link Model} with the given id to the set of {@link Model Models}
+     * Adds a {@link Model} with the given id to the set of {@link Model Models}. Models are shared by forks of the data, so the code items of a
+     * {@link CodeModel} cannot be modified afterward.
      *
      * @param id    the id
      * @param model the {@link Model}
      */
     public void addModel(String id, Model model) {
+        if (model instanceof CodeModel codeModel) {
+            codeModel.getCodeItemRepository().seal();
+        }
         models.put(id, model);
     }
 
@@ -1,17 +1,23 @@
 /* Licensed under MIT 2023-2024. */
 package edu.kit.kastel.mcse.ardoco.core.api.models.arcotl;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.NavigableSet;
 import java.util.Objects;
 import java.util.SortedSet;
+import java.util.TreeSet;
 
 import com.fasterxml.jackson.annotation.JsonGetter;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import edu.kit.kastel.mcse.ardoco.core.api.models.Entity;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.BinaryCodeItemStore;
 import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.CodeCompilationUnit;
 import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.CodeItem;
 import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.CodeItemRepository;
@@ -31,6 +37,9 @@ public final class CodeModel extends Model {
     @JsonIgnore
     private boolean initialized;
 
+    @JsonIgnore
+    private transient DerivedViews derivedViews;
+
     private CodeModel() {
         // Jackson
         this.initialized = false;
@@ -50,43 +59,92 @@ public CodeModel(CodeItemRepository codeItemRepository, SortedSet<? extends Code
         }
     }
 
+    private CodeModel(String id, CodeItemRepository codeItemRepository, List<String> content) {
+        super(id);
+        this.initialized = true;
+        this.codeItemRepository = codeItemRepository;
+        this.content = new ArrayList<>(content);
+    }
+
+    /**
+     * Reads a code model from a binary code model. The code items are decoded from the memory-mapped file when they are first requested.
+     *
+     * @param file the file of the binary code model
+     * @return the code model
+     * @throws IOException if the file cannot be read or is not a binary code model
+     * @see #writeBinary(Path)
+     */
+    public static CodeModel readBinary(Path file) throws IOException {
+        BinaryCodeItemStore store = BinaryCodeItemStore.open(file);
+        return new CodeModel(store.getModelId(), new CodeItemRepository(store), store.getContentIds());
+    }
+
+    /**
+     * Writes this code model as a binary code model.
+     *
+     * @param file the file to write
+     * @throws IOException if the file cannot be written
+     * @see BinaryCodeItemStore
+     */
+    public void writeBinary(Path file) throws IOException {
+        initialize();
+        BinaryCodeItemStore.write(file, getId(), content, codeItemRepository);
+    }
+
     @JsonGetter("content")
     protected List<String> getContentIds() {
         initialize();
         return content;
     }
 
+    /**
+     * {@return the repository that contains the code items of this code model}
+     */
+    public CodeItemRepository getCodeItemRepository() {
+        initialize();
+        return codeItemRepository;
+    }
+
     @Override
     public List<? extends CodeItem> getContent() {
         initialize();
         return codeItemRepository.getCodeItemsFromIds(content);
     }
 
+    /**
+     * Returns the compilation units of this code model. The list is computed once until the code items are modified.
+     *
+     * @return the compilation units of this code model
+     */
     @Override
     public List<? extends CodeCompilationUnit> getEndpoints() {
-        List<CodeCompilationUnit> compilationUnits = new ArrayList<>();
-        getContent().forEach(c -> compilationUnits.addAll(c.getAllCompilationUnits()));
-        return compilationUnits;
+        return getDerivedViews().endpoints;
     }
 
     /**
-     * Returns all code packages directly or indirectly owned by this code model.
+     * Returns all code packages directly or indirectly owned by this code model. The list is computed once until the code items are modified.
      *
      * @return all code packages of this code model
      */
     public List<? extends CodePackage> getAllPackages() {
-        List<CodePackage> codePackages = new ArrayList<>();
-        var lContent = getContent();
-        for (CodeItem c : lContent) {
-            var allPackages = c.getAllPackages();
-            for (CodePackage cp : allPackages) {
-                if (!codePackages.contains(cp)) {
-                    codePackages.add(cp);
-                }
+        return getDerivedViews().packages;
+    }
+
+    private synchronized DerivedViews getDerivedViews() {
+        initialize();
+        long modificationCount = codeItemRepository.getModificationCount();
+        if (derivedViews == null || derivedViews.modificationCount() != modificationCount) {
+            List<CodeCompilationUnit> compilationUnits = new ArrayList<>();
+            NavigableSet<CodePackage> codePackages = new TreeSet<>();
+            for (CodeItem codeItem : getContent()) {
+                compilationUnits.addAll(codeItem.getAllCompilationUnits());
+                codePackages.addAll(codeItem.getAllPackages());
             }
+            List<CodePackage> sortedPackages = new ArrayList<>(codePackages);
+            sortedPackages.sort(Comparator.comparing(Entity::getName));
+            derivedViews = new DerivedViews(modificationCount, Collections.unmodifiableList(compilationUnits), Collections.unmodifiableList(sortedPackages));
         }
-        codePackages.sort(Comparator.comparing(Entity::getName));
-        return codePackages;
+        return derivedViews;
     }
 
     private synchronized void initialize() {
@@ -117,4 +175,7 @@ public int hashCode() {
         result = 31 * result + (content != null ? content.hashCode() : 0);
         return result;
     }
+
+    private record DerivedViews(long modificationCount, List<CodeCompilationUnit> endpoints, List<CodePackage> packages) {
+    }
 }
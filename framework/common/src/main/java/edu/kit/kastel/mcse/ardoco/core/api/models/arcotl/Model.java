@@ -1,12 +1,25 @@
-/* Licensed under MIT 2023. */
+/* Licensed under MIT 2023-2024. */
 package edu.kit.kastel.mcse.ardoco.core.api.models.arcotl;
 
 import java.util.List;
 
 import edu.kit.kastel.mcse.ardoco.core.api.models.Entity;
 import edu.kit.kastel.mcse.ardoco.core.api.models.ModelElement;
+import edu.kit.kastel.mcse.ardoco.core.data.SharedOnFork;
 
-public abstract sealed class Model extends ModelElement permits ArchitectureModel, CodeModel {
+/**
+ * A model, e.g., an architecture model or a code model. Models are not modified after they have been extracted, so they are {@link SharedOnFork shared on
+ * fork}.
+ */
+public abstract sealed class Model extends ModelElement implements SharedOnFork permits ArchitectureModel, CodeModel {
+
+    protected Model() {
+        super();
+    }
+
+    protected Model(String id) {
+        super(id);
+    }
 
     /**
      * Returns the content of this model.
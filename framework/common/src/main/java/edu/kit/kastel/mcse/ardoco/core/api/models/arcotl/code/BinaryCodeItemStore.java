@@ -0,0 +1,421 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import org.eclipse.collections.api.factory.primitive.IntLists;
+import org.eclipse.collections.api.list.primitive.MutableIntList;
+
+import edu.kit.kastel.mcse.ardoco.core.architecture.Deterministic;
+
+/**
+ * The code items of a code model in a compact binary format. The format is read through memory mapping, so a code item is only decoded when it is requested
+ * and opening even a huge code model takes almost no time.
+ * <p>
+ * The file consists of a header, a string table, an index, the item records, a pool of string lists, and the UTF-8 bytes of all strings. The header holds the
+ * sizes of the sections, the id of the code model, and the location of the content of the code model in the pool. The string table holds the offset of each
+ * string in the string bytes. Each item record has the same width and refers to strings and string lists by their position. Lists are stored as an offset
+ * into the pool and a length. The index holds the number of each record in the order of the UTF-8 bytes of their ids, so a record is found by a binary search.
+ * All numbers are 32-bit integers in big-endian byte order.
+ */
+@Deterministic
+public final class BinaryCodeItemStore {
+    private static final int MAGIC = 0x41434D42; // "ACMB"
+    private static final int VERSION = 1;
+    private static final int HEADER_INTS = 10;
+    private static final int RECORD_INTS = 14;
+    private static final int NONE = -1;
+
+    private static final int KIND = 0;
+    private static final int ID = 1;
+    private static final int NAME = 2;
+    /**
+     * The parent of a module or the compilation unit of a datatype
+     */
+    private static final int REFERENCE = 3;
+    /**
+     * The extension of a compilation unit or the parent datatype of a datatype
+     */
+    private static final int SECOND_REFERENCE = 4;
+    private static final int LANGUAGE = 5;
+    /**
+     * The content of a module, a class, or an interface
+     */
+    private static final int CONTENT = 6;
+    /**
+     * The path elements of a compilation unit or the extended types of a datatype
+     */
+    private static final int FIRST_LIST = 8;
+    private static final int IMPLEMENTED_TYPES = 10;
+    private static final int DATATYPE_REFERENCES = 12;
+
+    private enum Kind {
+        CODE_MODULE, CODE_ASSEMBLY, CODE_COMPILATION_UNIT, CODE_PACKAGE, COMPUTATIONAL_OBJECT, CONTROL_ELEMENT, DATATYPE, CLASS_UNIT, INTERFACE_UNIT
+    }
+
+    private static final Kind[] KINDS = Kind.values();
+    private static final ProgrammingLanguage[] LANGUAGES = ProgrammingLanguage.values();
+
+    private final ByteBuffer buffer;
+    private final int itemCount;
+    private final int stringOffsetsStart;
+    private final int indexStart;
+    private final int recordsStart;
+    private final int poolStart;
+    private final int stringsStart;
+    private final String modelId;
+    private final List<String> contentIds;
+
+    private BinaryCodeItemStore(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        if (buffer.capacity() < HEADER_INTS * Integer.BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a binary code model");
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IOException("Unsupported version of the binary code model: " + buffer.getInt(4));
+        }
+        int stringCount = buffer.getInt(8);
+        this.itemCount = buffer.getInt(12);
+        int poolSize = buffer.getInt(16);
+        this.stringOffsetsStart = HEADER_INTS * Integer.BYTES;
+        this.indexStart = stringOffsetsStart + (stringCount + 1) * Integer.BYTES;
+        this.recordsStart = indexStart + itemCount * Integer.BYTES;
+        this.poolStart = recordsStart + itemCount * RECORD_INTS * Integer.BYTES;
+        this.stringsStart = poolStart + poolSize * Integer.BYTES;
+        if (stringsStart + buffer.getInt(20) != buffer.capacity()) {
+            throw new IOException("The binary code model is truncated");
+        }
+        this.modelId = string(buffer.getInt(24));
+        this.contentIds = strings(buffer.getInt(28), buffer.getInt(32));
+    }
+
+    /**
+     * Opens a binary code model by mapping it into memory.
+     *
+     * @param file the file of the binary code model
+     * @return the opened code items
+     * @throws IOException if the file cannot be read or is not a binary code model
+     */
+    public static BinaryCodeItemStore open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("The binary code model is too large: " + file);
+            }
+            return new BinaryCodeItemStore(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Checks whether a file starts like a binary code model.
+     *
+     * @param file the file
+     * @return whether the file is a binary code model
+     */
+    public static boolean isBinary(Path file) {
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            byte[] magic = inputStream.readNBytes(Integer.BYTES);
+            return magic.length == Integer.BYTES && ByteBuffer.wrap(magic).getInt() == MAGIC;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * {@return the id of the code model}
+     */
+    public String getModelId() {
+        return modelId;
+    }
+
+    /**
+     * {@return the ids of the content of the code model}
+     */
+    public List<String> getContentIds() {
+        return contentIds;
+    }
+
+    /**
+     * {@return the ids of all stored code items}
+     */
+    List<String> getIds() {
+        List<String> ids = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            ids.add(string(field(buffer.getInt(indexStart + i * Integer.BYTES), ID)));
+        }
+        return ids;
+    }
+
+    boolean contains(String id) {
+        return find(id) != NONE;
+    }
+
+    /**
+     * Decodes a code item. Every call creates a new instance.
+     *
+     * @param id                 the id of the code item
+     * @param codeItemRepository the repository the decoded code item belongs to
+     * @return the code item or null if there is no code item with the id
+     */
+    CodeItem decode(String id, CodeItemRepository codeItemRepository) {
+        int record = find(id);
+        if (record == NONE) {
+            return null;
+        }
+        String name = string(field(record, NAME));
+        String reference = string(field(record, REFERENCE));
+        String secondReference = string(field(record, SECOND_REFERENCE));
+        return switch (KINDS[field(record, KIND)]) {
+        case CODE_MODULE -> new CodeModule(codeItemRepository, id, name, reference, list(record, CONTENT));
+        case CODE_ASSEMBLY -> new CodeAssembly(codeItemRepository, id, name, reference, list(record, CONTENT));
+        case CODE_PACKAGE -> new CodePackage(codeItemRepository, id, name, reference, list(record, CONTENT));
+        case CODE_COMPILATION_UNIT -> {
+            int language = field(record, LANGUAGE);
+            yield new CodeCompilationUnit(codeItemRepository, id, name, reference, list(record, CONTENT), list(record, FIRST_LIST), secondReference,
+                    language == NONE ? null : LANGUAGES[language]);
+        }
+        case COMPUTATIONAL_OBJECT -> new ComputationalObject(codeItemRepository, id, name);
+        case CONTROL_ELEMENT -> new ControlElement(codeItemRepository, id, name);
+        case DATATYPE -> new Datatype(codeItemRepository, id, name, reference, secondReference, list(record, FIRST_LIST), list(record, IMPLEMENTED_TYPES), list(
+                record, DATATYPE_REFERENCES));
+        case CLASS_UNIT -> new ClassUnit(codeItemRepository, id, name, reference, secondReference, list(record, FIRST_LIST), list(record, IMPLEMENTED_TYPES),
+                list(record, DATATYPE_REFERENCES), list(record, CONTENT));
+        case INTERFACE_UNIT -> new InterfaceUnit(codeItemRepository, id, name, reference, secondReference, list(record, FIRST_LIST), list(record,
+                IMPLEMENTED_TYPES), list(record, DATATYPE_REFERENCES), list(record, CONTENT));
+        };
+    }
+
+    /**
+     * Finds the record of an id by a binary search over the index.
+     */
+    private int find(String id) {
+        if (id == null) {
+            return NONE;
+        }
+        byte[] key = id.getBytes(StandardCharsets.UTF_8);
+        int low = 0;
+        int high = itemCount - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int record = buffer.getInt(indexStart + middle * Integer.BYTES);
+            int comparison = compareString(field(record, ID), key);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return record;
+            }
+        }
+        return NONE;
+    }
+
+    private int compareString(int string, byte[] key) {
+        int start = buffer.getInt(stringOffsetsStart + string * Integer.BYTES);
+        int length = buffer.getInt(stringOffsetsStart + (string + 1) * Integer.BYTES) - start;
+        int commonLength = Math.min(length, key.length);
+        for (int i = 0; i < commonLength; i++) {
+            int comparison = Byte.compareUnsigned(buffer.get(stringsStart + start + i), key[i]);
+            if (comparison != 0) {
+                return comparison;
+            }
+        }
+        return Integer.compare(length, key.length);
+    }
+
+    private int field(int record, int field) {
+        return buffer.getInt(recordsStart + (record * RECORD_INTS + field) * Integer.BYTES);
+    }
+
+    private String string(int string) {
+        if (string == NONE) {
+            return null;
+        }
+        int start = buffer.getInt(stringOffsetsStart + string * Integer.BYTES);
+        int end = buffer.getInt(stringOffsetsStart + (string + 1) * Integer.BYTES);
+        byte[] bytes = new byte[end - start];
+        buffer.get(stringsStart + start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private List<String> list(int record, int field) {
+        return strings(field(record, field), field(record, field + 1));
+    }
+
+    private List<String> strings(int offset, int length) {
+        List<String> strings = new ArrayList<>(Math.max(length, 0));
+        for (int i = 0; i < length; i++) {
+            strings.add(string(buffer.getInt(poolStart + (offset + i) * Integer.BYTES)));
+        }
+        return strings;
+    }
+
+    /**
+     * Writes the code items of a code model in the binary format. The file is replaced atomically if the file system supports it, so a code model that is
+     * still mapped from the same file stays readable.
+     *
+     * @param file               the file to write
+     * @param modelId            the id of the code model
+     * @param contentIds         the ids of the content of the code model
+     * @param codeItemRepository the code items
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(Path file, String modelId, List<String> contentIds, CodeItemRepository codeItemRepository) throws IOException {
+        Writer writer = new Writer();
+        for (String id : codeItemRepository.getCodeItemIds()) {
+            CodeItem codeItem = codeItemRepository.peekCodeItem(id);
+            if (codeItem != null) {
+                writer.addRecord(codeItem);
+            }
+        }
+        int modelIdString = writer.string(modelId);
+        int contentOffset = writer.list(contentIds);
+
+        Path temporaryFile = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporaryFile)))) {
+            writer.writeTo(output, modelIdString, contentOffset, contentIds.size());
+        }
+        try {
+            Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static final class Writer {
+        private final LinkedHashMap<String, Integer> strings = new LinkedHashMap<>();
+        private final List<byte[]> encodedStrings = new ArrayList<>();
+        private final MutableIntList records = IntLists.mutable.empty();
+        private final MutableIntList pool = IntLists.mutable.empty();
+        private int stringBytes = 0;
+
+        private int string(String string) {
+            if (string == null) {
+                return NONE;
+            }
+            return strings.computeIfAbsent(string, key -> {
+                byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+                encodedStrings.add(bytes);
+                stringBytes += bytes.length;
+                return encodedStrings.size() - 1;
+            });
+        }
+
+        private int list(List<String> list) {
+            int offset = pool.size();
+            if (list != null) {
+                list.forEach(element -> pool.add(string(element)));
+            }
+            return offset;
+        }
+
+        private void addList(int[] record, int field, List<String> list) {
+            record[field] = list(list);
+            record[field + 1] = list == null ? 0 : list.size();
+        }
+
+        private void addRecord(CodeItem codeItem) {
+            int[] record = new int[RECORD_INTS];
+            Arrays.fill(record, NONE);
+            record[ID] = string(codeItem.getId());
+            record[NAME] = string(codeItem.getName());
+            if (codeItem instanceof CodeModule codeModule) {
+                record[REFERENCE] = string(codeModule.getParentId());
+                addList(record, CONTENT, codeModule.getContentIds());
+                if (codeModule instanceof CodeCompilationUnit compilationUnit) {
+                    record[KIND] = Kind.CODE_COMPILATION_UNIT.ordinal();
+                    record[SECOND_REFERENCE] = string(compilationUnit.getExtension());
+                    record[LANGUAGE] = compilationUnit.getLanguage() == null ? NONE : compilationUnit.getLanguage().ordinal();
+                    addList(record, FIRST_LIST, compilationUnit.getPathElements());
+                } else if (codeModule instanceof CodePackage) {
+                    record[KIND] = Kind.CODE_PACKAGE.ordinal();
+                } else if (codeModule instanceof CodeAssembly) {
+                    record[KIND] = Kind.CODE_ASSEMBLY.ordinal();
+                } else {
+                    record[KIND] = Kind.CODE_MODULE.ordinal();
+                }
+            } else if (codeItem instanceof Datatype datatype) {
+                record[REFERENCE] = string(datatype.getCompilationUnitId());
+                record[SECOND_REFERENCE] = string(datatype.getParentDatatypeId());
+                addList(record, FIRST_LIST, datatype.getExtendedDataTypesIds());
+                addList(record, IMPLEMENTED_TYPES, datatype.getImplementedDataTypesIds());
+                addList(record, DATATYPE_REFERENCES, datatype.getDatatypeReferencesIds());
+                if (datatype instanceof ClassUnit classUnit) {
+                    record[KIND] = Kind.CLASS_UNIT.ordinal();
+                    addList(record, CONTENT, classUnit.getContentIds());
+                } else if (datatype instanceof InterfaceUnit interfaceUnit) {
+                    record[KIND] = Kind.INTERFACE_UNIT.ordinal();
+                    addList(record, CONTENT, interfaceUnit.getContentIds());
+                } else {
+                    record[KIND] = Kind.DATATYPE.ordinal();
+                }
+            } else {
+                record[KIND] = codeItem instanceof ControlElement ? Kind.CONTROL_ELEMENT.ordinal() : Kind.COMPUTATIONAL_OBJECT.ordinal();
+            }
+            for (int field = CONTENT; field < RECORD_INTS; field += 2) {
+                if (record[field] == NONE) {
+                    record[field] = 0;
+                    record[field + 1] = 0;
+                }
+            }
+            records.addAll(record);
+        }
+
+        private void writeTo(DataOutputStream output, int modelIdString, int contentOffset, int contentLength) throws IOException {
+            int itemCount = records.size() / RECORD_INTS;
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeInt(encodedStrings.size());
+            output.writeInt(itemCount);
+            output.writeInt(pool.size());
+            output.writeInt(stringBytes);
+            output.writeInt(modelIdString);
+            output.writeInt(contentOffset);
+            output.writeInt(contentLength);
+            output.writeInt(0);
+
+            int offset = 0;
+            for (byte[] bytes : encodedStrings) {
+                output.writeInt(offset);
+                offset += bytes.length;
+            }
+            output.writeInt(offset);
+
+            List<Integer> index = new ArrayList<>(itemCount);
+            for (int i = 0; i < itemCount; i++) {
+                index.add(i);
+            }
+            Comparator<Integer> byId = (first, second) -> Arrays.compareUnsigned(encodedStrings.get(records.get(first * RECORD_INTS + ID)), encodedStrings.get(
+                    records.get(second * RECORD_INTS + ID)));
+            Collections.sort(index, byId);
+            for (int record : index) {
+                output.writeInt(record);
+            }
+            for (int i = 0; i < records.size(); i++) {
+                output.writeInt(records.get(i));
+            }
+            for (int i = 0; i < pool.size(); i++) {
+                output.writeInt(pool.get(i));
+            }
+            for (byte[] bytes : encodedStrings) {
+                output.write(bytes);
+            }
+        }
+    }
+}
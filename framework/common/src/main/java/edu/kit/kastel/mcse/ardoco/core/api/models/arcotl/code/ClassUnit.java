@@ -1,4 +1,4 @@
-/* Licensed under MIT 2023. */
+/* Licensed under MIT 2023-2024. */
 package edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code;
 
 import java.util.ArrayList;
@@ -28,6 +28,12 @@ public ClassUnit(CodeItemRepository codeItemRepository, String name, SortedSet<?
         }
     }
 
+    ClassUnit(CodeItemRepository codeItemRepository, String id, String name, String compilationUnitId, String parentDatatypeId, List<String> extendedDataTypesIds,
+            List<String> implementedDataTypesIds, List<String> datatypeReferencesIds, List<String> content) {
+        super(codeItemRepository, id, name, compilationUnitId, parentDatatypeId, extendedDataTypesIds, implementedDataTypesIds, datatypeReferencesIds);
+        this.content = new ArrayList<>(content);
+    }
+
     @JsonGetter("content")
     protected List<String> getContentIds() {
         return content;
@@ -1,6 +1,7 @@
-/* Licensed under MIT 2023. */
+/* Licensed under MIT 2023-2024. */
 package edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code;
 
+import java.util.List;
 import java.util.SortedSet;
 
 import com.fasterxml.jackson.annotation.JsonTypeName;
@@ -15,4 +16,8 @@ private CodeAssembly() {
     public CodeAssembly(CodeItemRepository codeItemRepository, String name, SortedSet<? extends CodeItem> content) {
         super(codeItemRepository, name, content);
     }
+
+    CodeAssembly(CodeItemRepository codeItemRepository, String id, String name, String parentId, List<String> content) {
+        super(codeItemRepository, id, name, parentId, content);
+    }
 }
@@ -1,4 +1,4 @@
-/* Licensed under MIT 2023. */
+/* Licensed under MIT 2023-2024. */
 package edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code;
 
 import java.util.ArrayList;
@@ -36,6 +36,18 @@ public CodeCompilationUnit(CodeItemRepository codeItemRepository, String name, S
         this.language = language;
     }
 
+    CodeCompilationUnit(CodeItemRepository codeItemRepository, String id, String name, String parentId, List<String> content, List<String> pathElements,
+            String extension, ProgrammingLanguage language) {
+        super(codeItemRepository, id, name, parentId, content);
+        this.pathElements = new ArrayList<>(pathElements);
+        this.extension = extension;
+        this.language = language;
+    }
+
+    String getExtension() {
+        return extension;
+    }
+
     public ProgrammingLanguage getLanguage() {
         return language;
     }
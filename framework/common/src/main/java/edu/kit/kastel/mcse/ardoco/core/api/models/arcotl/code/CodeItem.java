@@ -12,6 +12,7 @@
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 
 import edu.kit.kastel.mcse.ardoco.core.api.models.Entity;
+import edu.kit.kastel.mcse.ardoco.core.data.SharedOnFork;
 
 /**
  * A code item of a code model.
@@ -22,7 +23,7 @@
         @JsonSubTypes.Type(value = ComputationalObject.class, name = "ComputationalObject"), //
         @JsonSubTypes.Type(value = Datatype.class, name = "Datatype") //
 })
-public abstract sealed class CodeItem extends Entity permits CodeModule, ComputationalObject, Datatype {
+public abstract sealed class CodeItem extends Entity implements SharedOnFork permits CodeModule, ComputationalObject, Datatype {
 
     @JsonIgnore
     protected CodeItemRepository codeItemRepository;
@@ -42,10 +43,27 @@ protected CodeItem(CodeItemRepository codeItemRepository, String name) {
         this.codeItemRepository.addCodeItem(this);
     }
 
+    /**
+     * Restores a code item that is decoded from a binary code model. The code item is not added to the repository.
+     */
+    CodeItem(CodeItemRepository codeItemRepository, String id, String name) {
+        super(name, id);
+        this.codeItemRepository = Objects.requireNonNull(codeItemRepository);
+    }
+
     void registerCurrentCodeItemRepository(CodeItemRepository codeItemRepository) {
         this.codeItemRepository = codeItemRepository;
     }
 
+    /**
+     * Marks the derived views of the repository as outdated after the relations of this code item changed.
+     */
+    void modified() {
+        if (codeItemRepository != null) {
+            codeItemRepository.modified();
+        }
+    }
+
     /**
      * Returns the content of this code item.
      *
@@ -1,38 +1,283 @@
 /* Licensed under MIT 2023-2024. */
 package edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serial;
 import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.List;
+import java.util.NavigableSet;
 import java.util.Objects;
 import java.util.SortedMap;
 import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Supplier;
 
+import org.eclipse.collections.api.factory.primitive.ObjectIntMaps;
+import org.eclipse.collections.api.map.primitive.ImmutableObjectIntMap;
+import org.eclipse.collections.api.map.primitive.MutableObjectIntMap;
+
+import com.fasterxml.jackson.annotation.JsonGetter;
 import com.fasterxml.jackson.annotation.JsonIgnore;
-import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonSetter;
 
+/**
+ * The code items of a code model. Each code item gets a dense integer handle when it is added, and the code items are stored in an array by their handles, so
+ * resolving an id takes a single hash lookup. Removing code items compacts the array and reassigns the handles. Views that are derived from the code items,
+ * like the closures of the type hierarchy, are computed once and discarded when the repository or one of its code items is modified.
+ * <p>
+ * Once its code model is added to the data of a run, the repository is {@link #seal() sealed}, so the code model can be shared by forks of the data. Only the
+ * modifications of an unsealed repository take its lock; a sealed repository is read from an immutable snapshot without locking.
+ */
 public class CodeItemRepository implements Serializable {
+    private static final int NO_HANDLE = -1;
 
-    @JsonProperty
-    private SortedMap<String, CodeItem> repository = new TreeMap<>();
+    /**
+     * The code items by their handles
+     */
+    @JsonIgnore
+    private transient List<CodeItem> codeItems = new ArrayList<>();
+    @JsonIgnore
+    private transient MutableObjectIntMap<String> handles = ObjectIntMaps.mutable.empty();
     @JsonIgnore
     private boolean initialized = false;
+    /**
+     * Counts the modifications of the repository and its code items, so derived views know when they are outdated
+     */
+    @JsonIgnore
+    private volatile long modificationCount = 0;
+
+    /**
+     * The binary code model the code items are decoded from on demand or null if all code items are held in {@link #codeItems}
+     */
+    @JsonIgnore
+    private transient BinaryCodeItemStore store;
+    /**
+     * The ids of the code items of the binary code model that were removed
+     */
+    @JsonIgnore
+    private transient NavigableSet<String> removedIds = new TreeSet<>();
+
+    @JsonIgnore
+    private transient DerivedViews derivedViews;
+    /**
+     * The code items of the repository when it was sealed or null if it is not sealed
+     */
+    @JsonIgnore
+    private transient volatile Snapshot snapshot;
+    /**
+     * Whether the repository is sealed. In contrast to the snapshot, this flag is serialized, so a copy of a sealed repository is sealed again when it is read.
+     */
+    @JsonIgnore
+    private boolean sealed = false;
+
+    public CodeItemRepository() {
+        // Jackson
+    }
+
+    /**
+     * Creates a repository whose code items are decoded from a binary code model when they are first requested.
+     *
+     * @param store the binary code model
+     */
+    public CodeItemRepository(BinaryCodeItemStore store) {
+        this.store = Objects.requireNonNull(store);
+    }
 
+    /**
+     * Returns all code items of this repository. If the code items are decoded from a binary code model, all code items that were not requested yet are
+     * decoded.
+     *
+     * @return the code items by their ids
+     */
+    @JsonGetter("repository")
     public SortedMap<String, CodeItem> getRepository() {
-        return new TreeMap<>(repository);
+        SortedMap<String, CodeItem> repository = new TreeMap<>();
+        if (store != null) {
+            for (String id : store.getIds()) {
+                CodeItem codeItem = getCodeItem(id);
+                if (codeItem != null) {
+                    repository.put(id, codeItem);
+                }
+            }
+        }
+        Snapshot sealedSnapshot = snapshot;
+        if (sealedSnapshot != null) {
+            sealedSnapshot.codeItems().forEach(codeItem -> repository.put(codeItem.getId(), codeItem));
+        } else {
+            synchronized (this) {
+                codeItems.forEach(codeItem -> repository.put(codeItem.getId(), codeItem));
+            }
+        }
+        return repository;
+    }
+
+    @JsonSetter("repository")
+    private void setRepository(SortedMap<String, CodeItem> repository) {
+        repository.values().forEach(this::addCodeItem);
+    }
+
+    /**
+     * Returns the ids of all code items of this repository without decoding code items from a binary code model.
+     *
+     * @return the ids of the code items
+     */
+    public NavigableSet<String> getCodeItemIds() {
+        NavigableSet<String> ids = new TreeSet<>();
+        Snapshot sealedSnapshot = snapshot;
+        if (sealedSnapshot != null) {
+            addCodeItemIds(ids, sealedSnapshot.codeItems(), sealedSnapshot.removedIds());
+        } else {
+            synchronized (this) {
+                addCodeItemIds(ids, codeItems, removedIds);
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Adds the ids of the code items of the binary code model that were not removed and the ids of the held code items. The ids are added by lambdas, as a
+     * method reference would refer to Set.add, which the determinism rules forbid.
+     */
+    private void addCodeItemIds(NavigableSet<String> ids, List<CodeItem> heldCodeItems, NavigableSet<String> removed) {
+        if (store != null) {
+            store.getIds().stream().filter(id -> !removed.contains(id)).forEach(id -> ids.add(id));
+        }
+        heldCodeItems.forEach(codeItem -> ids.add(codeItem.getId()));
     }
 
-    void addCodeItem(CodeItem codeItem) {
-        repository.put(codeItem.getId(), codeItem);
+    synchronized void addCodeItem(CodeItem codeItem) {
+        checkNotSealed();
+        int handle = handles.getIfAbsent(codeItem.getId(), NO_HANDLE);
+        if (handle == NO_HANDLE) {
+            handles.put(codeItem.getId(), codeItems.size());
+            codeItems.add(codeItem);
+        } else {
+            codeItems.set(handle, codeItem);
+        }
+        if (store != null)
+            removedIds.remove(codeItem.getId());
+        modified();
     }
 
     boolean containsCodeItem(String id) {
-        return repository.containsKey(id);
+        Snapshot sealedSnapshot = snapshot;
+        if (sealedSnapshot != null) {
+            return sealedSnapshot.getHandle(id) != NO_HANDLE || (store != null && !sealedSnapshot.removedIds().contains(id) && store.contains(id));
+        }
+        if (getHandle(id) != NO_HANDLE)
+            return true;
+        return store != null && !isRemoved(id) && store.contains(id);
     }
 
     CodeItem getCodeItem(String id) {
         if (id == null)
             return null;
-        return repository.get(id);
+        Snapshot sealedSnapshot = snapshot;
+        if (sealedSnapshot != null)
+            return getSealedCodeItem(sealedSnapshot, id);
+        int handle = getHandle(id);
+        if (handle != NO_HANDLE)
+            return getCodeItem(handle);
+        if (store == null || isRemoved(id))
+            return null;
+        return decodeCodeItem(id);
+    }
+
+    /**
+     * Returns a code item of a sealed repository without taking the lock. Code items that are decoded from the binary code model after sealing are kept in the
+     * concurrent map of the snapshot.
+     */
+    private CodeItem getSealedCodeItem(Snapshot sealedSnapshot, String id) {
+        int handle = sealedSnapshot.getHandle(id);
+        if (handle != NO_HANDLE)
+            return sealedSnapshot.codeItems().get(handle);
+        if (store == null || sealedSnapshot.removedIds().contains(id))
+            return null;
+        return sealedSnapshot.decodedCodeItems().computeIfAbsent(id, key -> store.decode(key, this));
+    }
+
+    private synchronized boolean isRemoved(String id) {
+        return removedIds.contains(id);
+    }
+
+    private synchronized int getHandle(String id) {
+        return id == null ? NO_HANDLE : handles.getIfAbsent(id, NO_HANDLE);
+    }
+
+    private synchronized CodeItem getCodeItem(int handle) {
+        return codeItems.get(handle);
+    }
+
+    /**
+     * Decodes a code item from the binary code model and keeps it. Decoding a code item is not a modification, since the code item was part of the repository
+     * before.
+     */
+    private synchronized CodeItem decodeCodeItem(String id) {
+        int handle = handles.getIfAbsent(id, NO_HANDLE);
+        if (handle != NO_HANDLE)
+            return codeItems.get(handle);
+        CodeItem codeItem = store.decode(id, this);
+        if (codeItem != null) {
+            handles.put(id, codeItems.size());
+            codeItems.add(codeItem);
+        }
+        return codeItem;
+    }
+
+    /**
+     * Returns a code item like {@link #getCodeItem(String)}, but does not keep a code item that has to be decoded from a binary code model. This way, writing a
+     * lazily loaded repository does not load all of its code items into memory.
+     */
+    CodeItem peekCodeItem(String id) {
+        Snapshot sealedSnapshot = snapshot;
+        if (sealedSnapshot != null) {
+            int handle = sealedSnapshot.getHandle(id);
+            if (handle != NO_HANDLE)
+                return sealedSnapshot.codeItems().get(handle);
+            CodeItem decodedCodeItem = sealedSnapshot.decodedCodeItems().get(id);
+            if (decodedCodeItem != null)
+                return decodedCodeItem;
+            return store == null || sealedSnapshot.removedIds().contains(id) ? null : store.decode(id, this);
+        }
+        int handle = getHandle(id);
+        if (handle != NO_HANDLE)
+            return getCodeItem(handle);
+        if (store == null || isRemoved(id))
+            return null;
+        return store.decode(id, this);
+    }
+
+    /**
+     * Removes the code items with the specified ids. Code items that still refer to a removed code item no longer resolve it.
+     *
+     * @param codeItemIds the ids of the code items to remove
+     */
+    public synchronized void removeCodeItems(Collection<String> codeItemIds) {
+        checkNotSealed();
+        boolean removed = false;
+        for (String id : codeItemIds) {
+            removed |= handles.removeKeyIfAbsent(id, NO_HANDLE) != NO_HANDLE;
+        }
+        if (removed) {
+            codeItems.removeIf(codeItem -> !handles.containsKey(codeItem.getId()));
+            handles.clear();
+            for (int handle = 0; handle < codeItems.size(); handle++) {
+                handles.put(codeItems.get(handle).getId(), handle);
+            }
+        }
+        if (store != null) {
+            removedIds.addAll(codeItemIds);
+        }
+        modified();
     }
 
     public List<CodeItem> getCodeItemsFromIds(List<String> codeItemIds) {
@@ -42,7 +287,166 @@ public List<CodeItem> getCodeItemsFromIds(List<String> codeItemIds) {
     public synchronized void init() {
         if (initialized)
             return;
-        this.repository.values().forEach(it -> it.registerCurrentCodeItemRepository(this));
+        this.codeItems.forEach(it -> it.registerCurrentCodeItemRepository(this));
         initialized = true;
     }
+
+    /**
+     * Marks the derived views of this repository as outdated. Called whenever a code item is added or removed, or a code item changes its relations.
+     */
+    synchronized void modified() {
+        checkNotSealed();
+        modificationCount++;
+    }
+
+    /**
+     * Seals this repository. Afterward, code items can no longer be added or removed, and the code items can no longer change their relations. Decoding code
+     * items from a binary code model is still possible, since it does not modify the repository. Serialized copies of a sealed repository, e.g., deep copies or
+     * checkpoints, are sealed as well.
+     * <p>
+     * Sealing publishes an immutable snapshot of the code items, their handles and the derived views, so reading the sealed repository does not take its lock.
+     */
+    public synchronized void seal() {
+        if (snapshot == null) {
+            snapshot = new Snapshot(List.copyOf(codeItems), handles.toImmutable(), Collections.unmodifiableNavigableSet(new TreeSet<>(removedIds)),
+                    new ConcurrentSkipListMap<>(), new DerivedViews(modificationCount));
+            sealed = true;
+        }
+    }
+
+    private void checkNotSealed() {
+        if (snapshot != null) {
+            throw new IllegalStateException("The code items of a sealed repository cannot be modified");
+        }
+    }
+
+    /**
+     * {@return the number of modifications of this repository and its code items} Derived views of the code items are valid as long as this number does not
+     * change.
+     */
+    public long getModificationCount() {
+        return modificationCount;
+    }
+
+    /**
+     * Returns the specified type and all types it directly or indirectly extends. The closure is computed once per type until the repository is modified.
+     *
+     * @param datatype a type of this repository
+     * @return the type and its extended types
+     */
+    NavigableSet<Datatype> getAllExtendedTypes(Datatype datatype) {
+        return computeIfAbsent(getDerivedViews().extendedTypes, datatype.getId(), () -> {
+            NavigableSet<Datatype> closure = new TreeSet<>();
+            Deque<Datatype> queue = new ArrayDeque<>();
+            queue.add(datatype);
+            while (!queue.isEmpty()) {
+                Datatype current = queue.poll();
+                if (closure.add(current)) {
+                    queue.addAll(current.getExtendedTypes());
+                }
+            }
+            return Collections.unmodifiableNavigableSet(closure);
+        });
+    }
+
+    /**
+     * Returns the types the specified type, or one of the types it extends, directly implements. The result is computed once per type until the repository is
+     * modified.
+     *
+     * @param datatype a type of this repository
+     * @return the implemented types
+     */
+    NavigableSet<Datatype> getAllImplementedTypes(Datatype datatype) {
+        return computeIfAbsent(getDerivedViews().implementedTypes, datatype.getId(), () -> {
+            NavigableSet<Datatype> implementedTypes = new TreeSet<>();
+            getAllExtendedTypes(datatype).forEach(extendedType -> implementedTypes.addAll(extendedType.getImplementedTypes()));
+            return Collections.unmodifiableNavigableSet(implementedTypes);
+        });
+    }
+
+    /**
+     * Returns the cached view of a type or computes it. The view is computed without holding a lock, as computing a view may compute other views.
+     */
+    private static NavigableSet<Datatype> computeIfAbsent(SortedMap<String, NavigableSet<Datatype>> views, String id,
+            Supplier<NavigableSet<Datatype>> computation) {
+        synchronized (views) {
+            NavigableSet<Datatype> view = views.get(id);
+            if (view != null)
+                return view;
+        }
+        NavigableSet<Datatype> view = computation.get();
+        synchronized (views) {
+            NavigableSet<Datatype> present = views.putIfAbsent(id, view);
+            return present == null ? view : present;
+        }
+    }
+
+    private DerivedViews getDerivedViews() {
+        Snapshot sealedSnapshot = snapshot;
+        if (sealedSnapshot != null)
+            return sealedSnapshot.derivedViews();
+        synchronized (this) {
+            long currentModificationCount = modificationCount;
+            if (derivedViews == null || derivedViews.modificationCount != currentModificationCount) {
+                derivedViews = new DerivedViews(currentModificationCount);
+            }
+            return derivedViews;
+        }
+    }
+
+    /**
+     * Writes the code items of this repository. The mapped binary code model cannot be serialized, so the code items that were not decoded yet are decoded for
+     * writing, but not kept, and this repository is not changed.
+     */
+    @Serial
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        List<CodeItem> snapshot = new ArrayList<>();
+        for (String id : getCodeItemIds()) {
+            CodeItem codeItem = peekCodeItem(id);
+            if (codeItem != null) {
+                snapshot.add(codeItem);
+            }
+        }
+        synchronized (this) {
+            out.defaultWriteObject();
+        }
+        out.writeObject(snapshot);
+    }
+
+    @Serial
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        codeItems = new ArrayList<>();
+        handles = ObjectIntMaps.mutable.empty();
+        removedIds = new TreeSet<>();
+        for (CodeItem codeItem : (List<CodeItem>) in.readObject()) {
+            handles.put(codeItem.getId(), codeItems.size());
+            codeItems.add(codeItem);
+        }
+        if (sealed) {
+            seal();
+        }
+    }
+
+    /**
+     * The immutable state of a sealed repository. Only the code items that are decoded from the binary code model after sealing and the derived views are
+     * added concurrently.
+     */
+    private record Snapshot(List<CodeItem> codeItems, ImmutableObjectIntMap<String> handles, NavigableSet<String> removedIds,
+                            ConcurrentNavigableMap<String, CodeItem> decodedCodeItems, DerivedViews derivedViews) {
+        private int getHandle(String id) {
+            return id == null ? NO_HANDLE : handles.getIfAbsent(id, NO_HANDLE);
+        }
+    }
+
+    private static final class DerivedViews {
+        private final long modificationCount;
+        private final SortedMap<String, NavigableSet<Datatype>> extendedTypes = new TreeMap<>();
+        private final SortedMap<String, NavigableSet<Datatype>> implementedTypes = new TreeMap<>();
+
+        private DerivedViews(long modificationCount) {
+            this.modificationCount = modificationCount;
+        }
+    }
 }
@@ -1,4 +1,4 @@
-/* Licensed under MIT 2023. */
+/* Licensed under MIT 2023-2024. */
 package edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code;
 
 import java.util.ArrayList;
@@ -40,11 +40,21 @@ public CodeModule(CodeItemRepository codeItemRepository, String name, SortedSet<
         parentId = null;
     }
 
+    CodeModule(CodeItemRepository codeItemRepository, String id, String name, String parentId, List<String> content) {
+        super(codeItemRepository, id, name);
+        this.parentId = parentId;
+        this.content = new ArrayList<>(content);
+    }
+
     @JsonGetter("content")
     protected List<String> getContentIds() {
         return content;
     }
 
+    String getParentId() {
+        return parentId;
+    }
+
     @Override
     public List<CodeItem> getContent() {
         return codeItemRepository.getCodeItemsFromIds(content);
@@ -55,14 +65,17 @@ public void setContent(List<? extends CodeItem> content) {
         for (var codeItem : content) {
             this.content.add(codeItem.getId());
         }
+        modified();
     }
 
     public void addContent(CodeItem content) {
         this.content.add(content.getId());
+        modified();
     }
 
     public void addContent(List<? extends CodeItem> content) {
         this.content.addAll(content.stream().map(CodeItem::getId).toList());
+        modified();
     }
 
     public CodeModule getParent() {
@@ -82,6 +95,7 @@ public void setParent(CodeModule parent) {
         if (!codeItemRepository.containsCodeItem(parentId)) {
             codeItemRepository.addCodeItem(parent);
         }
+        modified();
     }
 
     @Override
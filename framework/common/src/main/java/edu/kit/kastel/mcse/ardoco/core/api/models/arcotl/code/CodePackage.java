@@ -1,6 +1,7 @@
-/* Licensed under MIT 2023. */
+/* Licensed under MIT 2023-2024. */
 package edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code;
 
+import java.util.List;
 import java.util.SortedSet;
 import java.util.TreeSet;
 
@@ -21,6 +22,10 @@ public CodePackage(CodeItemRepository codeItemRepository, String name, SortedSet
         super(codeItemRepository, name, content);
     }
 
+    CodePackage(CodeItemRepository codeItemRepository, String id, String name, String parentId, List<String> content) {
+        super(codeItemRepository, id, name, parentId, content);
+    }
+
     public SortedSet<CodePackage> getSubpackages() {
         SortedSet<CodePackage> codePackages = new TreeSet<>();
         for (CodeItem packageElement : getContent()) {
@@ -1,4 +1,4 @@
-/* Licensed under MIT 2023. */
+/* Licensed under MIT 2023-2024. */
 package edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code;
 
 import com.fasterxml.jackson.annotation.JsonSubTypes;
@@ -18,4 +18,8 @@ public ComputationalObject(CodeItemRepository codeItemRepository, String name) {
         super(codeItemRepository, name);
     }
 
+    ComputationalObject(CodeItemRepository codeItemRepository, String id, String name) {
+        super(codeItemRepository, id, name);
+    }
+
 }
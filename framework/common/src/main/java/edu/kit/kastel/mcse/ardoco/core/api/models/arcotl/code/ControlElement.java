@@ -1,4 +1,4 @@
-/* Licensed under MIT 2023. */
+/* Licensed under MIT 2023-2024. */
 package edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code;
 
 import com.fasterxml.jackson.annotation.JsonTypeName;
@@ -13,4 +13,8 @@ private ControlElement() {
     public ControlElement(CodeItemRepository codeItemRepository, String name) {
         super(codeItemRepository, name);
     }
+
+    ControlElement(CodeItemRepository codeItemRepository, String id, String name) {
+        super(codeItemRepository, id, name);
+    }
 }
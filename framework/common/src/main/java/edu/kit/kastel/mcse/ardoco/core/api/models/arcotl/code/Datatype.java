@@ -1,8 +1,9 @@
-/* Licensed under MIT 2023. */
+/* Licensed under MIT 2023-2024. */
 package edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.NavigableSet;
 import java.util.Objects;
 import java.util.SortedSet;
 import java.util.TreeSet;
@@ -43,6 +44,36 @@ public Datatype(CodeItemRepository codeItemRepository, String name) {
         this.datatypeReferencesIds = new ArrayList<>();
     }
 
+    Datatype(CodeItemRepository codeItemRepository, String id, String name, String compilationUnitId, String parentDatatypeId,
+            List<String> extendedDataTypesIds, List<String> implementedDataTypesIds, List<String> datatypeReferencesIds) {
+        super(codeItemRepository, id, name);
+        this.compilationUnitId = compilationUnitId;
+        this.parentDatatypeId = parentDatatypeId;
+        this.extendedDataTypesIds = new ArrayList<>(extendedDataTypesIds);
+        this.implementedDataTypesIds = new ArrayList<>(implementedDataTypesIds);
+        this.datatypeReferencesIds = new ArrayList<>(datatypeReferencesIds);
+    }
+
+    String getCompilationUnitId() {
+        return compilationUnitId;
+    }
+
+    String getParentDatatypeId() {
+        return parentDatatypeId;
+    }
+
+    List<String> getExtendedDataTypesIds() {
+        return extendedDataTypesIds;
+    }
+
+    List<String> getImplementedDataTypesIds() {
+        return implementedDataTypesIds;
+    }
+
+    List<String> getDatatypeReferencesIds() {
+        return datatypeReferencesIds;
+    }
+
     public CodeCompilationUnit getCompilationUnit() {
         CodeItem codeItem = codeItemRepository.getCodeItem(compilationUnitId);
         if (codeItem instanceof CodeCompilationUnit codeCompilationUnit) {
@@ -92,30 +123,57 @@ public SortedSet<Datatype> getDatatypeReferences() {
         }).filter(Objects::nonNull).collect(Collectors.toCollection(TreeSet::new));
     }
 
+    /**
+     * Returns this type and all types it directly or indirectly extends. The result is cached until the code items are modified and must not be changed.
+     *
+     * @return this type and its extended types
+     */
+    public NavigableSet<Datatype> getAllExtendedTypes() {
+        return codeItemRepository.getAllExtendedTypes(this);
+    }
+
+    /**
+     * Returns all types that this type or one of the types it extends directly implements. The result is cached until the code items are modified and must
+     * not be changed.
+     *
+     * @return the implemented types
+     */
+    public NavigableSet<Datatype> getAllImplementedTypes() {
+        return codeItemRepository.getAllImplementedTypes(this);
+    }
+
     public void setCompilationUnit(CodeCompilationUnit compilationUnit) {
         this.compilationUnitId = compilationUnit.getId();
+        modified();
     }
 
     public void setParentDatatype(Datatype parentDatatype) {
         this.parentDatatypeId = parentDatatype.getId();
+        modified();
     }
 
     public void setExtendedTypes(SortedSet<Datatype> extendedDatatypes) {
+        this.extendedDataTypesIds.clear();
         for (Datatype datatype : extendedDatatypes) {
             this.extendedDataTypesIds.add(datatype.getId());
         }
+        modified();
     }
 
     public void setImplementedTypes(SortedSet<Datatype> implementedDatatypes) {
+        this.implementedDataTypesIds.clear();
         for (Datatype datatype : implementedDatatypes) {
             this.implementedDataTypesIds.add(datatype.getId());
         }
+        modified();
     }
 
     public void setDatatypeReference(SortedSet<Datatype> datatypeDependencies) {
+        this.datatypeReferencesIds.clear();
         for (Datatype datatype : datatypeDependencies) {
             this.datatypeReferencesIds.add(datatype.getId());
         }
+        modified();
     }
 
     @Override
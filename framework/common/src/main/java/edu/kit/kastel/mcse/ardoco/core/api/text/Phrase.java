@@ -22,4 +22,13 @@ public interface Phrase extends Serializable, Comparable<Phrase> {
     boolean isSubPhraseOf(Phrase other);
 
     ImmutableSortedMap<Word, Integer> getPhraseVector();
+
+    /**
+     * Returns the phrase vector as a sparse vector of term counts. Implementations should compute it once.
+     *
+     * @return the sparse phrase vector
+     */
+    default PhraseVector getSparsePhraseVector() {
+        return PhraseVector.of(getContainedWords());
+    }
 }
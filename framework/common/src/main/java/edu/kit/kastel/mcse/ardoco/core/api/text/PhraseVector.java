@@ -0,0 +1,137 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.core.api.text;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.collections.api.factory.primitive.IntIntMaps;
+import org.eclipse.collections.api.map.primitive.MutableIntIntMap;
+
+import edu.kit.kastel.mcse.ardoco.core.architecture.Deterministic;
+import edu.kit.kastel.mcse.ardoco.core.common.RunContext;
+
+/**
+ * A sparse vector that counts the words of a phrase by their text. The vector is stored as term ids in ascending order and their counts, so the similarity of
+ * two vectors is computed by a single merge of both arrays. The norm is computed once.
+ * <p>
+ * The term ids are assigned per {@link RunContext#find() run}, so only vectors of the same run can be compared, and phrase vectors must not be persisted.
+ * Phrases should cache their vector in a transient field and create it again if it is not {@link #isOfCurrentRun() of the current run}.
+ */
+@Deterministic
+public final class PhraseVector {
+    private final TermIds terms;
+    private final int[] termIds;
+    private final int[] counts;
+    private final double norm;
+
+    private PhraseVector(TermIds terms, int[] termIds, int[] counts) {
+        this.terms = terms;
+        this.termIds = termIds;
+        this.counts = counts;
+        long squaredNorm = 0;
+        for (int count : counts) {
+            squaredNorm += (long) count * count;
+        }
+        this.norm = Math.sqrt((double) squaredNorm);
+    }
+
+    /**
+     * Creates the vector of the specified words in the current run. Words with the same text are counted as the same term.
+     *
+     * @param words the words of a phrase
+     * @return the phrase vector
+     * @throws IllegalStateException if no run context is bound to the current thread
+     */
+    public static PhraseVector of(Iterable<? extends Word> words) {
+        TermIds terms = TermIds.current();
+        MutableIntIntMap countsByTerm = IntIntMaps.mutable.empty();
+        for (Word word : words) {
+            countsByTerm.addToValue(terms.getId(word.getText()), 1);
+        }
+        int[] termIds = countsByTerm.keySet().toSortedArray();
+        int[] counts = new int[termIds.length];
+        for (int i = 0; i < termIds.length; i++) {
+            counts[i] = countsByTerm.get(termIds[i]);
+        }
+        return new PhraseVector(terms, termIds, counts);
+    }
+
+    /**
+     * {@return whether this vector was created in the current run and can be compared with the vectors of the current run}
+     *
+     * @throws IllegalStateException if no run context is bound to the current thread
+     */
+    public boolean isOfCurrentRun() {
+        return terms == TermIds.current();
+    }
+
+    /**
+     * {@return the number of distinct terms of this vector}
+     */
+    public int size() {
+        return termIds.length;
+    }
+
+    /**
+     * Calculates the cosine similarity of this vector and the specified vector. The similarity is 0 if one of the vectors is empty.
+     *
+     * @param other the other vector
+     * @return the cosine similarity
+     * @throws IllegalArgumentException if the vectors were created in different runs
+     */
+    public double cosineSimilarity(PhraseVector other) {
+        if (terms != other.terms) {
+            throw new IllegalArgumentException("Phrase vectors of different runs cannot be compared");
+        }
+        if (norm <= 0.0 || other.norm <= 0.0) {
+            return 0.0;
+        }
+        long dotProduct = 0;
+        int i = 0;
+        int j = 0;
+        while (i < termIds.length && j < other.termIds.length) {
+            if (termIds[i] < other.termIds[j]) {
+                i++;
+            } else if (termIds[i] > other.termIds[j]) {
+                j++;
+            } else {
+                dotProduct += (long) counts[i++] * other.counts[j++];
+            }
+        }
+        return dotProduct / (norm * other.norm);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof PhraseVector other))
+            return false;
+        return terms == other.terms && Arrays.equals(termIds, other.termIds) && Arrays.equals(counts, other.counts);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(termIds) + Arrays.hashCode(counts);
+    }
+
+    /**
+     * The ids of the terms of a run, kept in the {@link RunContext}. Vectors that are created outside of runs share process-wide term ids.
+     */
+    private static final class TermIds implements Serializable {
+        private static final TermIds UNSCOPED = new TermIds();
+
+        private final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+        private final AtomicInteger nextId = new AtomicInteger();
+
+        private static TermIds current() {
+            return RunContext.find().map(runContext -> runContext.getAttribute(TermIds.class, TermIds::new)).orElse(UNSCOPED);
+        }
+
+        private int getId(String term) {
+            return ids.computeIfAbsent(term, key -> nextId.getAndIncrement());
+        }
+    }
+}
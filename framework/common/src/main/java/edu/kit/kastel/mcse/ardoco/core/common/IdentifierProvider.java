@@ -1,22 +1,55 @@
-/* Licensed under MIT 2023. */
+/* Licensed under MIT 2023-2024. */
 package edu.kit.kastel.mcse.ardoco.core.common;
 
+import java.io.Serializable;
+import java.util.Collection;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
+/**
+ * Creates the identifiers of model elements. The counter is scoped to the {@link RunContext#find() bound run context}, so concurrent runs do not affect each
+ * other's identifiers. Model elements that are created outside of runs use a process-wide counter.
+ */
 public class IdentifierProvider {
     private static final int INITIAL_VALUE = 1337;
-    private static final AtomicInteger COUNTER = new AtomicInteger(INITIAL_VALUE);
+    private static final Pattern ID_PATTERN = Pattern.compile("acm(\\d+)jsd");
+    private static final Counter UNSCOPED_COUNTER = new Counter();
 
     private IdentifierProvider() {
         // empty
     }
 
     public static String createId() {
-        int currentCounter = COUNTER.getAndIncrement();
+        int currentCounter = counter().getAndIncrement();
         return "acm%09djsd".formatted(currentCounter);
     }
 
     public static void reset() {
-        COUNTER.set(INITIAL_VALUE);
+        counter().set(INITIAL_VALUE);
+    }
+
+    /**
+     * Advances the counter of the bound run context past the specified identifiers, so that identifiers created afterward in the same run do not collide
+     * with them. Other runs are not affected. Identifiers that were not created by this provider are ignored.
+     *
+     * @param ids the identifiers that are already in use
+     */
+    public static void advancePast(Collection<String> ids) {
+        for (String id : ids) {
+            Matcher matcher = ID_PATTERN.matcher(id);
+            if (matcher.matches()) {
+                int value = Integer.parseInt(matcher.group(1));
+                counter().accumulateAndGet(value + 1, Math::max);
+            }
+        }
+    }
+
+    private static AtomicInteger counter() {
+        return RunContext.find().map(runContext -> runContext.getAttribute(Counter.class, Counter::new)).orElse(UNSCOPED_COUNTER).value;
+    }
+
+    private static final class Counter implements Serializable {
+        private final AtomicInteger value = new AtomicInteger(INITIAL_VALUE);
     }
 }
@@ -0,0 +1,100 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.core.common;
+
+import java.io.Serializable;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Holds the state of a single run of a pipeline that is needed by code without access to the data repository, e.g., the counter of the
+ * {@link IdentifierProvider}. Every {@link edu.kit.kastel.mcse.ardoco.core.data.GlobalConfiguration} owns a run context, so that multiple projects can be
+ * processed concurrently in the same JVM.
+ * <p>
+ * Pipeline steps bind the run context of their data repository to the executing thread, see {@link #bind()}. Outside a bound scope, {@link #current()} fails,
+ * so that state of different runs is never mixed silently. Code that spawns other threads, e.g., parallel streams, has to pass the run context explicitly.
+ * <p>
+ * Public API that is also used outside of runs, e.g., creating model elements, phrase vectors or looking up persistent abbreviations, uses {@link #find()}
+ * instead. Without a bound run context, it uses process-wide state that does not belong to any run, as it did before runs had their own state. State that
+ * only exists within a run, e.g., the transient abbreviations, always requires a bound run context.
+ */
+public final class RunContext implements Serializable {
+    private static final ThreadLocal<RunContext> CURRENT = new ThreadLocal<>();
+
+    private final ConcurrentHashMap<Class<?>, Serializable> attributes = new ConcurrentHashMap<>();
+
+    /**
+     * {@return the run context bound to the current thread}
+     *
+     * @throws IllegalStateException if no run context is bound to the current thread
+     */
+    public static RunContext current() {
+        var current = CURRENT.get();
+        if (current == null) {
+            throw new IllegalStateException("No run context is bound to the current thread");
+        }
+        return current;
+    }
+
+    /**
+     * {@return the run context bound to the current thread or an empty optional if none is bound}
+     */
+    public static Optional<RunContext> find() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    /**
+     * Binds this run context to the current thread until the returned scope is closed. Scopes can be nested, closing a scope restores the previously bound
+     * context.
+     *
+     * @return the scope of the binding
+     */
+    public Scope bind() {
+        var previous = CURRENT.get();
+        CURRENT.set(this);
+        return new Scope(previous);
+    }
+
+    /**
+     * Returns the attribute of the given type, which is created on first access. Each type has at most one attribute per run context, so the type should be
+     * private to the class using it.
+     *
+     * @param type    the type of the attribute
+     * @param factory creates the attribute if it does not exist yet
+     * @param <T>     the type of the attribute
+     * @return the attribute
+     */
+    public <T extends Serializable> T getAttribute(Class<T> type, Supplier<T> factory) {
+        return type.cast(attributes.computeIfAbsent(type, key -> factory.get()));
+    }
+
+    /**
+     * Replaces the attributes of this run context with the attributes of the given run context, e.g., when a run is resumed from a checkpoint.
+     *
+     * @param runContext the run context whose attributes are taken over, should not be used afterward
+     */
+    public void restore(RunContext runContext) {
+        attributes.clear();
+        attributes.putAll(runContext.attributes);
+    }
+
+    /**
+     * The binding of a run context to a thread, see {@link #bind()}.
+     */
+    public static final class Scope implements AutoCloseable {
+        private final RunContext previous;
+
+        private Scope(RunContext previous) {
+            this.previous = previous;
+        }
+
+        @Override
+        public void close() {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+}
@@ -5,7 +5,9 @@
 
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.io.Serializable;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.MatchResult;
 import java.util.regex.Pattern;
 
@@ -16,6 +18,7 @@
 import org.slf4j.LoggerFactory;
 
 import edu.kit.kastel.mcse.ardoco.core.api.Disambiguation;
+import edu.kit.kastel.mcse.ardoco.core.common.RunContext;
 
 /**
  * Provides functions to identify and disambiguate abbreviations. Caches results divided into a persistent {@link FileBasedCache} and a transient cache that is
@@ -23,6 +26,10 @@
  * the file is saved in the user data directory folder of ArDoCo. The helper can be used to disambiguate an abbreviation using online abbreviation directory
  * lookups. Such disambiguations are saved in the persistent cache. The transient cache is populated by the stages. When comparing two words, it is generally
  * advised to ambiguate both rather than disambiguating.
+ * <p>
+ * The transient cache and the derived caches are scoped to a {@link RunContext}. The methods without a run context use the {@link RunContext#find() bound}
+ * one. Looking up disambiguations does not need a run: without a bound run context, only the persistent cache is used. Adding a transient disambiguation
+ * always requires a run context.
  */
 public final class AbbreviationDisambiguationHelper extends FileBasedCache<SortedMap<String, Disambiguation>> {
     /**
@@ -40,8 +47,18 @@ public final class AbbreviationDisambiguationHelper extends FileBasedCache<Sorte
     private static final String ABBREVIATIONS_COM = "https://www.abbreviations.com/";
     private static final String ACRONYM_FINDER_COM = "https://www.acronymfinder.com/Information-Technology/";
     private static AbbreviationDisambiguationHelper instance;
-    private static SortedMap<String, String> ambiguated = new TreeMap<>();
-    private static final SortedMap<String, Disambiguation> local = new TreeMap<>();
+    /**
+     * The maximum number of texts whose ambiguated form is cached by {@link #ambiguateAll(String, boolean)}
+     */
+    public static final int AMBIGUATED_CACHE_CAPACITY = 10_000;
+    /**
+     * The version of the persistent cache, which is shared by all runs.
+     */
+    private static final AtomicLong persistentVersion = new AtomicLong();
+    /**
+     * The caches derived from the persistent cache alone, used without a run context. No transient disambiguations are ever added to it.
+     */
+    private static final TransientState PERSISTENT_ONLY = new TransientState();
 
     /**
      * {@return the singleton instance of this class}
@@ -58,13 +75,28 @@ private AbbreviationDisambiguationHelper() {
     }
 
     /**
-     * Adds a disambiguation to the transient cache. If the abbreviation already exists, the disambiguations are merged instead.
+     * Adds a disambiguation to the transient cache of the {@link RunContext#current() current run}. If the abbreviation already exists, the disambiguations
+     * are merged instead.
      *
      * @param disambiguation the disambiguation
+     * @throws IllegalStateException if no run context is bound to the current thread
      */
     public static void addTransient(Disambiguation disambiguation) {
-        local.merge(disambiguation.getAbbreviation(), disambiguation, Disambiguation::addMeanings);
-        ambiguated = new TreeMap<>();
+        addTransient(RunContext.current(), disambiguation);
+    }
+
+    /**
+     * Adds a disambiguation to the transient cache of the run. If the abbreviation already exists, the disambiguations are merged instead.
+     *
+     * @param runContext     the run context
+     * @param disambiguation the disambiguation
+     */
+    public static void addTransient(RunContext runContext, Disambiguation disambiguation) {
+        var state = getTransientState(Objects.requireNonNull(runContext));
+        synchronized (state) {
+            state.local.merge(disambiguation.getAbbreviation(), disambiguation, Disambiguation::addMeanings);
+            state.version++;
+        }
     }
 
     /**
@@ -72,7 +104,7 @@ public static void addTransient(Disambiguation disambiguation) {
      *
      * @param disambiguation the disambiguation
      */
-    private static void addPersistent(Disambiguation disambiguation) {
+    private static synchronized void addPersistent(Disambiguation disambiguation) {
         //Specifically check. We do not want to mess up our files.
         Objects.requireNonNull(disambiguation);
         Objects.requireNonNull(disambiguation.getAbbreviation());
@@ -86,11 +118,41 @@ private static void addPersistent(Disambiguation disambiguation) {
         try (var fbCache = getInstance()) {
             fbCache.cache(disambiguations);
         }
-        ambiguated = new TreeMap<>();
+        persistentVersion.incrementAndGet();
+    }
+
+    private static TransientState getTransientState(RunContext runContext) {
+        return runContext == null ? PERSISTENT_ONLY : runContext.getAttribute(TransientState.class, TransientState::new);
+    }
+
+    private static RunContext findRunContext() {
+        return RunContext.find().orElse(null);
+    }
+
+    /**
+     * Returns the version of the known disambiguations. The version changes whenever a disambiguation is added, i.e., whenever the results of
+     * {@link #ambiguateAll(String, boolean)} may change.
+     *
+     * @return the version of the known disambiguations
+     */
+    public static long getVersion() {
+        return getVersion(findRunContext());
+    }
+
+    /**
+     * Returns the version of the disambiguations known to the run. The version changes whenever a disambiguation is added to the transient cache of the run or
+     * to the persistent cache.
+     *
+     * @param runContext the run context or null to only consider the persistent cache
+     * @return the version of the known disambiguations
+     */
+    public static long getVersion(RunContext runContext) {
+        return getTransientState(runContext).version + persistentVersion.get();
     }
 
     /**
-     * Tries to disambiguate the provided abbreviation and returns the potentially empty set of meanings
+     * Tries to disambiguate the provided abbreviation and returns the potentially empty set of meanings. The transient cache of the bound run is only consulted
+     * if a run context is bound.
      *
      * @param abbreviation the abbreviation
      * @return a set of meanings
@@ -116,41 +178,92 @@ public static SortedSet<String> disambiguate(String abbreviation) {
     }
 
     /**
-     * Replaces all meanings with their known abbreviation in a single string. The result is cached.
+     * Replaces all meanings with their known abbreviation in a single string. For example, "Personal Computer Database" -> "PC DB". Meanings are matched
+     * literally in a single pass over the text, overlapping meanings are resolved by replacing the leftmost and then the longest one. The result is cached.
      *
      * @param text       a text containing an arbitrary amount of meanings (can be zero)
      * @param ignoreCase whether to ignore the casing when searching for a meaning inside the text
      * @return a single string where all meanings have been replaced with known abbreviations
      */
     public static String ambiguateAll(String text, boolean ignoreCase) {
-        return ambiguated.computeIfAbsent(text, key -> replaceAllMeanings(key, ignoreCase));
+        return ambiguateAll(findRunContext(), text, ignoreCase);
     }
 
     /**
-     * Replaces all meanings with their known abbreviation in a single string. For example, "Personal Computer Database" -> "PC DB"
+     * Replaces all meanings known to the run with their abbreviation in a single string, see {@link #ambiguateAll(String, boolean)}.
      *
+     * @param runContext the run context or null to only consider the persistent cache
      * @param text       a text containing an arbitrary amount of meanings (can be zero)
      * @param ignoreCase whether to ignore the casing when searching for a meaning inside the text
      * @return a single string where all meanings have been replaced with known abbreviations
      */
-    private static String replaceAllMeanings(String text, boolean ignoreCase) {
-        var replaced = text;
-        var disambiguations = getAll().values();
-        for (var disambiguation : disambiguations) {
-            replaced = disambiguation.replaceMeaningWithAbbreviation(replaced, ignoreCase);
+    public static String ambiguateAll(RunContext runContext, String text, boolean ignoreCase) {
+        var state = getTransientState(runContext);
+        var key = new AmbiguationKey(text, ignoreCase);
+        var currentVersion = getVersion(runContext);
+        synchronized (state.ambiguated) {
+            if (state.ambiguatedVersion != currentVersion) {
+                state.ambiguated.clear();
+                state.ambiguatedVersion = currentVersion;
+            }
+            var cached = state.ambiguated.get(key);
+            if (cached != null)
+                return cached;
+        }
+        var replaced = getAutomaton(runContext, ignoreCase).replaceAll(text);
+        synchronized (state.ambiguated) {
+            if (state.ambiguatedVersion == currentVersion && currentVersion == getVersion(runContext)) {
+                state.ambiguated.put(key, replaced);
+                while (state.ambiguated.size() > AMBIGUATED_CACHE_CAPACITY) {
+                    state.ambiguated.pollFirstEntry();
+                }
+            }
         }
         return replaced;
     }
 
+    /**
+     * Returns the automaton over all meanings known to the run. The automaton is only rebuilt after the known disambiguations changed.
+     *
+     * @param runContext the run context
+     * @param ignoreCase whether the automaton should ignore the casing when searching for a meaning
+     * @return the automaton
+     */
+    private static MeaningAutomaton getAutomaton(RunContext runContext, boolean ignoreCase) {
+        var state = getTransientState(runContext);
+        synchronized (state) {
+            var currentVersion = getVersion(runContext);
+            return ignoreCase ? state.getCaseInsensitiveAutomaton(runContext, currentVersion) : state.getCaseSensitiveAutomaton(runContext, currentVersion);
+        }
+    }
+
     private static SortedMap<String, Disambiguation> getPersistent() {
         return getInstance().getOrRead();
     }
 
     /**
-     * {@return all disambiguations merged from both caches}
+     * {@return all disambiguations merged from the transient cache of the bound run, if any, and the persistent cache}
      */
     public static SortedMap<String, Disambiguation> getAll() {
-        return new TreeMap<>(Disambiguation.merge(new TreeMap<>(local), new TreeMap<>(getPersistent())));
+        return getAll(findRunContext());
+    }
+
+    /**
+     * {@return all disambiguations known to the run merged from both caches}
+     *
+     * @param runContext the run context or null to only return the persistent cache
+     */
+    public static SortedMap<String, Disambiguation> getAll(RunContext runContext) {
+        var state = getTransientState(runContext);
+        SortedMap<String, Disambiguation> local;
+        synchronized (state) {
+            local = new TreeMap<>(state.local);
+        }
+        SortedMap<String, Disambiguation> persistent;
+        synchronized (AbbreviationDisambiguationHelper.class) {
+            persistent = new TreeMap<>(getPersistent());
+        }
+        return new TreeMap<>(Disambiguation.merge(local, persistent));
     }
 
     /**
@@ -415,4 +528,44 @@ public static boolean shareInitial(String a, String b) {
             return false;
         return a.substring(0, 1).equals(b.substring(0, 1));
     }
+
+    private record AmbiguationKey(String text, boolean ignoreCase) implements Serializable {
+    }
+
+    /**
+     * The transient disambiguations of a run and the caches derived from them. Guarded by itself, the cache of ambiguated texts is guarded by the cache.
+     */
+    private static final class TransientState implements Serializable {
+        private final SortedMap<String, Disambiguation> local = new TreeMap<>();
+        private volatile long version = 0;
+        /**
+         * Bounded cache of ambiguated texts, the first entry is always the least recently used one. It contains the results for the version
+         * {@link #ambiguatedVersion}.
+         */
+        private final LinkedHashMap<AmbiguationKey, String> ambiguated = new LinkedHashMap<>(16, 0.75f, true);
+        private long ambiguatedVersion = -1;
+        /**
+         * The automata over all meanings together with the version they were built for. They are not serialized and rebuilt by their getters whenever the
+         * version changed.
+         */
+        private transient VersionedAutomaton caseSensitiveAutomaton;
+        private transient VersionedAutomaton caseInsensitiveAutomaton;
+
+        private MeaningAutomaton getCaseSensitiveAutomaton(RunContext runContext, long currentVersion) {
+            if (caseSensitiveAutomaton == null || caseSensitiveAutomaton.version() != currentVersion) {
+                caseSensitiveAutomaton = new VersionedAutomaton(currentVersion, new MeaningAutomaton(getAll(runContext).values(), false));
+            }
+            return caseSensitiveAutomaton.automaton();
+        }
+
+        private MeaningAutomaton getCaseInsensitiveAutomaton(RunContext runContext, long currentVersion) {
+            if (caseInsensitiveAutomaton == null || caseInsensitiveAutomaton.version() != currentVersion) {
+                caseInsensitiveAutomaton = new VersionedAutomaton(currentVersion, new MeaningAutomaton(getAll(runContext).values(), true));
+            }
+            return caseInsensitiveAutomaton.automaton();
+        }
+    }
+
+    private record VersionedAutomaton(long version, MeaningAutomaton automaton) {
+    }
 }
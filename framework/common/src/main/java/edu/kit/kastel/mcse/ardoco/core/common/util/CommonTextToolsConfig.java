@@ -88,6 +88,10 @@ private CommonTextToolsConfig() {
      * The path to the sqlite database file used by the SEWordSim word similarity measure.
      */
     public static final String SEWORDSIM_DB_FILE_PATH = CONFIG.getProperty("sewordsim_DatabaseFilePath");
+    /**
+     * Decides whether the SEWordSim database should be loaded into memory once instead of being queried for every comparison.
+     */
+    public static final boolean SEWORDSIM_IN_MEMORY = CONFIG.isPropertyEnabled("sewordsim_InMemory");
 
     /**
      * Decides whether the GloVe similarity measure should be used.
@@ -101,6 +105,10 @@ private CommonTextToolsConfig() {
      * The path to the sqlite database file used by the GloVe word similarity measure.
      */
     public static final String GLOVE_DB_FILE_PATH = CONFIG.getProperty("glove_DatabaseFilePath");
+    /**
+     * The path to the vector store file used by the GloVe word similarity measure. If set, it is used instead of the sqlite database file.
+     */
+    public static final String GLOVE_VECTOR_STORE_FILE_PATH = CONFIG.getProperty("glove_VectorStoreFilePath");
     /**
      * The threshold for a diagram element to be considered similar to a noun mapping.
      */
@@ -24,6 +24,7 @@
     private final String identifier;
     private final String fileExtension;
     private final String subFolder;
+    private final String directory;
     private boolean flagWrite = false;
     private T currentState = null;
     private int originalStateHash;
@@ -76,11 +77,25 @@ public void cache(T content) {
      * @param subFolder     sub-folder in the user directory, must end with {@link File#separator}
      */
     protected FileBasedCache(String identifier, String fileExtension, String subFolder) {
+        this(identifier, fileExtension, subFolder, null);
+    }
+
+    /**
+     * Constructor for a file-based cache that is saved in the given directory instead of the temporary directory of ArDoCo. Such a cache is not deleted on
+     * shutdown and can be reused by later runs.
+     *
+     * @param identifier    name of the cache file
+     * @param fileExtension extension of the cache file
+     * @param subFolder     sub-folder in the directory, must end with {@link File#separator}
+     * @param directory     the directory of the cache, or null to use the temporary directory
+     */
+    protected FileBasedCache(String identifier, String fileExtension, String subFolder, Path directory) {
         this.identifier = identifier;
         this.fileExtension = fileExtension;
         if (!subFolder.isEmpty() && !subFolder.endsWith(File.separator))
             throw new IllegalArgumentException();
         this.subFolder = subFolder;
+        this.directory = directory == null ? TEMP_DIR : directory.toString();
     }
 
     /**
@@ -136,7 +151,7 @@ protected boolean deleteFile() {
      */
     protected File getFileHandle() throws IOException {
 
-        file = new File(TEMP_DIR + File.separator + subFolder + this.identifier + this.fileExtension);
+        file = new File(directory + File.separator + subFolder + this.identifier + this.fileExtension);
         if (file.getParentFile().mkdirs()) {
             logger.info("Created directory {}", file.getParentFile().getCanonicalPath());
         }
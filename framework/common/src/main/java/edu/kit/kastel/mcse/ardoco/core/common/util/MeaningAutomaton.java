@@ -0,0 +1,189 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.core.common.util;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.factory.primitive.IntLists;
+import org.eclipse.collections.api.factory.primitive.LongIntMaps;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.list.primitive.MutableIntList;
+import org.eclipse.collections.api.map.primitive.MutableLongIntMap;
+
+import edu.kit.kastel.mcse.ardoco.core.api.Disambiguation;
+import edu.kit.kastel.mcse.ardoco.core.architecture.Deterministic;
+
+/**
+ * An Aho-Corasick automaton over the meanings of a set of {@link Disambiguation disambiguations}. It replaces all meanings in a text with their abbreviation in
+ * a single pass over the text. Meanings are matched literally. If multiple meanings match, the leftmost and then the longest match is replaced and matches do
+ * not overlap. If a meaning belongs to multiple abbreviations, the first abbreviation in the order of the disambiguations is used. When letter case is ignored,
+ * ASCII letters are compared case-insensitively, like the {@code (?i)} flag of {@link java.util.regex.Pattern}. The automaton is immutable after creation and
+ * can be used by multiple threads.
+ */
+@Deterministic
+final class MeaningAutomaton {
+    private static final int ROOT = 0;
+    private static final int NONE = -1;
+
+    private final boolean ignoreCase;
+    /**
+     * Maps (state << 16 | character) to the next state of the trie
+     */
+    private final MutableLongIntMap transitions = LongIntMaps.mutable.empty();
+    private final MutableList<String> abbreviations = Lists.mutable.empty();
+    private final MutableIntList meaningLengths = IntLists.mutable.empty();
+    /**
+     * The meaning that ends in a state or {@link #NONE}
+     */
+    private final int[] output;
+    /**
+     * The state reached on a mismatch
+     */
+    private final int[] failure;
+    /**
+     * The next state on the failure path that has an output or {@link #NONE}
+     */
+    private final int[] outputLink;
+
+    /**
+     * Creates a new automaton over all meanings of the specified disambiguations.
+     *
+     * @param disambiguations the disambiguations, their order decides which abbreviation is used for a meaning with multiple abbreviations
+     * @param ignoreCase      whether to ignore the letter case when searching for a meaning
+     */
+    MeaningAutomaton(Collection<Disambiguation> disambiguations, boolean ignoreCase) {
+        this.ignoreCase = ignoreCase;
+
+        MutableIntList outputs = IntLists.mutable.of(NONE);
+        MutableList<MutableIntList> children = Lists.mutable.of(IntLists.mutable.empty());
+        for (var disambiguation : disambiguations) {
+            for (var meaning : disambiguation.getMeanings()) {
+                if (!meaning.isEmpty()) {
+                    insert(meaning, disambiguation.getAbbreviation(), outputs, children);
+                }
+            }
+        }
+
+        int states = outputs.size();
+        this.output = outputs.toArray();
+        this.failure = new int[states];
+        this.outputLink = new int[states];
+        Arrays.fill(outputLink, NONE);
+        linkFailures(children);
+    }
+
+    private void insert(String meaning, String abbreviation, MutableIntList outputs, MutableList<MutableIntList> children) {
+        int state = ROOT;
+        for (int i = 0; i < meaning.length(); i++) {
+            char character = fold(meaning.charAt(i));
+            long key = key(state, character);
+            int next = transitions.getIfAbsent(key, NONE);
+            if (next == NONE) {
+                next = outputs.size();
+                outputs.add(NONE);
+                children.add(IntLists.mutable.empty());
+                children.get(state).add(character);
+                transitions.put(key, next);
+            }
+            state = next;
+        }
+        if (outputs.get(state) == NONE) {
+            outputs.set(state, abbreviations.size());
+            abbreviations.add(abbreviation);
+            meaningLengths.add(meaning.length());
+        }
+    }
+
+    /**
+     * Calculates the failure and output links of all states in breadth-first order.
+     */
+    private void linkFailures(MutableList<MutableIntList> children) {
+        int[] queue = new int[output.length];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = ROOT;
+        while (head < tail) {
+            int state = queue[head++];
+            var characters = children.get(state);
+            for (int i = 0; i < characters.size(); i++) {
+                char character = (char) characters.get(i);
+                int child = transitions.get(key(state, character));
+                int fallback = state == ROOT ? ROOT : next(failure[state], character);
+                failure[child] = fallback;
+                outputLink[child] = output[fallback] != NONE ? fallback : outputLink[fallback];
+                queue[tail++] = child;
+            }
+        }
+    }
+
+    /**
+     * Replaces all meanings in the text with their abbreviation. For example, "Personal Computer Database" -> "PC DB"
+     *
+     * @param text a text containing an arbitrary amount of meanings (can be zero)
+     * @return a single string where all meanings have been replaced with their abbreviation
+     */
+    String replaceAll(String text) {
+        int length = text.length();
+        // The longest meaning that starts at each index of the text
+        int[] matches = null;
+        int state = ROOT;
+        for (int i = 0; i < length; i++) {
+            state = next(state, fold(text.charAt(i)));
+            int matchState = output[state] != NONE ? state : outputLink[state];
+            for (; matchState != NONE; matchState = outputLink[matchState]) {
+                int meaning = output[matchState];
+                int start = i - meaningLengths.get(meaning) + 1;
+                if (matches == null) {
+                    matches = new int[length];
+                    Arrays.fill(matches, NONE);
+                }
+                if (matches[start] == NONE || meaningLengths.get(meaning) > meaningLengths.get(matches[start])) {
+                    matches[start] = meaning;
+                }
+            }
+        }
+        if (matches == null) {
+            return text;
+        }
+
+        var replaced = new StringBuilder(length);
+        int i = 0;
+        while (i < length) {
+            int meaning = matches[i];
+            if (meaning == NONE) {
+                replaced.append(text.charAt(i));
+                i++;
+            } else {
+                replaced.append(abbreviations.get(meaning));
+                i += meaningLengths.get(meaning);
+            }
+        }
+        return replaced.toString();
+    }
+
+    private int next(int state, char character) {
+        int current = state;
+        while (true) {
+            int next = transitions.getIfAbsent(key(current, character), NONE);
+            if (next != NONE) {
+                return next;
+            }
+            if (current == ROOT) {
+                return ROOT;
+            }
+            current = failure[current];
+        }
+    }
+
+    private char fold(char character) {
+        if (ignoreCase && character >= 'A' && character <= 'Z') {
+            return (char) (character + ('a' - 'A'));
+        }
+        return character;
+    }
+
+    private static long key(int state, char character) {
+        return ((long) state << 16) | character;
+    }
+}
@@ -1,39 +1,57 @@
 /* Licensed under MIT 2022-2024. */
 package edu.kit.kastel.mcse.ardoco.core.common.util;
 
-import static edu.kit.kastel.mcse.ardoco.core.common.util.SimilarityUtils.cosineSimilarity;
-import static edu.kit.kastel.mcse.ardoco.core.common.util.SimilarityUtils.uniqueDot;
-
+import java.util.List;
+import java.util.OptionalDouble;
+import java.util.function.Function;
 import java.util.function.ToDoubleBiFunction;
+import java.util.stream.DoubleStream;
 
+import edu.kit.kastel.mcse.ardoco.core.api.text.Phrase;
+import edu.kit.kastel.mcse.ardoco.core.api.text.PhraseVector;
 import edu.kit.kastel.mcse.ardoco.core.api.textextraction.PhraseMapping;
 import edu.kit.kastel.mcse.ardoco.core.architecture.Deterministic;
 
+/**
+ * Aggregates the cosine similarities of all pairs of phrases of two phrase mappings. The similarities are calculated on the sparse phrase vectors of the
+ * phrases.
+ */
 @Deterministic
 public enum PhraseMappingAggregatorStrategy implements ToDoubleBiFunction<PhraseMapping, PhraseMapping> {
-    MAX_SIMILARITY((a, b) -> uniqueDot(a.getPhrases().toImmutableList(), b.getPhrases().toImmutableList()).stream()
-            .mapToDouble(p -> cosineSimilarity(p.first().getPhraseVector().toSortedMap(), p.second().getPhraseVector().toSortedMap()))
-            .max()
-            .orElse(Double.NaN)), //
+    MAX_SIMILARITY(DoubleStream::max), //
 
-    MIN_SIMILARITY((a, b) -> uniqueDot(a.getPhrases().toImmutableList(), b.getPhrases().toImmutableList()).stream()
-            .mapToDouble(p -> cosineSimilarity(p.first().getPhraseVector().toSortedMap(), p.second().getPhraseVector().toSortedMap()))
-            .min()
-            .orElse(Double.NaN)), //
+    MIN_SIMILARITY(DoubleStream::min), //
 
-    AVG_SIMILARITY((a, b) -> uniqueDot(a.getPhrases().toImmutableList(), b.getPhrases().toImmutableList()).stream()
-            .mapToDouble(p -> cosineSimilarity(p.first().getPhraseVector().toSortedMap(), p.second().getPhraseVector().toSortedMap()))
-            .average()
-            .orElse(Double.NaN));
+    AVG_SIMILARITY(DoubleStream::average);
 
-    private final ToDoubleBiFunction<PhraseMapping, PhraseMapping> mapper;
+    private final Function<DoubleStream, OptionalDouble> aggregator;
 
-    PhraseMappingAggregatorStrategy(ToDoubleBiFunction<PhraseMapping, PhraseMapping> mapper) {
-        this.mapper = mapper;
+    PhraseMappingAggregatorStrategy(Function<DoubleStream, OptionalDouble> aggregator) {
+        this.aggregator = aggregator;
     }
 
     @Override
     public double applyAsDouble(PhraseMapping phraseMapping, PhraseMapping phraseMapping2) {
-        return this.mapper.applyAsDouble(phraseMapping, phraseMapping2);
+        return aggregate(getPhraseVectors(phraseMapping), getPhraseVectors(phraseMapping2));
+    }
+
+    /**
+     * Aggregates the cosine similarities of all pairs of the specified phrase vectors.
+     *
+     * @param firstPhraseVectors  the phrase vectors of the phrases of the first phrase mapping
+     * @param secondPhraseVectors the phrase vectors of the phrases of the second phrase mapping
+     * @return the aggregated similarity or NaN if there are no pairs
+     */
+    public double aggregate(List<PhraseVector> firstPhraseVectors, List<PhraseVector> secondPhraseVectors) {
+        DoubleStream similarities = firstPhraseVectors.stream()
+                .flatMapToDouble(first -> secondPhraseVectors.stream().mapToDouble(first::cosineSimilarity));
+        return aggregator.apply(similarities).orElse(Double.NaN);
+    }
+
+    /**
+     * {@return the sparse phrase vectors of the phrases of the phrase mapping in the order of the phrases}
+     */
+    public static List<PhraseVector> getPhraseVectors(PhraseMapping phraseMapping) {
+        return phraseMapping.getPhrases().collect(Phrase::getSparsePhraseVector).castToList();
     }
 }
@@ -4,10 +4,8 @@
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
-import org.apache.commons.text.similarity.CosineSimilarity;
 import org.eclipse.collections.api.factory.Lists;
 import org.eclipse.collections.api.list.ImmutableList;
 import org.eclipse.collections.api.list.MutableList;
@@ -16,6 +14,7 @@
 import edu.kit.kastel.mcse.ardoco.core.api.models.ModelInstance;
 import edu.kit.kastel.mcse.ardoco.core.api.recommendationgenerator.RecommendedInstance;
 import edu.kit.kastel.mcse.ardoco.core.api.text.PhraseType;
+import edu.kit.kastel.mcse.ardoco.core.api.text.PhraseVector;
 import edu.kit.kastel.mcse.ardoco.core.api.text.Word;
 import edu.kit.kastel.mcse.ardoco.core.api.textextraction.NounMapping;
 import edu.kit.kastel.mcse.ardoco.core.api.textextraction.PhraseMapping;
@@ -29,6 +28,11 @@
  */
 @Deterministic
 public final class SimilarityUtils implements Serializable {
+    /**
+     * The number of phrase mappings from which on their similarities are calculated in parallel
+     */
+    private static final int PARALLEL_SIMILARITY_THRESHOLD = 64;
+
     private final WordSimUtils wordSimUtils;
 
     public SimilarityUtils(WordSimUtils wordSimUtils) {
@@ -311,32 +315,10 @@ private boolean checkRecommendedInstanceForSelection(ModelInstance instance, Rec
         return false;
     }
 
-    private static boolean coversOtherPhraseVector(PhraseMapping phraseMapping1, PhraseMapping phraseMapping2) {
-
-        ImmutableSortedMap<Word, Integer> phraseVector1 = phraseMapping1.getPhraseVector();
-        ImmutableSortedMap<Word, Integer> phraseVector2 = phraseMapping2.getPhraseVector();
-
-        return phraseVector1.keysView().containsAll(phraseVector2.keysView().toSortedSet());
-    }
-
     private boolean containsAllNounMappingsOfPhraseMapping(TextState textState, PhraseMapping phraseMapping1, PhraseMapping phraseMapping2) {
         return phraseMapping1.getNounMappings(textState).containsAllIterable(phraseMapping2.getNounMappings(textState));
     }
 
-    static double cosineSimilarity(Map<Word, Integer> firstPhraseVector, Map<Word, Integer> secondPhraseVector) {
-
-        CosineSimilarity cosineSimilarity = new CosineSimilarity();
-
-        Map<CharSequence, Integer> firstVector = firstPhraseVector.entrySet()
-                .stream()
-                .collect(Collectors.toMap(e -> e.getKey().getText(), Map.Entry::getValue));
-        Map<CharSequence, Integer> secondVector = secondPhraseVector.entrySet()
-                .stream()
-                .collect(Collectors.toMap(e -> e.getKey().getText(), Map.Entry::getValue));
-
-        return cosineSimilarity.cosineSimilarity(firstVector, secondVector);
-    }
-
     public PhraseMapping getMostSimilarPhraseMapping(TextState textState, PhraseMapping phraseMapping, ImmutableList<PhraseMapping> otherPhraseMappings,
             double minCosineSimilarity) {
 
@@ -344,19 +326,80 @@ public PhraseMapping getMostSimilarPhraseMapping(TextState textState, PhraseMapp
             return null;
         }
 
+        double[] similarities = getPhraseMappingSimilarities(textState, phraseMapping, otherPhraseMappings, PhraseMappingAggregatorStrategy.MAX_SIMILARITY);
         double currentMinSimilarity = minCosineSimilarity;
         PhraseMapping mostSimilarPhraseMapping = otherPhraseMappings.get(0);
-        for (PhraseMapping otherPhraseMapping : otherPhraseMappings) {
-            double similarity = getPhraseMappingSimilarity(textState, phraseMapping, otherPhraseMapping, PhraseMappingAggregatorStrategy.MAX_SIMILARITY);
-            if (similarity > currentMinSimilarity) {
-                currentMinSimilarity = similarity;
-                mostSimilarPhraseMapping = otherPhraseMapping;
+        for (int i = 0; i < similarities.length; i++) {
+            if (similarities[i] > currentMinSimilarity) {
+                currentMinSimilarity = similarities[i];
+                mostSimilarPhraseMapping = otherPhraseMappings.get(i);
             }
-
         }
         return mostSimilarPhraseMapping;
     }
 
+    /**
+     * Selects the phrase mappings whose {@link #getPhraseMappingSimilarity(TextState, PhraseMapping, PhraseMapping, PhraseMappingAggregatorStrategy)
+     * similarity} to the specified phrase mapping is greater than the threshold. The order of the phrase mappings is kept.
+     *
+     * @param textState           the text state
+     * @param phraseMapping       the phrase mapping
+     * @param otherPhraseMappings the phrase mappings to select from
+     * @param strategy            the strategy that aggregates the similarities of the phrases
+     * @param minSimilarity       the threshold the similarity has to exceed
+     * @return the similar phrase mappings
+     */
+    public ImmutableList<PhraseMapping> getSimilarPhraseMappings(TextState textState, PhraseMapping phraseMapping,
+            ImmutableList<PhraseMapping> otherPhraseMappings, PhraseMappingAggregatorStrategy strategy, double minSimilarity) {
+        double[] similarities = getPhraseMappingSimilarities(textState, phraseMapping, otherPhraseMappings, strategy);
+        MutableList<PhraseMapping> similarPhraseMappings = Lists.mutable.empty();
+        for (int i = 0; i < similarities.length; i++) {
+            if (similarities[i] > minSimilarity) {
+                similarPhraseMappings.add(otherPhraseMappings.get(i));
+            }
+        }
+        return similarPhraseMappings.toImmutable();
+    }
+
+    /**
+     * Calculates the similarities of a phrase mapping to other phrase mappings like
+     * {@link #getPhraseMappingSimilarity(TextState, PhraseMapping, PhraseMapping, PhraseMappingAggregatorStrategy)}. The phrase vectors are collected first,
+     * and the similarities of the vectors are calculated in parallel for many phrase mappings. The checks that need the text state are done sequentially
+     * afterward, since the text state is not thread-safe.
+     */
+    private double[] getPhraseMappingSimilarities(TextState textState, PhraseMapping phraseMapping, ImmutableList<PhraseMapping> otherPhraseMappings,
+            PhraseMappingAggregatorStrategy strategy) {
+        int size = otherPhraseMappings.size();
+        PhraseMappingVectors vectors = new PhraseMappingVectors(phraseMapping);
+        List<PhraseMappingVectors> otherVectors = new ArrayList<>(size);
+        otherPhraseMappings.forEach(otherPhraseMapping -> otherVectors.add(new PhraseMappingVectors(otherPhraseMapping)));
+
+        double[] similarities = new double[size];
+        boolean[] covering = new boolean[size];
+        IntStream indices = IntStream.range(0, size);
+        if (size >= PARALLEL_SIMILARITY_THRESHOLD) {
+            indices = indices.parallel();
+        }
+        indices.forEach(i -> {
+            PhraseMappingVectors other = otherVectors.get(i);
+            if (vectors.phraseType().equals(other.phraseType())) {
+                covering[i] = vectors.covers(other) || other.covers(vectors);
+                similarities[i] = strategy.aggregate(vectors.phraseVectors(), other.phraseVectors());
+            }
+        });
+
+        for (int i = 0; i < size; i++) {
+            PhraseMapping otherPhraseMapping = otherPhraseMappings.get(i);
+            // Maybe REWORK. Remove NounMappings?
+            if (covering[i] && containsAllNounMappingsOfPhraseMapping(textState, phraseMapping, otherPhraseMapping) && containsAllNounMappingsOfPhraseMapping(
+                    textState, otherPhraseMapping, phraseMapping)) {
+                // HARD CODED... Change?
+                similarities[i] = 1.0;
+            }
+        }
+        return similarities;
+    }
+
     public static <A extends Serializable, B extends Serializable> ImmutableList<Pair<A, B>> uniqueDot(ImmutableList<A> first, ImmutableList<B> second) {
         List<Pair<A, B>> result = new ArrayList<>();
         for (A a : first)
@@ -365,23 +408,20 @@ public static <A extends Serializable, B extends Serializable> ImmutableList<Pai
         return Lists.immutable.withAll(result);
     }
 
+    /**
+     * Calculates the similarity of two phrase mappings. Phrase mappings of different phrase types have a similarity of 0. If the words of one phrase mapping
+     * cover the words of the other one and both have the same noun mappings, the similarity is 1. Otherwise, the strategy aggregates the cosine similarities
+     * of their phrases.
+     *
+     * @param textState           the text state
+     * @param firstPhraseMapping  the first phrase mapping
+     * @param secondPhraseMapping the second phrase mapping
+     * @param strategy            the strategy that aggregates the similarities of the phrases
+     * @return the similarity of the phrase mappings
+     */
     public double getPhraseMappingSimilarity(TextState textState, PhraseMapping firstPhraseMapping, PhraseMapping secondPhraseMapping,
             PhraseMappingAggregatorStrategy strategy) {
-        PhraseType firstPhraseType = firstPhraseMapping.getPhraseType();
-        PhraseType secondPhraseType = secondPhraseMapping.getPhraseType();
-        if (!firstPhraseType.equals(secondPhraseType)) {
-            return 0;
-        }
-
-        // Maybe REWORK. Remove NounMappings?
-        if ((coversOtherPhraseVector(firstPhraseMapping, secondPhraseMapping) || coversOtherPhraseVector(secondPhraseMapping,
-                firstPhraseMapping)) && containsAllNounMappingsOfPhraseMapping(textState, firstPhraseMapping,
-                        secondPhraseMapping) && containsAllNounMappingsOfPhraseMapping(textState, secondPhraseMapping, firstPhraseMapping)) {
-            // HARD CODED... Change?
-            return 1.0;
-        }
-
-        return strategy.applyAsDouble(firstPhraseMapping, secondPhraseMapping);
+        return getPhraseMappingSimilarities(textState, firstPhraseMapping, Lists.immutable.with(secondPhraseMapping), strategy)[0];
     }
 
     private static int similarEntriesOfList(ImmutableList<String> list1, ImmutableList<String> list2) {
@@ -399,4 +439,17 @@ private static int similarEntriesOfList(ImmutableList<String> list1, ImmutableLi
 
         return removed.size();
     }
+
+    /**
+     * The parts of a phrase mapping that the similarity calculation needs. They are collected before the similarities are calculated in parallel.
+     */
+    private record PhraseMappingVectors(PhraseType phraseType, ImmutableSortedMap<Word, Integer> phraseVector, List<PhraseVector> phraseVectors) {
+        private PhraseMappingVectors(PhraseMapping phraseMapping) {
+            this(phraseMapping.getPhraseType(), phraseMapping.getPhraseVector(), PhraseMappingAggregatorStrategy.getPhraseVectors(phraseMapping));
+        }
+
+        private boolean covers(PhraseMappingVectors other) {
+            return other.phraseVector.keysView().allSatisfy(phraseVector::containsKey);
+        }
+    }
 }
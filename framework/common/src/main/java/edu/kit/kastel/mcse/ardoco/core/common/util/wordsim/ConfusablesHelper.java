@@ -7,12 +7,16 @@
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.MissingResourceException;
 import java.util.stream.Stream;
 
+import org.eclipse.collections.api.factory.primitive.IntObjectMaps;
 import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.map.primitive.ImmutableIntObjectMap;
+import org.eclipse.collections.api.map.primitive.MutableIntObjectMap;
 import org.eclipse.collections.impl.factory.Lists;
 import org.eclipse.collections.impl.list.mutable.FastList;
 
@@ -32,8 +36,14 @@ private ConfusablesHelper() {
 
     private static final String SEPARATOR = "\t";
 
+    /**
+     * Maps the code point of a character to the sorted code points of its homoglyphs. Equivalent to {@link #homoglyphs}, but allows lookups without boxing.
+     */
+    private static final ImmutableIntObjectMap<int[]> homoglyphCodePoints;
+
     static {
         parseConfusablesSummary();
+        homoglyphCodePoints = createHomoglyphCodePoints();
     }
 
     /**
@@ -81,6 +91,17 @@ private static void parseConfusablesSummary() {
         }
     }
 
+    /**
+     * {@return the homoglyph table that maps each code point to the sorted and distinct code points of its homoglyphs}
+     */
+    private static ImmutableIntObjectMap<int[]> createHomoglyphCodePoints() {
+        MutableIntObjectMap<int[]> table = IntObjectMaps.mutable.empty();
+        for (var entry : homoglyphs.sequencedEntrySet()) {
+            table.put(entry.getKey().getCodePoint(), entry.getValue().stream().mapToInt(UnicodeCharacter::getCodePoint).sorted().distinct().toArray());
+        }
+        return table.toImmutable();
+    }
+
     /**
      * {@return the list of Unicode characters that are considered homoglyphs of the character}
      *
@@ -97,6 +118,20 @@ public static List<UnicodeCharacter> getHomoglyphs(UnicodeCharacter unicodeChara
      * @param b the second character
      */
     public static boolean areHomoglyphs(UnicodeCharacter a, UnicodeCharacter b) {
-        return a.equals(b) || getHomoglyphs(a).contains(b);
+        return areHomoglyphs(a.getCodePoint(), b.getCodePoint());
+    }
+
+    /**
+     * {@return whether the characters with the two code points are considered homoglyphs} Always true for equal code points. The relationship is symmetric,
+     * but not transitive.
+     *
+     * @param a the code point of the first character
+     * @param b the code point of the second character
+     */
+    public static boolean areHomoglyphs(int a, int b) {
+        if (a == b)
+            return true;
+        var homoglyphsOfA = homoglyphCodePoints.get(a);
+        return homoglyphsOfA != null && Arrays.binarySearch(homoglyphsOfA, b) >= 0;
     }
 }
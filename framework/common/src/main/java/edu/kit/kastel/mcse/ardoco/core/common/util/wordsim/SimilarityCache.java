@@ -0,0 +1,112 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.core.common.util.wordsim;
+
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import edu.kit.kastel.mcse.ardoco.core.architecture.Deterministic;
+import edu.kit.kastel.mcse.ardoco.core.common.util.wordsim.strategy.ComparisonStrategy;
+
+/**
+ * A bounded cache for the results of {@link WordSimUtils#areWordsSimilar(ComparisonContext, ComparisonStrategy)}. If the cache is full, the least recently
+ * used entry is evicted. The cache is threadsafe and counts its hits and misses. The cached results are only valid for a fixed configuration of the owning
+ * {@link WordSimUtils} and a fixed version of the known abbreviations, so the cache has to be cleared whenever one of them changes.
+ */
+@Deterministic
+final class SimilarityCache {
+
+    private final LinkedHashMap<Key, Boolean> entries;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private int capacity;
+    private long abbreviationVersion;
+
+    /**
+     * Creates a new cache with the specified capacity.
+     *
+     * @param capacity the maximum number of cached results, a capacity of zero disables the cache
+     */
+    SimilarityCache(int capacity) {
+        this.capacity = capacity;
+        // Access order, so that the first entry is always the least recently used one
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Returns the cached result for the specified comparison or null if no result is cached. If the specified abbreviation version differs from the version
+     * of the cached results, the cache is cleared first.
+     *
+     * @param key                 the comparison
+     * @param abbreviationVersion the current version of the known abbreviations
+     * @return the cached result or null
+     */
+    synchronized Boolean get(Key key, long abbreviationVersion) {
+        if (this.abbreviationVersion != abbreviationVersion) {
+            entries.clear();
+            this.abbreviationVersion = abbreviationVersion;
+        }
+        Boolean result = entries.get(key);
+        if (result == null) {
+            misses.incrementAndGet();
+        } else {
+            hits.incrementAndGet();
+        }
+        return result;
+    }
+
+    /**
+     * Caches the result of the specified comparison. The result is discarded if it was calculated for another version of the known abbreviations.
+     *
+     * @param key                 the comparison
+     * @param abbreviationVersion the version of the known abbreviations the result was calculated for
+     * @param result              the result of the comparison
+     */
+    synchronized void put(Key key, long abbreviationVersion, boolean result) {
+        if (capacity > 0 && this.abbreviationVersion == abbreviationVersion) {
+            entries.put(key, result);
+            while (entries.size() > capacity) {
+                entries.pollFirstEntry();
+            }
+        }
+    }
+
+    /**
+     * Removes all cached results. The hit and miss counters are not reset.
+     */
+    synchronized void clear() {
+        entries.clear();
+    }
+
+    synchronized void setCapacity(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("The capacity must not be negative");
+        }
+        this.capacity = capacity;
+        entries.clear();
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    long getHits() {
+        return hits.get();
+    }
+
+    long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * The key of a cached comparison. The terms are the terms that are actually compared, i.e., after considering lemmatization. The terms are used as they
+     * are and are neither lowercased nor ordered, as some measures, e.g., the Jaro-Winkler and the n-gram measure, are case-sensitive, and measures do not
+     * have to be symmetric. Therefore, comparing "A" and "b" and comparing "b" and "a" are different keys.
+     *
+     * @param firstTerm      the first term
+     * @param secondTerm     the second term
+     * @param characterMatch the character match function of the comparison
+     * @param strategy       the comparison strategy
+     */
+    record Key(String firstTerm, String secondTerm, UnicodeCharacterMatchFunctions characterMatch, ComparisonStrategy strategy) {
+    }
+}
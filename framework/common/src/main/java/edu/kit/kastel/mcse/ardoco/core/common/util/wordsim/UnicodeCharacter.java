@@ -3,9 +3,9 @@
 
 import java.io.Serializable;
 import java.util.Arrays;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.collections.api.list.ImmutableList;
 import org.eclipse.collections.impl.factory.Lists;
@@ -18,7 +18,7 @@
  */
 //TODO More documentation
 public final class UnicodeCharacter implements Serializable {
-    private static final LinkedHashMap<Integer, UnicodeCharacter> integerToUnicode = new LinkedHashMap<>();
+    private static final ConcurrentHashMap<Integer, UnicodeCharacter> integerToUnicode = new ConcurrentHashMap<>();
 
     private final int codePoint;
 
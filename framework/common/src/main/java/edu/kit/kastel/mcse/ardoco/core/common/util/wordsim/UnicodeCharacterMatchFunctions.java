@@ -20,6 +20,20 @@ public Boolean apply(UnicodeCharacter unicodeCharacter, UnicodeCharacter unicode
         return function.apply(unicodeCharacter, unicodeCharacter2);
     }
 
+    /**
+     * {@return whether the characters with the two code points match} Equivalent to {@link #apply(UnicodeCharacter, UnicodeCharacter)}, but works on the
+     * primitive code points and does not need any {@link UnicodeCharacter} instances.
+     *
+     * @param codePoint  the code point of the first character
+     * @param codePoint2 the code point of the second character
+     */
+    public boolean test(int codePoint, int codePoint2) {
+        return switch (this) {
+        case EQUAL -> codePoint == codePoint2;
+        case EQUAL_OR_HOMOGLYPH -> codePoint == codePoint2 || ConfusablesHelper.areHomoglyphs(codePoint, codePoint2);
+        };
+    }
+
     public interface BiFunctionSerializable<T, U, R> extends BiFunction<T, U, R>, Serializable {
     }
 }
@@ -1,6 +1,10 @@
 /* Licensed under MIT 2022-2024. */
 package edu.kit.kastel.mcse.ardoco.core.common.util.wordsim;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serial;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -13,6 +17,7 @@
 import org.sqlite.SQLiteOpenMode;
 
 import edu.kit.kastel.mcse.ardoco.core.api.text.Word;
+import edu.kit.kastel.mcse.ardoco.core.common.RunContext;
 import edu.kit.kastel.mcse.ardoco.core.common.util.AbbreviationDisambiguationHelper;
 import edu.kit.kastel.mcse.ardoco.core.common.util.CommonTextToolsConfig;
 import edu.kit.kastel.mcse.ardoco.core.common.util.wordsim.measures.equality.EqualityMeasure;
@@ -21,19 +26,56 @@
 import edu.kit.kastel.mcse.ardoco.core.common.util.wordsim.strategy.SimilarityStrategy;
 
 /**
- * A static class that provides various utility methods to calculate similarity between different kinds of objects. This class statically keeps a reference to a
- * fallback {@link ComparisonStrategy} and a fallback list of word similarity measures. These fallbacks can be changed with the {@link #setMeasures(Collection)}
- * and {@link #setStrategy(ComparisonStrategy)} methods. Any calls to methods that provide their own measures or strategies will not utilize these fallbacks.
- * Any calls that do not provide their own measures or strategies will utilize them. As of right now, no protections against simultaneous write access from
- * multiple threads exist. Therefore, this class is not threadsafe.
+ * Provides various utility methods to calculate similarity between different kinds of objects. Each instance keeps its own default {@link ComparisonStrategy}
+ * and its own list of word similarity measures. These defaults can be changed with the {@link #setMeasures(Collection)} and
+ * {@link #setStrategy(ComparisonStrategy)} methods. Any calls to methods that provide their own measures or strategies will not utilize these defaults. Any
+ * calls that do not provide their own measures or strategies will utilize them. Comparisons can run concurrently, e.g., from parallel streams, as the cache of
+ * the results is threadsafe. Changing the configuration of an instance is not synchronized, so an instance must not be reconfigured while it is used by other
+ * threads.
+ * <p>
+ * The results of {@link #areWordsSimilar(ComparisonContext, ComparisonStrategy)} are cached in a bounded cache. The cache is cleared whenever the
+ * configuration of this instance or the known abbreviations change. Its hit and miss counters can be used to choose an appropriate capacity, see
+ * {@link #setCacheCapacity(int)}.
+ * <p>
+ * The known abbreviations are taken from the {@link RunContext} this instance was created for, so comparisons from other threads, e.g., parallel streams, use
+ * the abbreviations of the same run.
  */
 public class WordSimUtils implements Serializable {
 
+    /**
+     * The default maximum number of cached similarity results.
+     */
+    public static final int DEFAULT_CACHE_CAPACITY = 100_000;
+
     private MutableList<WordSimMeasure> measures = Lists.mutable.withAll(WordSimLoader.loadUsingProperties());
     private ComparisonStrategy strategy = ComparisonStrategy.AT_LEAST_ONE;
     private SimilarityStrategy similarityStrategy = new AverageStrategy();
     private UnicodeCharacterMatchFunctions characterMatch = UnicodeCharacterMatchFunctions.EQUAL;
     private boolean considerAbbreviations = CommonTextToolsConfig.CONSIDER_ABBREVIATIONS;
+    private int cacheCapacity = DEFAULT_CACHE_CAPACITY;
+    private transient SimilarityCache similarityCache = new SimilarityCache(DEFAULT_CACHE_CAPACITY);
+    private final RunContext runContext;
+
+    /**
+     * Creates a new instance that uses the {@link RunContext#find() bound run context} of each comparison. Without a bound run context, only the persistent
+     * abbreviations are considered.
+     */
+    public WordSimUtils() {
+        this(null);
+    }
+
+    /**
+     * Creates a new instance for the given run.
+     *
+     * @param runContext the run context or null to use the bound run context of each comparison
+     */
+    public WordSimUtils(RunContext runContext) {
+        this.runContext = runContext;
+    }
+
+    private RunContext getRunContext() {
+        return runContext == null ? RunContext.find().orElse(null) : runContext;
+    }
 
     /**
      * Sets which measures should be used for similarity comparison. The specified collection of measures will be used for all subsequent comparisons.
@@ -42,6 +84,7 @@ public class WordSimUtils implements Serializable {
      */
     public void setMeasures(Collection<WordSimMeasure> measures) {
         this.measures = Lists.mutable.withAll(measures);
+        this.similarityCache.clear();
     }
 
     /**
@@ -51,6 +94,7 @@ public void setMeasures(Collection<WordSimMeasure> measures) {
      * @return Whether the measure was added successfully
      */
     public boolean addMeasure(WordSimMeasure measure) {
+        this.similarityCache.clear();
         return this.measures.add(measure);
     }
 
@@ -61,6 +105,7 @@ public boolean addMeasure(WordSimMeasure measure) {
      */
     public void setStrategy(ComparisonStrategy strategy) {
         this.strategy = strategy;
+        this.similarityCache.clear();
     }
 
     /**
@@ -74,6 +119,7 @@ public void setStrategy(SimilarityStrategy strategy) {
 
     public void setCharacterMatchFunction(UnicodeCharacterMatchFunctions characterMatch) {
         this.characterMatch = characterMatch;
+        this.similarityCache.clear();
     }
 
     public UnicodeCharacterMatchFunctions getCharacterMatchFunction() {
@@ -82,12 +128,50 @@ public UnicodeCharacterMatchFunctions getCharacterMatchFunction() {
 
     public void setConsiderAbbreviations(boolean considerAbbreviations) {
         this.considerAbbreviations = considerAbbreviations;
+        this.similarityCache.clear();
     }
 
     public boolean getConsiderAbbreviations() {
         return this.considerAbbreviations;
     }
 
+    /**
+     * Sets the maximum number of cached results of {@link #areWordsSimilar(ComparisonContext, ComparisonStrategy)}. A capacity of zero disables the cache.
+     * Changing the capacity clears the cache.
+     *
+     * @param cacheCapacity the maximum number of cached results
+     * @throws IllegalArgumentException if the capacity is negative
+     */
+    public void setCacheCapacity(int cacheCapacity) {
+        this.similarityCache.setCapacity(cacheCapacity);
+        this.cacheCapacity = cacheCapacity;
+    }
+
+    public int getCacheCapacity() {
+        return this.cacheCapacity;
+    }
+
+    /**
+     * {@return the number of comparisons whose result was taken from the cache}
+     */
+    public long getCacheHits() {
+        return this.similarityCache.getHits();
+    }
+
+    /**
+     * {@return the number of comparisons whose result was not cached and had to be calculated}
+     */
+    public long getCacheMisses() {
+        return this.similarityCache.getMisses();
+    }
+
+    /**
+     * {@return the number of currently cached results}
+     */
+    public int getCacheSize() {
+        return this.similarityCache.size();
+    }
+
     /**
      * Evaluates whether the words from the given {@link ComparisonContext} are similar using the specified comparison strategy.
      *
@@ -102,9 +186,22 @@ public boolean areWordsSimilar(ComparisonContext ctx, ComparisonStrategy strateg
         var firstTerm = ctx.firstTerm();
         var secondTerm = ctx.secondTerm();
 
+        // The measures only consider the terms and the character match function of the context
+        var key = new SimilarityCache.Key(firstTerm, secondTerm, ctx.characterMatch(), strategy);
+        long abbreviationVersion = AbbreviationDisambiguationHelper.getVersion(getRunContext());
+        Boolean cachedResult = similarityCache.get(key, abbreviationVersion);
+        if (cachedResult != null) {
+            return cachedResult;
+        }
+        boolean result = calculateAreWordsSimilar(ctx, firstTerm, secondTerm, strategy);
+        similarityCache.put(key, abbreviationVersion, result);
+        return result;
+    }
+
+    private boolean calculateAreWordsSimilar(ComparisonContext ctx, String firstTerm, String secondTerm, ComparisonStrategy strategy) {
         if (getConsiderAbbreviations()) {
-            var ambiguatedFirstTerm = AbbreviationDisambiguationHelper.ambiguateAll(firstTerm, true);
-            var ambiguatedSecondTerm = AbbreviationDisambiguationHelper.ambiguateAll(secondTerm, true);
+            var ambiguatedFirstTerm = AbbreviationDisambiguationHelper.ambiguateAll(getRunContext(), firstTerm, true);
+            var ambiguatedSecondTerm = AbbreviationDisambiguationHelper.ambiguateAll(getRunContext(), secondTerm, true);
             var different = !ambiguatedFirstTerm.equals(firstTerm) || !ambiguatedSecondTerm.equals(secondTerm);
 
             if (different && areWordsSimilar(new ComparisonContext(ambiguatedFirstTerm, ambiguatedSecondTerm, null, null, false, ctx.characterMatch()))) {
@@ -252,6 +349,18 @@ public double getSimilarity(String firstWord, String secondWord, boolean ignoreC
         return getSimilarity(firstWord, secondWord, similarityStrategy, ignoreCase);
     }
 
+    @Serial
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        // The cached results are not serialized
+        out.defaultWriteObject();
+    }
+
+    @Serial
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        this.similarityCache = new SimilarityCache(cacheCapacity);
+    }
+
     public static SQLiteConfig getSqLiteConfig() {
         var cfg = new SQLiteConfig();
         cfg.setReadOnly(true);
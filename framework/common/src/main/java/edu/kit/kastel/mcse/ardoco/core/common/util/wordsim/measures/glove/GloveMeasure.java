@@ -1,8 +1,10 @@
 /* Licensed under MIT 2022-2024. */
 package edu.kit.kastel.mcse.ardoco.core.common.util.wordsim.measures.glove;
 
+import java.io.IOException;
 import java.nio.file.Path;
 import java.sql.SQLException;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -11,18 +13,24 @@
 import edu.kit.kastel.mcse.ardoco.core.common.util.wordsim.ComparisonContext;
 import edu.kit.kastel.mcse.ardoco.core.common.util.wordsim.vector.RetrieveVectorException;
 import edu.kit.kastel.mcse.ardoco.core.common.util.wordsim.vector.VectorBasedWordSimMeasure;
+import edu.kit.kastel.mcse.ardoco.core.common.util.wordsim.vector.VectorFileStore;
 import edu.kit.kastel.mcse.ardoco.core.common.util.wordsim.vector.VectorSqliteDatabase;
 import edu.kit.kastel.mcse.ardoco.core.common.util.wordsim.vector.WordVectorDataSource;
 
 /**
  * This word similarity measures utilizes GloVe trained word vector representations to calculate word similarity. It retrieves vectors for each word and
- * compares them using cosine similarity. This measure additionally manages a cache to improve lookup speeds.
+ * compares them using cosine similarity. This measure additionally manages a cache to improve lookup speeds. The vectors are read from the vector store file
+ * if one is configured and from the sqlite database file otherwise. The data sources are opened once per file and then shared by all measures that use the
+ * same file, e.g., by concurrent runs, so discarding a measure does not leave an open connection behind.
  */
 public class GloveMeasure extends VectorBasedWordSimMeasure {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(GloveMeasure.class);
+    private static final ConcurrentHashMap<Path, VectorFileStore> SHARED_VECTOR_STORES = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<Path, VectorSqliteDatabase> SHARED_VECTOR_DATABASES = new ConcurrentHashMap<>();
 
     private final double similarityThreshold;
+    private transient WordVectorDataSource vectorDataSource;
 
     /**
      * Constructs a new {@link GloveMeasure} using the settings provided by {@link CommonTextToolsConfig}.
@@ -61,9 +69,33 @@ public double getSimilarity(ComparisonContext ctx) {
     }
 
     @Override
-    protected WordVectorDataSource getVectorDataSource() {
+    protected synchronized WordVectorDataSource getVectorDataSource() {
+        if (this.vectorDataSource == null) {
+            this.vectorDataSource = createVectorDataSource();
+        }
+        return this.vectorDataSource;
+    }
+
+    private static WordVectorDataSource createVectorDataSource() {
+        String vectorStoreFilePath = CommonTextToolsConfig.GLOVE_VECTOR_STORE_FILE_PATH;
+        if (vectorStoreFilePath != null && !vectorStoreFilePath.isBlank()) {
+            return SHARED_VECTOR_STORES.computeIfAbsent(Path.of(vectorStoreFilePath).toAbsolutePath().normalize(), GloveMeasure::openVectorFileStore);
+        }
+        return SHARED_VECTOR_DATABASES.computeIfAbsent(Path.of(CommonTextToolsConfig.GLOVE_DB_FILE_PATH).toAbsolutePath().normalize(),
+                GloveMeasure::openVectorDatabase);
+    }
+
+    private static VectorFileStore openVectorFileStore(Path vectorStoreFile) {
+        try {
+            return new VectorFileStore(vectorStoreFile);
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    private static VectorSqliteDatabase openVectorDatabase(Path sqliteFile) {
         try {
-            return new VectorSqliteDatabase(Path.of(CommonTextToolsConfig.GLOVE_DB_FILE_PATH));
+            return new VectorSqliteDatabase(sqliteFile);
         } catch (SQLException e) {
             throw new IllegalArgumentException(e);
         }
@@ -24,37 +24,37 @@
  * <p>
  * This code is a modified version of {@link org.apache.commons.text.similarity.JaroWinklerSimilarity} provided by Apache Commons Text. It was adapted to use
  * {@link UnicodeCharacter UnicodeCharacters} instead of Java's native {@link Character Characters} and allows for specifying a function that determines a
- * character match.
+ * character match. The algorithm works on the code points of the sequences.
  * </p>
  */
 public final class UnicodeJaroWinklerSimilarity implements Serializable {
     /**
      * This method returns the Jaro-Winkler string matches, half transpositions, prefix array.
      *
-     * @param first          the first string to be matched
-     * @param second         the second string to be matched
+     * @param first          the code points of the first string to be matched
+     * @param second         the code points of the second string to be matched
      * @param characterMatch the function used to determine a match between two {@link UnicodeCharacter UnicodeCharacters}
      * @return mtp array containing: matches, half transpositions, and prefix
      */
-    private static int[] matches(UnicodeCharacterSequence first, UnicodeCharacterSequence second, UnicodeCharacterMatchFunctions characterMatch) {
-        final UnicodeCharacterSequence max;
-        final UnicodeCharacterSequence min;
-        if (first.length() > second.length()) {
+    private static int[] matches(int[] first, int[] second, UnicodeCharacterMatchFunctions characterMatch) {
+        final int[] max;
+        final int[] min;
+        if (first.length > second.length) {
             max = first;
             min = second;
         } else {
             max = second;
             min = first;
         }
-        final int range = Math.max(max.length() / 2 - 1, 0);
-        final int[] matchIndexes = new int[min.length()];
+        final int range = Math.max(max.length / 2 - 1, 0);
+        final int[] matchIndexes = new int[min.length];
         Arrays.fill(matchIndexes, -1);
-        final boolean[] matchFlags = new boolean[max.length()];
+        final boolean[] matchFlags = new boolean[max.length];
         int matches = 0;
-        for (int mi = 0; mi < min.length(); mi++) {
-            UnicodeCharacter c1 = min.charAt(mi);
-            for (int xi = Math.max(mi - range, 0), xn = Math.min(mi + range + 1, max.length()); xi < xn; xi++) {
-                if (!matchFlags[xi] && characterMatch.apply(c1, max.charAt(xi))) {
+        for (int mi = 0; mi < min.length; mi++) {
+            int c1 = min[mi];
+            for (int xi = Math.max(mi - range, 0), xn = Math.min(mi + range + 1, max.length); xi < xn; xi++) {
+                if (!matchFlags[xi] && characterMatch.test(c1, max[xi])) {
                     matchIndexes[mi] = xi;
                     matchFlags[xi] = true;
                     matches++;
@@ -62,29 +62,29 @@ private static int[] matches(UnicodeCharacterSequence first, UnicodeCharacterSeq
                 }
             }
         }
-        final UnicodeCharacter[] ms1 = new UnicodeCharacter[matches];
-        final UnicodeCharacter[] ms2 = new UnicodeCharacter[matches];
-        for (int i = 0, si = 0; i < min.length(); i++) {
+        final int[] ms1 = new int[matches];
+        final int[] ms2 = new int[matches];
+        for (int i = 0, si = 0; i < min.length; i++) {
             if (matchIndexes[i] != -1) {
-                ms1[si] = min.charAt(i);
+                ms1[si] = min[i];
                 si++;
             }
         }
-        for (int i = 0, si = 0; i < max.length(); i++) {
+        for (int i = 0, si = 0; i < max.length; i++) {
             if (matchFlags[i]) {
-                ms2[si] = max.charAt(i);
+                ms2[si] = max[i];
                 si++;
             }
         }
         int halfTranspositions = 0;
         for (int mi = 0; mi < ms1.length; mi++) {
-            if (!characterMatch.apply(ms1[mi], ms2[mi])) {
+            if (!characterMatch.test(ms1[mi], ms2[mi])) {
                 halfTranspositions++;
             }
         }
         int prefix = 0;
-        for (int mi = 0; mi < Math.min(4, min.length()); mi++) {
-            if (!characterMatch.apply(first.charAt(mi), second.charAt(mi))) {
+        for (int mi = 0; mi < Math.min(4, min.length); mi++) {
+            if (!characterMatch.test(first[mi], second[mi])) {
                 break;
             }
             prefix++;
@@ -126,8 +126,6 @@ private static int[] matches(UnicodeCharacterSequence first, UnicodeCharacterSeq
      * @throws IllegalArgumentException if either CharSequence input is {@code null}
      */
     public static Double apply(UnicodeCharacterSequence left, UnicodeCharacterSequence right, UnicodeCharacterMatchFunctions characterMatch) {
-        final double defaultScalingFactor = 0.1;
-
         if (left == null || right == null) {
             throw new IllegalArgumentException("UnicodeCharSequences must not be null");
         }
@@ -135,15 +133,37 @@ public static Double apply(UnicodeCharacterSequence left, UnicodeCharacterSequen
         if (left.match(right, characterMatch))
             return 1d;
 
+        return apply(left.codePoints().toArray(), right.codePoints().toArray(), characterMatch);
+    }
+
+    /**
+     * Computes the Jaro Winkler Similarity between two sequences of code points that do not match completely.
+     */
+    private static double apply(int[] left, int[] right, UnicodeCharacterMatchFunctions characterMatch) {
+        final double defaultScalingFactor = 0.1;
+
         final int[] mtp = matches(left, right, characterMatch);
         final double m = mtp[0];
         if (m == 0) {
             return 0d;
         }
-        final double j = (m / left.length() + m / right.length() + (m - (double) mtp[1] / 2) / m) / 3;
+        final double j = (m / left.length + m / right.length + (m - (double) mtp[1] / 2) / m) / 3;
         return j < 0.7d ? j : j + defaultScalingFactor * mtp[2] * (1d - j);
     }
 
+    /**
+     * {@return whether all characters of both sequences of code points match}
+     */
+    private static boolean match(int[] left, int[] right, UnicodeCharacterMatchFunctions characterMatch) {
+        if (left.length != right.length)
+            return false;
+        for (int i = 0; i < left.length; i++) {
+            if (!characterMatch.test(left[i], right[i]))
+                return false;
+        }
+        return true;
+    }
+
     /**
      * Computes the Jaro Winkler Similarity between two strings.
      *
@@ -161,6 +181,11 @@ public static Double apply(String left, String right, UnicodeCharacterMatchFunct
         if (left.equals(right))
             return 1d;
 
-        return apply(UnicodeCharacterSequence.valueOf(left), UnicodeCharacterSequence.valueOf(right), characterMatch);
+        var leftCodePoints = left.codePoints().toArray();
+        var rightCodePoints = right.codePoints().toArray();
+        if (match(leftCodePoints, rightCodePoints, characterMatch))
+            return 1d;
+
+        return apply(leftCodePoints, rightCodePoints, characterMatch);
     }
 }
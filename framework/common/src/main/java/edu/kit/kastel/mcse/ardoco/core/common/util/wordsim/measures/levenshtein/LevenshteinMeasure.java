@@ -3,7 +3,6 @@
 
 import edu.kit.kastel.mcse.ardoco.core.common.util.CommonTextToolsConfig;
 import edu.kit.kastel.mcse.ardoco.core.common.util.wordsim.ComparisonContext;
-import edu.kit.kastel.mcse.ardoco.core.common.util.wordsim.UnicodeCharacterSequence;
 import edu.kit.kastel.mcse.ardoco.core.common.util.wordsim.WordSimMeasure;
 
 /**
@@ -78,10 +77,12 @@ public boolean areWordsSimilar(ComparisonContext ctx) {
     @Override
     public double getSimilarity(ComparisonContext ctx) {
         //FIXME cast to lower case seems unwarranted given that this is delegated to WordSimUtils already
-        var firstWord = UnicodeCharacterSequence.valueOf(ctx.firstTerm().toLowerCase());
-        var secondWord = UnicodeCharacterSequence.valueOf(ctx.secondTerm().toLowerCase());
-        return 1.0 - this.levenshteinDistance.apply(ctx.firstTerm(), ctx.secondTerm(), ctx.characterMatch()) / (double) Math.max(Math.max(firstWord.length(),
-                secondWord.length()), 1);
+        var firstWord = ctx.firstTerm().toLowerCase();
+        var secondWord = ctx.secondTerm().toLowerCase();
+        int firstLength = firstWord.codePointCount(0, firstWord.length());
+        int secondLength = secondWord.codePointCount(0, secondWord.length());
+        return 1.0 - this.levenshteinDistance.apply(ctx.firstTerm(), ctx.secondTerm(), ctx.characterMatch()) / (double) Math.max(Math.max(firstLength,
+                secondLength), 1);
     }
 
 }
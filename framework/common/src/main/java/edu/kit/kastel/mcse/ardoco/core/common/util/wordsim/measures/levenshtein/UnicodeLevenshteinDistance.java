@@ -24,6 +24,12 @@
  * character match.
  * </p>
  *
+ * <p>
+ * The algorithms work on the code points of the sequences and reuse thread-local rows for their cost tables. If the characters are compared using
+ * {@link UnicodeCharacterMatchFunctions#EQUAL} and the shorter sequence has at most {@value #MAX_BIT_PARALLEL_LENGTH} characters, the distance is calculated
+ * with the bit-parallel algorithm by Myers in the formulation of Hyyrö, which yields the same results.
+ * </p>
+ *
  * @since 1.0
  */
 public class UnicodeLevenshteinDistance implements Serializable {
@@ -33,6 +39,16 @@ public class UnicodeLevenshteinDistance implements Serializable {
      */
     private static final LevenshteinDistance DEFAULT_INSTANCE = new LevenshteinDistance();
 
+    /**
+     * The maximum length of the shorter sequence for which the bit-parallel algorithm is used, one bit per character.
+     */
+    static final int MAX_BIT_PARALLEL_LENGTH = Long.SIZE;
+
+    /**
+     * Reusable scratch memory of the current thread.
+     */
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
     /**
      * Gets the default instance.
      *
@@ -64,14 +80,15 @@ public static LevenshteinDistance getDefaultInstance() {
      * limitedCompare("hippo", "elephant", 6) = -1
      * </pre>
      *
-     * @param left           the first UnicodeCharacterSequence, must not be null
-     * @param right          the second UnicodeCharacterSequence, must not be null
+     * @param left           the code points of the first sequence, must not be null
+     * @param right          the code points of the second sequence, must not be null
      * @param threshold      the target threshold, must not be negative
      * @param characterMatch the function used to determine a match between two {@link UnicodeCharacter UnicodeCharacters}
+     * @param bitParallel    whether the bit-parallel algorithm may be used
      * @return result distance, or -1
      */
-    private static int limitedCompare(UnicodeCharacterSequence left, UnicodeCharacterSequence right, final int threshold,
-            UnicodeCharacterMatchFunctions characterMatch) { // NOPMD
+    private static int limitedCompare(int[] left, int[] right, final int threshold, UnicodeCharacterMatchFunctions characterMatch, // NOPMD
+            boolean bitParallel) {
         if (left == null || right == null) {
             throw new IllegalArgumentException("CharSequences must not be null");
         }
@@ -129,8 +146,8 @@ private static int limitedCompare(UnicodeCharacterSequence left, UnicodeCharacte
          * some discussion.
          */
 
-        int n = left.length(); // length of left
-        int m = right.length(); // length of right
+        int n = left.length; // length of left
+        int m = right.length; // length of right
 
         // if one string is empty, the edit distance is necessarily the length
         // of the other
@@ -143,11 +160,11 @@ private static int limitedCompare(UnicodeCharacterSequence left, UnicodeCharacte
 
         if (n > m) {
             // swap the two strings to consume less memory
-            final UnicodeCharacterSequence tmp = left;
+            final int[] tmp = left;
             left = right;
             right = tmp;
             n = m;
-            m = right.length();
+            m = right.length;
         }
 
         // the edit distance cannot be less than the length difference
@@ -155,8 +172,14 @@ private static int limitedCompare(UnicodeCharacterSequence left, UnicodeCharacte
             return -1;
         }
 
-        int[] p = new int[n + 1]; // 'previous' cost array, horizontally
-        int[] d = new int[n + 1]; // cost array, horizontally
+        if (bitParallel && characterMatch == UnicodeCharacterMatchFunctions.EQUAL && n <= MAX_BIT_PARALLEL_LENGTH) {
+            int distance = bitParallelCompare(left, right);
+            return distance <= threshold ? distance : -1;
+        }
+
+        var scratch = SCRATCH.get();
+        int[] p = scratch.previousRow(n + 1); // 'previous' cost array, horizontally
+        int[] d = scratch.currentRow(n + 1); // cost array, horizontally
         int[] tempD; // placeholder to assist in swapping p and d
 
         // fill in starting table values
@@ -166,12 +189,12 @@ private static int limitedCompare(UnicodeCharacterSequence left, UnicodeCharacte
         }
         // these fills ensure that the value above the rightmost entry of our
         // stripe will be ignored in following loop iterations
-        Arrays.fill(p, boundary, p.length, Integer.MAX_VALUE);
-        Arrays.fill(d, Integer.MAX_VALUE);
+        Arrays.fill(p, boundary, n + 1, Integer.MAX_VALUE);
+        Arrays.fill(d, 0, n + 1, Integer.MAX_VALUE);
 
         // iterates through t
         for (int j = 1; j <= m; j++) {
-            final UnicodeCharacter rightJ = right.charAt(j - 1); // jth character of right
+            final int rightJ = right[j - 1]; // jth character of right
             d[0] = j;
 
             // compute stripe indices, constrain to array size
@@ -186,7 +209,7 @@ private static int limitedCompare(UnicodeCharacterSequence left, UnicodeCharacte
             int lowerBound = Integer.MAX_VALUE;
             // iterates through [min, max] in s
             for (int i = min; i <= max; i++) {
-                if (characterMatch.apply(left.charAt(i - 1), rightJ)) {
+                if (characterMatch.test(left[i - 1], rightJ)) {
                     // diagonally left and up
                     d[i] = p[i - 1];
                 } else {
@@ -241,13 +264,14 @@ private static int limitedCompare(UnicodeCharacterSequence left, UnicodeCharacte
      * unlimitedCompare("hello", "hallo") = 1
      * </pre>
      *
-     * @param left           the first UnicodeCharacterSequence, must not be null
-     * @param right          the second UnicodeCharacterSequence, must not be null
+     * @param left           the code points of the first sequence, must not be null
+     * @param right          the code points of the second sequence, must not be null
      * @param characterMatch the function used to determine a match between two {@link UnicodeCharacter UnicodeCharacters}
+     * @param bitParallel    whether the bit-parallel algorithm may be used
      * @return result distance, or -1
-     * @throws IllegalArgumentException if either UnicodeCharacterSequence input is {@code null}
+     * @throws IllegalArgumentException if either input is {@code null}
      */
-    private static int unlimitedCompare(UnicodeCharacterSequence left, UnicodeCharacterSequence right, UnicodeCharacterMatchFunctions characterMatch) {
+    private static int unlimitedCompare(int[] left, int[] right, UnicodeCharacterMatchFunctions characterMatch, boolean bitParallel) {
         if (left == null || right == null) {
             throw new IllegalArgumentException("CharSequences must not be null");
         }
@@ -257,8 +281,8 @@ private static int unlimitedCompare(UnicodeCharacterSequence left, UnicodeCharac
            So this implementation use less memory than previous impl.
          */
 
-        int n = left.length(); // length of left
-        int m = right.length(); // length of right
+        int n = left.length; // length of left
+        int m = right.length; // length of right
 
         if (n == 0) {
             return m;
@@ -269,14 +293,18 @@ private static int unlimitedCompare(UnicodeCharacterSequence left, UnicodeCharac
 
         if (n > m) {
             // swap the input strings to consume less memory
-            final UnicodeCharacterSequence tmp = left;
+            final int[] tmp = left;
             left = right;
             right = tmp;
             n = m;
-            m = right.length();
+            m = right.length;
+        }
+
+        if (bitParallel && characterMatch == UnicodeCharacterMatchFunctions.EQUAL && n <= MAX_BIT_PARALLEL_LENGTH) {
+            return bitParallelCompare(left, right);
         }
 
-        final int[] p = new int[n + 1];
+        final int[] p = SCRATCH.get().previousRow(n + 1);
 
         // indexes into strings left and right
         int i; // iterates through left
@@ -284,7 +312,7 @@ private static int unlimitedCompare(UnicodeCharacterSequence left, UnicodeCharac
         int upperLeft;
         int upper;
 
-        UnicodeCharacter rightJ; // jth character of right
+        int rightJ; // jth character of right
         int cost; // cost
 
         for (i = 0; i <= n; i++) {
@@ -293,12 +321,12 @@ private static int unlimitedCompare(UnicodeCharacterSequence left, UnicodeCharac
 
         for (j = 1; j <= m; j++) {
             upperLeft = p[0];
-            rightJ = right.charAt(j - 1);
+            rightJ = right[j - 1];
             p[0] = j;
 
             for (i = 1; i <= n; i++) {
                 upper = p[i];
-                cost = characterMatch.apply(left.charAt(i - 1), rightJ) ? 0 : 1;
+                cost = characterMatch.test(left[i - 1], rightJ) ? 0 : 1;
                 // minimum of cell to the left+1, to the top+1, diagonally left and up +cost
                 p[i] = Math.min(Math.min(p[i - 1] + 1, p[i] + 1), upperLeft + cost);
                 upperLeft = upper;
@@ -308,6 +336,45 @@ private static int unlimitedCompare(UnicodeCharacterSequence left, UnicodeCharac
         return p[n];
     }
 
+    /**
+     * Calculates the Levenshtein distance between two non-empty sequences with the bit-parallel algorithm of Myers in the formulation of Hyyrö. Each column of
+     * the cost table is encoded as vertical deltas in two bit vectors, so each character of the text is processed in constant time. Characters are only matched
+     * if they are equal.
+     *
+     * @param pattern the code points of the shorter sequence, at most {@value #MAX_BIT_PARALLEL_LENGTH} characters
+     * @param text    the code points of the longer sequence
+     * @return the distance
+     */
+    private static int bitParallelCompare(int[] pattern, int[] text) {
+        var masks = SCRATCH.get().matchMasks(pattern);
+        try {
+            final long last = 1L << (pattern.length - 1);
+            long positiveVertical = ~0L;
+            long negativeVertical = 0L;
+            int distance = pattern.length;
+            for (int codePoint : text) {
+                final long equal = masks.get(codePoint);
+                final long verticalChange = equal | negativeVertical;
+                final long horizontalChange = (((equal & positiveVertical) + positiveVertical) ^ positiveVertical) | equal;
+                long positiveHorizontal = negativeVertical | ~(horizontalChange | positiveVertical);
+                long negativeHorizontal = positiveVertical & horizontalChange;
+                if ((positiveHorizontal & last) != 0) {
+                    distance++;
+                } else if ((negativeHorizontal & last) != 0) {
+                    distance--;
+                }
+                // The first row of the cost table increases by one in each column
+                positiveHorizontal = (positiveHorizontal << 1) | 1L;
+                negativeHorizontal = negativeHorizontal << 1;
+                positiveVertical = negativeHorizontal | ~(verticalChange | positiveHorizontal);
+                negativeVertical = positiveHorizontal & verticalChange;
+            }
+            return distance;
+        } finally {
+            masks.clear(pattern);
+        }
+    }
+
     /**
      * Threshold.
      */
@@ -367,10 +434,10 @@ public UnicodeLevenshteinDistance(final Integer threshold) {
      * @throws IllegalArgumentException if either String input {@code null}
      */
     public Integer apply(final UnicodeCharacterSequence left, final UnicodeCharacterSequence right, UnicodeCharacterMatchFunctions characterMatch) {
-        if (threshold != null) {
-            return limitedCompare(left, right, threshold, characterMatch);
+        if (left == null || right == null) {
+            throw new IllegalArgumentException("CharSequences must not be null");
         }
-        return unlimitedCompare(left, right, characterMatch);
+        return apply(left.codePoints().toArray(), right.codePoints().toArray(), characterMatch);
     }
 
     public Integer apply(String left, String right, UnicodeCharacterMatchFunctions characterMatch) {
@@ -381,7 +448,30 @@ public Integer apply(String left, String right, UnicodeCharacterMatchFunctions c
         if (left.equals(right))
             return 0;
 
-        return apply(UnicodeCharacterSequence.valueOf(left), UnicodeCharacterSequence.valueOf(right), characterMatch);
+        return apply(left.codePoints().toArray(), right.codePoints().toArray(), characterMatch);
+    }
+
+    private int apply(int[] left, int[] right, UnicodeCharacterMatchFunctions characterMatch) {
+        if (threshold != null) {
+            return limitedCompare(left, right, threshold, characterMatch, true);
+        }
+        return unlimitedCompare(left, right, characterMatch, true);
+    }
+
+    /**
+     * Finds the Levenshtein distance between two sequences like {@link #apply(String, String, UnicodeCharacterMatchFunctions)}, but always calculates it with
+     * the cost table and never with the bit-parallel algorithm. Used to check both algorithms against each other.
+     *
+     * @param left           the code points of the first sequence, must not be null
+     * @param right          the code points of the second sequence, must not be null
+     * @param characterMatch the function used to determine a match between two {@link UnicodeCharacter UnicodeCharacters}
+     * @return result distance, or -1
+     */
+    int applyWithCostTable(int[] left, int[] right, UnicodeCharacterMatchFunctions characterMatch) {
+        if (threshold != null) {
+            return limitedCompare(left, right, threshold, characterMatch, false);
+        }
+        return unlimitedCompare(left, right, characterMatch, false);
     }
 
     /**
@@ -393,4 +483,87 @@ public Integer getThreshold() {
         return threshold;
     }
 
+    /**
+     * Scratch memory of a single thread. The rows grow on demand and are never shrunk.
+     */
+    private static final class Scratch {
+        private int[] previousRow = new int[32];
+        private int[] currentRow = new int[32];
+        private final MatchMasks matchMasks = new MatchMasks();
+
+        private int[] previousRow(int length) {
+            if (previousRow.length < length) {
+                previousRow = new int[Math.max(length, previousRow.length * 2)];
+            }
+            return previousRow;
+        }
+
+        private int[] currentRow(int length) {
+            if (currentRow.length < length) {
+                currentRow = new int[Math.max(length, currentRow.length * 2)];
+            }
+            return currentRow;
+        }
+
+        private MatchMasks matchMasks(int[] pattern) {
+            matchMasks.fill(pattern);
+            return matchMasks;
+        }
+    }
+
+    /**
+     * Maps each code point of a pattern to the bit vector of the positions where it occurs in the pattern. ASCII code points are looked up directly, all other
+     * code points are searched in a small list, since a pattern contains at most {@value #MAX_BIT_PARALLEL_LENGTH} characters.
+     */
+    private static final class MatchMasks {
+        private static final int ASCII = 128;
+        private final long[] asciiMasks = new long[ASCII];
+        private final int[] otherCodePoints = new int[MAX_BIT_PARALLEL_LENGTH];
+        private final long[] otherMasks = new long[MAX_BIT_PARALLEL_LENGTH];
+        private int others;
+
+        private void fill(int[] pattern) {
+            for (int i = 0; i < pattern.length; i++) {
+                int codePoint = pattern[i];
+                long bit = 1L << i;
+                if (codePoint < ASCII) {
+                    asciiMasks[codePoint] |= bit;
+                } else {
+                    int index = indexOfOther(codePoint);
+                    if (index < 0) {
+                        index = others++;
+                        otherCodePoints[index] = codePoint;
+                    }
+                    otherMasks[index] |= bit;
+                }
+            }
+        }
+
+        private long get(int codePoint) {
+            if (codePoint < ASCII) {
+                return asciiMasks[codePoint];
+            }
+            int index = indexOfOther(codePoint);
+            return index < 0 ? 0L : otherMasks[index];
+        }
+
+        private int indexOfOther(int codePoint) {
+            for (int i = 0; i < others; i++) {
+                if (otherCodePoints[i] == codePoint) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private void clear(int[] pattern) {
+            for (int codePoint : pattern) {
+                if (codePoint < ASCII) {
+                    asciiMasks[codePoint] = 0L;
+                }
+            }
+            Arrays.fill(otherMasks, 0, others, 0L);
+            others = 0;
+        }
+    }
 }
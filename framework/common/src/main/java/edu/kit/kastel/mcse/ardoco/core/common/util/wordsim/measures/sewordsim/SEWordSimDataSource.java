@@ -1,4 +1,4 @@
-/* Licensed under MIT 2022-2023. */
+/* Licensed under MIT 2022-2024. */
 package edu.kit.kastel.mcse.ardoco.core.common.util.wordsim.measures.sewordsim;
 
 import java.nio.file.Files;
@@ -7,10 +7,17 @@
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 
+import org.eclipse.collections.api.factory.primitive.IntLists;
+import org.eclipse.collections.api.factory.primitive.LongLists;
+import org.eclipse.collections.api.factory.primitive.ObjectIntMaps;
+import org.eclipse.collections.api.list.primitive.MutableIntList;
+import org.eclipse.collections.api.list.primitive.MutableLongList;
+import org.eclipse.collections.api.map.primitive.MutableObjectIntMap;
 import org.sqlite.SQLiteConfig;
 
 import edu.kit.kastel.mcse.ardoco.core.common.util.wordsim.WordSimUtils;
@@ -25,9 +32,11 @@ public class SEWordSimDataSource implements AutoCloseable {
     private static final String EXISTS_QUERY = "SELECT EXISTS(SELECT * FROM `wsim` WHERE `term_1` = ?) AS `ex`;";
     private static final String SELECT_QUERY = "SELECT `similarity` FROM `wsim` WHERE `term_1` = ? AND `term_2` = ?;";
     private static final String SELECT_ALL_QUERY = "SELECT DISTINCT `term_1` FROM `wsim`;";
+    private static final String SELECT_TABLE_QUERY = "SELECT `term_1`, `term_2`, `similarity` FROM `wsim`;";
 
     private final Connection connection;
     private final PreparedStatement selectStatement;
+    private final PreparedStatement existsStatement;
     private final PorterStemmer stemmer = new PorterStemmer();
 
     /**
@@ -46,6 +55,7 @@ public SEWordSimDataSource(Path sqliteFile) throws SQLException {
 
         this.connection = cfg.createConnection("jdbc:sqlite:" + sqliteFile);
         this.selectStatement = this.connection.prepareStatement(SELECT_QUERY);
+        this.existsStatement = this.connection.prepareStatement(EXISTS_QUERY);
     }
 
     /**
@@ -64,13 +74,11 @@ public boolean containsWord(String word) throws SQLException {
 
         word = this.stemmer.stem(word);
 
-        try (var statement = this.connection.prepareStatement(EXISTS_QUERY)) {
-            statement.setString(1, word);
+        this.existsStatement.setString(1, word);
 
-            try (var result = statement.executeQuery()) {
-                if (result.next()) {
-                    return result.getInt("ex") > 0;
-                }
+        try (var result = this.existsStatement.executeQuery()) {
+            if (result.next()) {
+                return result.getInt("ex") > 0;
             }
         }
 
@@ -127,6 +135,48 @@ public List<String> getAllWords() throws SQLException {
         return words;
     }
 
+    /**
+     * Reads the whole {@code wsim} table into memory. Lookups in the returned table neither access the database nor allocate
+     * any objects, except for stemming new words.
+     *
+     * @return the in-memory table
+     * @throws SQLException if a database access error occurs
+     */
+    public SEWordSimTable loadTable() throws SQLException {
+        MutableObjectIntMap<String> termIds = ObjectIntMaps.mutable.empty();
+        MutableIntList firstTermIds = IntLists.mutable.empty();
+        MutableLongList entries = LongLists.mutable.empty();
+
+        try (var statement = this.connection.createStatement()) {
+            try (var result = statement.executeQuery(SELECT_TABLE_QUERY)) {
+                while (result.next()) {
+                    int firstTermId = termIds.getIfAbsentPut(result.getString("term_1"), termIds.size());
+                    int secondTermId = termIds.getIfAbsentPut(result.getString("term_2"), termIds.size());
+                    firstTermIds.add(firstTermId);
+                    entries.add(SEWordSimTable.entry(secondTermId, result.getFloat("similarity")));
+                }
+            }
+        }
+
+        // Group the entries by their first term, then sort the entries of each term by the second term
+        int[] offsets = new int[termIds.size() + 1];
+        firstTermIds.each(firstTermId -> offsets[firstTermId + 1]++);
+        for (int termId = 0; termId < termIds.size(); termId++) {
+            offsets[termId + 1] += offsets[termId];
+        }
+
+        long[] groupedEntries = new long[entries.size()];
+        int[] nextPositions = Arrays.copyOf(offsets, termIds.size());
+        for (int i = 0; i < entries.size(); i++) {
+            groupedEntries[nextPositions[firstTermIds.get(i)]++] = entries.get(i);
+        }
+        for (int termId = 0; termId < termIds.size(); termId++) {
+            Arrays.sort(groupedEntries, offsets[termId], offsets[termId + 1]);
+        }
+
+        return new SEWordSimTable(termIds, offsets, groupedEntries);
+    }
+
     /**
      * Closes the connection to the sqlite file.
      *
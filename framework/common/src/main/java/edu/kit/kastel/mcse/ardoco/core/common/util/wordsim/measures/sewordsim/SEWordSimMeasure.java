@@ -3,6 +3,9 @@
 
 import java.nio.file.Path;
 import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -12,29 +15,45 @@
 import edu.kit.kastel.mcse.ardoco.core.common.util.wordsim.WordSimMeasure;
 
 /**
- * This word similarity measures utilizes the SEWordSim database from Tian et al. 2014
+ * This word similarity measures utilizes the SEWordSim database from Tian et al. 2014. The database is either queried for every comparison or, if
+ * configured, loaded into memory once as a {@link SEWordSimTable}. The read-only table is shared by all measures that use the same database file, e.g., by
+ * concurrent runs.
  */
 public class SEWordSimMeasure implements WordSimMeasure {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(SEWordSimMeasure.class);
+    private static final ConcurrentHashMap<Path, SEWordSimTable> SHARED_TABLES = new ConcurrentHashMap<>();
 
     private transient SEWordSimDataSource dataSource;
+    private transient SEWordSimTable table;
     private final double similarityThreshold;
+    private final boolean inMemory;
 
     /**
      * Constructs a new {@link SEWordSimMeasure} using the settings provided by {@link CommonTextToolsConfig}.
      */
     public SEWordSimMeasure() {
-        this(CommonTextToolsConfig.SEWORDSIM_SIMILARITY_THRESHOLD);
+        this(CommonTextToolsConfig.SEWORDSIM_SIMILARITY_THRESHOLD, CommonTextToolsConfig.SEWORDSIM_IN_MEMORY);
     }
 
     /**
-     * Constructs a new {@link SEWordSimMeasure} instance.
+     * Constructs a new {@link SEWordSimMeasure} instance that queries the database for every comparison.
      *
      * @param similarityThreshold the threshold above which words are considered similar, between 0 and 1
      */
     public SEWordSimMeasure(double similarityThreshold) {
+        this(similarityThreshold, false);
+    }
+
+    /**
+     * Constructs a new {@link SEWordSimMeasure} instance.
+     *
+     * @param similarityThreshold the threshold above which words are considered similar, between 0 and 1
+     * @param inMemory            whether the database is loaded into memory on first use instead of being queried for every comparison
+     */
+    public SEWordSimMeasure(double similarityThreshold, boolean inMemory) {
         this.similarityThreshold = similarityThreshold;
+        this.inMemory = inMemory;
 
         if (similarityThreshold < 0.0 || similarityThreshold > 1.0) {
             throw new IllegalArgumentException("similarityThreshold outside of valid range: " + similarityThreshold);
@@ -52,6 +71,9 @@ public double getSimilarity(ComparisonContext ctx) {
         double similarity = Double.NaN;
 
         try {
+            if (this.inMemory) {
+                return getTable().getSimilarity(ctx.firstTerm(), ctx.secondTerm()).orElse(Double.NaN);
+            }
             similarity = getDataSource().getSimilarity(ctx.firstTerm(), ctx.secondTerm()).orElse(Double.NaN);
         } catch (SQLException e) {
             LOGGER.error("Failed to query the SEWordSim database for word comparison: " + ctx, e);
@@ -60,6 +82,56 @@ public double getSimilarity(ComparisonContext ctx) {
         return similarity; // words are probably missing from the database
     }
 
+    /**
+     * Calculates the similarities of the given word and each of the given candidates in a single call. If the database is loaded into memory, the word is
+     * only stemmed and looked up once, see {@link SEWordSimTable#getSimilarities(String, List)}.
+     *
+     * @param word       the word
+     * @param candidates the words to compare the word with
+     * @return the similarities in the order of the candidates, {@link Double#NaN} if a pair is missing from the database
+     */
+    public double[] getSimilarities(String word, List<String> candidates) {
+        try {
+            if (this.inMemory) {
+                return getTable().getSimilarities(word, candidates);
+            }
+            var source = getDataSource();
+            double[] similarities = new double[candidates.size()];
+            for (int i = 0; i < similarities.length; i++) {
+                similarities[i] = source.getSimilarity(word, candidates.get(i)).orElse(Double.NaN);
+            }
+            return similarities;
+        } catch (SQLException e) {
+            LOGGER.error("Failed to query the SEWordSim database for word comparison: " + word, e);
+            double[] similarities = new double[candidates.size()];
+            Arrays.fill(similarities, Double.NaN);
+            return similarities;
+        }
+    }
+
+    private synchronized SEWordSimTable getTable() throws SQLException {
+        if (table == null) {
+            var file = Path.of(CommonTextToolsConfig.SEWORDSIM_DB_FILE_PATH).toAbsolutePath().normalize();
+            try {
+                table = SHARED_TABLES.computeIfAbsent(file, key -> {
+                    try {
+                        var loaded = getDataSource().loadTable();
+                        LOGGER.info("Loaded {} SEWordSim terms into memory", loaded.size());
+                        return loaded;
+                    } catch (SQLException e) {
+                        throw new IllegalStateException(e);
+                    }
+                });
+            } catch (IllegalStateException e) {
+                if (e.getCause() instanceof SQLException sqlException) {
+                    throw sqlException;
+                }
+                throw e;
+            }
+        }
+        return table;
+    }
+
     private SEWordSimDataSource getDataSource() {
         if (dataSource == null) {
             try {
@@ -0,0 +1,202 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.core.common.util.wordsim.measures.sewordsim;
+
+import java.io.Serial;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.OptionalDouble;
+
+import org.eclipse.collections.api.map.primitive.ObjectIntMap;
+
+import opennlp.tools.stemmer.PorterStemmer;
+
+/**
+ * An in-memory copy of the SEWordSim {@code wsim} table, created by {@link SEWordSimDataSource#loadTable()}. Every stemmed term is interned as an integer
+ * id. For every term, the similar terms are stored as a sorted array of entries, where each entry packs the id of the similar term into the upper and the
+ * similarity into the lower 32 bits of a long. The entries of all terms share one array, so a lookup is a binary search in a slice of that array.
+ * <p>
+ * Instances are threadsafe. The most recently stemmed words are memoized, as the same words are compared over and over again.
+ */
+public final class SEWordSimTable {
+
+    private static final int MAX_MEMOIZED_STEMS = 100_000;
+    private static final ThreadLocal<PorterStemmer> STEMMER = ThreadLocal.withInitial(PorterStemmer::new);
+
+    private final ObjectIntMap<String> termIds;
+    private final int[] offsets;
+    private final long[] entries;
+    private final StemCache stems = new StemCache();
+
+    /**
+     * Creates a new table. The entries of the term with id {@code i} are stored from {@code offsets[i]} (inclusive) to {@code offsets[i + 1]} (exclusive)
+     * and must be sorted, see {@link #entry(int, float)}.
+     *
+     * @param termIds the ids of the stemmed terms
+     * @param offsets the offsets of the entries of each term
+     * @param entries the entries of all terms
+     */
+    SEWordSimTable(ObjectIntMap<String> termIds, int[] offsets, long[] entries) {
+        this.termIds = termIds;
+        this.offsets = offsets;
+        this.entries = entries;
+    }
+
+    /**
+     * Packs a similar term and its similarity into one entry. Sorting entries sorts them by the id of the similar term.
+     *
+     * @param termId     the non-negative id of the similar term
+     * @param similarity the similarity
+     * @return the entry
+     */
+    static long entry(int termId, float similarity) {
+        return ((long) termId << Integer.SIZE) | (Float.floatToRawIntBits(similarity) & 0xFFFFFFFFL);
+    }
+
+    /**
+     * {@return the number of interned terms}
+     */
+    public int size() {
+        return offsets.length - 1;
+    }
+
+    /**
+     * Checks whether the stemmed version of the given word has similar terms in the table.
+     *
+     * @param word the word to be checked
+     * @return {@code true} if the stemmed version of the given word has similar terms
+     */
+    public boolean containsWord(String word) {
+        Objects.requireNonNull(word);
+
+        if (word.isEmpty()) {
+            return false;
+        }
+
+        int termId = termIds.getIfAbsent(stem(word), -1);
+        return termId >= 0 && offsets[termId] < offsets[termId + 1];
+    }
+
+    /**
+     * Attempts to retrieve the similarity score for the given pair of words.
+     *
+     * @param firstWord  the first word
+     * @param secondWord the second word
+     * @return the similarity score, ranging from {@code 0.0} to {@code 1.0}, or {@link OptionalDouble#empty()} if the table does not contain the given word
+     *         pair
+     */
+    public OptionalDouble getSimilarity(String firstWord, String secondWord) {
+        Objects.requireNonNull(firstWord);
+        Objects.requireNonNull(secondWord);
+
+        int firstId = termIds.getIfAbsent(stem(firstWord), -1);
+        int secondId = termIds.getIfAbsent(stem(secondWord), -1);
+        if (firstId < 0 || secondId < 0) {
+            return OptionalDouble.empty();
+        }
+
+        float similarity = find(firstId, secondId);
+        return Float.isNaN(similarity) ? OptionalDouble.empty() : OptionalDouble.of(similarity);
+    }
+
+    /**
+     * Retrieves the similarity scores of the given word and each of the given candidates. The word is only stemmed and looked up once. The candidates are
+     * sorted by their term ids and merged with the similar terms of the word in a single pass.
+     *
+     * @param word       the word
+     * @param candidates the words to compare the word with
+     * @return the similarity scores in the order of the candidates, {@link Double#NaN} if the table does not contain a pair
+     */
+    public double[] getSimilarities(String word, List<String> candidates) {
+        Objects.requireNonNull(word);
+        Objects.requireNonNull(candidates);
+
+        double[] similarities = new double[candidates.size()];
+        Arrays.fill(similarities, Double.NaN);
+
+        int wordId = termIds.getIfAbsent(stem(word), -1);
+        if (wordId < 0) {
+            return similarities;
+        }
+
+        // Pack the id of each known candidate into the upper and its index into the lower 32 bits, so sorting orders the candidates by their ids
+        long[] candidateIds = new long[similarities.length];
+        int known = 0;
+        for (int i = 0; i < similarities.length; i++) {
+            int candidateId = termIds.getIfAbsent(stem(candidates.get(i)), -1);
+            if (candidateId >= 0) {
+                candidateIds[known++] = ((long) candidateId << Integer.SIZE) | i;
+            }
+        }
+        Arrays.sort(candidateIds, 0, known);
+
+        int entry = offsets[wordId];
+        int end = offsets[wordId + 1];
+        for (int candidate = 0; candidate < known && entry < end;) {
+            int candidateId = (int) (candidateIds[candidate] >>> Integer.SIZE);
+            int similarTermId = (int) (entries[entry] >>> Integer.SIZE);
+            if (similarTermId < candidateId) {
+                entry++;
+            } else if (similarTermId > candidateId) {
+                candidate++;
+            } else {
+                similarities[(int) candidateIds[candidate]] = Float.intBitsToFloat((int) entries[entry]);
+                candidate++;
+            }
+        }
+        return similarities;
+    }
+
+    private float find(int termId, int similarTermId) {
+        int low = offsets[termId];
+        int high = offsets[termId + 1] - 1;
+
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int middleId = (int) (entries[middle] >>> Integer.SIZE);
+            if (middleId < similarTermId) {
+                low = middle + 1;
+            } else if (middleId > similarTermId) {
+                high = middle - 1;
+            } else {
+                return Float.intBitsToFloat((int) entries[middle]);
+            }
+        }
+
+        return Float.NaN;
+    }
+
+    private String stem(String word) {
+        String stem;
+        synchronized (stems) {
+            stem = stems.get(word);
+        }
+        if (stem == null) {
+            stem = STEMMER.get().stem(word);
+            synchronized (stems) {
+                stems.put(word, stem);
+            }
+        }
+        return stem;
+    }
+
+    /**
+     * Memoizes stems in access order and evicts the least recently used stem once {@link #MAX_MEMOIZED_STEMS} stems are memoized. Access must be
+     * synchronized.
+     */
+    private static final class StemCache extends LinkedHashMap<String, String> {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private StemCache() {
+            super(16, 0.75f, true);
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+            return size() > MAX_MEMOIZED_STEMS;
+        }
+    }
+}
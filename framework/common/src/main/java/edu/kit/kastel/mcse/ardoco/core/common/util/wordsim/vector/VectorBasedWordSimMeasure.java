@@ -2,7 +2,6 @@
 package edu.kit.kastel.mcse.ardoco.core.common.util.wordsim.vector;
 
 import java.util.LinkedHashMap;
-import java.util.Map;
 import java.util.Objects;
 
 import edu.kit.kastel.mcse.ardoco.core.architecture.Deterministic;
@@ -11,13 +10,39 @@
 /**
  * A vector based word similarity measure uses vector embeddings of words to compare their similarity. To get vector
  * embeddings of passed words, a {@link WordVectorDataSource} is required. Instances of this class additionally manage a
- * cache to improve lookup speeds.
+ * bounded, threadsafe cache to improve lookup speeds. If the cache is full, the least recently used vector is evicted.
  */
 @Deterministic
 public abstract class VectorBasedWordSimMeasure implements WordSimMeasure {
 
+    /**
+     * The default maximum number of cached vectors.
+     */
+    public static final int DEFAULT_VECTOR_CACHE_CAPACITY = 10_000;
+
     private static final float[] ZERO_VECTOR = new float[0];
-    private final Map<String, float[]> vectorCache = new LinkedHashMap<>();
+    // Access order, so that the first entry is always the least recently used one
+    private final LinkedHashMap<String, float[]> vectorCache = new LinkedHashMap<>(16, 0.75f, true);
+    private final int vectorCacheCapacity;
+
+    /**
+     * Creates a new measure that caches up to {@link #DEFAULT_VECTOR_CACHE_CAPACITY} vectors.
+     */
+    protected VectorBasedWordSimMeasure() {
+        this(DEFAULT_VECTOR_CACHE_CAPACITY);
+    }
+
+    /**
+     * Creates a new measure that caches up to the given number of vectors.
+     *
+     * @param vectorCacheCapacity the maximum number of cached vectors, a capacity of zero disables the cache
+     */
+    protected VectorBasedWordSimMeasure(int vectorCacheCapacity) {
+        if (vectorCacheCapacity < 0) {
+            throw new IllegalArgumentException("vectorCacheCapacity must not be negative");
+        }
+        this.vectorCacheCapacity = vectorCacheCapacity;
+    }
 
     protected abstract WordVectorDataSource getVectorDataSource();
 
@@ -55,11 +80,22 @@ public double compareVectors(String firstWord, String secondWord) throws Retriev
     }
 
     private float[] getVectorFromCacheOrDatabase(String word) throws RetrieveVectorException {
-        float[] vector = this.vectorCache.getOrDefault(word, null);
+        float[] vector;
+        synchronized (this.vectorCache) {
+            vector = this.vectorCache.get(word);
+        }
 
         if (vector == null) {
+            // Retrieved outside the lock, so that lookups of other words are not blocked by the data source
             vector = getVectorDataSource().getWordVector(word).orElse(ZERO_VECTOR);
-            this.vectorCache.put(word, vector);
+            synchronized (this.vectorCache) {
+                if (this.vectorCacheCapacity > 0) {
+                    this.vectorCache.put(word, vector);
+                    while (this.vectorCache.size() > this.vectorCacheCapacity) {
+                        this.vectorCache.pollFirstEntry();
+                    }
+                }
+            }
         }
 
         return vector;
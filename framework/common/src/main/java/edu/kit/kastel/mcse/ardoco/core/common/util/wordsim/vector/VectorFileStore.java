@@ -0,0 +1,144 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.core.common.util.wordsim.vector;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+
+/**
+ * Provides vector word embeddings from a memory-mapped binary file. Lookups only read the mapped file, so they neither open connections nor decode any
+ * data except for the requested vector. Instances are threadsafe. Files of this format are created by {@link VectorFileStoreWriter}.
+ * <p>
+ * The file consists of the following big-endian blocks:
+ * <ol>
+ * <li>a header with the four integers {@link #MAGIC}, {@link #VERSION}, the dimension of the vectors and the number of words,</li>
+ * <li>an offset index with one integer per word and a final integer, word {@code i} is stored from offset {@code i} (inclusive) to offset {@code i + 1}
+ * (exclusive) of the word block,</li>
+ * <li>the word block with all words encoded in UTF-8, sorted by their unsigned bytes,</li>
+ * <li>padding to the next multiple of four bytes,</li>
+ * <li>the vector block with one vector per word as a consecutive sequence of floats, in the order of the words.</li>
+ * </ol>
+ */
+public class VectorFileStore implements WordVectorDataSource {
+
+    /**
+     * The first integer of every vector store file.
+     */
+    public static final int MAGIC = 0x41564543;
+    /**
+     * The version of the file format.
+     */
+    public static final int VERSION = 1;
+
+    private final int dimension;
+    private final int wordCount;
+    private final IntBuffer offsets;
+    private final ByteBuffer words;
+    private final FloatBuffer vectors;
+
+    /**
+     * Maps the given vector store file into memory. The mapping stays valid until this instance is garbage collected.
+     *
+     * @param storeFile the path to the vector store file
+     * @throws IOException              if the file cannot be mapped
+     * @throws IllegalArgumentException if the file does not exist, is larger than 2 GiB or is no vector store file
+     */
+    public VectorFileStore(Path storeFile) throws IOException {
+        if (!Files.exists(storeFile)) {
+            throw new IllegalArgumentException("storeFile does not exist: " + storeFile);
+        }
+
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(storeFile, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("storeFile is larger than 2 GiB: " + storeFile);
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        if (buffer.capacity() < 4 * Integer.BYTES || buffer.getInt(0) != MAGIC || buffer.getInt(Integer.BYTES) != VERSION) {
+            throw new IllegalArgumentException("storeFile is no vector store of version " + VERSION + ": " + storeFile);
+        }
+        this.dimension = buffer.getInt(2 * Integer.BYTES);
+        this.wordCount = buffer.getInt(3 * Integer.BYTES);
+
+        int offsetsStart = 4 * Integer.BYTES;
+        int wordsStart = offsetsStart + (wordCount + 1) * Integer.BYTES;
+        this.offsets = buffer.slice(offsetsStart, (wordCount + 1) * Integer.BYTES).asIntBuffer();
+        int wordsLength = this.offsets.get(wordCount);
+        this.words = buffer.slice(wordsStart, wordsLength);
+        int vectorsStart = align(wordsStart + wordsLength);
+        this.vectors = buffer.slice(vectorsStart, wordCount * dimension * Float.BYTES).asFloatBuffer();
+    }
+
+    static int align(int position) {
+        return (position + Float.BYTES - 1) / Float.BYTES * Float.BYTES;
+    }
+
+    /**
+     * {@return the dimension of the vectors}
+     */
+    public int getDimension() {
+        return dimension;
+    }
+
+    /**
+     * {@return the number of words with a vector representation}
+     */
+    public int size() {
+        return wordCount;
+    }
+
+    @Override
+    public Optional<float[]> getWordVector(String word) {
+        int index = indexOf(word.getBytes(StandardCharsets.UTF_8));
+        if (index < 0) {
+            return Optional.empty();
+        }
+
+        float[] vector = new float[dimension];
+        this.vectors.get(index * dimension, vector);
+        return Optional.of(vector);
+    }
+
+    private int indexOf(byte[] word) {
+        int low = 0;
+        int high = wordCount - 1;
+
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int comparison = compareWordAt(middle, word);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+
+        return -1;
+    }
+
+    private int compareWordAt(int index, byte[] word) {
+        int start = this.offsets.get(index);
+        int length = this.offsets.get(index + 1) - start;
+
+        int commonLength = Math.min(length, word.length);
+        for (int i = 0; i < commonLength; i++) {
+            int comparison = Integer.compare(Byte.toUnsignedInt(this.words.get(start + i)), Byte.toUnsignedInt(word[i]));
+            if (comparison != 0) {
+                return comparison;
+            }
+        }
+
+        return Integer.compare(length, word.length);
+    }
+}
@@ -0,0 +1,133 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.core.common.util.wordsim.vector;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import edu.kit.kastel.mcse.ardoco.core.common.util.wordsim.WordSimUtils;
+
+/**
+ * Converts a sqlite database of vector word embeddings, as created by {@link WordVectorSqliteImporter}, into a file that can be read by
+ * {@link VectorFileStore}. The database is read twice: once for the words and once for the vectors, so the vectors never have to be held in memory.
+ */
+public class VectorFileStoreWriter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(VectorFileStoreWriter.class);
+    // BINARY compares the UTF-8 bytes like VectorFileStore does
+    private static final String SELECT_WORDS_QUERY = "SELECT `word`, length(`vec`) FROM `words` ORDER BY `word` COLLATE BINARY";
+    private static final String SELECT_VECTORS_QUERY = "SELECT `vec` FROM `words` ORDER BY `word` COLLATE BINARY";
+
+    /**
+     * Launches a conversion. The first string in the args array must be the path to the sqlite database file. The second string in the args array must be
+     * the path to the vector store file that will be created.
+     *
+     * @param args the args array
+     * @throws IOException  if an io error occurs
+     * @throws SQLException if a database related error occurs
+     */
+    public static void main(String[] args) throws SQLException, IOException {
+        int written = new VectorFileStoreWriter().write(Path.of(args[0]), Path.of(args[1]));
+        LOGGER.info("Written: {}", written);
+    }
+
+    /**
+     * Writes all vectors of the given sqlite database to the given vector store file. An existing file is replaced.
+     *
+     * @param sqliteFile the path to the sqlite database file
+     * @param storeFile  the path to the vector store file
+     * @return the number of written vectors
+     * @throws SQLException          if an error occurs while interacting with the database
+     * @throws IOException           if an error occurs while writing the vector store file
+     * @throws IllegalStateException if the vectors have different dimensions or the database contains a word twice
+     */
+    public int write(Path sqliteFile, Path storeFile) throws SQLException, IOException {
+        if (!Files.exists(sqliteFile)) {
+            throw new IllegalArgumentException("sqliteFile does not exist: " + sqliteFile);
+        }
+
+        try (Connection connection = WordSimUtils.getSqLiteConfig().createConnection("jdbc:sqlite:" + sqliteFile);
+                var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(storeFile)))) {
+            List<byte[]> words = new ArrayList<>();
+            int dimension = readWords(connection, words);
+
+            out.writeInt(VectorFileStore.MAGIC);
+            out.writeInt(VectorFileStore.VERSION);
+            out.writeInt(dimension);
+            out.writeInt(words.size());
+
+            int offset = 0;
+            out.writeInt(offset);
+            for (byte[] word : words) {
+                offset += word.length;
+                out.writeInt(offset);
+            }
+            for (byte[] word : words) {
+                out.write(word);
+            }
+            int headerLength = 4 * Integer.BYTES + (words.size() + 1) * Integer.BYTES + offset;
+            out.write(new byte[VectorFileStore.align(headerLength) - headerLength]);
+
+            writeVectors(connection, out, dimension, words.size());
+            return words.size();
+        }
+    }
+
+    private static int readWords(Connection connection, List<byte[]> words) throws SQLException {
+        int dimension = -1;
+        byte[] previous = null;
+
+        try (PreparedStatement statement = connection.prepareStatement(SELECT_WORDS_QUERY); ResultSet result = statement.executeQuery()) {
+            while (result.next()) {
+                byte[] word = result.getString(1).getBytes(StandardCharsets.UTF_8);
+                if (previous != null && Arrays.compareUnsigned(previous, word) >= 0) {
+                    throw new IllegalStateException("words are not unique or not sorted by their bytes: " + new String(word, StandardCharsets.UTF_8));
+                }
+
+                int wordDimension = result.getInt(2) / Float.BYTES;
+                if (dimension >= 0 && wordDimension != dimension) {
+                    throw new IllegalStateException("vector of word \"" + new String(word, StandardCharsets.UTF_8) + "\" has an invalid dimension");
+                }
+
+                dimension = wordDimension;
+                words.add(word);
+                previous = word;
+            }
+        }
+
+        return Math.max(dimension, 0);
+    }
+
+    private static void writeVectors(Connection connection, DataOutputStream out, int dimension, int wordCount) throws SQLException, IOException {
+        int written = 0;
+
+        try (PreparedStatement statement = connection.prepareStatement(SELECT_VECTORS_QUERY); ResultSet result = statement.executeQuery()) {
+            while (result.next()) {
+                // The blobs already are consecutive big-endian floats
+                byte[] vector = result.getBytes(1);
+                if (vector.length != dimension * Float.BYTES) {
+                    throw new IllegalStateException("database changed while writing the vector store");
+                }
+                out.write(vector);
+                written++;
+            }
+        }
+
+        if (written != wordCount) {
+            throw new IllegalStateException("database changed while writing the vector store");
+        }
+    }
+}
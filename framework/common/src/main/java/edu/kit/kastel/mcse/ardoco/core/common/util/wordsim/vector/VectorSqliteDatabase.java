@@ -1,4 +1,4 @@
-/* Licensed under MIT 2022-2023. */
+/* Licensed under MIT 2022-2024. */
 package edu.kit.kastel.mcse.ardoco.core.common.util.wordsim.vector;
 
 import java.nio.ByteBuffer;
@@ -22,6 +22,9 @@
  * <p>
  * Vector blobs must be stored as a consecutive sequence of floats. The amount of floats in a sequence depends on the
  * dimension of the vectors.
+ * <p>
+ * Lookups share a single prepared statement and are therefore synchronized. For faster, concurrent lookups, convert the
+ * database into a {@link VectorFileStore} using {@link VectorFileStoreWriter}.
  */
 public class VectorSqliteDatabase implements WordVectorDataSource, AutoCloseable {
 
@@ -57,7 +60,7 @@ public VectorSqliteDatabase(Path sqliteFile) throws SQLException {
      * @throws RetrieveVectorException if a database access error occurs
      */
     @Override
-    public Optional<float[]> getWordVector(String word) throws RetrieveVectorException {
+    public synchronized Optional<float[]> getWordVector(String word) throws RetrieveVectorException {
         try {
             this.selectStatement.setString(1, word);
         } catch (SQLException e) {
@@ -88,7 +91,7 @@ public Optional<float[]> getWordVector(String word) throws RetrieveVectorExcepti
     }
 
     @Override
-    public void close() throws Exception {
+    public synchronized void close() throws Exception {
         this.selectStatement.close();
         this.connection.close();
     }
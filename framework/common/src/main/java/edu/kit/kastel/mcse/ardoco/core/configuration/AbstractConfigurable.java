@@ -12,8 +12,10 @@
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.NavigableSet;
 import java.util.SortedMap;
 import java.util.TreeMap;
+import java.util.TreeSet;
 
 import org.apache.commons.lang3.reflect.FieldUtils;
 import org.slf4j.Logger;
@@ -38,6 +40,41 @@ public final void applyConfiguration(SortedMap<String, String> additionalConfigu
         this.lastAppliedConfiguration = new TreeMap<>(additionalConfiguration);
     }
 
+    /**
+     * Returns the keys of the configuration options of this configurable and of its internal objects, see {@link #getInternalConfigurables()}. The keys are
+     * derived from the configurable fields, see {@link #getKeyOfField(AbstractConfigurable, Class, Field)}, so nothing is changed.
+     *
+     * @return the keys of the configuration options
+     */
+    public final NavigableSet<String> getConfigurationKeys() {
+        return Collections.unmodifiableNavigableSet(new TreeSet<>(getCurrentConfiguration().keySet()));
+    }
+
+    /**
+     * Returns the current values of the configuration options of this configurable and of its internal objects, see {@link #getInternalConfigurables()}. In
+     * contrast to {@link #getLastAppliedConfiguration()}, this includes the default values and values that were applied to an internal object directly.
+     *
+     * @return the values of the configuration options by their keys
+     */
+    public final SortedMap<String, String> getCurrentConfiguration() {
+        SortedMap<String, String> configuration = new TreeMap<>();
+        collectConfiguration(configuration, this.getClass());
+        for (AbstractConfigurable internalConfigurable : getInternalConfigurables()) {
+            configuration.putAll(internalConfigurable.getCurrentConfiguration());
+        }
+        return Collections.unmodifiableSortedMap(configuration);
+    }
+
+    /**
+     * Returns the internal objects this configurable delegates its configuration to in {@link #delegateApplyConfigurationToInternalObjects(SortedMap)}.
+     * Override both methods together.
+     *
+     * @return the internal configurable objects, empty by default
+     */
+    protected List<? extends AbstractConfigurable> getInternalConfigurables() {
+        return List.of();
+    }
+
     @Override
     public SortedMap<String, String> getLastAppliedConfiguration() {
         return Collections.unmodifiableSortedMap(lastAppliedConfiguration);
@@ -68,6 +105,27 @@ private void applyConfiguration(SortedMap<String, String> additionalConfiguratio
         applyConfiguration(additionalConfiguration, configurable, currentClassInHierarchy.getSuperclass());
     }
 
+    private void collectConfiguration(SortedMap<String, String> configuration, Class<?> currentClassInHierarchy) {
+        if (currentClassInHierarchy == Object.class || currentClassInHierarchy == AbstractConfigurable.class)
+            return;
+
+        if (currentClassInHierarchy.getAnnotation(NoConfiguration.class) != null)
+            return;
+
+        for (Field field : currentClassInHierarchy.getDeclaredFields()) {
+            if (field.isAnnotationPresent(Configurable.class)) {
+                try {
+                    field.setAccessible(true);
+                    configuration.put(getKeyOfField(this, currentClassInHierarchy, field), String.valueOf(field.get(this)));
+                } catch (IllegalAccessException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        }
+
+        collectConfiguration(configuration, currentClassInHierarchy.getSuperclass());
+    }
+
     /**
      * Returns the key (for the configuration file) of a field. If the field is marked as ChildClassConfigurable, the key is based on the class of the
      * configurable object. Otherwise, the key is based on the class where the field is defined.
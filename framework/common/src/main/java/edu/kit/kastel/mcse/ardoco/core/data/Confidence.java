@@ -5,28 +5,46 @@
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import edu.kit.kastel.mcse.ardoco.core.architecture.Deterministic;
 import edu.kit.kastel.mcse.ardoco.core.common.AggregationFunctions;
 import edu.kit.kastel.mcse.ardoco.core.common.ICopyable;
-import edu.kit.kastel.mcse.ardoco.core.common.tuple.Triple;
 import edu.kit.kastel.mcse.ardoco.core.pipeline.agent.Claimant;
 
 /**
  * This class represents a confidence for a certain (intermediate) result. Different {@link Claimant Claimants} can add their confidences that get aggregated
  * via one of the {@link AggregationFunctions} to a single confidence value.
+ * <p>
+ * Confidences of the same claimant are folded into running aggregates (maximum and first claim) as soon as they are added. The names of the methods that
+ * added a confidence are only recorded if {@link #setTrackClaimantMethods(boolean) method tracking} is enabled, as capturing them requires a stack trace.
  */
 @Deterministic
 public final class Confidence implements Comparable<Confidence>, ICopyable<Confidence>, Serializable {
 
+    /**
+     * System property that enables {@link #setTrackClaimantMethods(boolean) method tracking} on startup.
+     */
+    public static final String TRACK_CLAIMANT_METHODS_PROPERTY = "ardoco.confidence.trackClaimantMethods";
+
+    private static volatile boolean trackClaimantMethods = Boolean.getBoolean(TRACK_CLAIMANT_METHODS_PROPERTY);
+
     private final AggregationFunctions confidenceAggregator;
 
-    // Claimant, Confidence, MethodName
-    private List<Triple<Claimant, Double, String>> agentConfidences;
+    // Claimant -> aggregated confidences of the claimant (in order of the first claim)
+    private final LinkedHashMap<Claimant, ClaimantConfidence> agentConfidences;
+
+    // Running aggregate over all claims in order for AggregationFunctions.ROLLING_AVERAGE
+    private double firstClaim;
+    private double rollingAverage;
+    private int numberOfClaims;
+
+    // Aggregated confidence, null if it has to be recalculated. A single volatile reference, so concurrent readers never see a partially updated cache
+    private transient volatile Double cachedConfidence;
 
     /**
      * Constructor for the confidence with a given aggregator function.
@@ -35,7 +53,7 @@ public final class Confidence implements Comparable<Confidence>, ICopyable<Confi
      */
     public Confidence(AggregationFunctions confidenceAggregator) {
         this.confidenceAggregator = confidenceAggregator;
-        this.agentConfidences = new ArrayList<>();
+        this.agentConfidences = new LinkedHashMap<>();
     }
 
     /**
@@ -50,9 +68,33 @@ public Confidence(Claimant claimant, double probability, AggregationFunctions co
         this.addAgentConfidence(claimant, probability);
     }
 
-    private Confidence(AggregationFunctions confidenceAggregator, List<Triple<Claimant, Double, String>> agentConfidence) {
-        this(confidenceAggregator);
-        this.agentConfidences = new ArrayList<>(agentConfidence);
+    private Confidence(Confidence other) {
+        this(other.confidenceAggregator);
+        for (var entry : other.agentConfidences.entrySet()) {
+            this.agentConfidences.put(entry.getKey(), entry.getValue().createCopy());
+        }
+        this.firstClaim = other.firstClaim;
+        this.rollingAverage = other.rollingAverage;
+        this.numberOfClaims = other.numberOfClaims;
+    }
+
+    /**
+     * Returns whether the names of the claimants' methods that add confidences are recorded.
+     *
+     * @return true, if the method names are recorded
+     */
+    public static boolean isTrackClaimantMethods() {
+        return trackClaimantMethods;
+    }
+
+    /**
+     * Enables or disables recording the names of the claimants' methods that add confidences. This is meant for debugging only, as each claim then captures a
+     * stack trace. Can also be enabled via the system property {@value #TRACK_CLAIMANT_METHODS_PROPERTY}.
+     *
+     * @param track whether the method names should be recorded
+     */
+    public static void setTrackClaimantMethods(boolean track) {
+        trackClaimantMethods = track;
     }
 
     /**
@@ -62,14 +104,28 @@ private Confidence(AggregationFunctions confidenceAggregator, List<Triple<Claima
      */
     public Set<Claimant> getClaimants() {
         Set<Claimant> identitySet = Collections.newSetFromMap(new IdentityHashMap<>());
-        for (var confidence : this.agentConfidences)
-            identitySet.add(confidence.first());
+        identitySet.addAll(this.agentConfidences.keySet());
         return identitySet;
     }
 
+    /**
+     * Returns the names of the methods of the given claimant that added confidences. The names are only recorded if
+     * {@link #setTrackClaimantMethods(boolean) method tracking} was enabled when the confidences were added.
+     *
+     * @param claimant the claimant
+     * @return the method names in order of the claims, or an empty list if none were recorded
+     */
+    public List<String> getClaimantMethods(Claimant claimant) {
+        var claimantConfidence = this.agentConfidences.get(claimant);
+        if (claimantConfidence == null || claimantConfidence.methods == null) {
+            return List.of();
+        }
+        return Collections.unmodifiableList(claimantConfidence.methods);
+    }
+
     @Override
     public Confidence createCopy() {
-        return new Confidence(this.confidenceAggregator, this.agentConfidences);
+        return new Confidence(this);
     }
 
     /**
@@ -79,8 +135,26 @@ public Confidence createCopy() {
      * @param confidence the confidence
      */
     public void addAgentConfidence(Claimant claimant, double confidence) {
-        String method = getMethodInClaimant(claimant);
-        agentConfidences.add(new Triple<>(claimant, confidence, method));
+        String method = trackClaimantMethods ? getMethodInClaimant(claimant) : null;
+        addClaim(claimant, confidence, method);
+    }
+
+    private void addClaim(Claimant claimant, double confidence, String method) {
+        var claimantConfidence = agentConfidences.get(claimant);
+        if (claimantConfidence == null) {
+            agentConfidences.put(claimant, new ClaimantConfidence(confidence, method));
+        } else {
+            claimantConfidence.add(confidence, method);
+        }
+
+        if (numberOfClaims == 0) {
+            firstClaim = confidence;
+            rollingAverage = confidence;
+        } else {
+            rollingAverage = (rollingAverage + confidence) / 2;
+        }
+        numberOfClaims++;
+        cachedConfidence = null;
     }
 
     private String getMethodInClaimant(Claimant claimant) {
@@ -111,16 +185,34 @@ public String toString() {
      * @return the (aggregated) confidence value
      */
     public double getConfidence() {
+        return getCachedConfidence();
+    }
+
+    /**
+     * {@return the aggregated confidence, which is recalculated on the first access after a claim was added or the confidence was deserialized}
+     */
+    private double getCachedConfidence() {
+        Double confidence = cachedConfidence;
+        if (confidence == null) {
+            confidence = calculateConfidence();
+            cachedConfidence = confidence;
+        }
+        return confidence;
+    }
+
+    private double calculateConfidence() {
         if (agentConfidences.isEmpty()) {
             return 0;
         }
         if (confidenceAggregator == AggregationFunctions.ROLLING_AVERAGE) {
             // No aggregate
-            return confidenceAggregator.applyAsDouble(agentConfidences.stream().map(Triple::second).toList());
+            return rollingAverage;
+        }
+        // Confidences of the same claimant are aggregated via AggregationFunctions.MAX
+        List<Double> claimantConfidences = new ArrayList<>(agentConfidences.size());
+        for (var claimantConfidence : agentConfidences.values()) {
+            claimantConfidences.add(claimantConfidence.max);
         }
-        var groupAggregator = AggregationFunctions.MAX;
-        var claimantGroupings = agentConfidences.stream().collect(Collectors.groupingBy(Triple::first)).values();
-        var claimantConfidences = claimantGroupings.stream().map(l -> l.stream().map(Triple::second).toList()).map(groupAggregator::applyAsDouble).toList();
         return confidenceAggregator.applyAsDouble(claimantConfidences);
     }
 
@@ -136,19 +228,18 @@ public double getConfidence() {
     public static Confidence merge(Confidence a, Confidence b, AggregationFunctions globalAggregator, AggregationFunctions localAggregator) {
         var result = new Confidence(globalAggregator);
 
-        for (var aConf : a.agentConfidences) {
-            var bConf = b.agentConfidences.stream().filter(p -> p.first().equals(aConf.first())).findFirst().orElse(null);
+        for (var aConf : a.agentConfidences.entrySet()) {
+            var bConf = b.agentConfidences.get(aConf.getKey());
             if (bConf == null) {
-                result.addAgentConfidence(aConf.first(), aConf.second());
+                result.addClaim(aConf.getKey(), aConf.getValue().max, null);
             } else {
-                result.addAgentConfidence(aConf.first(), localAggregator.applyAsDouble(List.of(aConf.second(), bConf.second())));
+                result.addClaim(aConf.getKey(), localAggregator.applyAsDouble(List.of(aConf.getValue().max, bConf.first)), null);
             }
         }
 
-        for (var bConf : b.agentConfidences) {
-            var aConf = a.agentConfidences.stream().anyMatch(p -> p.first().equals(bConf.first()));
-            if (!aConf) {
-                result.addAgentConfidence(bConf.first(), bConf.second());
+        for (var bConf : b.agentConfidences.entrySet()) {
+            if (!a.agentConfidences.containsKey(bConf.getKey())) {
+                result.addClaim(bConf.getKey(), bConf.getValue().max, null);
             }
         }
 
@@ -169,10 +260,103 @@ public boolean equals(Object obj) {
             return false;
         }
         var other = (Confidence) obj;
-        return Objects.equals(agentConfidences, other.agentConfidences) && confidenceAggregator == other.confidenceAggregator;
+        return Objects.equals(agentConfidences, other.agentConfidences) && confidenceAggregator == other.confidenceAggregator && Double.compare(rollingAverage,
+                other.rollingAverage) == 0 && numberOfClaims == other.numberOfClaims;
     }
 
+    /**
+     * Adds all claims of the other confidence to this confidence.
+     *
+     * @param other the other confidence
+     */
     public void addAllConfidences(Confidence other) {
-        this.agentConfidences.addAll(other.agentConfidences);
+        for (var entry : other.agentConfidences.entrySet()) {
+            var claimantConfidence = this.agentConfidences.get(entry.getKey());
+            if (claimantConfidence == null) {
+                this.agentConfidences.put(entry.getKey(), entry.getValue().createCopy());
+            } else {
+                claimantConfidence.addAll(entry.getValue());
+            }
+        }
+
+        if (this.numberOfClaims == 0) {
+            this.firstClaim = other.firstClaim;
+            this.rollingAverage = other.rollingAverage;
+        } else if (other.numberOfClaims > 0) {
+            // Appending the n claims of the other confidence halves the current rolling average n times
+            this.rollingAverage = (this.rollingAverage - other.firstClaim) / Math.pow(2, other.numberOfClaims) + other.rollingAverage;
+        }
+        this.numberOfClaims += other.numberOfClaims;
+        this.cachedConfidence = null;
+    }
+
+    /**
+     * The running aggregate of all confidences of a single claimant.
+     */
+    private static final class ClaimantConfidence implements Serializable {
+        private final double first;
+        private double max;
+        private int count;
+        // Only filled if method tracking is enabled
+        private List<String> methods;
+
+        private ClaimantConfidence(double first, String method) {
+            this.first = first;
+            this.max = first;
+            this.count = 1;
+            if (method != null) {
+                this.methods = new ArrayList<>(List.of(method));
+            }
+        }
+
+        private ClaimantConfidence(ClaimantConfidence other) {
+            this.first = other.first;
+            this.max = other.max;
+            this.count = other.count;
+            this.methods = other.methods == null ? null : new ArrayList<>(other.methods);
+        }
+
+        private void add(double confidence, String method) {
+            this.max = Math.max(this.max, confidence);
+            this.count++;
+            if (method != null) {
+                if (this.methods == null) {
+                    this.methods = new ArrayList<>();
+                }
+                this.methods.add(method);
+            }
+        }
+
+        private void addAll(ClaimantConfidence other) {
+            this.max = Math.max(this.max, other.max);
+            this.count += other.count;
+            if (other.methods != null) {
+                if (this.methods == null) {
+                    this.methods = new ArrayList<>();
+                }
+                this.methods.addAll(other.methods);
+            }
+        }
+
+        private ClaimantConfidence createCopy() {
+            return new ClaimantConfidence(this);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof ClaimantConfidence other)) {
+                return false;
+            }
+            return Double.compare(first, other.first) == 0 && Double.compare(max, other.max) == 0 && count == other.count && Objects.equals(methods,
+                    other.methods);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(first, max, count, methods);
+        }
     }
 }
@@ -2,29 +2,46 @@
 package edu.kit.kastel.mcse.ardoco.core.data;
 
 import java.io.Serializable;
+import java.util.List;
 import java.util.Optional;
 import java.util.SortedMap;
 import java.util.TreeMap;
+import java.util.function.Predicate;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import edu.kit.kastel.mcse.ardoco.core.common.ICopyable;
 import edu.kit.kastel.mcse.ardoco.core.common.util.DataRepositoryHelper;
 
 /**
  * This class represents a data repository that can be used to store and fetch certain data ({@link PipelineStepData}. Data can be added and fetched with the
  * help of a data identifier (as string). Fetching also needs the necessary class of data that is expected.
+ * <p>
+ * Access to the repository is synchronized, as independent pipeline steps may run concurrently.
+ * <p>
+ * A repository can be {@link #fork() forked} to branch a run, e.g., to run the remaining pipeline steps with different configurations.
  */
-public class DataRepository implements Serializable {
+public class DataRepository implements Serializable, ICopyable<DataRepository> {
     private static final Logger logger = LoggerFactory.getLogger(DataRepository.class);
 
     private final SortedMap<String, PipelineStepData> data;
+    /**
+     * The types that are shared on fork in addition to the types that implement {@link SharedOnFork}, by their names
+     */
+    private final SortedMap<String, Class<?>> sharedTypes;
 
     public DataRepository() {
         this.data = new TreeMap<>();
+        this.sharedTypes = new TreeMap<>();
         addData(GlobalConfiguration.ID, new GlobalConfiguration());
     }
 
+    private DataRepository(SortedMap<String, PipelineStepData> data, SortedMap<String, Class<?>> sharedTypes) {
+        this.data = data;
+        this.sharedTypes = sharedTypes;
+    }
+
     /**
      * Returns the {@link GlobalConfiguration} stored within the provided {@link DataRepository}.
      * 
@@ -44,7 +61,10 @@ public final GlobalConfiguration getGlobalConfiguration() {
      * @return Optional containing the requested data cast into the given class. The optional is empty is data could not be found or casting was unsuccessful.
      */
     public <T extends PipelineStepData> Optional<T> getData(String identifier, Class<T> clazz) {
-        var possibleData = data.get(identifier);
+        PipelineStepData possibleData;
+        synchronized (this) {
+            possibleData = data.get(identifier);
+        }
         if (possibleData != null) {
             return possibleData.asPipelineStepData(clazz);
         }
@@ -58,7 +78,7 @@ public <T extends PipelineStepData> Optional<T> getData(String identifier, Class
      * @param identifier       Data identifier
      * @param pipelineStepData Data that should be saved
      */
-    public void addData(String identifier, PipelineStepData pipelineStepData) {
+    public synchronized void addData(String identifier, PipelineStepData pipelineStepData) {
         if (data.put(identifier, pipelineStepData) != null) {
             logger.warn("Overriding data with identifier '{}'", identifier);
         }
@@ -70,11 +90,80 @@ public void addData(String identifier, PipelineStepData pipelineStepData) {
      * @param dataRepository data repository
      */
     public void addAllData(DataRepository dataRepository) {
-        this.data.putAll(dataRepository.data);
+        SortedMap<String, PipelineStepData> otherData;
+        SortedMap<String, Class<?>> otherSharedTypes;
+        synchronized (dataRepository) {
+            otherData = new TreeMap<>(dataRepository.data);
+            otherSharedTypes = new TreeMap<>(dataRepository.sharedTypes);
+        }
+        synchronized (this) {
+            this.data.putAll(otherData);
+            this.sharedTypes.putAll(otherSharedTypes);
+        }
     }
 
     /**
-     * Creates a deep copy of the data repository using serialization.
+     * Replaces the data of this repository with the data of the given repository, e.g., to resume a run from a checkpoint. The {@link GlobalConfiguration} of
+     * this repository is kept, but its run context takes over the state of the run context of the given repository.
+     *
+     * @param dataRepository the repository whose data is restored, should not be used afterward
+     */
+    public void restore(DataRepository dataRepository) {
+        SortedMap<String, PipelineStepData> otherData;
+        SortedMap<String, Class<?>> otherSharedTypes;
+        synchronized (dataRepository) {
+            otherData = new TreeMap<>(dataRepository.data);
+            otherSharedTypes = new TreeMap<>(dataRepository.sharedTypes);
+        }
+        synchronized (this) {
+            var globalConfiguration = getGlobalConfiguration();
+            var otherGlobalConfiguration = otherData.remove(GlobalConfiguration.ID);
+            if (otherGlobalConfiguration instanceof GlobalConfiguration other) {
+                globalConfiguration.getRunContext().restore(other.getRunContext());
+            }
+            this.data.clear();
+            this.data.putAll(otherData);
+            this.data.put(GlobalConfiguration.ID, globalConfiguration);
+            this.sharedTypes.putAll(otherSharedTypes);
+        }
+    }
+
+    /**
+     * Shares the instances of the given type with the forks of this repository, see {@link #fork()}. This way, types that cannot implement
+     * {@link SharedOnFork}, e.g., types of third-party libraries, can be shared. The instances must not be modified after they have been added to this
+     * repository. Forks share the same types.
+     *
+     * @param type the type, subtypes are shared as well
+     */
+    public synchronized void shareOnFork(Class<?> type) {
+        sharedTypes.put(type.getName(), type);
+    }
+
+    /**
+     * Returns a predicate that tests whether an object is shared by the forks of this repository, see {@link #fork()}. Types that are shared on fork after the
+     * predicate was created are not covered.
+     *
+     * @return the predicate
+     */
+    public synchronized Predicate<Object> getSharedOnForkPredicate() {
+        return new DataRepositoryFork(List.copyOf(sharedTypes.values()))::isShared;
+    }
+
+    /**
+     * Forks this data repository. The fork contains copies of all data that may still be modified, e.g., the states of the stages, and shares the data that is
+     * {@link SharedOnFork shared on fork}, e.g., the models and the linguistic annotations of the text, with this repository. References between the data are
+     * preserved, and the fork has its own {@link GlobalConfiguration} and thereby its own {@link edu.kit.kastel.mcse.ardoco.core.common.RunContext
+     * RunContext}. Thus, the fork and this repository can be processed further independently and concurrently.
+     *
+     * @return the fork of this data repository
+     */
+    public synchronized DataRepository fork() {
+        var dataRepositoryFork = new DataRepositoryFork(List.copyOf(sharedTypes.values()));
+        return new DataRepository(dataRepositoryFork.fork(data), new TreeMap<>(sharedTypes));
+    }
+
+    /**
+     * Creates a deep copy of the data repository using serialization. In contrast to {@link #fork()}, no data is shared with the copy.
      *
      * @return deep copy of the data repository
      */
@@ -82,4 +171,12 @@ public void addAllData(DataRepository dataRepository) {
     public DataRepository deepCopy() {
         return DataRepositoryHelper.deepCopy(this);
     }
+
+    /**
+     * {@return a fork of this data repository} See {@link #fork()}.
+     */
+    @Override
+    public DataRepository createCopy() {
+        return fork();
+    }
 }
@@ -0,0 +1,128 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.core.data;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Copies the data of a {@link DataRepository} for {@link DataRepository#fork()}. Data that is shared on fork is taken over as is. The remaining data, i.e.,
+ * the states of the stages and the {@link GlobalConfiguration}, refer to each other, e.g., a recommended instance refers to the noun mappings of the text
+ * state. Therefore, this data is copied as a single object graph, so references between the copies are preserved. Objects within this graph that are shared
+ * on fork, e.g., the words of the text and the model elements, are not copied, but the copies refer to the very same objects.
+ */
+final class DataRepositoryFork {
+    private final List<Class<?>> sharedTypes;
+
+    /**
+     * @param sharedTypes the types that are shared on fork in addition to the types that implement {@link SharedOnFork}
+     */
+    DataRepositoryFork(List<Class<?>> sharedTypes) {
+        this.sharedTypes = List.copyOf(sharedTypes);
+    }
+
+    boolean isShared(Object object) {
+        if (object instanceof SharedOnFork) {
+            return true;
+        }
+        for (Class<?> sharedType : sharedTypes) {
+            if (sharedType.isInstance(object)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * {@return the data of the fork}
+     *
+     * @param data the data of the repository to fork
+     */
+    SortedMap<String, PipelineStepData> fork(SortedMap<String, PipelineStepData> data) {
+        SortedMap<String, PipelineStepData> forkedData = new TreeMap<>();
+        SortedMap<String, PipelineStepData> modifiableData = new TreeMap<>();
+        data.forEach((identifier, pipelineStepData) -> {
+            if (isShared(pipelineStepData)) {
+                forkedData.put(identifier, pipelineStepData);
+            } else {
+                modifiableData.put(identifier, pipelineStepData);
+            }
+        });
+        forkedData.putAll(copy(modifiableData));
+        return forkedData;
+    }
+
+    @SuppressWarnings("unchecked")
+    private SortedMap<String, PipelineStepData> copy(SortedMap<String, PipelineStepData> modifiableData) {
+        List<Object> sharedObjects = new ArrayList<>();
+        try {
+            var byteArrayOutputStream = new ByteArrayOutputStream();
+            try (var out = new ForkOutputStream(byteArrayOutputStream, sharedObjects)) {
+                out.writeObject(modifiableData);
+            }
+            try (var in = new ForkInputStream(new ByteArrayInputStream(byteArrayOutputStream.toByteArray()), sharedObjects)) {
+                return (SortedMap<String, PipelineStepData>) in.readObject();
+            }
+        } catch (IOException | ClassNotFoundException e) {
+            throw new IllegalArgumentException("Could not fork the data repository", e);
+        }
+    }
+
+    /**
+     * Stands in for a shared object in the copied object graph.
+     *
+     * @param index the index of the shared object
+     */
+    private record SharedReference(int index) implements Serializable {
+    }
+
+    private final class ForkOutputStream extends ObjectOutputStream {
+        private final List<Object> sharedObjects;
+        private final IdentityHashMap<Object, SharedReference> references = new IdentityHashMap<>();
+
+        private ForkOutputStream(OutputStream out, List<Object> sharedObjects) throws IOException {
+            super(out);
+            this.sharedObjects = sharedObjects;
+            enableReplaceObject(true);
+        }
+
+        @Override
+        protected Object replaceObject(Object object) {
+            if (object == null || !isShared(object)) {
+                return object;
+            }
+            return references.computeIfAbsent(object, shared -> {
+                sharedObjects.add(shared);
+                return new SharedReference(sharedObjects.size() - 1);
+            });
+        }
+    }
+
+    private static final class ForkInputStream extends ObjectInputStream {
+        private final List<Object> sharedObjects;
+
+        private ForkInputStream(InputStream in, List<Object> sharedObjects) throws IOException {
+            super(in);
+            this.sharedObjects = sharedObjects;
+            enableResolveObject(true);
+        }
+
+        @Override
+        protected Object resolveObject(Object object) {
+            if (object instanceof SharedReference sharedReference) {
+                return sharedObjects.get(sharedReference.index());
+            }
+            return object;
+        }
+    }
+}
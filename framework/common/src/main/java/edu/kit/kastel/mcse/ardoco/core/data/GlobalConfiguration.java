@@ -1,6 +1,7 @@
 /* Licensed under MIT 2023-2024. */
 package edu.kit.kastel.mcse.ardoco.core.data;
 
+import edu.kit.kastel.mcse.ardoco.core.common.RunContext;
 import edu.kit.kastel.mcse.ardoco.core.common.util.SimilarityUtils;
 import edu.kit.kastel.mcse.ardoco.core.common.util.wordsim.WordSimUtils;
 import edu.kit.kastel.mcse.ardoco.core.pipeline.Pipeline;
@@ -11,6 +12,7 @@
 public class GlobalConfiguration implements PipelineStepData {
     public static final String ID = "PipelineMetaData";
     private Pipeline pipeline;
+    private final RunContext runContext = new RunContext();
     private final WordSimUtils wordSimUtils;
     private final SimilarityUtils similarityUtils;
 
@@ -34,12 +36,12 @@ public GlobalConfiguration(Pipeline pipeline, WordSimUtils wordSimUtils, Similar
      */
     public GlobalConfiguration(Pipeline pipeline) {
         this.pipeline = pipeline;
-        this.wordSimUtils = new WordSimUtils();
+        this.wordSimUtils = new WordSimUtils(runContext);
         this.similarityUtils = new SimilarityUtils(wordSimUtils);
     }
 
     public GlobalConfiguration() {
-        this.wordSimUtils = new WordSimUtils();
+        this.wordSimUtils = new WordSimUtils(runContext);
         this.similarityUtils = new SimilarityUtils(wordSimUtils);
     }
 
@@ -54,6 +56,13 @@ public void setPipeline(Pipeline pipeline) {
         this.pipeline = pipeline;
     }
 
+    /**
+     * {@return the context of the run that produces the DataRepository this data is associated with}
+     */
+    public RunContext getRunContext() {
+        return this.runContext;
+    }
+
     /**
      * {@return the configured word similarity utility instance}
      */
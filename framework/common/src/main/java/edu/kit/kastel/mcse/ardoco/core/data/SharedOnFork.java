@@ -0,0 +1,12 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.core.data;
+
+/**
+ * Marks data that is not modified anymore after the pipeline step that created it has finished, e.g., the models. A {@link DataRepository#fork() fork} of a
+ * data repository shares such data with the original repository instead of copying it.
+ * <p>
+ * Types that cannot implement this interface, e.g., types of third-party libraries, can be shared by the forks of a data repository with
+ * {@link DataRepository#shareOnFork(Class)}.
+ */
+public interface SharedOnFork {
+}
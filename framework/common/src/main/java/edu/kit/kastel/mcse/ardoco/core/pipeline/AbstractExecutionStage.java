@@ -1,12 +1,14 @@
 /* Licensed under MIT 2022-2024. */
 package edu.kit.kastel.mcse.ardoco.core.pipeline;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.SortedMap;
 
 import org.eclipse.collections.api.factory.Lists;
 import org.eclipse.collections.api.list.MutableList;
 
+import edu.kit.kastel.mcse.ardoco.core.configuration.AbstractConfigurable;
 import edu.kit.kastel.mcse.ardoco.core.configuration.ChildClassConfigurable;
 import edu.kit.kastel.mcse.ardoco.core.configuration.Configurable;
 import edu.kit.kastel.mcse.ardoco.core.data.DataRepository;
@@ -85,4 +87,11 @@ protected void delegateApplyConfigurationToInternalObjects(SortedMap<String, Str
             agent.applyConfiguration(additionalConfiguration);
         }
     }
+
+    @Override
+    protected List<? extends AbstractConfigurable> getInternalConfigurables() {
+        List<AbstractConfigurable> internalConfigurables = new ArrayList<>(super.getInternalConfigurables());
+        internalConfigurables.addAll(agents);
+        return internalConfigurables;
+    }
 }
@@ -1,6 +1,15 @@
 /* Licensed under MIT 2022-2024. */
 package edu.kit.kastel.mcse.ardoco.core.pipeline;
 
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+import edu.kit.kastel.mcse.ardoco.core.common.RunContext;
 import edu.kit.kastel.mcse.ardoco.core.configuration.AbstractConfigurable;
 import edu.kit.kastel.mcse.ardoco.core.data.DataRepository;
 
@@ -13,6 +22,9 @@ public abstract class AbstractPipelineStep extends AbstractConfigurable {
     protected final String id;
     protected final DataRepository dataRepository;
 
+    private NavigableSet<String> readDataIds;
+    private NavigableSet<String> writtenDataIds;
+
     /**
      * Constructor for a pipeline step
      *
@@ -26,12 +38,14 @@ protected AbstractPipelineStep(String id, DataRepository dataRepository) {
 
     /**
      * Runs the pipeline step beginning with {@link #before()}, {@link #process()} and finally
-     * {@link #after()}
+     * {@link #after()}. The {@link RunContext} of the data repository is bound to the current thread while the step runs.
      */
     public void run() {
-        before();
-        process();
-        after();
+        try (var ignored = getDataRepository().getGlobalConfiguration().getRunContext().bind()) {
+            before();
+            process();
+            after();
+        }
     }
 
     /**
@@ -56,6 +70,63 @@ protected DataRepository getDataRepository() {
         return this.dataRepository;
     }
 
+    /**
+     * Declares the ids of the data in the {@link DataRepository} this step reads and writes (including the ids of its nested steps). A {@link Pipeline} with
+     * an executor may run steps concurrently that do not depend on each other via their declared data. Steps without a declaration are never run concurrently
+     * with other steps.
+     *
+     * @param readDataIds    the ids of the data this step reads
+     * @param writtenDataIds the ids of the data this step adds, replaces, or modifies
+     */
+    protected final void declareDataDependencies(Collection<String> readDataIds, Collection<String> writtenDataIds) {
+        this.readDataIds = Collections.unmodifiableNavigableSet(new TreeSet<>(readDataIds));
+        this.writtenDataIds = Collections.unmodifiableNavigableSet(new TreeSet<>(writtenDataIds));
+    }
+
+    /**
+     * {@return whether this step declared the data it reads and writes}
+     */
+    public final boolean hasDataDependencies() {
+        return readDataIds != null;
+    }
+
+    /**
+     * {@return the ids of the data this step reads} Empty if the step did not declare its data dependencies.
+     */
+    public final NavigableSet<String> getReadDataIds() {
+        return readDataIds == null ? Collections.emptyNavigableSet() : readDataIds;
+    }
+
+    /**
+     * {@return the ids of the data this step writes} Empty if the step did not declare its data dependencies.
+     */
+    public final NavigableSet<String> getWrittenDataIds() {
+        return writtenDataIds == null ? Collections.emptyNavigableSet() : writtenDataIds;
+    }
+
+    /**
+     * Returns the files and directories this step and its nested steps read their input from, e.g., the model file of a model provider. A checkpoint of a
+     * {@link Pipeline} only matches as long as these files are unchanged. Steps that read files override {@link #getOwnInputFiles()}.
+     *
+     * @return the input files of this step and its nested steps
+     */
+    public final List<Path> getInputFiles() {
+        List<Path> inputFiles = new ArrayList<>(getOwnInputFiles());
+        for (AbstractConfigurable internalConfigurable : getInternalConfigurables()) {
+            if (internalConfigurable instanceof AbstractPipelineStep internalStep) {
+                inputFiles.addAll(internalStep.getInputFiles());
+            }
+        }
+        return Collections.unmodifiableList(inputFiles);
+    }
+
+    /**
+     * {@return the files and directories this step reads its input from, excluding the input files of its nested steps} Empty by default.
+     */
+    protected List<Path> getOwnInputFiles() {
+        return List.of();
+    }
+
     /**
      * Returns the id
      *
@@ -1,12 +1,16 @@
 /* Licensed under MIT 2022-2024. */
 package edu.kit.kastel.mcse.ardoco.core.pipeline;
 
+import java.nio.file.Path;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.SortedMap;
+import java.util.concurrent.Executor;
 
+import edu.kit.kastel.mcse.ardoco.core.configuration.AbstractConfigurable;
 import edu.kit.kastel.mcse.ardoco.core.data.DataRepository;
 
 /**
@@ -15,10 +19,18 @@
  * Steps are executed consecutively one after another in the order they were added to the
  * pipeline. Execution calls the
  * {@link #process()} method of the different {@link AbstractPipelineStep AbstractPipelineSteps}.
+ * <p>
+ * If an executor is set via {@link #setExecutor(Executor)}, steps that declared their data dependencies (see
+ * {@link AbstractPipelineStep#declareDataDependencies(java.util.Collection, java.util.Collection)}) and do not depend on each other are run concurrently.
+ * <p>
+ * If a checkpoint directory is set via {@link #setCheckpointDirectory(Path)}, the data repository is saved after each step, and a later run with the same
+ * input and the same first steps resumes after the last of these steps.
  */
 public class Pipeline extends AbstractPipelineStep {
     private final List<AbstractPipelineStep> pipelineSteps;
     private boolean executed = false;
+    private transient Executor executor;
+    private transient Path checkpointDirectory;
 
     /**
      * Constructs a Pipeline with the given id and {@link DataRepository}.
@@ -63,6 +75,63 @@ public boolean addPipelineStep(AbstractPipelineStep pipelineStep) {
         return this.pipelineSteps.add(pipelineStep);
     }
 
+    /**
+     * {@return the steps of this pipeline in the order they were added}
+     */
+    public List<AbstractPipelineStep> getPipelineSteps() {
+        return Collections.unmodifiableList(pipelineSteps);
+    }
+
+    /**
+     * Runs the steps in the given range one after another, e.g., to run the steps of this pipeline in multiple parts. The steps are prepared like in a complete
+     * run, but {@link #before()} and {@link #after()} are not called.
+     *
+     * @param fromIndex the index of the first step to run
+     * @param toIndex   the index after the last step to run
+     * @throws IndexOutOfBoundsException if the range is not a valid range of steps
+     */
+    public void runPipelineSteps(int fromIndex, int toIndex) {
+        var steps = this.pipelineSteps.subList(fromIndex, toIndex);
+        preparePipelineSteps();
+        steps.forEach(this::runPipelineStep);
+    }
+
+    /**
+     * Sets the executor to run independent pipeline steps concurrently. By default, or if the executor is null, the steps are run one after another in the
+     * order they were added.
+     *
+     * @param executor the executor or null to run the steps sequentially
+     */
+    public void setExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * {@return the executor to run independent pipeline steps concurrently, null if the steps run sequentially}
+     */
+    public Executor getExecutor() {
+        return this.executor;
+    }
+
+    /**
+     * Sets the directory for checkpoints of the data repository. If set, the data repository is written to the directory after each step. When the pipeline
+     * runs again with the same input data and the same first steps (including their configuration), it restores the data from the latest matching checkpoint
+     * and only runs the remaining steps. Thus, after changing the configuration of later steps, only these steps run again. With checkpoints, the steps run
+     * one after another, even if an executor is set.
+     *
+     * @param checkpointDirectory the checkpoint directory or null to disable checkpoints
+     */
+    public void setCheckpointDirectory(Path checkpointDirectory) {
+        this.checkpointDirectory = checkpointDirectory;
+    }
+
+    /**
+     * {@return the directory for checkpoints of the data repository, null if checkpoints are disabled}
+     */
+    public Path getCheckpointDirectory() {
+        return this.checkpointDirectory;
+    }
+
     /**
      * {@return whether the pipeline has finished execution}
      */
@@ -73,27 +142,47 @@ public boolean wasExecuted() {
     @Override
     public void process() {
         preparePipelineSteps();
-        for (var pipelineStep : this.pipelineSteps) {
-            logger.info("Starting {} - {}", this.getId(), pipelineStep.getId());
-            var start = Instant.now();
-
-            pipelineStep.run();
-
-            if (logger.isInfoEnabled()) {
-                var end = Instant.now();
-                var duration = Duration.between(start, end);
-                long minutesPart = duration.toMinutes();
-                int secondsPart = duration.toSecondsPart();
-                int millisPart = duration.toMillisPart();
-                String durationString;
-                if (minutesPart > 0) {
-                    durationString = String.format("%02d:%02d.%03d", minutesPart, secondsPart, millisPart);
-                } else {
-                    durationString = String.format("%01d.%03d s", secondsPart, millisPart);
-                }
-
-                logger.info("Finished {} - {} in {}", this.getId(), pipelineStep.getId(), durationString);
+        if (getCheckpointDirectory() != null) {
+            processWithCheckpoints();
+        } else if (getExecutor() == null) {
+            this.pipelineSteps.forEach(this::runPipelineStep);
+        } else {
+            new PipelineStepScheduler(this.pipelineSteps).run(getExecutor(), this::runPipelineStep);
+        }
+    }
+
+    private void processWithCheckpoints() {
+        var checkpoints = new PipelineCheckpoints(getCheckpointDirectory(), getDataRepository(), this.pipelineSteps);
+        int firstStep = checkpoints.restoreLatest();
+        if (firstStep > 0) {
+            logger.info("Resuming {} after {}", this.getId(), this.pipelineSteps.get(firstStep - 1).getId());
+        }
+        for (int i = firstStep; i < this.pipelineSteps.size(); i++) {
+            runPipelineStep(this.pipelineSteps.get(i));
+            checkpoints.write(i);
+        }
+    }
+
+    private void runPipelineStep(AbstractPipelineStep pipelineStep) {
+        logger.info("Starting {} - {}", this.getId(), pipelineStep.getId());
+        var start = Instant.now();
+
+        pipelineStep.run();
+
+        if (logger.isInfoEnabled()) {
+            var end = Instant.now();
+            var duration = Duration.between(start, end);
+            long minutesPart = duration.toMinutes();
+            int secondsPart = duration.toSecondsPart();
+            int millisPart = duration.toMillisPart();
+            String durationString;
+            if (minutesPart > 0) {
+                durationString = String.format("%02d:%02d.%03d", minutesPart, secondsPart, millisPart);
+            } else {
+                durationString = String.format("%01d.%03d s", secondsPart, millisPart);
             }
+
+            logger.info("Finished {} - {} in {}", this.getId(), pipelineStep.getId(), durationString);
         }
     }
 
@@ -123,4 +212,9 @@ protected void preparePipelineSteps() {
     protected void delegateApplyConfigurationToInternalObjects(SortedMap<String, String> additionalConfiguration) {
         this.pipelineSteps.forEach(it -> it.applyConfiguration(additionalConfiguration));
     }
+
+    @Override
+    protected List<? extends AbstractConfigurable> getInternalConfigurables() {
+        return List.copyOf(pipelineSteps);
+    }
 }
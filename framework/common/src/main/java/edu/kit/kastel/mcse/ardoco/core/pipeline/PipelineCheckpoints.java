@@ -0,0 +1,460 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.core.pipeline;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import edu.kit.kastel.mcse.ardoco.core.data.DataRepository;
+import edu.kit.kastel.mcse.ardoco.core.data.GlobalConfiguration;
+
+/**
+ * The checkpoints of a {@link Pipeline}. After each step of the pipeline, the data repository is written to a checkpoint file. A later run of a pipeline with
+ * the same input data and the same first steps resumes from the latest matching checkpoint and only runs the remaining steps.
+ * <p>
+ * A checkpoint is identified by a hash of the initial data of the repository and of the steps up to the checkpoint. A step is hashed by its class, its id,
+ * its current configuration including the configuration of its internal objects (see
+ * {@link edu.kit.kastel.mcse.ardoco.core.configuration.AbstractConfigurable#getCurrentConfiguration()}), and its input files (see
+ * {@link AbstractPipelineStep#getInputFiles()}). An input file is hashed by its path, its size, and its modification time, an input directory by the same
+ * attributes of all files it contains. Other parameters of a step are not covered, so the checkpoint directory has to be cleared if they change.
+ * <p>
+ * The checkpoints are gzipped serialized data repositories. Each checkpoint contains the whole repository, as the data of different steps reference each other
+ * and cannot be restored separately. The data that is {@link DataRepository#getSharedOnForkPredicate() shared on fork}, e.g., the models and the linguistic
+ * annotations of the text, is not modified after it was added and makes up most of the repository. Therefore, it is written to a separate file that is named
+ * after the hash of its content, and a checkpoint refers to this file and only contains references to the shared objects, like a
+ * {@link DataRepository#fork() fork}. Subsequent checkpoints share this file as long as the shared data does not change. Reading a checkpoint only accepts
+ * the types of ArDoCo and of the libraries its data consists of. Only the {@link #MAX_CHECKPOINTS_PER_STEP most recent checkpoints} of each step are kept,
+ * e.g., for different configurations of the step, and shared data that no checkpoint refers to anymore is deleted.
+ */
+final class PipelineCheckpoints {
+    private static final Logger logger = LoggerFactory.getLogger(PipelineCheckpoints.class);
+    private static final String FILE_EXTENSION = ".checkpoint";
+    private static final String SHARED_DATA_FILE_EXTENSION = ".shared";
+    private static final String TEMPORARY_FILE_EXTENSION = ".tmp";
+    /**
+     * A checkpoint starts with the hash of its shared data in hexadecimal digits and a line break, followed by the gzipped repository
+     */
+    private static final int HEADER_LENGTH = 65;
+    private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+    private static final int MAX_CHECKPOINTS_PER_STEP = 3;
+    /**
+     * The types a checkpoint may contain, everything else is rejected
+     */
+    private static final ObjectInputFilter FILTER = ObjectInputFilter.Config.createFilter(String.join(";", "edu.kit.kastel.mcse.ardoco.**",
+            "org.eclipse.collections.**", "edu.stanford.nlp.**", "kotlin.**", "java.lang.*", "java.lang.invoke.SerializedLambda", "java.util.**", "java.time.*",
+            "java.math.*", "java.io.File", "java.net.URI", "!*"));
+
+    private final Path directory;
+    private final DataRepository dataRepository;
+    private final List<AbstractPipelineStep> pipelineSteps;
+    private final List<String> hashes;
+
+    /**
+     * The shared data that was written or restored last and its hash, so the shared data is only written again if it changes
+     */
+    private List<Object> sharedObjects = List.of();
+    private String sharedDataHash;
+
+    /**
+     * Creates the checkpoints of the given steps. Has to be called before the first step runs, as the hashes are calculated from the initial data.
+     *
+     * @param directory      the checkpoint directory
+     * @param dataRepository the data repository of the pipeline
+     * @param pipelineSteps  the steps of the pipeline
+     */
+    PipelineCheckpoints(Path directory, DataRepository dataRepository, List<AbstractPipelineStep> pipelineSteps) {
+        this.directory = directory;
+        this.dataRepository = dataRepository;
+        this.pipelineSteps = pipelineSteps;
+        this.hashes = calculateHashes();
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private List<String> calculateHashes() {
+        MessageDigest digest = createDigest();
+        List<String> result = new ArrayList<>(pipelineSteps.size());
+        try {
+            try (var out = new HashingOutputStream(new DigestOutputStream(OutputStream.nullOutputStream(), digest), dataRepository)) {
+                synchronized (dataRepository) {
+                    out.writeObject(dataRepository);
+                }
+            }
+            for (var pipelineStep : pipelineSteps) {
+                update(digest, pipelineStep.getClass().getName());
+                update(digest, pipelineStep.getId());
+                pipelineStep.getCurrentConfiguration().forEach((key, value) -> {
+                    update(digest, key);
+                    update(digest, value);
+                });
+                for (Path inputFile : pipelineStep.getInputFiles()) {
+                    updateWithFile(digest, inputFile);
+                }
+                // Cloning keeps the state of the digest, so the hash of a step covers all previous steps
+                result.add(HexFormat.of().formatHex(((MessageDigest) digest.clone()).digest()));
+            }
+        } catch (IOException | CloneNotSupportedException e) {
+            throw new IllegalStateException("Could not hash the pipeline steps", e);
+        }
+        return result;
+    }
+
+    /**
+     * Hashes a string with a terminator, so consecutive strings cannot be confused.
+     */
+    private static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    /**
+     * Hashes the path, size, and modification time of a file, or of all files in a directory. A missing file is hashed by its path only.
+     */
+    private static void updateWithFile(MessageDigest digest, Path inputFile) throws IOException {
+        Path path = inputFile.toAbsolutePath().normalize();
+        update(digest, path.toString());
+        if (!Files.exists(path)) {
+            return;
+        }
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(path)) {
+            files = walk.filter(Files::isRegularFile).sorted().toList();
+        }
+        for (Path file : files) {
+            update(digest, path.relativize(file).toString());
+            update(digest, String.valueOf(Files.size(file)));
+            update(digest, String.valueOf(Files.getLastModifiedTime(file).toMillis()));
+        }
+    }
+
+    /**
+     * Restores the data of the latest available checkpoint into the data repository.
+     *
+     * @return the number of steps that are covered by the restored checkpoint and do not need to run again, 0 if there is no checkpoint
+     */
+    int restoreLatest() {
+        for (int i = pipelineSteps.size() - 1; i >= 0; i--) {
+            var file = getFile(i);
+            if (!Files.isRegularFile(file)) {
+                continue;
+            }
+            try (var in = new BufferedInputStream(Files.newInputStream(file))) {
+                String hash = readHeader(in);
+                List<Object> restoredSharedObjects = readSharedData(hash);
+                try (var checkpointIn = new CheckpointInputStream(new GZIPInputStream(in), restoredSharedObjects)) {
+                    checkpointIn.setObjectInputFilter(FILTER);
+                    dataRepository.restore((DataRepository) checkpointIn.readObject());
+                }
+                this.sharedObjects = restoredSharedObjects;
+                this.sharedDataHash = hash;
+                logger.info("Restored checkpoint after {}", pipelineSteps.get(i).getId());
+                return i + 1;
+            } catch (IOException | ClassNotFoundException | ClassCastException e) {
+                logger.warn("Could not read checkpoint {}, trying earlier checkpoints", file, e);
+            }
+        }
+        return 0;
+    }
+
+    private static String readHeader(InputStream in) throws IOException {
+        byte[] header = in.readNBytes(HEADER_LENGTH);
+        String hash = new String(header, 0, Math.min(header.length, HEADER_LENGTH - 1), StandardCharsets.US_ASCII);
+        if (header.length != HEADER_LENGTH || header[HEADER_LENGTH - 1] != '\n' || !HASH.matcher(hash).matches()) {
+            throw new IOException("The checkpoint does not start with the hash of its shared data");
+        }
+        return hash;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object> readSharedData(String hash) throws IOException, ClassNotFoundException {
+        try (var in = new ObjectInputStream(new GZIPInputStream(new BufferedInputStream(Files.newInputStream(getSharedDataFile(hash)))))) {
+            in.setObjectInputFilter(FILTER);
+            return (List<Object>) in.readObject();
+        }
+    }
+
+    /**
+     * Writes the checkpoint after the step with the given index. Failures are logged, but do not fail the run.
+     *
+     * @param stepIndex the index of the step that just finished
+     */
+    void write(int stepIndex) {
+        var file = getFile(stepIndex);
+        try {
+            Files.createDirectories(directory);
+            var temporaryFile = Files.createTempFile(directory, null, TEMPORARY_FILE_EXTENSION);
+            try {
+                List<Object> currentSharedObjects = writeRepository(temporaryFile);
+                writeHeader(temporaryFile, writeSharedData(currentSharedObjects));
+            } catch (IOException e) {
+                Files.deleteIfExists(temporaryFile);
+                throw e;
+            }
+            Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            logger.info("Wrote checkpoint after {}", pipelineSteps.get(stepIndex).getId());
+        } catch (IOException e) {
+            logger.warn("Could not write checkpoint {}", file, e);
+            return;
+        }
+        prune(stepIndex);
+        pruneSharedData();
+    }
+
+    /**
+     * Writes the repository after a placeholder for the header. The shared objects are replaced by references.
+     *
+     * @return the shared objects by the indices of their references
+     */
+    private List<Object> writeRepository(Path temporaryFile) throws IOException {
+        try (var fileOut = new BufferedOutputStream(Files.newOutputStream(temporaryFile))) {
+            fileOut.write(new byte[HEADER_LENGTH]);
+            try (var out = new CheckpointOutputStream(new GZIPOutputStream(fileOut), dataRepository.getSharedOnForkPredicate())) {
+                synchronized (dataRepository) {
+                    out.writeObject(dataRepository);
+                }
+                return out.sharedObjects;
+            }
+        }
+    }
+
+    private static void writeHeader(Path temporaryFile, String hash) throws IOException {
+        try (var channel = FileChannel.open(temporaryFile, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap((hash + "\n").getBytes(StandardCharsets.US_ASCII)), 0);
+        }
+    }
+
+    /**
+     * Writes the shared objects to the file named after the hash of their content, unless they are the same objects as the ones that were written or
+     * restored last. The shared objects are not modified anymore, so the same objects have the same content.
+     *
+     * @return the hash of the shared data
+     */
+    private String writeSharedData(List<Object> currentSharedObjects) throws IOException {
+        if (sharedDataHash != null && isSame(currentSharedObjects, sharedObjects)) {
+            return sharedDataHash;
+        }
+        var digest = createDigest();
+        var temporaryFile = Files.createTempFile(directory, null, TEMPORARY_FILE_EXTENSION);
+        try {
+            try (var out = new ObjectOutputStream(new DigestOutputStream(new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(temporaryFile))),
+                    digest))) {
+                out.writeObject(new ArrayList<>(currentSharedObjects));
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+            var sharedDataFile = getSharedDataFile(hash);
+            // Shared data that was already written, e.g., by an earlier run, is kept as is
+            if (!Files.isRegularFile(sharedDataFile)) {
+                Files.move(temporaryFile, sharedDataFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            this.sharedObjects = currentSharedObjects;
+            this.sharedDataHash = hash;
+            return hash;
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    private static boolean isSame(List<Object> first, List<Object> second) {
+        if (first.size() != second.size()) {
+            return false;
+        }
+        for (int i = 0; i < first.size(); i++) {
+            if (first.get(i) != second.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Deletes the checkpoints of the step with the given index except for the most recent ones.
+     */
+    private void prune(int stepIndex) {
+        String prefix = getFilePrefix(stepIndex);
+        List<Path> checkpoints;
+        try (Stream<Path> files = Files.list(directory)) {
+            checkpoints = files.filter(path -> path.getFileName().toString().startsWith(prefix) && path.getFileName().toString().endsWith(FILE_EXTENSION))
+                    .sorted(Comparator.comparing(PipelineCheckpoints::getLastModifiedTime).reversed())
+                    .toList();
+        } catch (IOException e) {
+            logger.warn("Could not list the checkpoints in {}", directory, e);
+            return;
+        }
+        for (Path checkpoint : checkpoints.subList(Math.min(MAX_CHECKPOINTS_PER_STEP, checkpoints.size()), checkpoints.size())) {
+            try {
+                Files.deleteIfExists(checkpoint);
+            } catch (IOException e) {
+                logger.warn("Could not delete checkpoint {}", checkpoint, e);
+            }
+        }
+    }
+
+    /**
+     * Deletes the shared data that no checkpoint refers to.
+     */
+    private void pruneSharedData() {
+        SortedSet<String> referencedHashes = new TreeSet<>();
+        List<Path> sharedDataFiles;
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> allFiles = files.toList();
+            for (Path file : allFiles) {
+                if (file.getFileName().toString().endsWith(FILE_EXTENSION)) {
+                    try (var in = Files.newInputStream(file)) {
+                        referencedHashes.add(readHeader(in));
+                    } catch (IOException e) {
+                        logger.debug("Could not read the header of checkpoint {}", file, e);
+                    }
+                }
+            }
+            sharedDataFiles = allFiles.stream().filter(file -> file.getFileName().toString().endsWith(SHARED_DATA_FILE_EXTENSION)).toList();
+        } catch (IOException e) {
+            logger.warn("Could not list the checkpoints in {}", directory, e);
+            return;
+        }
+        for (Path sharedDataFile : sharedDataFiles) {
+            String fileName = sharedDataFile.getFileName().toString();
+            if (!referencedHashes.contains(fileName.substring(0, fileName.length() - SHARED_DATA_FILE_EXTENSION.length()))) {
+                try {
+                    Files.deleteIfExists(sharedDataFile);
+                } catch (IOException e) {
+                    logger.warn("Could not delete shared data {}", sharedDataFile, e);
+                }
+            }
+        }
+    }
+
+    private static FileTime getLastModifiedTime(Path path) {
+        try {
+            return Files.getLastModifiedTime(path);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private Path getFile(int stepIndex) {
+        return directory.resolve(getFilePrefix(stepIndex) + hashes.get(stepIndex) + FILE_EXTENSION);
+    }
+
+    private Path getSharedDataFile(String hash) {
+        return directory.resolve(hash + SHARED_DATA_FILE_EXTENSION);
+    }
+
+    private String getFilePrefix(int stepIndex) {
+        String stepId = pipelineSteps.get(stepIndex).getId().replaceAll("[^A-Za-z0-9_-]", "_");
+        return String.format("%02d-%s-", stepIndex, stepId);
+    }
+
+    /**
+     * Stands in for a shared object in a checkpoint.
+     *
+     * @param index the index of the shared object in the shared data
+     */
+    private record SharedReference(int index) implements Serializable {
+    }
+
+    /**
+     * Writes a checkpoint and replaces the shared objects by references, see {@link DataRepository#getSharedOnForkPredicate()}.
+     */
+    private static final class CheckpointOutputStream extends ObjectOutputStream {
+        private final Predicate<Object> sharedOnFork;
+        private final List<Object> sharedObjects = new ArrayList<>();
+        private final IdentityHashMap<Object, SharedReference> references = new IdentityHashMap<>();
+
+        private CheckpointOutputStream(OutputStream out, Predicate<Object> sharedOnFork) throws IOException {
+            super(out);
+            this.sharedOnFork = sharedOnFork;
+            enableReplaceObject(true);
+        }
+
+        @Override
+        protected Object replaceObject(Object object) {
+            if (object == null || !sharedOnFork.test(object)) {
+                return object;
+            }
+            return references.computeIfAbsent(object, shared -> {
+                sharedObjects.add(shared);
+                return new SharedReference(sharedObjects.size() - 1);
+            });
+        }
+    }
+
+    private static final class CheckpointInputStream extends ObjectInputStream {
+        private final List<Object> sharedObjects;
+
+        private CheckpointInputStream(InputStream in, List<Object> sharedObjects) throws IOException {
+            super(in);
+            this.sharedObjects = sharedObjects;
+            enableResolveObject(true);
+        }
+
+        @Override
+        protected Object resolveObject(Object object) throws IOException {
+            if (object instanceof SharedReference sharedReference) {
+                if (sharedReference.index() < 0 || sharedReference.index() >= sharedObjects.size()) {
+                    throw new IOException("The checkpoint refers to shared data it does not contain");
+                }
+                return sharedObjects.get(sharedReference.index());
+            }
+            return object;
+        }
+    }
+
+    /**
+     * Serializes the initial data repository for hashing. Its global configuration is left out, as it refers to the pipeline.
+     */
+    private static final class HashingOutputStream extends ObjectOutputStream {
+        private final Object root;
+
+        private HashingOutputStream(OutputStream out, Object root) throws IOException {
+            super(out);
+            this.root = root;
+            enableReplaceObject(true);
+        }
+
+        @Override
+        protected Object replaceObject(Object object) {
+            if (object != root && (object instanceof DataRepository || object instanceof GlobalConfiguration)) {
+                return object.getClass().getName();
+            }
+            return object;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.core.pipeline;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.function.Consumer;
+
+/**
+ * Runs pipeline steps concurrently according to the data they declare to read and write (see
+ * {@link AbstractPipelineStep#declareDataDependencies(java.util.Collection, java.util.Collection)}). A step depends on every earlier step it conflicts with:
+ * one of them writes data the other reads or writes, or one of them did not declare its data dependencies. Steps whose dependencies are finished are started
+ * in the order they were added to the pipeline, so with a single thread the steps run in exactly that order.
+ */
+final class PipelineStepScheduler {
+    private final List<AbstractPipelineStep> pipelineSteps;
+    private final List<List<Integer>> successors;
+    private final int[] dependencyCounts;
+
+    PipelineStepScheduler(List<AbstractPipelineStep> pipelineSteps) {
+        this.pipelineSteps = List.copyOf(pipelineSteps);
+        int size = this.pipelineSteps.size();
+        this.successors = new ArrayList<>(size);
+        this.dependencyCounts = new int[size];
+        for (int later = 0; later < size; later++) {
+            successors.add(new ArrayList<>());
+            for (int earlier = 0; earlier < later; earlier++) {
+                if (conflict(this.pipelineSteps.get(earlier), this.pipelineSteps.get(later))) {
+                    successors.get(earlier).add(later);
+                    dependencyCounts[later]++;
+                }
+            }
+        }
+    }
+
+    /**
+     * {@return whether the given steps conflict} Conflicting steps must not run concurrently.
+     */
+    static boolean conflict(AbstractPipelineStep first, AbstractPipelineStep second) {
+        if (!first.hasDataDependencies() || !second.hasDataDependencies()) {
+            return true;
+        }
+        return intersect(first.getWrittenDataIds(), second.getReadDataIds()) || intersect(first.getWrittenDataIds(), second.getWrittenDataIds()) || intersect(
+                first.getReadDataIds(), second.getWrittenDataIds());
+    }
+
+    private static boolean intersect(NavigableSet<String> first, NavigableSet<String> second) {
+        return !Collections.disjoint(first, second);
+    }
+
+    /**
+     * Runs all steps on the executor and waits for them to finish. If a step fails, no further steps are started and the failure is rethrown after the running
+     * steps finished.
+     *
+     * @param executor the executor to run the steps on
+     * @param runner   runs a single step
+     */
+    void run(Executor executor, Consumer<AbstractPipelineStep> runner) {
+        CompletionService<Integer> completionService = new ExecutorCompletionService<>(executor);
+        int[] remainingDependencies = dependencyCounts.clone();
+        TreeSet<Integer> ready = new TreeSet<>();
+        for (int i = 0; i < remainingDependencies.length; i++) {
+            if (remainingDependencies[i] == 0) {
+                ready.add(i);
+            }
+        }
+
+        int running = 0;
+        Throwable failure = null;
+        while (true) {
+            while (failure == null && !ready.isEmpty()) {
+                int index = ready.pollFirst();
+                completionService.submit(() -> {
+                    runner.accept(pipelineSteps.get(index));
+                    return index;
+                });
+                running++;
+            }
+            if (running == 0) {
+                break;
+            }
+
+            try {
+                int finished = completionService.take().get();
+                for (int successor : successors.get(finished)) {
+                    if (--remainingDependencies[successor] == 0) {
+                        ready.add(successor);
+                    }
+                }
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = e.getCause();
+                } else {
+                    failure.addSuppressed(e.getCause());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while running pipeline steps", e);
+            }
+            running--;
+        }
+
+        if (failure instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        if (failure instanceof Error error) {
+            throw error;
+        }
+        if (failure != null) {
+            throw new IllegalStateException(failure);
+        }
+    }
+}
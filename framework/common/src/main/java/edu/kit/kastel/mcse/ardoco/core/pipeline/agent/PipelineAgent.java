@@ -5,6 +5,7 @@
 import java.util.List;
 import java.util.SortedMap;
 
+import edu.kit.kastel.mcse.ardoco.core.configuration.AbstractConfigurable;
 import edu.kit.kastel.mcse.ardoco.core.configuration.ChildClassConfigurable;
 import edu.kit.kastel.mcse.ardoco.core.configuration.Configurable;
 import edu.kit.kastel.mcse.ardoco.core.data.DataRepository;
@@ -92,4 +93,11 @@ protected void delegateApplyConfigurationToInternalObjects(SortedMap<String, Str
         informants.forEach(filter -> filter.applyConfiguration(additionalConfiguration));
     }
 
+    @Override
+    protected List<? extends AbstractConfigurable> getInternalConfigurables() {
+        List<AbstractConfigurable> internalConfigurables = new ArrayList<>(super.getInternalConfigurables());
+        internalConfigurables.addAll(informants);
+        return internalConfigurables;
+    }
+
 }
@@ -0,0 +1,139 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+
+import edu.kit.kastel.mcse.ardoco.core.api.models.ModelStates;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.CodeModel;
+import edu.kit.kastel.mcse.ardoco.core.data.DataRepository;
+
+class CodeItemRepositoryTest {
+
+    @Test
+    void resolveAndRemove() {
+        var repository = new CodeItemRepository();
+        var first = new ClassUnit(repository, "First", new TreeSet<>());
+        var second = new ClassUnit(repository, "Second", new TreeSet<>());
+
+        assertSame(first, repository.getCodeItem(first.getId()));
+        assertEquals(List.of(first, second), repository.getCodeItemsFromIds(List.of(first.getId(), second.getId())));
+
+        repository.removeCodeItems(List.of(first.getId()));
+        assertNull(repository.getCodeItem(first.getId()));
+        assertFalse(repository.containsCodeItem(first.getId()));
+        assertEquals(Set.of(second.getId()), repository.getCodeItemIds());
+        assertEquals(Set.of(second.getId()), repository.getRepository().keySet());
+
+        // The handles are reassigned after a removal
+        var third = new ClassUnit(repository, "Third", new TreeSet<>());
+        assertSame(second, repository.getCodeItem(second.getId()));
+        assertSame(third, repository.getCodeItem(third.getId()));
+        repository.removeCodeItems(List.of(second.getId()));
+        assertSame(third, repository.getCodeItem(third.getId()));
+        assertEquals(Set.of(third.getId()), repository.getCodeItemIds());
+    }
+
+    @Test
+    void typeHierarchyClosures() {
+        var repository = new CodeItemRepository();
+        var base = new ClassUnit(repository, "Base", new TreeSet<>());
+        var middle = new ClassUnit(repository, "Middle", new TreeSet<>());
+        var leaf = new ClassUnit(repository, "Leaf", new TreeSet<>());
+        var api = new InterfaceUnit(repository, "Api", new TreeSet<>());
+        middle.setExtendedTypes(new TreeSet<>(List.of(base)));
+        leaf.setExtendedTypes(new TreeSet<>(List.of(middle)));
+        base.setImplementedTypes(new TreeSet<>(List.of(api)));
+
+        assertEquals(Set.of(leaf, middle, base), leaf.getAllExtendedTypes());
+        assertEquals(Set.of(api), leaf.getAllImplementedTypes());
+        assertSame(leaf.getAllExtendedTypes(), leaf.getAllExtendedTypes());
+
+        // A modification invalidates the closures
+        middle.setExtendedTypes(new TreeSet<>());
+        assertEquals(Set.of(leaf, middle), leaf.getAllExtendedTypes());
+        assertTrue(leaf.getAllImplementedTypes().isEmpty());
+    }
+
+    @Test
+    void cyclicTypeHierarchy() {
+        var repository = new CodeItemRepository();
+        var first = new InterfaceUnit(repository, "First", new TreeSet<>());
+        var second = new InterfaceUnit(repository, "Second", new TreeSet<>());
+        first.setExtendedTypes(new TreeSet<>(List.of(second)));
+        second.setExtendedTypes(new TreeSet<>(List.of(first)));
+
+        assertEquals(Set.of(first, second), first.getAllExtendedTypes());
+    }
+
+    @Test
+    void codeModelViews() {
+        var repository = new CodeItemRepository();
+        var compilationUnit = new CodeCompilationUnit(repository, "A.java", new TreeSet<>(), List.of("a"), "java", ProgrammingLanguage.JAVA);
+        var codePackage = new CodePackage(repository, "a", new TreeSet<>(List.of(compilationUnit)));
+        var codeModel = new CodeModel(repository, new TreeSet<>(List.of(codePackage)));
+
+        assertEquals(List.of(compilationUnit), codeModel.getEndpoints());
+        assertSame(codeModel.getEndpoints(), codeModel.getEndpoints());
+        assertEquals(List.of(codePackage), codeModel.getAllPackages());
+
+        var other = new CodeCompilationUnit(repository, "B.java", new TreeSet<>(), List.of("a"), "java", ProgrammingLanguage.JAVA);
+        codePackage.addContent(other);
+        assertEquals(List.of(compilationUnit, other), codeModel.getEndpoints());
+    }
+
+    @Test
+    void sealedRepository() {
+        var repository = new CodeItemRepository();
+        var datatype = new ClassUnit(repository, "First", new TreeSet<>());
+        var other = new ClassUnit(repository, "Second", new TreeSet<>());
+        var modelStates = new ModelStates();
+        modelStates.addModel("code", new CodeModel(repository, new TreeSet<>(List.of(datatype, other))));
+
+        assertThrows(IllegalStateException.class, () -> new ClassUnit(repository, "Third", new TreeSet<>()));
+        assertThrows(IllegalStateException.class, () -> repository.removeCodeItems(List.of(datatype.getId())));
+        assertThrows(IllegalStateException.class, () -> datatype.setExtendedTypes(new TreeSet<>(List.of(other))));
+        assertSame(datatype, repository.getCodeItem(datatype.getId()));
+        assertEquals(Set.of(datatype.getId(), other.getId()), repository.getCodeItemIds());
+
+        // Reads of a sealed repository use its snapshot
+        assertTrue(repository.containsCodeItem(other.getId()));
+        assertFalse(repository.containsCodeItem("unknown"));
+        assertNull(repository.getCodeItem("unknown"));
+        assertEquals(Set.of(datatype.getId(), other.getId()), repository.getRepository().keySet());
+        assertSame(datatype.getAllExtendedTypes(), datatype.getAllExtendedTypes());
+    }
+
+    @Test
+    void restoredRepositoryIsSealed() {
+        var repository = new CodeItemRepository();
+        var datatype = new ClassUnit(repository, "First", new TreeSet<>());
+        var modelStates = new ModelStates();
+        modelStates.addModel("code", new CodeModel(repository, new TreeSet<>(List.of(datatype))));
+        var dataRepository = new DataRepository();
+        dataRepository.addData(ModelStates.ID, modelStates);
+
+        var restored = dataRepository.deepCopy();
+        var restoredModel = restored.getData(ModelStates.ID, ModelStates.class).orElseThrow().getModel("code");
+        var fork = restored.fork();
+        var forkedModel = fork.getData(ModelStates.ID, ModelStates.class).orElseThrow().getModel("code");
+
+        // The fork shares the restored code model, which therefore has to be sealed
+        assertSame(restoredModel, forkedModel);
+        var restoredRepository = ((CodeModel) forkedModel).getCodeItemRepository();
+        assertThrows(IllegalStateException.class, () -> new ClassUnit(restoredRepository, "Second", new TreeSet<>()));
+        assertThrows(IllegalStateException.class, () -> restoredRepository.removeCodeItems(List.of(datatype.getId())));
+        assertEquals(Set.of(datatype.getId()), restoredRepository.getCodeItemIds());
+        assertTrue(restoredRepository.containsCodeItem(datatype.getId()));
+    }
+}
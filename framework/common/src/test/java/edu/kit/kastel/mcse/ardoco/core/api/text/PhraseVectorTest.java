@@ -0,0 +1,84 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.core.api.text;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.apache.commons.text.similarity.CosineSimilarity;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import edu.kit.kastel.mcse.ardoco.core.common.RunContext;
+
+class PhraseVectorTest {
+    private RunContext.Scope runContextScope;
+
+    @BeforeEach
+    void bindRunContext() {
+        runContextScope = new RunContext().bind();
+    }
+
+    @AfterEach
+    void closeRunContext() {
+        runContextScope.close();
+    }
+
+    @Test
+    void cosineSimilarityMatchesCommonsText() {
+        List<String> first = List.of("the", "brown", "dog", "the", "hut");
+        List<String> second = List.of("a", "brown", "dog", "dog");
+
+        double expected = new CosineSimilarity().cosineSimilarity(counts(first), counts(second));
+        assertEquals(expected, vector(first).cosineSimilarity(vector(second)));
+        assertEquals(expected, vector(second).cosineSimilarity(vector(first)));
+        assertEquals(1.0, vector(first).cosineSimilarity(vector(first)), 1e-12);
+    }
+
+    @Test
+    void emptyVectors() {
+        assertEquals(0.0, vector(List.of()).cosineSimilarity(vector(List.of("dog"))));
+        assertEquals(0.0, vector(List.of("fox")).cosineSimilarity(vector(List.of("dog"))));
+        assertEquals(0, vector(List.of()).size());
+    }
+
+    @Test
+    void termIdsArePerRun() {
+        PhraseVector first = vector(List.of("the", "brown", "dog"));
+        assertTrue(first.isOfCurrentRun());
+
+        try (var ignored = new RunContext().bind()) {
+            PhraseVector second = vector(List.of("the", "brown", "dog"));
+            assertFalse(first.isOfCurrentRun());
+            assertTrue(second.isOfCurrentRun());
+            assertThrows(IllegalArgumentException.class, () -> second.cosineSimilarity(first));
+        }
+        assertEquals(vector(List.of("dog", "brown", "the")), first);
+    }
+
+    private static Map<CharSequence, Integer> counts(List<String> texts) {
+        return texts.stream().collect(Collectors.toMap(Function.identity(), text -> 1, Integer::sum));
+    }
+
+    private static PhraseVector vector(List<String> texts) {
+        return PhraseVector.of(texts.stream().map(PhraseVectorTest::word).toList());
+    }
+
+    private static Word word(String text) {
+        return (Word) Proxy.newProxyInstance(Word.class.getClassLoader(), new Class<?>[] { Word.class }, (proxy, method, arguments) -> {
+            if (method.getName().equals("getText")) {
+                return text;
+            }
+            throw new UnsupportedOperationException(method.getName() + Arrays.toString(arguments));
+        });
+    }
+}
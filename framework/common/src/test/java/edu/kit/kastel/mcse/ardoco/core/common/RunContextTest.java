@@ -0,0 +1,70 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.core.common;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import edu.kit.kastel.mcse.ardoco.core.api.Disambiguation;
+import edu.kit.kastel.mcse.ardoco.core.common.util.AbbreviationDisambiguationHelper;
+
+class RunContextTest {
+
+    @Test
+    void identifiersPerRunTest() {
+        RunContext first = new RunContext();
+        RunContext second = new RunContext();
+
+        String firstId;
+        try (var ignored = first.bind()) {
+            IdentifierProvider.reset();
+            firstId = IdentifierProvider.createId();
+            try (var ignoredNested = second.bind()) {
+                Assertions.assertSame(second, RunContext.current());
+                Assertions.assertEquals(firstId, IdentifierProvider.createId());
+            }
+            Assertions.assertSame(first, RunContext.current());
+            Assertions.assertNotEquals(firstId, IdentifierProvider.createId());
+        }
+        Assertions.assertThrows(IllegalStateException.class, RunContext::current);
+        Assertions.assertTrue(RunContext.find().isEmpty());
+        // Model elements can still be created outside of runs, their identifiers do not affect any run
+        Assertions.assertNotNull(IdentifierProvider.createId());
+        try (var ignored = first.bind()) {
+            Assertions.assertEquals("acm000001339jsd", IdentifierProvider.createId());
+        }
+    }
+
+    @Test
+    void advancePastPerRunTest() {
+        RunContext first = new RunContext();
+        RunContext second = new RunContext();
+
+        try (var ignored = first.bind()) {
+            IdentifierProvider.advancePast(List.of("acm000005000jsd", "unrelated"));
+            Assertions.assertEquals("acm000005001jsd", IdentifierProvider.createId());
+        }
+        try (var ignored = second.bind()) {
+            Assertions.assertEquals("acm000001337jsd", IdentifierProvider.createId());
+        }
+    }
+
+    @Test
+    void abbreviationsPerRunTest() {
+        RunContext first = new RunContext();
+        RunContext second = new RunContext();
+        String text = "the Quuxly Zorbing Frobnicator";
+
+        long secondVersion = AbbreviationDisambiguationHelper.getVersion(second);
+        AbbreviationDisambiguationHelper.addTransient(first, new Disambiguation("QZF", new String[] { "Quuxly Zorbing Frobnicator" }));
+
+        Assertions.assertEquals("the QZF", AbbreviationDisambiguationHelper.ambiguateAll(first, text, false));
+        Assertions.assertEquals(text, AbbreviationDisambiguationHelper.ambiguateAll(second, text, false));
+        Assertions.assertEquals(secondVersion, AbbreviationDisambiguationHelper.getVersion(second));
+        Assertions.assertFalse(AbbreviationDisambiguationHelper.getAll(second).containsKey("QZF"));
+        Assertions.assertFalse(AbbreviationDisambiguationHelper.getAll().containsKey("QZF"));
+        Assertions.assertThrows(IllegalStateException.class, () -> AbbreviationDisambiguationHelper.addTransient(new Disambiguation("QZF", new String[] {
+                "Quuxly Zorbing Frobnicator" })));
+    }
+}
@@ -0,0 +1,48 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.core.common.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import edu.kit.kastel.mcse.ardoco.core.api.Disambiguation;
+
+class MeaningAutomatonTest {
+    private final List<Disambiguation> disambiguations = List.of(//
+            new Disambiguation("DB", new String[] { "Database", "Data Base" }), //
+            new Disambiguation("GUI", new String[] { "Graphical User Interface" }), //
+            new Disambiguation("PC", new String[] { "Personal Computer" }), //
+            new Disambiguation("UI", new String[] { "User Interface" }));
+
+    @Test
+    void replaceAll() {
+        var automaton = new MeaningAutomaton(disambiguations, false);
+        assertEquals("PC DB", automaton.replaceAll("Personal Computer Database"));
+        assertEquals("DB access", automaton.replaceAll("Data Base access"));
+        assertEquals("personal computer", automaton.replaceAll("personal computer"));
+    }
+
+    @Test
+    void replaceAllIgnoreCase() {
+        var automaton = new MeaningAutomaton(disambiguations, true);
+        assertEquals("PC DB", automaton.replaceAll("personal computer DATABASE"));
+        assertEquals("the GUI of the UI", automaton.replaceAll("the graphical user interface of the user interface"));
+    }
+
+    @Test
+    void replaceNothing() {
+        var automaton = new MeaningAutomaton(disambiguations, true);
+        var text = "no meanings here";
+        assertSame(text, automaton.replaceAll(text));
+        assertEquals("", automaton.replaceAll(""));
+    }
+
+    @Test
+    void meaningsAreLiteral() {
+        var automaton = new MeaningAutomaton(List.of(new Disambiguation("CPP", new String[] { "C++" })), false);
+        assertEquals("CPP and C", automaton.replaceAll("C++ and C"));
+    }
+}
@@ -2,6 +2,7 @@
 package edu.kit.kastel.mcse.ardoco.core.common.util.wordsim;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.List;
@@ -33,4 +34,14 @@ void getHomoglyphs() {
     void areHomoglyphs() {
         assertTrue(ConfusablesHelper.areHomoglyphs(UnicodeCharacter.valueOf("!"), UnicodeCharacter.valueOf("！")));
     }
+
+    @Test
+    void areHomoglyphsByCodePoint() {
+        for (var a : homoglyphsExample) {
+            for (var b : homoglyphsExample) {
+                assertTrue(ConfusablesHelper.areHomoglyphs(a.getCodePoint(), b.getCodePoint()));
+            }
+        }
+        assertFalse(ConfusablesHelper.areHomoglyphs("!".codePointAt(0), "?".codePointAt(0)));
+    }
 }
@@ -2,9 +2,16 @@
 package edu.kit.kastel.mcse.ardoco.core.common.util.wordsim;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
 
 import org.junit.jupiter.api.Test;
 
+import edu.kit.kastel.mcse.ardoco.core.common.RunContext;
+import edu.kit.kastel.mcse.ardoco.core.common.util.wordsim.strategy.ComparisonStrategy;
+
 class WordSimUtilsTest {
 
     @Test
@@ -15,4 +22,44 @@ void getSimilarity() {
         assertEquals(1, wordSimUtils.getSimilarity("lorem ipsum", "lorem ipsum"));
         assertEquals(1, wordSimUtils.getSimilarity("lOrEm IpSuM", "lorem ipsum", true));
     }
+
+    @Test
+    void areWordsSimilarIsCached() {
+        var wordSimUtils = new WordSimUtils(new RunContext());
+        wordSimUtils.setConsiderAbbreviations(false);
+        var measure = new CountingMeasure();
+        wordSimUtils.setMeasures(List.of(measure));
+
+        assertTrue(wordSimUtils.areWordsSimilar("lorem", "lorem"));
+        assertTrue(wordSimUtils.areWordsSimilar("lorem", "lorem"));
+        assertFalse(wordSimUtils.areWordsSimilar("lorem", "ipsum"));
+        assertEquals(2, measure.calls);
+        assertEquals(1, wordSimUtils.getCacheHits());
+        assertEquals(2, wordSimUtils.getCacheMisses());
+
+        wordSimUtils.setStrategy(ComparisonStrategy.MAJORITY);
+        assertTrue(wordSimUtils.areWordsSimilar("lorem", "lorem"));
+        assertEquals(3, measure.calls);
+
+        wordSimUtils.setCacheCapacity(0);
+        assertTrue(wordSimUtils.areWordsSimilar("lorem", "lorem"));
+        assertTrue(wordSimUtils.areWordsSimilar("lorem", "lorem"));
+        assertEquals(5, measure.calls);
+        assertEquals(0, wordSimUtils.getCacheSize());
+    }
+
+    private static final class CountingMeasure implements WordSimMeasure {
+        private int calls = 0;
+
+        @Override
+        public boolean areWordsSimilar(ComparisonContext ctx) {
+            calls++;
+            return ctx.firstTerm().equals(ctx.secondTerm());
+        }
+
+        @Override
+        public double getSimilarity(ComparisonContext ctx) {
+            return areWordsSimilar(ctx) ? 1 : 0;
+        }
+    }
 }
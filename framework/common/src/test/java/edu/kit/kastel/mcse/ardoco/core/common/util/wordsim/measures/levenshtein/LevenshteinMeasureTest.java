@@ -4,6 +4,9 @@
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.util.Arrays;
+import java.util.Random;
+
 import org.junit.jupiter.api.Test;
 
 import edu.kit.kastel.mcse.ardoco.core.common.util.wordsim.ComparisonContext;
@@ -31,6 +34,85 @@ void testSimilarityDirectly() {
         assertEquals(1, distance.apply("hello", "hallo", UnicodeCharacterMatchFunctions.EQUAL));
     }
 
+    /**
+     * The bit-parallel algorithm is only used for short sequences, longer sequences and homoglyph matching use the cost table.
+     */
+    @Test
+    void testLongAndHomoglyphSequences() {
+        var distance = new UnicodeLevenshteinDistance();
+        var limitedDistance = new UnicodeLevenshteinDistance(3);
+        var longWord = "a".repeat(UnicodeLevenshteinDistance.MAX_BIT_PARALLEL_LENGTH + 10);
+        var otherLongWord = "b" + longWord.substring(1) + "c";
+        assertEquals(2, distance.apply(longWord, otherLongWord, UnicodeCharacterMatchFunctions.EQUAL));
+        assertEquals(2, limitedDistance.apply(longWord, otherLongWord, UnicodeCharacterMatchFunctions.EQUAL));
+        assertEquals(-1, limitedDistance.apply("elephant", "hippo", UnicodeCharacterMatchFunctions.EQUAL));
+        assertEquals(0, distance.apply("ℜ𝘂ᖯʏ", "Ruby", UnicodeCharacterMatchFunctions.EQUAL_OR_HOMOGLYPH));
+        assertEquals(4, distance.apply("ℜ𝘂ᖯʏ", "Ruby", UnicodeCharacterMatchFunctions.EQUAL));
+    }
+
+    /**
+     * The bit-parallel algorithm must yield the same distances as the cost table. The lengths around {@link UnicodeLevenshteinDistance#MAX_BIT_PARALLEL_LENGTH}
+     * cover the last bit of the bit vectors and the switch to the cost table. The alphabet mixes ASCII, other BMP and non-BMP code points.
+     */
+    @Test
+    void testBitParallelMatchesCostTable() {
+        int[] alphabet = { 'a', 'b', 'c', 'ä', 'ß', 'а', 0x1D602, 0x1F600 };
+        int[] lengths = { 0, 1, 2, 31, 62, 63, 64, 65, 66, 100 };
+        Integer[] thresholds = { null, 0, 1, 2, 5, 64 };
+        var random = new Random(42);
+        for (Integer threshold : thresholds) {
+            var distance = new UnicodeLevenshteinDistance(threshold);
+            for (int leftLength : lengths) {
+                for (int rightLength : lengths) {
+                    for (int run = 0; run < 5; run++) {
+                        int[] left = randomCodePoints(random, alphabet, leftLength);
+                        int[] right = run % 2 == 0 ? randomCodePoints(random, alphabet, rightLength) : mutate(random, alphabet, left, run);
+                        String leftString = new String(left, 0, left.length);
+                        String rightString = new String(right, 0, right.length);
+                        assertEquals(distance.applyWithCostTable(left, right, UnicodeCharacterMatchFunctions.EQUAL), distance.apply(leftString, rightString,
+                                UnicodeCharacterMatchFunctions.EQUAL), () -> "threshold " + threshold + ": " + leftString + " / " + rightString);
+                    }
+                }
+            }
+        }
+    }
+
+    private static int[] randomCodePoints(Random random, int[] alphabet, int length) {
+        int[] codePoints = new int[length];
+        for (int i = 0; i < length; i++) {
+            codePoints[i] = alphabet[random.nextInt(alphabet.length)];
+        }
+        return codePoints;
+    }
+
+    /**
+     * Applies the specified number of random substitutions, insertions and deletions to a copy of the code points.
+     */
+    private static int[] mutate(Random random, int[] alphabet, int[] codePoints, int edits) {
+        int[] mutated = Arrays.copyOf(codePoints, codePoints.length);
+        for (int edit = 0; edit < edits; edit++) {
+            int operation = mutated.length == 0 ? 1 : random.nextInt(3);
+            int codePoint = alphabet[random.nextInt(alphabet.length)];
+            if (operation == 0) {
+                mutated[random.nextInt(mutated.length)] = codePoint;
+            } else if (operation == 1) {
+                int position = random.nextInt(mutated.length + 1);
+                int[] inserted = new int[mutated.length + 1];
+                System.arraycopy(mutated, 0, inserted, 0, position);
+                inserted[position] = codePoint;
+                System.arraycopy(mutated, position, inserted, position + 1, mutated.length - position);
+                mutated = inserted;
+            } else {
+                int position = random.nextInt(mutated.length);
+                int[] deleted = new int[mutated.length - 1];
+                System.arraycopy(mutated, 0, deleted, 0, position);
+                System.arraycopy(mutated, position + 1, deleted, position, mutated.length - position - 1);
+                mutated = deleted;
+            }
+        }
+        return mutated;
+    }
+
     @Test
     void testHomoglyphSimilarity() {
         var measure = new LevenshteinMeasure();
@@ -0,0 +1,51 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.core.common.util.wordsim.measures.sewordsim;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SEWordSimTableTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testTableMatchesDatabase() throws SQLException {
+        Path sqliteFile = tempDir.resolve("sewordsim.sqlite");
+        try (var connection = DriverManager.getConnection("jdbc:sqlite:" + sqliteFile); var statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE `wsim` (`term_1` TEXT, `term_2` TEXT, `similarity` REAL)");
+            statement.execute("INSERT INTO `wsim` VALUES ('connect', 'link', 0.75), ('link', 'connect', 0.75), ('connect', 'bind', 0.5), ('store', 'save', 0.25)");
+        }
+
+        try (var dataSource = new SEWordSimDataSource(sqliteFile)) {
+            SEWordSimTable table = dataSource.loadTable();
+
+            assertEquals(5, table.size());
+            for (String first : List.of("connection", "links", "store", "bind", "unknown")) {
+                assertEquals(dataSource.containsWord(first), table.containsWord(first), first);
+                for (String second : List.of("connects", "link", "bind", "save", "unknown")) {
+                    var expected = dataSource.getSimilarity(first, second);
+                    var actual = table.getSimilarity(first, second);
+                    assertEquals(expected.isPresent(), actual.isPresent(), first + " " + second);
+                    expected.ifPresent(similarity -> assertEquals(similarity, actual.getAsDouble(), 1e-6));
+                }
+            }
+
+            assertTrue(table.containsWord("connecting"));
+            assertFalse(table.containsWord("save"));
+            assertArrayEquals(new double[] { 0.75, 0.5, Double.NaN, 0.75, Double.NaN }, table.getSimilarities("connection", List.of("linking", "bind", "store",
+                    "links", "unknown")), 1e-6);
+            assertArrayEquals(new double[] { Double.NaN, Double.NaN }, table.getSimilarities("unknown", List.of("link", "bind")), 1e-6);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.core.common.util.wordsim.vector;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class VectorFileStoreTest {
+
+    private static final Map<String, float[]> VECTORS = Map.of("b", new float[] { 1.0f, 2.0f, 3.0f }, "a", new float[] { -1.0f, 0.5f, 0.0f }, "ab",
+            new float[] { 4.0f, 5.0f, 6.0f }, "äpfel", new float[] { 7.0f, 8.0f, 9.0f }, "zz", new float[] { 0.25f, 0.125f, 0.0625f });
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testWriteAndRead() throws SQLException, IOException {
+        Path sqliteFile = tempDir.resolve("vectors.sqlite");
+        try (var connection = DriverManager.getConnection("jdbc:sqlite:" + sqliteFile); var statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE `words` (`word` TEXT UNIQUE, `vec` BLOB NOT NULL)");
+            try (var insert = connection.prepareStatement("INSERT INTO `words` (`word`, `vec`) VALUES (?, ?)")) {
+                for (var entry : VECTORS.entrySet()) {
+                    ByteBuffer buffer = ByteBuffer.allocate(entry.getValue().length * Float.BYTES);
+                    buffer.asFloatBuffer().put(entry.getValue());
+                    insert.setString(1, entry.getKey());
+                    insert.setBytes(2, buffer.array());
+                    insert.execute();
+                }
+            }
+        }
+
+        Path storeFile = tempDir.resolve("vectors.bin");
+        assertEquals(VECTORS.size(), new VectorFileStoreWriter().write(sqliteFile, storeFile));
+
+        VectorFileStore store = new VectorFileStore(storeFile);
+        assertEquals(VECTORS.size(), store.size());
+        assertEquals(3, store.getDimension());
+        for (var entry : VECTORS.entrySet()) {
+            assertArrayEquals(entry.getValue(), store.getWordVector(entry.getKey()).orElseThrow());
+        }
+        assertTrue(store.getWordVector("c").isEmpty());
+        assertTrue(store.getWordVector("").isEmpty());
+        assertTrue(store.getWordVector("zzz").isEmpty());
+    }
+}
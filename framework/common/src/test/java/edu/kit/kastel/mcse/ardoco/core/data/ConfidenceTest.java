@@ -0,0 +1,95 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.core.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import edu.kit.kastel.mcse.ardoco.core.common.AggregationFunctions;
+import edu.kit.kastel.mcse.ardoco.core.pipeline.agent.Claimant;
+
+class ConfidenceTest {
+
+    private static final double DELTA = 1e-9;
+
+    private final Claimant first = new Claimant() {
+    };
+    private final Claimant second = new Claimant() {
+    };
+
+    @AfterEach
+    void resetTracking() {
+        Confidence.setTrackClaimantMethods(false);
+    }
+
+    @Test
+    void testClaimantsAreAggregatedByMax() {
+        var confidence = new Confidence(AggregationFunctions.AVERAGE);
+        assertEquals(0, confidence.getConfidence(), DELTA);
+
+        confidence.addAgentConfidence(first, 0.2);
+        confidence.addAgentConfidence(first, 0.8);
+        confidence.addAgentConfidence(second, 0.4);
+        assertEquals((0.8 + 0.4) / 2, confidence.getConfidence(), DELTA);
+
+        confidence.addAgentConfidence(second, 1.0);
+        assertEquals((0.8 + 1.0) / 2, confidence.getConfidence(), DELTA);
+        assertEquals(2, confidence.getClaimants().size());
+    }
+
+    @Test
+    void testRollingAverage() {
+        var confidence = new Confidence(AggregationFunctions.ROLLING_AVERAGE);
+        confidence.addAgentConfidence(first, 0.2);
+        confidence.addAgentConfidence(second, 0.6);
+        confidence.addAgentConfidence(first, 1.0);
+        assertEquals(((0.2 + 0.6) / 2 + 1.0) / 2, confidence.getConfidence(), DELTA);
+    }
+
+    @Test
+    void testAddAllConfidencesKeepsRollingOrder() {
+        var confidence = new Confidence(AggregationFunctions.ROLLING_AVERAGE);
+        confidence.addAgentConfidence(first, 0.2);
+        confidence.addAgentConfidence(first, 0.4);
+
+        var other = new Confidence(AggregationFunctions.ROLLING_AVERAGE);
+        other.addAgentConfidence(second, 0.8);
+        other.addAgentConfidence(second, 0.6);
+        other.addAgentConfidence(first, 1.0);
+
+        var combined = confidence.createCopy();
+        combined.addAllConfidences(other);
+
+        var expected = new Confidence(AggregationFunctions.ROLLING_AVERAGE);
+        for (double value : new double[] { 0.2, 0.4, 0.8, 0.6, 1.0 }) {
+            expected.addAgentConfidence(first, value);
+        }
+        assertEquals(expected.getConfidence(), combined.getConfidence(), DELTA);
+        assertEquals(0.3, confidence.getConfidence(), DELTA);
+    }
+
+    @Test
+    void testMerge() {
+        var a = new Confidence(AggregationFunctions.AVERAGE);
+        a.addAgentConfidence(first, 0.2);
+        a.addAgentConfidence(first, 0.6);
+        var b = new Confidence(AggregationFunctions.AVERAGE);
+        b.addAgentConfidence(first, 0.4);
+        b.addAgentConfidence(second, 0.8);
+
+        var merged = Confidence.merge(a, b, AggregationFunctions.SUM, AggregationFunctions.AVERAGE);
+        assertEquals((0.6 + 0.4) / 2 + 0.8, merged.getConfidence(), DELTA);
+    }
+
+    @Test
+    void testClaimantMethodsOnlyTrackedOnDemand() {
+        var confidence = new Confidence(first, 0.5, AggregationFunctions.MAX);
+        assertTrue(confidence.getClaimantMethods(first).isEmpty());
+
+        Confidence.setTrackClaimantMethods(true);
+        confidence.addAgentConfidence(first, 0.7);
+        assertEquals(1, confidence.getClaimantMethods(first).size());
+    }
+}
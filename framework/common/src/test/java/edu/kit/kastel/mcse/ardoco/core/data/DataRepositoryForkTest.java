@@ -0,0 +1,104 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.core.data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import edu.kit.kastel.mcse.ardoco.core.data.impl.TextData;
+
+class DataRepositoryForkTest {
+
+    @Test
+    void forkSharesSharedDataTest() {
+        var dataRepository = new DataRepository();
+        var sharedData = new SharedData(List.of("shared"));
+        var textData = new TextData("text");
+        textData.setTokens(new ArrayList<>(List.of("first")));
+        dataRepository.addData("Shared", sharedData);
+        dataRepository.addData("Text", textData);
+        dataRepository.addData("Referencing", new ReferencingData(sharedData, textData));
+
+        var fork = dataRepository.fork();
+
+        var forkedSharedData = fork.getData("Shared", SharedData.class).orElseThrow();
+        var forkedTextData = fork.getData("Text", TextData.class).orElseThrow();
+        var forkedReferencingData = fork.getData("Referencing", ReferencingData.class).orElseThrow();
+        Assertions.assertSame(sharedData, forkedSharedData);
+        Assertions.assertSame(sharedData, forkedReferencingData.sharedData());
+        Assertions.assertNotSame(textData, forkedTextData);
+        Assertions.assertSame(forkedTextData, forkedReferencingData.textData());
+        Assertions.assertNotSame(dataRepository.getGlobalConfiguration(), fork.getGlobalConfiguration());
+        Assertions.assertNotSame(dataRepository.getGlobalConfiguration().getRunContext(), fork.getGlobalConfiguration().getRunContext());
+
+        forkedTextData.getTokens().add("second");
+        fork.addData("Other", new TextData("other"));
+        Assertions.assertEquals(List.of("first"), textData.getTokens());
+        Assertions.assertTrue(dataRepository.getData("Other", TextData.class).isEmpty());
+    }
+
+    @Test
+    void forkSharesRegisteredTypesTest() {
+        var dataRepository = new DataRepository();
+        var registeredData = new RegisteredData(new ArrayList<>(List.of("registered")));
+        var textData = new TextData("text");
+        dataRepository.addData("Registered", registeredData);
+        dataRepository.addData("Referencing", new ReferencingRegisteredData(registeredData, textData));
+
+        var unregisteredFork = dataRepository.fork();
+        Assertions.assertNotSame(registeredData, unregisteredFork.getData("Registered", RegisteredData.class).orElseThrow());
+
+        dataRepository.shareOnFork(RegisteredData.class);
+        var fork = dataRepository.fork();
+        Assertions.assertSame(registeredData, fork.getData("Registered", RegisteredData.class).orElseThrow());
+        var forkedReferencingData = fork.getData("Referencing", ReferencingRegisteredData.class).orElseThrow();
+        Assertions.assertSame(registeredData, forkedReferencingData.registeredData());
+        Assertions.assertNotSame(textData, forkedReferencingData.textData());
+
+        // Forks of a fork share the registered types as well
+        Assertions.assertSame(registeredData, fork.fork().getData("Registered", RegisteredData.class).orElseThrow());
+    }
+
+    @Test
+    void forksAreIsolatedTest() {
+        var dataRepository = new DataRepository();
+        var textData = new TextData("text");
+        textData.setTokens(new ArrayList<>(List.of("first")));
+        dataRepository.addData("Text", textData);
+
+        var first = dataRepository.fork();
+        var second = dataRepository.fork();
+        first.getData("Text", TextData.class).orElseThrow().getTokens().add("second");
+        second.getData("Text", TextData.class).orElseThrow().setTokens(new ArrayList<>(List.of("third")));
+        dataRepository.getData("Text", TextData.class).orElseThrow().getTokens().add("fourth");
+
+        Assertions.assertEquals(List.of("first", "second"), first.getData("Text", TextData.class).orElseThrow().getTokens());
+        Assertions.assertEquals(List.of("third"), second.getData("Text", TextData.class).orElseThrow().getTokens());
+        Assertions.assertEquals(List.of("first", "fourth"), textData.getTokens());
+    }
+
+    @Test
+    void deepCopySharesNothingTest() {
+        var dataRepository = new DataRepository();
+        var sharedData = new SharedData(List.of("shared"));
+        dataRepository.addData("Shared", sharedData);
+
+        var copy = dataRepository.deepCopy();
+        Assertions.assertNotSame(sharedData, copy.getData("Shared", SharedData.class).orElseThrow());
+        Assertions.assertEquals(sharedData, copy.getData("Shared", SharedData.class).orElseThrow());
+    }
+
+    private record SharedData(List<String> values) implements PipelineStepData, SharedOnFork {
+    }
+
+    private record ReferencingData(SharedData sharedData, TextData textData) implements PipelineStepData {
+    }
+
+    private record RegisteredData(List<String> values) implements PipelineStepData {
+    }
+
+    private record ReferencingRegisteredData(RegisteredData registeredData, TextData textData) implements PipelineStepData {
+    }
+}
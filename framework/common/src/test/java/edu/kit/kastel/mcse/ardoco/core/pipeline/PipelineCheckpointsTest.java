@@ -0,0 +1,238 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.core.pipeline;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.DecimalFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import edu.kit.kastel.mcse.ardoco.core.configuration.Configurable;
+import edu.kit.kastel.mcse.ardoco.core.data.DataRepository;
+import edu.kit.kastel.mcse.ardoco.core.data.PipelineStepData;
+import edu.kit.kastel.mcse.ardoco.core.data.SharedOnFork;
+import edu.kit.kastel.mcse.ardoco.core.data.impl.TextData;
+
+class PipelineCheckpointsTest {
+
+    @TempDir
+    Path checkpointDirectory;
+
+    @Test
+    void resumeTest() {
+        List<String> runs = new ArrayList<>();
+        var first = createPipeline(runs, 1);
+        first.run();
+        Assertions.assertEquals(List.of("A", "B"), runs);
+
+        runs.clear();
+        var second = createPipeline(runs, 1);
+        second.run();
+        Assertions.assertEquals(List.of(), runs);
+        Assertions.assertEquals("B1", second.getDataRepository().getData("B", TextData.class).orElseThrow().getText());
+
+        runs.clear();
+        var third = createPipeline(runs, 2);
+        third.run();
+        Assertions.assertEquals(List.of("B"), runs);
+        Assertions.assertEquals("A1", third.getDataRepository().getData("A", TextData.class).orElseThrow().getText());
+        Assertions.assertEquals("B2", third.getDataRepository().getData("B", TextData.class).orElseThrow().getText());
+    }
+
+    @Test
+    void differentInputTest() {
+        List<String> runs = new ArrayList<>();
+        createPipeline(runs, 1).run();
+
+        runs.clear();
+        var pipeline = createPipeline(runs, 1);
+        pipeline.getDataRepository().addData("Input", new TextData("Other input"));
+        pipeline.run();
+        Assertions.assertEquals(List.of("A", "B"), runs);
+    }
+
+    @Test
+    void changedInputFileTest(@TempDir Path inputDirectory) throws IOException {
+        Path inputFile = Files.writeString(inputDirectory.resolve("model.repository"), "Model");
+        List<String> runs = new ArrayList<>();
+        createPipeline(runs, 1, inputFile).run();
+
+        runs.clear();
+        createPipeline(runs, 1, inputFile).run();
+        Assertions.assertEquals(List.of(), runs);
+
+        Files.writeString(inputFile, "Changed model");
+        createPipeline(runs, 1, inputFile).run();
+        Assertions.assertEquals(List.of("B"), runs);
+    }
+
+    @Test
+    void pruneTest() throws IOException {
+        List<String> runs = new ArrayList<>();
+        for (int value = 1; value <= 5; value++) {
+            createPipeline(runs, value).run();
+        }
+        Assertions.assertEquals(List.of("A", "B", "B", "B", "B", "B"), runs);
+        Assertions.assertEquals(1, countCheckpoints("00-A-"));
+        Assertions.assertEquals(3, countCheckpoints("01-B-"));
+    }
+
+    @Test
+    void rejectedCheckpointTest() throws IOException {
+        List<String> runs = new ArrayList<>();
+        createPipeline(runs, 1).run();
+
+        // Replace the repositories of the checkpoints by repositories that contain a type that checkpoints must not contain
+        DataRepository forged = new DataRepository();
+        forged.addData("Forged", new FormatData(new DecimalFormat()));
+        for (Path file : listFiles(".checkpoint")) {
+            byte[] header = Arrays.copyOf(Files.readAllBytes(file), 65);
+            try (var fileOut = new BufferedOutputStream(Files.newOutputStream(file))) {
+                fileOut.write(header);
+                try (var out = new ObjectOutputStream(new GZIPOutputStream(fileOut))) {
+                    out.writeObject(forged);
+                }
+            }
+        }
+
+        runs.clear();
+        var pipeline = createPipeline(runs, 1);
+        pipeline.run();
+        Assertions.assertEquals(List.of("A", "B"), runs);
+        Assertions.assertFalse(pipeline.getDataRepository().getData("Forged", FormatData.class).isPresent());
+
+        // The shared data is checked as well
+        for (Path file : listFiles(".shared")) {
+            try (var out = new ObjectOutputStream(new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(file))))) {
+                out.writeObject(new ArrayList<>(List.of(new FormatData(new DecimalFormat()))));
+            }
+        }
+
+        runs.clear();
+        createPipeline(runs, 1).run();
+        Assertions.assertEquals(List.of("A", "B"), runs);
+    }
+
+    @Test
+    void sharedDataTest() throws IOException {
+        List<String> runs = new ArrayList<>();
+        createPipeline(runs, 1).run();
+        // A and B add shared data, so each checkpoint has its own shared data
+        Assertions.assertEquals(2, listFiles(".shared").size());
+
+        runs.clear();
+        var pipeline = createPipeline(runs, 1);
+        pipeline.run();
+        Assertions.assertEquals(List.of(), runs);
+        var sharedData = pipeline.getDataRepository().getData("A-shared", SharedData.class).orElseThrow();
+        Assertions.assertEquals("A", sharedData.text());
+        // A reference to shared data is restored to the very same object
+        Assertions.assertSame(sharedData, pipeline.getDataRepository().getData("A-reference", ReferenceData.class).orElseThrow().sharedData());
+
+        // Later checkpoints of B have the same shared data as the earlier ones, so it is only written once
+        for (int value = 2; value <= 5; value++) {
+            createPipeline(runs, value).run();
+        }
+        Assertions.assertEquals(3, countCheckpoints("01-B-"));
+        Assertions.assertEquals(2, listFiles(".shared").size());
+    }
+
+    private List<Path> listFiles(String extension) throws IOException {
+        try (Stream<Path> files = Files.list(checkpointDirectory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(extension)).toList();
+        }
+    }
+
+    private long countCheckpoints(String prefix) throws IOException {
+        try (Stream<Path> files = Files.list(checkpointDirectory)) {
+            return files.filter(file -> file.getFileName().toString().startsWith(prefix)).count();
+        }
+    }
+
+    private Pipeline createPipeline(List<String> runs, int valueOfB) {
+        return createPipeline(runs, valueOfB, null);
+    }
+
+    private Pipeline createPipeline(List<String> runs, int valueOfB, Path inputFileOfB) {
+        DataRepository dataRepository = new DataRepository();
+        dataRepository.addData("Input", new TextData("Input"));
+        Pipeline pipeline = new Pipeline("Pipeline", dataRepository);
+        pipeline.setCheckpointDirectory(checkpointDirectory);
+        pipeline.addPipelineStep(new CountingStep("A", dataRepository, runs, null));
+        var stepB = new CountingStep("B", dataRepository, runs, inputFileOfB);
+        SortedMap<String, String> configuration = new TreeMap<>();
+        configuration.put("CountingStep::value", String.valueOf(valueOfB));
+        stepB.applyConfiguration(configuration);
+        pipeline.addPipelineStep(stepB);
+        return pipeline;
+    }
+
+    private static final class CountingStep extends AbstractPipelineStep {
+        private final transient List<String> runs;
+        // Steps are not serialized for the checkpoints, so they may have members that are not serializable
+        private final Object monitor = new Object();
+
+        private final Path inputFile;
+
+        @Configurable
+        private int value = 1;
+
+        CountingStep(String id, DataRepository dataRepository, List<String> runs, Path inputFile) {
+            super(id, dataRepository);
+            this.runs = runs;
+            this.inputFile = inputFile;
+        }
+
+        @Override
+        protected List<Path> getOwnInputFiles() {
+            return inputFile == null ? List.of() : List.of(inputFile);
+        }
+
+        @Override
+        protected void process() {
+            synchronized (monitor) {
+                runs.add(getId());
+            }
+            getDataRepository().addData(getId(), new TextData(getId() + value));
+            var sharedData = new SharedData(getId());
+            getDataRepository().addData(getId() + "-shared", sharedData);
+            getDataRepository().addData(getId() + "-reference", new ReferenceData(sharedData));
+        }
+
+        @Override
+        protected void before() {
+            // NOP
+        }
+
+        @Override
+        protected void after() {
+            // NOP
+        }
+
+        @Override
+        protected void delegateApplyConfigurationToInternalObjects(SortedMap<String, String> additionalConfiguration) {
+            // NOP
+        }
+    }
+
+    private record FormatData(DecimalFormat format) implements PipelineStepData {
+    }
+
+    private record SharedData(String text) implements PipelineStepData, SharedOnFork {
+    }
+
+    private record ReferenceData(SharedData sharedData) implements PipelineStepData {
+    }
+}
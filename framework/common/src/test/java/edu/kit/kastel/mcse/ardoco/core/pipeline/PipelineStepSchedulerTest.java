@@ -0,0 +1,155 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.core.pipeline;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import edu.kit.kastel.mcse.ardoco.core.data.DataRepository;
+
+class PipelineStepSchedulerTest {
+
+    @Test
+    void conflictTest() {
+        DataRepository dataRepository = new DataRepository();
+        var text = new RecordingStep("Text", dataRepository, List.of(), List.of("Text"));
+        var model = new RecordingStep("Model", dataRepository, List.of(), List.of("Model"));
+        var extraction = new RecordingStep("Extraction", dataRepository, List.of("Text", "Model"), List.of("Extraction"));
+        var undeclared = new RecordingStep("Undeclared", dataRepository, null, null);
+        var overwrite = new RecordingStep("Overwrite", dataRepository, List.of(), List.of("Model"));
+
+        Assertions.assertFalse(PipelineStepScheduler.conflict(text, model));
+        Assertions.assertTrue(PipelineStepScheduler.conflict(text, extraction));
+        Assertions.assertTrue(PipelineStepScheduler.conflict(extraction, model));
+        Assertions.assertTrue(PipelineStepScheduler.conflict(text, undeclared));
+        Assertions.assertTrue(PipelineStepScheduler.conflict(undeclared, overwrite));
+        Assertions.assertTrue(PipelineStepScheduler.conflict(model, overwrite));
+        Assertions.assertFalse(PipelineStepScheduler.conflict(text, overwrite));
+    }
+
+    @Test
+    void sequentialByDefaultTest() {
+        DataRepository dataRepository = new DataRepository();
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        Pipeline pipeline = new Pipeline("Pipeline", dataRepository);
+        for (String id : List.of("A", "B", "C")) {
+            pipeline.addPipelineStep(new RecordingStep(id, dataRepository, List.of(), List.of(id), order));
+        }
+        pipeline.run();
+        Assertions.assertEquals(List.of("A", "B", "C"), order);
+    }
+
+    @Test
+    void concurrentTest() throws InterruptedException {
+        DataRepository dataRepository = new DataRepository();
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        Pipeline pipeline = new Pipeline("Pipeline", dataRepository);
+        pipeline.addPipelineStep(new AwaitingStep("A", dataRepository, List.of("A"), order, bothStarted));
+        pipeline.addPipelineStep(new AwaitingStep("B", dataRepository, List.of("B"), order, bothStarted));
+        pipeline.addPipelineStep(new RecordingStep("C", dataRepository, List.of("A", "B"), List.of("C"), order));
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            pipeline.setExecutor(executor);
+            pipeline.run();
+        } finally {
+            executor.shutdown();
+            Assertions.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+        Assertions.assertEquals(3, order.size());
+        Assertions.assertEquals("C", order.get(2));
+    }
+
+    @Test
+    void failureTest() {
+        DataRepository dataRepository = new DataRepository();
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        Pipeline pipeline = new Pipeline("Pipeline", dataRepository);
+        pipeline.addPipelineStep(new RecordingStep("A", dataRepository, List.of(), List.of("A"), order) {
+            @Override
+            protected void process() {
+                throw new IllegalArgumentException("A failed");
+            }
+        });
+        pipeline.addPipelineStep(new RecordingStep("B", dataRepository, List.of("A"), List.of("B"), order));
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            pipeline.setExecutor(executor);
+            var exception = Assertions.assertThrows(IllegalArgumentException.class, pipeline::run);
+            Assertions.assertEquals("A failed", exception.getMessage());
+        } finally {
+            executor.shutdown();
+        }
+        Assertions.assertEquals(List.of(), order);
+    }
+
+    private static class RecordingStep extends AbstractPipelineStep {
+        private final transient List<String> order;
+
+        RecordingStep(String id, DataRepository dataRepository, List<String> readDataIds, List<String> writtenDataIds) {
+            this(id, dataRepository, readDataIds, writtenDataIds, new ArrayList<>());
+        }
+
+        RecordingStep(String id, DataRepository dataRepository, List<String> readDataIds, List<String> writtenDataIds, List<String> order) {
+            super(id, dataRepository);
+            this.order = order;
+            if (readDataIds != null) {
+                declareDataDependencies(readDataIds, writtenDataIds);
+            }
+        }
+
+        @Override
+        protected void process() {
+            order.add(getId());
+        }
+
+        @Override
+        protected void before() {
+            // NOP
+        }
+
+        @Override
+        protected void after() {
+            // NOP
+        }
+
+        @Override
+        protected void delegateApplyConfigurationToInternalObjects(SortedMap<String, String> additionalConfiguration) {
+            // NOP
+        }
+    }
+
+    /**
+     * Waits until the other independent step started, which only succeeds if both run concurrently.
+     */
+    private static final class AwaitingStep extends RecordingStep {
+        private final transient CountDownLatch bothStarted;
+
+        AwaitingStep(String id, DataRepository dataRepository, List<String> writtenDataIds, List<String> order, CountDownLatch bothStarted) {
+            super(id, dataRepository, List.of(), writtenDataIds, order);
+            this.bothStarted = bothStarted;
+        }
+
+        @Override
+        protected void process() {
+            bothStarted.countDown();
+            try {
+                Assertions.assertTrue(bothStarted.await(10, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                Assertions.fail(e);
+            }
+            super.process();
+        }
+    }
+}
@@ -31,6 +31,12 @@ public final class JsonConverter {
 
     private static final String SCHEMA_PATH = "schemas/text.json";
 
+    /**
+     * the version of the json format of a text DTO. Has to be increased whenever the DTOs or the text schema change, as stored texts of an older format cannot
+     * be read anymore
+     */
+    public static final int FORMAT_VERSION = 1;
+
     private JsonConverter() {
 
     }
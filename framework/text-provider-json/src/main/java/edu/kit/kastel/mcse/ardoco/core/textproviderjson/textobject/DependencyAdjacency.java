@@ -0,0 +1,127 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.core.textproviderjson.textobject;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntFunction;
+
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.api.list.MutableList;
+
+import edu.kit.kastel.mcse.ardoco.core.api.text.DependencyTag;
+import edu.kit.kastel.mcse.ardoco.core.api.text.Word;
+
+/**
+ * The dependencies of a word in one direction, i.e., either its incoming or its outgoing dependencies. The positions of the related words are grouped by
+ * {@link DependencyTag}, so that the words of a single dependency tag can be retrieved without looking at the other dependencies. The positions keep the
+ * order in which the dependencies were added.
+ */
+public final class DependencyAdjacency implements Serializable {
+
+    private static final int[] NO_POSITIONS = new int[0];
+    private static final DependencyAdjacency EMPTY = new Builder().build();
+
+    private final int[][] positionsByTag;
+
+    private DependencyAdjacency(int[][] positionsByTag) {
+        this.positionsByTag = positionsByTag;
+    }
+
+    /**
+     * Returns an adjacency without any dependencies.
+     *
+     * @return an empty adjacency
+     */
+    public static DependencyAdjacency empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Creates an adjacency from the specified dependencies. The positions of the adjacency are the word ids of the dependencies.
+     *
+     * @param dependencies the dependencies, may be null
+     * @return the adjacency of the dependencies
+     */
+    public static DependencyAdjacency of(List<DependencyImpl> dependencies) {
+        if (dependencies == null || dependencies.isEmpty()) {
+            return EMPTY;
+        }
+        Builder builder = new Builder();
+        for (DependencyImpl dependency : dependencies) {
+            builder.add(dependency.getDependencyTag(), (int) dependency.getWordId());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Returns the number of dependencies with the specified tag.
+     *
+     * @param dependencyTag the dependency tag
+     * @return the number of dependencies with the tag
+     */
+    public int size(DependencyTag dependencyTag) {
+        return positionsByTag[dependencyTag.ordinal()].length;
+    }
+
+    /**
+     * Returns the words of all dependencies with the specified tag. The positions are resolved to words with the specified function.
+     *
+     * @param dependencyTag  the dependency tag
+     * @param wordAtPosition the function that returns the word at a position
+     * @return the words of the dependencies with the tag in the order in which the dependencies were added
+     */
+    public ImmutableList<Word> getWords(DependencyTag dependencyTag, IntFunction<Word> wordAtPosition) {
+        int[] positions = positionsByTag[dependencyTag.ordinal()];
+        if (positions.length == 0) {
+            return Lists.immutable.empty();
+        }
+        MutableList<Word> words = Lists.mutable.withInitialCapacity(positions.length);
+        for (int position : positions) {
+            words.add(wordAtPosition.apply(position));
+        }
+        return words.toImmutable();
+    }
+
+    /**
+     * A builder for {@link DependencyAdjacency adjacencies}.
+     */
+    public static final class Builder {
+        private final int[][] positionsByTag = new int[DependencyTag.values().length][];
+        private final int[] sizes = new int[DependencyTag.values().length];
+
+        /**
+         * Adds a dependency with the specified tag to the word at the specified position.
+         *
+         * @param dependencyTag the dependency tag
+         * @param position      the position of the related word
+         * @return this builder
+         */
+        public Builder add(DependencyTag dependencyTag, int position) {
+            int tag = dependencyTag.ordinal();
+            int[] positions = positionsByTag[tag];
+            if (positions == null) {
+                positions = new int[2];
+            } else if (sizes[tag] == positions.length) {
+                positions = Arrays.copyOf(positions, positions.length * 2);
+            }
+            positions[sizes[tag]++] = position;
+            positionsByTag[tag] = positions;
+            return this;
+        }
+
+        /**
+         * Creates the adjacency with all added dependencies.
+         *
+         * @return the adjacency
+         */
+        public DependencyAdjacency build() {
+            int[][] compactPositionsByTag = new int[positionsByTag.length][];
+            for (int tag = 0; tag < positionsByTag.length; tag++) {
+                compactPositionsByTag[tag] = sizes[tag] == 0 ? NO_POSITIONS : Arrays.copyOf(positionsByTag[tag], sizes[tag]);
+            }
+            return new DependencyAdjacency(compactPositionsByTag);
+        }
+    }
+}
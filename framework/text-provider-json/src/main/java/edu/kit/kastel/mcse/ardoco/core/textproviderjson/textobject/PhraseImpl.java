@@ -15,6 +15,7 @@
 
 import edu.kit.kastel.mcse.ardoco.core.api.text.Phrase;
 import edu.kit.kastel.mcse.ardoco.core.api.text.PhraseType;
+import edu.kit.kastel.mcse.ardoco.core.api.text.PhraseVector;
 import edu.kit.kastel.mcse.ardoco.core.api.text.Word;
 import edu.kit.kastel.mcse.ardoco.core.architecture.Deterministic;
 
@@ -28,7 +29,8 @@ public class PhraseImpl implements Phrase {
     private MutableList<Word> phraseWords;
     private MutableList<Word> containedWords;
     private MutableList<Phrase> subPhrases;
-    private MutableSortedMap<Word, Integer> phraseVector;
+    private ImmutableSortedMap<Word, Integer> phraseVector;
+    private transient PhraseVector sparsePhraseVector;
     private int sentenceNo = -1;
     private String text;
 
@@ -128,11 +130,20 @@ public boolean isSubPhraseOf(Phrase other) {
     @Override
     public synchronized ImmutableSortedMap<Word, Integer> getPhraseVector() {
         if (phraseVector == null) {
-            phraseVector = SortedMaps.mutable.empty();
+            MutableSortedMap<Word, Integer> vector = SortedMaps.mutable.empty();
             var grouped = getContainedWords().groupBy(Word::getText).toMap();
-            grouped.forEach((key, value) -> phraseVector.put(value.getAny(), value.size()));
+            grouped.forEach((key, value) -> vector.put(value.getAny(), value.size()));
+            phraseVector = vector.toImmutable();
         }
-        return phraseVector.toImmutable();
+        return phraseVector;
+    }
+
+    @Override
+    public synchronized PhraseVector getSparsePhraseVector() {
+        if (sparsePhraseVector == null || !sparsePhraseVector.isOfCurrentRun()) {
+            sparsePhraseVector = PhraseVector.of(getContainedWords());
+        }
+        return sparsePhraseVector;
     }
 
     @Override
@@ -1,10 +1,9 @@
-/* Licensed under MIT 2022-2023. */
+/* Licensed under MIT 2022-2024. */
 package edu.kit.kastel.mcse.ardoco.core.textproviderjson.textobject;
 
 import java.util.List;
 import java.util.Objects;
 
-import org.eclipse.collections.api.factory.Lists;
 import org.eclipse.collections.api.list.ImmutableList;
 
 import edu.kit.kastel.mcse.ardoco.core.api.text.DependencyTag;
@@ -29,6 +28,8 @@ public class WordImpl implements Word {
 
     private final List<DependencyImpl> ingoingDependencies;
     private final List<DependencyImpl> outgoingDependencies;
+    private final DependencyAdjacency incomingAdjacency;
+    private final DependencyAdjacency outgoingAdjacency;
 
     public WordImpl(Text parent, int index, int sentenceNo, String text, POSTag posTag, String lemma, List<DependencyImpl> inDep, List<DependencyImpl> outDep) {
         this.parent = parent;
@@ -42,6 +43,8 @@ public WordImpl(Text parent, int index, int sentenceNo, String text, POSTag posT
         this.lemma = lemma;
         this.outgoingDependencies = outDep;
         this.ingoingDependencies = inDep;
+        this.outgoingAdjacency = DependencyAdjacency.of(outDep);
+        this.incomingAdjacency = DependencyAdjacency.of(inDep);
     }
 
     @Override
@@ -94,16 +97,12 @@ public String getLemma() {
 
     @Override
     public ImmutableList<Word> getOutgoingDependencyWordsWithType(DependencyTag dependencyTag) {
-        List<DependencyImpl> dependenciesOfType = this.outgoingDependencies.stream().filter(x -> x.getDependencyTag() == dependencyTag).toList();
-        List<Word> words = dependenciesOfType.stream().map(x -> this.parent.getWord((int) x.getWordId())).toList();
-        return Lists.immutable.ofAll(words);
+        return this.outgoingAdjacency.getWords(dependencyTag, this.parent::getWord);
     }
 
     @Override
     public ImmutableList<Word> getIncomingDependencyWordsWithType(DependencyTag dependencyTag) {
-        List<DependencyImpl> dependenciesOfType = this.ingoingDependencies.stream().filter(x -> x.getDependencyTag() == dependencyTag).toList();
-        List<Word> words = dependenciesOfType.stream().map(x -> this.parent.getWord((int) x.getWordId())).toList();
-        return Lists.immutable.ofAll(words);
+        return this.incomingAdjacency.getWords(dependencyTag, this.parent::getWord);
     }
 
     @Override
@@ -0,0 +1,33 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.core.textproviderjson;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import edu.kit.kastel.mcse.ardoco.core.api.text.DependencyTag;
+import edu.kit.kastel.mcse.ardoco.core.api.text.Text;
+import edu.kit.kastel.mcse.ardoco.core.textproviderjson.textobject.DependencyAdjacency;
+import edu.kit.kastel.mcse.ardoco.core.textproviderjson.textobject.DependencyImpl;
+
+class DependencyAdjacencyTest {
+
+    @Test
+    void getWordsKeepsOrderPerTagTest() {
+        Text text = TestUtil.generateTextWithMultipleSentences();
+        var adjacency = DependencyAdjacency.of(List.of(new DependencyImpl(DependencyTag.NSUBJ, 2), new DependencyImpl(DependencyTag.OBJ, 1),
+                new DependencyImpl(DependencyTag.NSUBJ, 0)));
+
+        Assertions.assertEquals(List.of(text.getWord(2), text.getWord(0)), adjacency.getWords(DependencyTag.NSUBJ, text::getWord).castToList());
+        Assertions.assertEquals(List.of(text.getWord(1)), adjacency.getWords(DependencyTag.OBJ, text::getWord).castToList());
+        Assertions.assertTrue(adjacency.getWords(DependencyTag.COMPOUND, text::getWord).isEmpty());
+        Assertions.assertEquals(2, adjacency.size(DependencyTag.NSUBJ));
+    }
+
+    @Test
+    void emptyAdjacencyTest() {
+        Assertions.assertSame(DependencyAdjacency.empty(), DependencyAdjacency.of(null));
+        Assertions.assertEquals(0, DependencyAdjacency.empty().size(DependencyTag.NSUBJ));
+    }
+}
@@ -0,0 +1,87 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.core.execution.runner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import edu.kit.kastel.mcse.ardoco.core.api.output.ArDoCoResult;
+
+/**
+ * Runs multiple {@link ArDoCoRunner runners}, e.g., for different projects, concurrently in the same JVM. At most the given number of runners are set up and
+ * run at the same time.
+ * <p>
+ * Each runner has its own {@link edu.kit.kastel.mcse.ardoco.core.common.RunContext RunContext} (via the global configuration of its data repository), so the
+ * identifiers and transient abbreviations of the runs do not interfere. Read-only resources, such as the CoreNLP pipelines, the in-memory SEWordSim table and
+ * the word vector stores, are loaded once and shared by all runs.
+ */
+public class ArDoCoBatchRunner {
+    private static final Logger logger = LoggerFactory.getLogger(ArDoCoBatchRunner.class);
+
+    private final int maxConcurrentRuns;
+    private final List<Supplier<? extends ArDoCoRunner>> runnerSetups = new ArrayList<>();
+
+    /**
+     * Creates a new batch runner.
+     *
+     * @param maxConcurrentRuns the maximum number of runners that run at the same time
+     * @throws IllegalArgumentException if the maximum number of concurrent runs is not positive
+     */
+    public ArDoCoBatchRunner(int maxConcurrentRuns) {
+        if (maxConcurrentRuns < 1) {
+            throw new IllegalArgumentException("maxConcurrentRuns must be positive");
+        }
+        this.maxConcurrentRuns = maxConcurrentRuns;
+    }
+
+    /**
+     * Adds a runner to the batch. The setup is called when the runner is about to run, on the thread that runs it. It should create and set up the runner,
+     * e.g., {@code () -> { var runner = new ArDoCoForLiSSA(name); runner.setUp(...); return runner; }}.
+     *
+     * @param runnerSetup creates the set up runner
+     */
+    public void addRunner(Supplier<? extends ArDoCoRunner> runnerSetup) {
+        this.runnerSetups.add(runnerSetup);
+    }
+
+    /**
+     * Sets up and runs all runners of the batch and waits for them to finish. A failing runner does not affect the others, its failure is logged.
+     *
+     * @return the results in the order the runners were added, null for runners that failed or were not set up properly
+     */
+    public List<ArDoCoResult> run() {
+        List<ArDoCoResult> results = new ArrayList<>();
+        if (runnerSetups.isEmpty()) {
+            return results;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(maxConcurrentRuns, runnerSetups.size()));
+        try {
+            List<Future<ArDoCoResult>> futures = new ArrayList<>();
+            for (var runnerSetup : runnerSetups) {
+                futures.add(executor.submit(() -> runnerSetup.get().run()));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    results.add(futures.get(i).get());
+                } catch (ExecutionException e) {
+                    logger.error("Runner {} of the batch failed", i, e.getCause());
+                    results.add(null);
+                }
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while running the batch", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -6,6 +6,8 @@
 import java.io.ObjectOutputStream;
 import java.io.Serial;
 import java.io.Serializable;
+import java.nio.file.Path;
+import java.util.concurrent.Executor;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -61,6 +63,27 @@ protected void setOutputDirectory(File outputDirectory) {
         this.outputDirectory = outputDirectory;
     }
 
+    /**
+     * Sets the executor that runs stages concurrently if they declared their data dependencies and do not depend on each other, see
+     * {@link edu.kit.kastel.mcse.ardoco.core.pipeline.Pipeline#setExecutor(Executor)}. By default, the stages run one after another. The caller owns the
+     * executor and shuts it down.
+     *
+     * @param executor the executor or null to run the stages sequentially
+     */
+    public void setExecutor(Executor executor) {
+        this.getArDoCo().setExecutor(executor);
+    }
+
+    /**
+     * Sets the directory for checkpoints of the data repository, so a later run with the same input and the same first stages resumes after the latest
+     * matching stage, see {@link edu.kit.kastel.mcse.ardoco.core.pipeline.Pipeline#setCheckpointDirectory(Path)}.
+     *
+     * @param checkpointDirectory the checkpoint directory or null to disable checkpoints
+     */
+    public void setCheckpointDirectory(Path checkpointDirectory) {
+        this.getArDoCo().setCheckpointDirectory(checkpointDirectory);
+    }
+
     @Serial
     private void writeObject(ObjectOutputStream out) throws IOException {
         if (!getArDoCo().wasExecuted())
@@ -0,0 +1,32 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.core.execution.runner;
+
+import java.util.List;
+import java.util.SortedMap;
+
+import edu.kit.kastel.mcse.ardoco.core.api.inconsistency.Inconsistency;
+import edu.kit.kastel.mcse.ardoco.core.api.output.ArDoCoResult;
+
+/**
+ * A row of the results of a {@link ConfigurationSweepRunner}: the result of the run with a configuration. The trace links are read from the
+ * {@link ArDoCoResult}, since only the output and pipeline packages may depend on the trace link types.
+ *
+ * @param configuration the additional configuration of the run
+ * @param result        the result of the run, null if the run failed
+ */
+public record ConfigurationSweepResult(SortedMap<String, String> configuration, ArDoCoResult result) {
+
+    /**
+     * {@return whether the run with the configuration succeeded}
+     */
+    public boolean isSuccessful() {
+        return result != null;
+    }
+
+    /**
+     * {@return the inconsistencies, empty if the run failed}
+     */
+    public List<Inconsistency> getInconsistencies() {
+        return result == null ? List.of() : result.getAllInconsistencies().castToList();
+    }
+}
@@ -0,0 +1,243 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.core.execution.runner;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import edu.kit.kastel.mcse.ardoco.core.api.output.ArDoCoResult;
+import edu.kit.kastel.mcse.ardoco.core.data.DataRepository;
+import edu.kit.kastel.mcse.ardoco.core.execution.ArDoCo;
+import edu.kit.kastel.mcse.ardoco.core.pipeline.AbstractPipelineStep;
+
+/**
+ * Runs a pipeline with multiple additional configurations, e.g., to explore thresholds. Each stage, i.e., each step of the {@link ArDoCoRunner#getArDoCo()
+ * ArDoCo pipeline}, only runs once per distinct configuration of itself and all previous stages. Afterward, the data repository is
+ * {@link DataRepository#fork() forked} for the different configurations of the later stages, which run concurrently.
+ * <p>
+ * Which stage a configuration key affects is determined by the {@link edu.kit.kastel.mcse.ardoco.core.configuration.Configurable configurable} fields of the
+ * stage and its internal objects, see {@link edu.kit.kastel.mcse.ardoco.core.configuration.AbstractConfigurable#getConfigurationKeys()}. All runners must
+ * process the same input with the same stages, as only the configurations are compared.
+ */
+public class ConfigurationSweepRunner {
+    private static final Logger logger = LoggerFactory.getLogger(ConfigurationSweepRunner.class);
+
+    private final Function<SortedMap<String, String>, ? extends ArDoCoRunner> runnerSetup;
+    private final int maxConcurrentRuns;
+    private final List<SortedMap<String, String>> configurations = new ArrayList<>();
+
+    /**
+     * Creates a new sweep runner.
+     *
+     * @param runnerSetup       creates and sets up a runner with the given additional configuration, e.g., {@code configuration -> { var runner = new
+     *                          ArDoCoForSadSamTraceabilityLinkRecovery(name); runner.setUp(..., configuration, ...); return runner; }}
+     * @param maxConcurrentRuns the maximum number of stages that run at the same time
+     * @throws IllegalArgumentException if the maximum number of concurrent runs is not positive
+     */
+    public ConfigurationSweepRunner(Function<SortedMap<String, String>, ? extends ArDoCoRunner> runnerSetup, int maxConcurrentRuns) {
+        if (maxConcurrentRuns < 1) {
+            throw new IllegalArgumentException("maxConcurrentRuns must be positive");
+        }
+        this.runnerSetup = runnerSetup;
+        this.maxConcurrentRuns = maxConcurrentRuns;
+    }
+
+    /**
+     * Adds a configuration to the sweep.
+     *
+     * @param configuration the additional configuration
+     */
+    public void addConfiguration(SortedMap<String, String> configuration) {
+        this.configurations.add(Collections.unmodifiableSortedMap(new TreeMap<>(configuration)));
+    }
+
+    /**
+     * Adds all combinations of the given values to the sweep. The values of the last key change fastest.
+     *
+     * @param grid the values by their configuration keys
+     */
+    public void addGrid(SortedMap<String, List<String>> grid) {
+        List<SortedMap<String, String>> combinations = new ArrayList<>();
+        combinations.add(new TreeMap<>());
+        for (var key : grid.sequencedKeySet()) {
+            List<SortedMap<String, String>> extendedCombinations = new ArrayList<>();
+            for (var combination : combinations) {
+                for (var value : grid.get(key)) {
+                    var extendedCombination = new TreeMap<>(combination);
+                    extendedCombination.put(key, value);
+                    extendedCombinations.add(extendedCombination);
+                }
+            }
+            combinations = extendedCombinations;
+        }
+        combinations.forEach(this::addConfiguration);
+    }
+
+    /**
+     * Runs the sweep and waits for it to finish. A failing stage does not affect the configurations that do not share it, its failure is logged.
+     *
+     * @return the results in the order the configurations were added, without a result for configurations that failed or were not set up properly
+     * @throws IllegalStateException if the runners do not have the same number of stages
+     */
+    public List<ConfigurationSweepResult> run() {
+        List<ArDoCoRunner> runners = new ArrayList<>();
+        List<Integer> runnable = new ArrayList<>();
+        for (int i = 0; i < configurations.size(); i++) {
+            ArDoCoRunner runner = null;
+            try {
+                runner = runnerSetup.apply(configurations.get(i));
+            } catch (RuntimeException e) {
+                logger.error("Could not set up the runner for configuration {}", configurations.get(i), e);
+            }
+            runners.add(runner);
+            if (runner != null && runner.isSetUp()) {
+                runnable.add(i);
+            } else {
+                logger.error("Runner for configuration {} is not properly set up", configurations.get(i));
+            }
+        }
+        ArDoCoResult[] results = new ArDoCoResult[configurations.size()];
+
+        if (!runnable.isEmpty()) {
+            var sweep = new Sweep(runners, runnable, results);
+            var roots = sweep.createNodes(runnable, 0);
+            ExecutorService executor = Executors.newFixedThreadPool(maxConcurrentRuns);
+            try {
+                CompletableFuture.allOf(roots.stream().map(root -> sweep.schedule(root, null, executor)).toArray(CompletableFuture[]::new)).join();
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        List<ConfigurationSweepResult> table = new ArrayList<>();
+        for (int i = 0; i < configurations.size(); i++) {
+            table.add(new ConfigurationSweepResult(configurations.get(i), results[i]));
+        }
+        return table;
+    }
+
+    /**
+     * The configurations that share a prefix of stages. The stage at the depth of the node runs once for all of its configurations, using the pipeline of the
+     * first configuration.
+     */
+    private record Node(int stage, List<Integer> configurationIndices, List<Node> children) {
+    }
+
+    /**
+     * The configurations that share the configuration of a stage.
+     */
+    private record Group(SortedMap<String, String> stageConfiguration, List<Integer> configurationIndices) {
+    }
+
+    private final class Sweep {
+        private final List<ArDoCo> pipelines = new ArrayList<>();
+        private final List<List<NavigableSet<String>>> configurationKeys = new ArrayList<>();
+        private final ArDoCoResult[] results;
+
+        private Sweep(List<ArDoCoRunner> runners, List<Integer> runnable, ArDoCoResult[] results) {
+            for (var runner : runners) {
+                var pipeline = runner == null || !runner.isSetUp() ? null : runner.getArDoCo();
+                pipelines.add(pipeline);
+                configurationKeys.add(pipeline == null ? null : pipeline.getPipelineSteps().stream().map(AbstractPipelineStep::getConfigurationKeys).toList());
+            }
+            this.results = results;
+            if (runnable.stream().map(index -> configurationKeys.get(index).size()).distinct().count() > 1) {
+                throw new IllegalStateException("The runners of a sweep must have the same stages");
+            }
+            logUnusedKeys(runnable);
+        }
+
+        private void logUnusedKeys(List<Integer> runnable) {
+            NavigableSet<String> unusedKeys = new TreeSet<>();
+            for (int index : runnable) {
+                for (var key : configurations.get(index).sequencedKeySet()) {
+                    if (configurationKeys.get(index).stream().noneMatch(keys -> keys.contains(key))) {
+                        unusedKeys.add(key);
+                    }
+                }
+            }
+            if (!unusedKeys.isEmpty()) {
+                logger.warn("The configuration keys {} do not affect any stage", unusedKeys);
+            }
+        }
+
+        /**
+         * Groups the given configurations by the configuration of the given stage. The groups are in the order of their first configuration.
+         */
+        private List<Node> createNodes(List<Integer> configurationIndices, int stage) {
+            List<Group> groups = new ArrayList<>();
+            for (int index : configurationIndices) {
+                if (stage == configurationKeys.get(index).size()) {
+                    return List.of();
+                }
+                SortedMap<String, String> stageConfiguration = new TreeMap<>();
+                for (var key : configurationKeys.get(index).get(stage)) {
+                    stageConfiguration.put(key, configurations.get(index).get(key));
+                }
+                var group = groups.stream().filter(candidate -> candidate.stageConfiguration().equals(stageConfiguration)).findFirst().orElseGet(() -> {
+                    var newGroup = new Group(stageConfiguration, new ArrayList<>());
+                    groups.add(newGroup);
+                    return newGroup;
+                });
+                group.configurationIndices().add(index);
+            }
+            return groups.stream().map(group -> new Node(stage, group.configurationIndices(), createNodes(group.configurationIndices(), stage + 1))).toList();
+        }
+
+        private CompletableFuture<Void> schedule(Node node, DataRepository input, ExecutorService executor) {
+            return CompletableFuture.supplyAsync(() -> runStage(node, input), executor).thenCompose(output -> {
+                if (output == null) {
+                    return CompletableFuture.completedFuture(null);
+                }
+                if (node.children().isEmpty()) {
+                    node.configurationIndices().forEach(index -> results[index] = new ArDoCoResult(output));
+                    return CompletableFuture.completedFuture(null);
+                }
+                // Fork before any of the children runs, as the first child continues on the repository of this node
+                List<DataRepository> childInputs;
+                try {
+                    childInputs = node.children().size() == 1 ? List.of(output) : node.children().stream().map(child -> output.fork()).toList();
+                } catch (RuntimeException e) {
+                    logger.error("Could not fork the data repository after stage {}", node.stage(), e);
+                    return CompletableFuture.completedFuture(null);
+                }
+                List<CompletableFuture<Void>> children = new ArrayList<>();
+                for (int i = 0; i < node.children().size(); i++) {
+                    children.add(schedule(node.children().get(i), childInputs.get(i), executor));
+                }
+                return CompletableFuture.allOf(children.toArray(CompletableFuture[]::new));
+            });
+        }
+
+        /**
+         * Runs the stage of the node on the pipeline of its first configuration.
+         *
+         * @return the data repository after the stage, null if the stage failed
+         */
+        private DataRepository runStage(Node node, DataRepository input) {
+            var pipeline = pipelines.get(node.configurationIndices().getFirst());
+            var dataRepository = pipeline.getDataRepository();
+            try {
+                if (input != null && input != dataRepository) {
+                    dataRepository.restore(input);
+                }
+                pipeline.runPipelineSteps(node.stage(), node.stage() + 1);
+                return dataRepository;
+            } catch (RuntimeException e) {
+                logger.error("Stage {} failed for the configurations {}", node.stage(), node.configurationIndices().stream().map(configurations::get).toList(), e);
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.core.execution.runner;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedMap;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import edu.kit.kastel.mcse.ardoco.core.api.models.ModelStates;
+import edu.kit.kastel.mcse.ardoco.core.common.IdentifierProvider;
+import edu.kit.kastel.mcse.ardoco.core.data.DataRepository;
+import edu.kit.kastel.mcse.ardoco.core.data.PipelineStepData;
+import edu.kit.kastel.mcse.ardoco.core.pipeline.AbstractPipelineStep;
+
+class ArDoCoBatchRunnerTest {
+    private static final int IDS_PER_RUN = 100;
+
+    @TempDir
+    File outputDirectory;
+
+    @Test
+    void identifiersPerRunTest() {
+        var batch = new ArDoCoBatchRunner(4);
+        for (int i = 0; i < 8; i++) {
+            String name = "Run" + i;
+            batch.addRunner(() -> createRunner(name, false));
+        }
+
+        var results = batch.run();
+
+        Assertions.assertEquals(8, results.size());
+        List<String> expected = null;
+        for (var result : results) {
+            Assertions.assertNotNull(result);
+            var ids = result.dataRepository().getData(IdStep.ID, Ids.class).orElseThrow().ids();
+            Assertions.assertEquals(IDS_PER_RUN, ids.size());
+            if (expected == null) {
+                expected = ids;
+            }
+            // Every run has its own counter, so concurrent runs create the same identifiers
+            Assertions.assertEquals(expected, ids);
+        }
+    }
+
+    @Test
+    void failingRunnerTest() {
+        var batch = new ArDoCoBatchRunner(2);
+        batch.addRunner(() -> createRunner("First", false));
+        batch.addRunner(() -> createRunner("Failing", true));
+        batch.addRunner(() -> createRunner("Third", false));
+
+        var results = batch.run();
+
+        Assertions.assertEquals(3, results.size());
+        Assertions.assertNotNull(results.get(0));
+        Assertions.assertNull(results.get(1));
+        Assertions.assertNotNull(results.get(2));
+        Assertions.assertEquals("First", results.get(0).getProjectName());
+        Assertions.assertEquals("Third", results.get(2).getProjectName());
+    }
+
+    @Test
+    void invalidConcurrencyTest() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new ArDoCoBatchRunner(0));
+        Assertions.assertTrue(new ArDoCoBatchRunner(1).run().isEmpty());
+    }
+
+    private AnonymousRunner createRunner(String name, boolean failing) {
+        var runner = new AnonymousRunner(name) {
+            @Override
+            public List<AbstractPipelineStep> initializePipelineSteps(DataRepository dataRepository) {
+                return List.of(failing ? new FailingIdStep(dataRepository) : new IdStep(dataRepository));
+            }
+        };
+        runner.setOutputDirectory(outputDirectory);
+        return runner;
+    }
+
+    private record Ids(List<String> ids) implements PipelineStepData {
+    }
+
+    private static class IdStep extends AbstractPipelineStep {
+        private static final String ID = "IdStep";
+
+        IdStep(DataRepository dataRepository) {
+            super(ID, dataRepository);
+        }
+
+        @Override
+        protected void process() {
+            List<String> ids = new ArrayList<>();
+            for (int i = 0; i < IDS_PER_RUN; i++) {
+                ids.add(IdentifierProvider.createId());
+            }
+            getDataRepository().addData(ID, new Ids(ids));
+            // Saving the output of a run requires the model states
+            getDataRepository().addData(ModelStates.ID, new ModelStates());
+        }
+
+        @Override
+        protected void before() {
+            // NOP
+        }
+
+        @Override
+        protected void after() {
+            // NOP
+        }
+
+        @Override
+        protected void delegateApplyConfigurationToInternalObjects(SortedMap<String, String> additionalConfiguration) {
+            // NOP
+        }
+    }
+
+    private static final class FailingIdStep extends IdStep {
+        FailingIdStep(DataRepository dataRepository) {
+            super(dataRepository);
+        }
+
+        @Override
+        protected void process() {
+            throw new IllegalStateException("Failing on purpose");
+        }
+    }
+}
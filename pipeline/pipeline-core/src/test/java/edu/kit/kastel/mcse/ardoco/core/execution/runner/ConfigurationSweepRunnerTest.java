@@ -0,0 +1,119 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.core.execution.runner;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import edu.kit.kastel.mcse.ardoco.core.configuration.ChildClassConfigurable;
+import edu.kit.kastel.mcse.ardoco.core.configuration.Configurable;
+import edu.kit.kastel.mcse.ardoco.core.data.DataRepository;
+import edu.kit.kastel.mcse.ardoco.core.data.PipelineStepData;
+import edu.kit.kastel.mcse.ardoco.core.execution.ConfigurationHelper;
+import edu.kit.kastel.mcse.ardoco.core.pipeline.AbstractPipelineStep;
+
+class ConfigurationSweepRunnerTest {
+
+    @Test
+    void sharedStagesRunOnceTest() {
+        List<String> runs = Collections.synchronizedList(new ArrayList<>());
+        var sweep = new ConfigurationSweepRunner(configuration -> createRunner(configuration, runs), 4);
+        SortedMap<String, List<String>> grid = new TreeMap<>();
+        grid.put("StageA::value", List.of("1", "2"));
+        grid.put("StageB::value", List.of("1", "2", "3"));
+        sweep.addGrid(grid);
+
+        var results = sweep.run();
+
+        Assertions.assertEquals(6, results.size());
+        Assertions.assertEquals(2, runs.stream().filter("A"::equals).count());
+        Assertions.assertEquals(6, runs.stream().filter("B"::equals).count());
+        for (var result : results) {
+            Assertions.assertTrue(result.isSuccessful());
+            String expected = "A" + result.configuration().get("StageA::value") + "B" + result.configuration().get("StageB::value");
+            Assertions.assertEquals(expected, result.result().dataRepository().getData("B", Value.class).orElseThrow().text());
+        }
+    }
+
+    @Test
+    void configurationKeysTest() {
+        var runner = createRunner(new TreeMap<>(), new ArrayList<>());
+        var steps = runner.getArDoCo().getPipelineSteps();
+        Assertions.assertEquals(List.of("StageA::value"), List.copyOf(steps.get(0).getConfigurationKeys()));
+        Assertions.assertEquals(List.of("StageB::value"), List.copyOf(steps.get(1).getConfigurationKeys()));
+
+        // The stages are found by the configuration scan, so they have to be instantiable by it
+        var defaults = ConfigurationHelper.getDefaultConfigurationOptions();
+        Assertions.assertEquals("1", defaults.get("StageA::value"));
+        Assertions.assertEquals("1", defaults.get("StageB::value"));
+    }
+
+    private static AnonymousRunner createRunner(SortedMap<String, String> configuration, List<String> runs) {
+        return new AnonymousRunner("Sweep") {
+            @Override
+            public List<AbstractPipelineStep> initializePipelineSteps(DataRepository dataRepository) {
+                List<AbstractPipelineStep> steps = List.of(new StageA(dataRepository, runs), new StageB(dataRepository, runs));
+                steps.forEach(step -> step.applyConfiguration(configuration));
+                return steps;
+            }
+        };
+    }
+
+    private record Value(String text) implements PipelineStepData {
+    }
+
+    /**
+     * Test stage whose subclasses have a (DataRepository, List) constructor, so that the configuration scan of {@link ConfigurationHelper} can create them.
+     */
+    private abstract static class Stage extends AbstractPipelineStep {
+        private final transient List<String> runs;
+
+        @Configurable
+        @ChildClassConfigurable
+        private int value = 1;
+
+        Stage(String id, DataRepository dataRepository, List<String> runs) {
+            super(id, dataRepository);
+            this.runs = runs;
+        }
+
+        @Override
+        protected void process() {
+            runs.add(getId());
+            String previous = getDataRepository().getData("A", Value.class).map(Value::text).orElse("");
+            getDataRepository().addData(getId(), new Value(previous + getId() + value));
+        }
+
+        @Override
+        protected void before() {
+            // NOP
+        }
+
+        @Override
+        protected void after() {
+            // NOP
+        }
+
+        @Override
+        protected void delegateApplyConfigurationToInternalObjects(SortedMap<String, String> additionalConfiguration) {
+            // NOP
+        }
+    }
+
+    private static final class StageA extends Stage {
+        StageA(DataRepository dataRepository, List<String> runs) {
+            super("A", dataRepository, runs);
+        }
+    }
+
+    private static final class StageB extends Stage {
+        StageB(DataRepository dataRepository, List<String> runs) {
+            super("B", dataRepository, runs);
+        }
+    }
+}
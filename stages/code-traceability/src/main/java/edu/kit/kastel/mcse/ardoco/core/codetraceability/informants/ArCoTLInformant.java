@@ -3,6 +3,7 @@
 
 import java.util.Arrays;
 import java.util.SortedMap;
+import java.util.concurrent.ForkJoinPool;
 
 import edu.kit.kastel.mcse.ardoco.core.api.models.ArchitectureModelType;
 import edu.kit.kastel.mcse.ardoco.core.api.models.CodeModelType;
@@ -11,10 +12,19 @@
 import edu.kit.kastel.mcse.ardoco.core.codetraceability.informants.arcotl.TraceLinkGenerator;
 import edu.kit.kastel.mcse.ardoco.core.codetraceability.informants.arcotl.computation.computationtree.Node;
 import edu.kit.kastel.mcse.ardoco.core.common.util.DataRepositoryHelper;
+import edu.kit.kastel.mcse.ardoco.core.configuration.Configurable;
 import edu.kit.kastel.mcse.ardoco.core.data.DataRepository;
 import edu.kit.kastel.mcse.ardoco.core.pipeline.agent.Informant;
 
 public class ArCoTLInformant extends Informant {
+    /**
+     * Whether the computation tree is computed in the common {@link ForkJoinPool}. Independent subtrees are computed concurrently and the heuristics split
+     * their endpoint tuples across the pool. Enabled by default; if disabled, the tree and the heuristics are computed sequentially. The results are merged
+     * in a fixed order, so the trace links are the same either way.
+     */
+    @Configurable
+    private boolean parallelComputation = true;
+
     public ArCoTLInformant(DataRepository dataRepository) {
         super(ArCoTLInformant.class.getSimpleName(), dataRepository);
     }
@@ -36,7 +46,7 @@ public void process() {
         }
 
         Node root = TraceLinkGenerator.getRoot(); //TODO maybe add preprocessing
-        var traceLinks = TraceLinkGenerator.generateTraceLinks(root, architectureModel, codeModel);
+        var traceLinks = TraceLinkGenerator.generateTraceLinks(root, architectureModel, codeModel, parallelComputation ? ForkJoinPool.commonPool() : null);
         samCodeTraceabilityState.addSamCodeTraceLinks(traceLinks);
     }
 
@@ -4,8 +4,10 @@
 import java.util.SortedMap;
 
 import org.eclipse.collections.api.factory.Sets;
+import org.eclipse.collections.api.multimap.list.MutableListMultimap;
 import org.eclipse.collections.api.set.ImmutableSet;
 import org.eclipse.collections.api.set.MutableSet;
+import org.eclipse.collections.impl.factory.Multimaps;
 
 import edu.kit.kastel.mcse.ardoco.core.api.codetraceability.CodeTraceabilityState;
 import edu.kit.kastel.mcse.ardoco.core.api.connectiongenerator.ConnectionStates;
@@ -36,30 +38,33 @@ public void process() {
         if (codeTraceabilityState == null || modelStatesData == null || connectionStates == null) {
             return;
         }
-        var samCodeTraceLinks = codeTraceabilityState.getSamCodeTraceLinks();
+        // Index the SAM-code trace links by their architecture endpoint once, so that the combination is a join instead of a nested loop.
+        // The lists keep the iteration order of the trace links, so the transitive trace links are created in the same order as before.
+        var samCodeTraceLinksByModelElementId = indexByArchitectureEndpoint(codeTraceabilityState.getSamCodeTraceLinks());
         for (var modelId : modelStatesData.modelIds()) {
             var metamodel = modelStatesData.getModelExtractionState(modelId).getMetamodel();
             var connectionState = connectionStates.getConnectionState(metamodel);
             var sadSamTraceLinks = connectionState.getTraceLinks();
 
-            var combinedLinks = combineToTransitiveTraceLinks(sadSamTraceLinks, samCodeTraceLinks);
+            var combinedLinks = combineToTransitiveTraceLinks(sadSamTraceLinks, samCodeTraceLinksByModelElementId);
             transitiveTraceLinks.addAll(combinedLinks.toList());
         }
 
         codeTraceabilityState.addSadCodeTraceLinks(transitiveTraceLinks);
     }
 
-    private ImmutableSet<SadCodeTraceLink> combineToTransitiveTraceLinks(ImmutableSet<SadSamTraceLink> sadSamTraceLinks,
-            ImmutableSet<SamCodeTraceLink> samCodeTraceLinks) {
+    static MutableListMultimap<String, SamCodeTraceLink> indexByArchitectureEndpoint(ImmutableSet<SamCodeTraceLink> samCodeTraceLinks) {
+        return samCodeTraceLinks.groupBy(samCodeTraceLink -> samCodeTraceLink.getEndpointTuple().firstEndpoint().getId(), Multimaps.mutable.list.empty());
+    }
+
+    static ImmutableSet<SadCodeTraceLink> combineToTransitiveTraceLinks(ImmutableSet<SadSamTraceLink> sadSamTraceLinks,
+            MutableListMultimap<String, SamCodeTraceLink> samCodeTraceLinksByModelElementId) {
         MutableSet<SadCodeTraceLink> transitiveTraceLinks = Sets.mutable.empty();
         for (var sadSamTraceLink : sadSamTraceLinks) {
             String modelElementUid = sadSamTraceLink.getModelElementUid();
-            for (var samCodeTraceLink : samCodeTraceLinks) {
-                String samCodeTraceLinkModelElementId = samCodeTraceLink.getEndpointTuple().firstEndpoint().getId();
-                if (modelElementUid.equals(samCodeTraceLinkModelElementId)) {
-                    var transitiveTraceLinkOptional = TransitiveTraceLink.createTransitiveTraceLink(sadSamTraceLink, samCodeTraceLink);
-                    transitiveTraceLinkOptional.ifPresent(transitiveTraceLinks::add);
-                }
+            for (var samCodeTraceLink : samCodeTraceLinksByModelElementId.get(modelElementUid)) {
+                var transitiveTraceLinkOptional = TransitiveTraceLink.createTransitiveTraceLink(sadSamTraceLink, samCodeTraceLink);
+                transitiveTraceLinkOptional.ifPresent(transitiveTraceLinks::add);
             }
         }
         return transitiveTraceLinks.toImmutable();
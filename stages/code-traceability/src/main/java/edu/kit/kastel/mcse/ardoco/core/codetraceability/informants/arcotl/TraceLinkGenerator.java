@@ -1,9 +1,9 @@
-/* Licensed under MIT 2023. */
+/* Licensed under MIT 2023-2024. */
 package edu.kit.kastel.mcse.ardoco.core.codetraceability.informants.arcotl;
 
-import java.util.LinkedHashMap;
-import java.util.Map;
+import java.util.LinkedHashSet;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.ArchitectureModel;
 import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.CodeModel;
@@ -28,69 +28,25 @@
 @Deterministic
 public final class TraceLinkGenerator {
 
-    private static final Node interfaceName = new ComponentNameResemblance(ComponentNameResemblance.NameConfig.INTERFACE,
-            NameComparisonUtils.PreprocessingMethod.NONE).getNode();
-    private static final Node interfaceMethod = new MethodResemblance().getNode();
-    private static final Node interfaceBest = MatchBest.getMatchBestCodeNode(MatchBest.getMatchBestArchNode(Maximum.getMaximumNode(interfaceName,
-            interfaceMethod)));
-
-    private static final Node packageNodeStem = new PackageResemblance(NameComparisonUtils.PreprocessingMethod.STEMMING).getNode();
-    private static final Node packageBest = MatchBest.getMatchBestCodeNode(MatchBest.getMatchBestArchNode(packageNodeStem));
-    private static final Node packageFiltered = Filter.getFilterArchNode(packageBest, new SubpackageFilter().getNode(packageBest));
-
-    private static final Node compName = new ComponentNameResemblance(ComponentNameResemblance.NameConfig.COMPONENT,
-            NameComparisonUtils.PreprocessingMethod.NONE).getNode();
-    private static final Node compNameBest = MatchBest.getMatchBestCodeNode(compName);
-    private static final Node compNameInherited = Maximum.getMaximumNode(new InheritLinks().getNode(compNameBest), compNameBest);
-
-    private static final Node compCombined = Maximum.getMaximumNode(MatchSequentially.getMatchSeqArchNode(packageFiltered, compNameInherited),
-            new ComponentNameResemblance(ComponentNameResemblance.NameConfig.COMPONENT_WITHOUT_PACKAGE, NameComparisonUtils.PreprocessingMethod.NONE)
-                    .getNode());
-
-    private static final Node commonWords = Maximum.getMaximumNode(new ComponentNameResemblanceTest().getNode(compCombined), compCombined);
-
-    private static final Node compFiltered = Filter.getFilterArchNode(commonWords, new Required().getNode(commonWords));
-
-    private static final Node path = new PathResemblance().getNode();
-    private static final Node pathBest = MatchBest.getMatchBestCodeNode(MatchBest.getMatchBestArchNode(path));
-    private static final Node maxCompInterface = Maximum.getMaximumNode(pathBest, compFiltered, interfaceBest);
-
-    private static final Node root = Filter.getFilterArchNode(maxCompInterface, new ProvidedInterfaceCorrespondence().getNode(maxCompInterface));
-
-    private static final Map<Node, String> treeConfigs = new LinkedHashMap<>();
-
-    static {
-        treeConfigs.put(interfaceName, "interfaceName");
-        treeConfigs.put(interfaceMethod, "interfaceMethod");
-        treeConfigs.put(interfaceBest, "interfaceBest");
-
-        treeConfigs.put(packageNodeStem, "packageStemming");
-        treeConfigs.put(packageBest, "packageBest");
-        treeConfigs.put(packageFiltered, "subpackageRemoval");
-
-        treeConfigs.put(compName, "compName");
-        treeConfigs.put(compNameBest, "compNameBest");
-        treeConfigs.put(compNameInherited, "hintInheritance");
-        treeConfigs.put(compCombined, "packageAndName");
-
-        treeConfigs.put(commonWords, "commonWords");
-        treeConfigs.put(compFiltered, "compLinks");
-
-        treeConfigs.put(path, "path");
-        treeConfigs.put(pathBest, "pathBest");
-        treeConfigs.put(maxCompInterface, "combination");
-
-        treeConfigs.put(root, "interfaceProvision");
-    }
-
     private TraceLinkGenerator() {
         throw new IllegalStateException("No instantiation provided");
     }
 
+    /**
+     * Creates the default computation tree.
+     *
+     * @return the root of a new computation tree
+     */
     public static Node getRoot() {
-        return root;
+        return getRoot(NameComparisonUtils.PreprocessingMethod.NONE);
     }
 
+    /**
+     * Creates the default computation tree with the specified preprocessing of the component and interface names, see {@link #getRoot()}.
+     *
+     * @param preprocessConfig the preprocessing of the names
+     * @return the root of a new computation tree
+     */
     public static Node getRoot(NameComparisonUtils.PreprocessingMethod preprocessConfig) {
         Node interfaceName = new ComponentNameResemblance(ComponentNameResemblance.NameConfig.INTERFACE, preprocessConfig).getNode();
         Node interfaceMethod = new MethodResemblance().getNode();
@@ -119,14 +75,27 @@ public static Node getRoot(NameComparisonUtils.PreprocessingMethod preprocessCon
     }
 
     public static Set<SamCodeTraceLink> generateTraceLinks(Node root, ArchitectureModel archModel, CodeModel codeModel) {
+        return generateTraceLinks(root, archModel, codeModel, null);
+    }
+
+    /**
+     * Generates the trace links between the specified models using the specified computation tree.
+     *
+     * @param root      the root of the computation tree, or null to use the default tree
+     * @param archModel the architecture model
+     * @param codeModel the code model
+     * @param pool      the pool that computes independent subtrees concurrently, or null to compute the tree sequentially
+     * @return the generated trace links
+     */
+    public static Set<SamCodeTraceLink> generateTraceLinks(Node root, ArchitectureModel archModel, CodeModel codeModel, ForkJoinPool pool) {
         if (archModel == null || codeModel == null) {
-            return new java.util.LinkedHashSet<>();
+            return new LinkedHashSet<>();
         }
         if (root == null) {
             root = getRoot();
         }
 
-        Computation computation = new Computation(root, archModel, codeModel);
+        Computation computation = pool == null ? new Computation(root, archModel, codeModel) : new Computation(root, archModel, codeModel, pool);
         return computation.getTraceLinks();
     }
 
@@ -1,7 +1,8 @@
-/* Licensed under MIT 2023. */
+/* Licensed under MIT 2023-2024. */
 package edu.kit.kastel.mcse.ardoco.core.codetraceability.informants.arcotl.computation;
 
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.ArchitectureModel;
 import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.CodeModel;
@@ -31,6 +32,20 @@ public Computation(Node root, ArchitectureModel archModel, CodeModel codeModel)
         this.result = root.compute(archModel, codeModel, new ComputationResult());
     }
 
+    /**
+     * Creates a new computation with the specified computation tree and the specified models between which trace links will be calculated. Independent
+     * subtrees of the computation tree are computed concurrently in the specified pool, see {@link ParallelComputation}.
+     *
+     * @param root      the root of the computation tree
+     * @param archModel the architecture model for which trace links will be calculated
+     * @param codeModel the code model for which trace links will be calculated
+     * @param pool      the pool that computes the nodes of the computation tree
+     */
+    public Computation(Node root, ArchitectureModel archModel, CodeModel codeModel, ForkJoinPool pool) {
+        this.root = root;
+        this.result = ParallelComputation.compute(root, archModel, codeModel, new ComputationResult(), pool);
+    }
+
     /**
      * Returns the result of the computation.
      *
@@ -1,20 +1,34 @@
-/* Licensed under MIT 2023. */
+/* Licensed under MIT 2023-2024. */
 package edu.kit.kastel.mcse.ardoco.core.codetraceability.informants.arcotl.computation;
 
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
+import edu.kit.kastel.mcse.ardoco.core.api.models.Entity;
 import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.ArchitectureModel;
 import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.CodeModel;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.architecture.ArchitectureItem;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.CodeCompilationUnit;
+import edu.kit.kastel.mcse.ardoco.core.api.models.tracelinks.EndpointTuple;
+import edu.kit.kastel.mcse.ardoco.core.architecture.Deterministic;
 
 /**
  * A repository of endpoint tuples. An endpoint tuple consists of an
  * architecture endpoint and a code endpoint. Contains every possible
  * combination of endpoints of an architecture model and a code model.
+ * The combinations are not materialized, only the endpoints of both models are
+ * stored and indexed.
  */
+@Deterministic
 public class EndpointTupleRepo {
 
-    private List<SamCodeEndpointTuple> endpointTuples;
+    private final List<ArchitectureItem> architectureEndpoints;
+    private final List<CodeCompilationUnit> codeEndpoints;
+    private final Map<Entity, Integer> architectureEndpointIndices;
+    private final Map<Entity, Integer> codeEndpointIndices;
 
     /**
      * Creates a new repository of endpoint tuples. Contains every possible
@@ -27,10 +41,18 @@ public class EndpointTupleRepo {
      *                  repository
      */
     public EndpointTupleRepo(ArchitectureModel archModel, CodeModel codeModel) {
-        endpointTuples = new ArrayList<>();
+        architectureEndpoints = new ArrayList<>();
+        architectureEndpointIndices = new LinkedHashMap<>();
         for (var architectureEndpoint : archModel.getEndpoints()) {
-            for (var codeEndpoint : codeModel.getEndpoints()) {
-                endpointTuples.add(new SamCodeEndpointTuple(architectureEndpoint, codeEndpoint));
+            if (architectureEndpointIndices.putIfAbsent(architectureEndpoint, architectureEndpoints.size()) == null) {
+                architectureEndpoints.add(architectureEndpoint);
+            }
+        }
+        codeEndpoints = new ArrayList<>();
+        codeEndpointIndices = new LinkedHashMap<>();
+        for (var codeEndpoint : codeModel.getEndpoints()) {
+            if (codeEndpointIndices.putIfAbsent(codeEndpoint, codeEndpoints.size()) == null) {
+                codeEndpoints.add(codeEndpoint);
             }
         }
     }
@@ -41,6 +63,79 @@ public EndpointTupleRepo(ArchitectureModel archModel, CodeModel codeModel) {
      * @return all endpoint tuples
      */
     public List<SamCodeEndpointTuple> getEndpointTuples() {
-        return new ArrayList<>(endpointTuples);
+        List<SamCodeEndpointTuple> endpointTuples = new ArrayList<>(architectureEndpoints.size() * codeEndpoints.size());
+        for (var architectureEndpoint : architectureEndpoints) {
+            for (var codeEndpoint : codeEndpoints) {
+                endpointTuples.add(new SamCodeEndpointTuple(architectureEndpoint, codeEndpoint));
+            }
+        }
+        return endpointTuples;
+    }
+
+    /**
+     * Returns the number of endpoint tuples.
+     *
+     * @return the number of endpoint tuples
+     */
+    public int size() {
+        return architectureEndpoints.size() * codeEndpoints.size();
+    }
+
+    /**
+     * Returns the endpoint tuple at the specified position of {@link #getEndpointTuples()} without materializing the other endpoint tuples.
+     *
+     * @param index the position of the endpoint tuple, must be between zero (inclusive) and {@link #size()} (exclusive)
+     * @return the endpoint tuple at the specified position
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public SamCodeEndpointTuple getEndpointTuple(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return new SamCodeEndpointTuple(architectureEndpoints.get(index / codeEndpoints.size()), codeEndpoints.get(index % codeEndpoints.size()));
+    }
+
+    /**
+     * Returns all endpoint tuples that contain the specified endpoint.
+     *
+     * @param endpoint an architecture or code endpoint
+     * @return all endpoint tuples with the specified endpoint, or an empty list if the endpoint is not part of this repository
+     */
+    public List<SamCodeEndpointTuple> getEndpointTuples(Entity endpoint) {
+        List<SamCodeEndpointTuple> endpointTuples = new ArrayList<>();
+        if (architectureEndpointIndices.containsKey(endpoint)) {
+            var architectureEndpoint = architectureEndpoints.get(architectureEndpointIndices.get(endpoint));
+            for (var codeEndpoint : codeEndpoints) {
+                endpointTuples.add(new SamCodeEndpointTuple(architectureEndpoint, codeEndpoint));
+            }
+        }
+        if (codeEndpointIndices.containsKey(endpoint)) {
+            var codeEndpoint = codeEndpoints.get(codeEndpointIndices.get(endpoint));
+            for (var architectureEndpoint : architectureEndpoints) {
+                endpointTuples.add(new SamCodeEndpointTuple(architectureEndpoint, codeEndpoint));
+            }
+        }
+        return endpointTuples;
+    }
+
+    /**
+     * Returns true if and only if both endpoints of the specified endpoint tuple are part of this repository.
+     *
+     * @param endpointTuple the endpoint tuple
+     * @return true if this repository contains the endpoint tuple; false otherwise
+     */
+    public boolean contains(EndpointTuple endpointTuple) {
+        return architectureEndpointIndices.containsKey(endpointTuple.firstEndpoint()) && codeEndpointIndices.containsKey(endpointTuple.secondEndpoint());
+    }
+
+    /**
+     * Returns a comparator that orders endpoint tuples of this repository like {@link #getEndpointTuples()}, i.e., by architecture endpoint first and by code
+     * endpoint second.
+     *
+     * @return the comparator
+     */
+    public Comparator<EndpointTuple> getEndpointTupleOrder() {
+        return Comparator.<EndpointTuple>comparingInt(t -> architectureEndpointIndices.getOrDefault(t.firstEndpoint(), Integer.MAX_VALUE))
+                .thenComparingInt(t -> codeEndpointIndices.getOrDefault(t.secondEndpoint(), Integer.MAX_VALUE));
     }
 }
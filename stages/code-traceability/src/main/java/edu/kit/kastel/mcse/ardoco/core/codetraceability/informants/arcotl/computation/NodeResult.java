@@ -1,8 +1,10 @@
-/* Licensed under MIT 2023. */
+/* Licensed under MIT 2023-2024. */
 package edu.kit.kastel.mcse.ardoco.core.codetraceability.informants.arcotl.computation;
 
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.SortedSet;
@@ -20,11 +22,19 @@
 /**
  * The result of a computation node. A computation node's final result are the
  * calculated {@link Confidence confidences} of every endpoint tuple.
+ * <p>
+ * A result that is created for an architecture model and a code model covers every endpoint tuple of both models, but only stores the confidences that
+ * have a value. All other endpoint tuples of the models implicitly have a confidence without value. The stored confidences are additionally indexed by
+ * their architecture and code endpoint, so that queries for a single endpoint only consider its actual candidates.
  */
 @Deterministic
 public class NodeResult {
 
+    private static final Confidence NO_CONFIDENCE = new Confidence();
+
+    private final EndpointTupleRepo endpointTupleRepo;
     private final Map<SamCodeEndpointTuple, Confidence> confidenceMap;
+    private final Map<Entity, Map<SamCodeEndpointTuple, Confidence>> confidencesByEndpoint;
 
     /**
      * Creates a new computation node result. It is initially empty, so the
@@ -32,15 +42,30 @@ public class NodeResult {
      * been calculated.
      */
     public NodeResult() {
-        confidenceMap = new LinkedHashMap<>();
+        this(null);
     }
 
+    /**
+     * Creates a new computation node result for every endpoint tuple of the specified models. Initially, every endpoint tuple has a confidence without
+     * value.
+     *
+     * @param archModel the architecture model
+     * @param codeModel the code model
+     */
     public NodeResult(ArchitectureModel archModel, CodeModel codeModel) {
-        confidenceMap = new LinkedHashMap<>();
-        EndpointTupleRepo endpointTupleRepo = new EndpointTupleRepo(archModel, codeModel);
-        for (SamCodeEndpointTuple endpointTuple : endpointTupleRepo.getEndpointTuples()) {
-            add(endpointTuple, new Confidence());
-        }
+        this(new EndpointTupleRepo(archModel, codeModel));
+    }
+
+    /**
+     * Creates a new computation node result for every endpoint tuple of the specified repository. Initially, every endpoint tuple has a confidence without
+     * value.
+     *
+     * @param endpointTupleRepo the repository of the endpoint tuples, or null if the result shall only contain explicitly added endpoint tuples
+     */
+    public NodeResult(EndpointTupleRepo endpointTupleRepo) {
+        this.endpointTupleRepo = endpointTupleRepo;
+        this.confidenceMap = new LinkedHashMap<>();
+        this.confidencesByEndpoint = new LinkedHashMap<>();
     }
 
     /**
@@ -53,15 +78,17 @@ public NodeResult(ArchitectureModel archModel, CodeModel codeModel) {
      * @return the confidence of the endpoint tuple, or null if it doesn't exist yet
      */
     public Confidence getConfidence(EndpointTuple endpointTuple) {
-        return confidenceMap.get(endpointTuple);
+        Confidence confidence = confidenceMap.get(endpointTuple);
+        if (confidence == null && endpointTupleRepo != null && endpointTupleRepo.contains(endpointTuple)) {
+            return NO_CONFIDENCE;
+        }
+        return confidence;
     }
 
     public Confidence getBestConfidence(Entity endpoint) {
         Confidence max = new Confidence();
-        for (var entry : confidenceMap.entrySet()) {
-            SamCodeEndpointTuple tuple = entry.getKey();
-            Confidence confidence = entry.getValue();
-            if (tuple.hasEndpoint(endpoint) && confidence.compareTo(max) > 0) {
+        for (Confidence confidence : getConfidences(endpoint).values()) {
+            if (confidence.compareTo(max) > 0) {
                 max = confidence;
             }
         }
@@ -70,11 +97,17 @@ public Confidence getBestConfidence(Entity endpoint) {
 
     public NodeResult getEndpointTuples(Entity endpoint, Confidence confidence) {
         NodeResult result = new NodeResult();
-        for (var entry : confidenceMap.entrySet()) {
-            SamCodeEndpointTuple endpointTuple = entry.getKey();
-            Confidence otherConfidence = entry.getValue();
-            if (endpointTuple.hasEndpoint(endpoint) && confidence.equals(otherConfidence)) {
-                result.add(endpointTuple, otherConfidence);
+        if (!confidence.hasValue() && endpointTupleRepo != null) {
+            for (SamCodeEndpointTuple endpointTuple : endpointTupleRepo.getEndpointTuples(endpoint)) {
+                if (confidence.equals(getConfidence(endpointTuple))) {
+                    result.add(endpointTuple, confidence);
+                }
+            }
+            return result;
+        }
+        for (var entry : getConfidences(endpoint).entrySet()) {
+            if (confidence.equals(entry.getValue())) {
+                result.add(entry.getKey(), entry.getValue());
             }
         }
         return result;
@@ -82,11 +115,9 @@ public NodeResult getEndpointTuples(Entity endpoint, Confidence confidence) {
 
     public SortedSet<Entity> getLinkedEndpoints(Entity endpoint) {
         SortedSet<Entity> linkedEndpoints = new TreeSet<>();
-        for (var entry : confidenceMap.entrySet()) {
-            SamCodeEndpointTuple tuple = entry.getKey();
-            Confidence confidence = entry.getValue();
-            if (tuple.hasEndpoint(endpoint) && confidence.hasValue()) {
-                linkedEndpoints.add(tuple.getOtherEndpoint(endpoint));
+        for (var entry : getConfidences(endpoint).entrySet()) {
+            if (entry.getValue().hasValue()) {
+                linkedEndpoints.add(entry.getKey().getOtherEndpoint(endpoint));
             }
         }
         return linkedEndpoints;
@@ -101,48 +132,56 @@ public SortedSet<Entity> getLinkedEndpoints(Entity endpoint) {
      * @return trace links for every endpoint tuple whose confidence has a value
      */
     public Set<SamCodeTraceLink> getTraceLinks() {
-        Set<SamCodeTraceLink> traceLinks = new LinkedHashSet<>();
+        List<SamCodeEndpointTuple> endpointTuples = new ArrayList<>();
         for (var entry : confidenceMap.entrySet()) {
-            Confidence confidence = entry.getValue();
-            if (confidence.hasValue()) {
-                SamCodeEndpointTuple endpointTuple = entry.getKey();
-                ArchitectureItem architectureEndpoint = endpointTuple.getArchitectureEndpoint();
-                CodeCompilationUnit codeEndpoint = endpointTuple.getCodeEndpoint();
-                traceLinks.add(new SamCodeTraceLink(architectureEndpoint, codeEndpoint));
+            if (entry.getValue().hasValue()) {
+                endpointTuples.add(entry.getKey());
             }
         }
+        if (endpointTupleRepo != null) {
+            endpointTuples.sort(endpointTupleRepo.getEndpointTupleOrder());
+        }
+
+        Set<SamCodeTraceLink> traceLinks = new LinkedHashSet<>();
+        for (SamCodeEndpointTuple endpointTuple : endpointTuples) {
+            ArchitectureItem architectureEndpoint = endpointTuple.getArchitectureEndpoint();
+            CodeCompilationUnit codeEndpoint = endpointTuple.getCodeEndpoint();
+            traceLinks.add(new SamCodeTraceLink(architectureEndpoint, codeEndpoint));
+        }
         return traceLinks;
     }
 
     public boolean hasTraceLink(Entity endpoint) {
-        for (var entry : confidenceMap.entrySet()) {
-            EndpointTuple tuple = entry.getKey();
-            Confidence confidence = entry.getValue();
-            if (tuple.hasEndpoint(endpoint) && confidence.hasValue()) {
+        for (Confidence confidence : getConfidences(endpoint).values()) {
+            if (confidence.hasValue()) {
                 return true;
             }
         }
         return false;
     }
 
+    /**
+     * Returns the part of this result that contains the specified endpoint. Endpoint tuples that only implicitly have a confidence without value are not
+     * part of the returned result.
+     *
+     * @param endpoint the endpoint
+     * @return the confidences of all (stored) endpoint tuples with the specified endpoint
+     */
     public NodeResult getResultForEndpoint(Entity endpoint) {
         NodeResult result = new NodeResult();
-        for (var entry : confidenceMap.entrySet()) {
-            SamCodeEndpointTuple tuple = entry.getKey();
-            Confidence confidence = entry.getValue();
-            if (tuple.hasEndpoint(endpoint)) {
-                result.add(tuple, confidence);
-            }
+        for (var entry : getConfidences(endpoint).entrySet()) {
+            result.add(entry.getKey(), entry.getValue());
         }
         return result;
     }
 
     public NodeResult filter(NodeResult resultToFilter) {
-        NodeResult result = new NodeResult();
+        NodeResult result = new NodeResult(endpointTupleRepo);
         for (var entry : confidenceMap.entrySet()) {
             SamCodeEndpointTuple tuple = entry.getKey();
             Confidence confidence = entry.getValue();
-            if (resultToFilter.getConfidence(tuple).hasValue()) {
+            Confidence confidenceToFilter = resultToFilter.getConfidence(tuple);
+            if (confidenceToFilter != null && confidenceToFilter.hasValue()) {
                 result.add(tuple, new Confidence());
             } else {
                 result.add(tuple, confidence);
@@ -151,6 +190,16 @@ public NodeResult filter(NodeResult resultToFilter) {
         return result;
     }
 
+    /**
+     * Returns the endpoint tuples of this result that have a stored confidence, i.e., the endpoint tuples that were explicitly added and whose confidence
+     * has a value if this result covers all endpoint tuples of a pair of models.
+     *
+     * @return the endpoint tuples with a stored confidence in the order they were added
+     */
+    public Set<SamCodeEndpointTuple> getStoredEndpointTuples() {
+        return confidenceMap.keySet();
+    }
+
     /**
      * Adds the calculated {@link Confidence confidence} of the specified endpoint
      * tuple.
@@ -159,10 +208,40 @@ public NodeResult filter(NodeResult resultToFilter) {
      * @param confidence    the confidence of the endpoint tuple
      */
     public void add(SamCodeEndpointTuple endpointTuple, Confidence confidence) {
+        if (endpointTupleRepo != null && !confidence.hasValue()) {
+            remove(endpointTuple);
+            return;
+        }
         confidenceMap.put(endpointTuple, confidence);
+        confidencesByEndpoint.computeIfAbsent(endpointTuple.firstEndpoint(), e -> new LinkedHashMap<>()).put(endpointTuple, confidence);
+        confidencesByEndpoint.computeIfAbsent(endpointTuple.secondEndpoint(), e -> new LinkedHashMap<>()).put(endpointTuple, confidence);
     }
 
     public void addAll(NodeResult partialResult) {
-        confidenceMap.putAll(partialResult.confidenceMap);
+        for (var entry : partialResult.confidenceMap.entrySet()) {
+            add(entry.getKey(), entry.getValue());
+        }
+    }
+
+    private void remove(SamCodeEndpointTuple endpointTuple) {
+        if (confidenceMap.remove(endpointTuple) == null) {
+            return;
+        }
+        removeFromIndex(endpointTuple.firstEndpoint(), endpointTuple);
+        removeFromIndex(endpointTuple.secondEndpoint(), endpointTuple);
+    }
+
+    private void removeFromIndex(Entity endpoint, SamCodeEndpointTuple endpointTuple) {
+        var confidences = confidencesByEndpoint.get(endpoint);
+        if (confidences != null) {
+            confidences.remove(endpointTuple);
+            if (confidences.isEmpty()) {
+                confidencesByEndpoint.remove(endpoint);
+            }
+        }
+    }
+
+    private Map<SamCodeEndpointTuple, Confidence> getConfidences(Entity endpoint) {
+        return confidencesByEndpoint.getOrDefault(endpoint, Map.of());
     }
 }
@@ -0,0 +1,104 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.core.codetraceability.informants.arcotl.computation;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.ArchitectureModel;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.CodeModel;
+import edu.kit.kastel.mcse.ardoco.core.architecture.Deterministic;
+import edu.kit.kastel.mcse.ardoco.core.codetraceability.informants.arcotl.computation.computationtree.Node;
+
+/**
+ * Computes the results of all nodes of a computation tree using a {@link ForkJoinPool}. Independent subtrees are computed concurrently, while every node
+ * is still computed after all of its children. Nodes that are shared by several parents are computed exactly once. A node is only scheduled once all of its
+ * children are computed, so no task of the pool blocks while waiting for another one, and computations may be started from tasks of the same pool. The
+ * returned {@link ComputationResult} contains the node results in the same order as {@link Node#compute(ArchitectureModel, CodeModel, ComputationResult)}
+ * would produce them, so the outcome does not depend on the scheduling.
+ */
+@Deterministic
+public final class ParallelComputation {
+
+    private final ArchitectureModel archModel;
+    private final CodeModel codeModel;
+    private final ComputationResult existingResult;
+    private final IdentityHashMap<Node, CompletableFuture<NodeResult>> futures = new IdentityHashMap<>();
+    private final List<Node> postOrder = new ArrayList<>();
+
+    private ParallelComputation(ArchitectureModel archModel, CodeModel codeModel, ComputationResult existingResult) {
+        this.archModel = archModel;
+        this.codeModel = codeModel;
+        this.existingResult = existingResult;
+    }
+
+    /**
+     * Returns the computed results of all nodes in the tree rooted at the specified node. Behaves like
+     * {@link Node#compute(ArchitectureModel, CodeModel, ComputationResult)}, but computes independent subtrees concurrently in the specified pool.
+     *
+     * @param root           the root of the computation tree
+     * @param archModel      the architecture model for which confidences will be calculated
+     * @param codeModel      the code model for which confidences will be calculated
+     * @param existingResult a partial computation result that already exists and therefore doesn't need to be computed again. The newly computed results
+     *                       are added to it.
+     * @param pool           the pool that computes the nodes
+     * @return the results of all computation nodes in the tree rooted at the specified node
+     */
+    public static ComputationResult compute(Node root, ArchitectureModel archModel, CodeModel codeModel, ComputationResult existingResult,
+            ForkJoinPool pool) {
+        ParallelComputation computation = new ParallelComputation(archModel, codeModel, existingResult);
+        try {
+            computation.schedule(root, pool).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+
+        // Merge sequentially in post-order, i.e., children before their parents
+        ComputationResult result = new ComputationResult();
+        for (Node node : computation.postOrder) {
+            NodeResult nodeResult = computation.futures.get(node).join();
+            result.addNodeResult(node, nodeResult);
+            if (!existingResult.exists(node)) {
+                existingResult.addNodeResult(node, nodeResult);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Schedules the computation of a node once the computations of all of its children are done. A shared node is scheduled by its first parent only.
+     */
+    private CompletableFuture<NodeResult> schedule(Node node, ForkJoinPool pool) {
+        CompletableFuture<NodeResult> future = futures.get(node);
+        if (future != null) {
+            return future;
+        }
+        List<Node> children = node.getChildren();
+        List<CompletableFuture<NodeResult>> childFutures = new ArrayList<>(children.size());
+        for (Node child : children) {
+            childFutures.add(schedule(child, pool));
+        }
+        future = CompletableFuture.allOf(childFutures.toArray(CompletableFuture[]::new)).thenApplyAsync(ignored -> {
+            ComputationResult childrenResult = new ComputationResult();
+            for (int i = 0; i < children.size(); i++) {
+                childrenResult.addNodeResult(children.get(i), childFutures.get(i).join());
+            }
+            if (existingResult.exists(node)) {
+                return existingResult.getNodeResult(node);
+            }
+            return node.calculateConfidences(archModel, codeModel, childrenResult, pool);
+        }, pool);
+        futures.put(node, future);
+        postOrder.add(node);
+        return future;
+    }
+}
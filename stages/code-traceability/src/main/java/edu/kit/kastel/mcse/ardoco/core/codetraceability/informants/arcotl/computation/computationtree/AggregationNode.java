@@ -4,6 +4,7 @@
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
 
 import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.ArchitectureModel;
 import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.CodeModel;
@@ -38,7 +39,7 @@ public AggregationNode(Aggregation aggregation, List<Node> children) {
     }
 
     @Override
-    public NodeResult calculateConfidences(ArchitectureModel archModel, CodeModel codeModel, ComputationResult result) {
+    public NodeResult calculateConfidences(ArchitectureModel archModel, CodeModel codeModel, ComputationResult result, ForkJoinPool pool) {
         List<NodeResult> childrenResults = new ArrayList<>();
         for (Node child : getChildren()) {
             childrenResults.add(result.getNodeResult(child));
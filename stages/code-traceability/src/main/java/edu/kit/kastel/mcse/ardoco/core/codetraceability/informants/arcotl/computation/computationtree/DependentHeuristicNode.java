@@ -2,6 +2,7 @@
 package edu.kit.kastel.mcse.ardoco.core.codetraceability.informants.arcotl.computation.computationtree;
 
 import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
 
 import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.ArchitectureModel;
 import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.CodeModel;
@@ -30,8 +31,8 @@ public DependentHeuristicNode(DependentHeuristic dependentHeuristic, Node child)
     }
 
     @Override
-    public NodeResult calculateConfidences(ArchitectureModel archModel, CodeModel codeModel, ComputationResult result) {
-        return dependentHeuristic.calculateConfidences(archModel, codeModel, result.getNodeResult(getChild()));
+    public NodeResult calculateConfidences(ArchitectureModel archModel, CodeModel codeModel, ComputationResult result, ForkJoinPool pool) {
+        return dependentHeuristic.calculateConfidences(archModel, codeModel, result.getNodeResult(getChild()), pool);
     }
 
     @Override
@@ -3,6 +3,7 @@
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.ArchitectureModel;
 import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.CodeModel;
@@ -119,7 +120,21 @@ public ComputationResult compute(ArchitectureModel archModel, CodeModel codeMode
      * @return the calculated confidences for each endpoint tuple with endpoints in
      *         the specified architecture and code models
      */
-    public abstract NodeResult calculateConfidences(ArchitectureModel archModel, CodeModel codeModel, ComputationResult result);
+    public NodeResult calculateConfidences(ArchitectureModel archModel, CodeModel codeModel, ComputationResult result) {
+        return calculateConfidences(archModel, codeModel, result, null);
+    }
+
+    /**
+     * Calculates and returns the result of this computation node like {@link #calculateConfidences(ArchitectureModel, CodeModel, ComputationResult)}. If a
+     * pool is specified, heuristics split their endpoint tuples across it.
+     *
+     * @param archModel the architecture model for which confidences will be calculated
+     * @param codeModel the code model for which confidences will be calculated
+     * @param result    the computation result that is used in the confidence calculation
+     * @param pool      the pool that evaluates the endpoint tuples concurrently, or null to evaluate them sequentially
+     * @return the calculated confidences for each endpoint tuple with endpoints in the specified architecture and code models
+     */
+    public abstract NodeResult calculateConfidences(ArchitectureModel archModel, CodeModel codeModel, ComputationResult result, ForkJoinPool pool);
 
     public abstract String getMethodName();
 }
@@ -1,24 +1,36 @@
-/* Licensed under MIT 2023. */
+/* Licensed under MIT 2023-2024. */
 package edu.kit.kastel.mcse.ardoco.core.codetraceability.informants.arcotl.functions.aggregation;
 
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.ArchitectureModel;
 import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.CodeModel;
 import edu.kit.kastel.mcse.ardoco.core.api.models.tracelinks.EndpointTuple;
+import edu.kit.kastel.mcse.ardoco.core.architecture.Deterministic;
 import edu.kit.kastel.mcse.ardoco.core.codetraceability.informants.arcotl.computation.Confidence;
 import edu.kit.kastel.mcse.ardoco.core.codetraceability.informants.arcotl.computation.EndpointTupleRepo;
 import edu.kit.kastel.mcse.ardoco.core.codetraceability.informants.arcotl.computation.NodeResult;
 import edu.kit.kastel.mcse.ardoco.core.codetraceability.informants.arcotl.computation.SamCodeEndpointTuple;
 
+@Deterministic
 public abstract class ConfidenceAggregator extends Aggregation {
 
+    /**
+     * Calculates the aggregated confidences. Only endpoint tuples that have a confidence with value in at least one of the children's results are
+     * aggregated, as {@link #aggregateConfidences(List)} must not create a value from confidences that all have no value.
+     */
     @Override
     public NodeResult calculateConfidences(ArchitectureModel archModel, CodeModel codeModel, List<NodeResult> childrenResults) {
-        NodeResult nodeResult = new NodeResult();
         EndpointTupleRepo endpointTupleRepo = new EndpointTupleRepo(archModel, codeModel);
-        for (SamCodeEndpointTuple endpointTuple : endpointTupleRepo.getEndpointTuples()) {
+        NodeResult nodeResult = new NodeResult(endpointTupleRepo);
+        Set<SamCodeEndpointTuple> candidates = new LinkedHashSet<>();
+        for (NodeResult childResult : childrenResults) {
+            candidates.addAll(childResult.getStoredEndpointTuples());
+        }
+        for (SamCodeEndpointTuple endpointTuple : candidates) {
             Confidence confidence = aggregateConfidences(getConfidences(childrenResults, endpointTuple));
             nodeResult.add(endpointTuple, confidence);
         }
@@ -53,7 +65,7 @@ private List<Confidence> getConfidences(List<NodeResult> results, EndpointTuple
     }
 
     /**
-     * Aggregates the specified {@link Confidence confidences}.
+     * Aggregates the specified {@link Confidence confidences}. If none of the confidences has a value, the aggregated confidence must not have a value either.
      *
      * @param confidences the confidences to be aggregated
      * @return the aggregated confidence
@@ -28,7 +28,7 @@ public ComponentNameResemblance(NameConfig nameConfig, NameComparisonUtils.Prepr
     }
 
     @Override
-    protected Confidence calculateConfidence(ArchitectureComponent archComponent, CodeCompilationUnit compUnit) {
+    protected Confidence calculateConfidence(ArchitectureComponent archComponent, CodeCompilationUnit compUnit, Input input) {
         if (nameConfig.equals(NameConfig.INTERFACE)) {
             return new Confidence();
         }
@@ -36,7 +36,7 @@ protected Confidence calculateConfidence(ArchitectureComponent archComponent, Co
     }
 
     @Override
-    protected Confidence calculateConfidence(ArchitectureInterface archInterface, CodeCompilationUnit compUnit) {
+    protected Confidence calculateConfidence(ArchitectureInterface archInterface, CodeCompilationUnit compUnit, Input input) {
         if (nameConfig.equals(NameConfig.INTERFACE) == archInterface.getSignatures().isEmpty()) {
             return new Confidence();
         }
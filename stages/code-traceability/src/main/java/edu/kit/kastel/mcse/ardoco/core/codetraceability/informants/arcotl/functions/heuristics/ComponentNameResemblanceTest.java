@@ -20,24 +20,24 @@ public class ComponentNameResemblanceTest extends DependentHeuristic {
     private static final SortedSet<String> commonWords = new TreeSet<>(List.of("Test", "Action", "Impl", "Factory", "Exception"));
 
     @Override
-    protected Confidence calculateConfidence(ArchitectureComponent archComponent, CodeCompilationUnit compUnit) {
-        return calculateNameResemblance(archComponent, compUnit);
+    protected Confidence calculateConfidence(ArchitectureComponent archComponent, CodeCompilationUnit compUnit, Input input) {
+        return calculateNameResemblance(archComponent, compUnit, input);
     }
 
     @Override
-    protected Confidence calculateConfidence(ArchitectureInterface archInterface, CodeCompilationUnit compUnit) {
+    protected Confidence calculateConfidence(ArchitectureInterface archInterface, CodeCompilationUnit compUnit, Input input) {
         if (!archInterface.getSignatures().isEmpty()) {
             return new Confidence();
         }
-        return calculateNameResemblance(archInterface, compUnit);
+        return calculateNameResemblance(archInterface, compUnit, input);
     }
 
-    private Confidence calculateNameResemblance(ArchitectureItem archEndpoint, CodeCompilationUnit compUnit) {
-        if (getNodeResult().getConfidence(new EndpointTuple(archEndpoint, compUnit)).hasValue()) {
+    private Confidence calculateNameResemblance(ArchitectureItem archEndpoint, CodeCompilationUnit compUnit, Input input) {
+        if (input.nodeResult().getConfidence(new EndpointTuple(archEndpoint, compUnit)).hasValue()) {
             return new Confidence();
         }
         SortedSet<String> filteredCommonWords = new TreeSet<>(commonWords);
-        for (Entity ae : getArchModel().getEndpoints()) {
+        for (Entity ae : input.archModel().getEndpoints()) {
             filteredCommonWords = NameComparisonUtils.removeWords(filteredCommonWords, ae);
         }
         SortedSet<CodeItem> items = compUnit.getAllDataTypesAndSelf();
@@ -45,14 +45,14 @@ private Confidence calculateNameResemblance(ArchitectureItem archEndpoint, CodeC
             return new Confidence(1.0);
         }
         Confidence maxConfidence = new Confidence();
-        SortedSet<Entity> linkedEndpoints = getNodeResult().getLinkedEndpoints(archEndpoint);
+        SortedSet<Entity> linkedEndpoints = input.nodeResult().getLinkedEndpoints(archEndpoint);
         for (Entity linkedEndpoint : linkedEndpoints) {
             CodeCompilationUnit linkedCompUnit = (CodeCompilationUnit) linkedEndpoint;
             if (InheritLinks.areInDifferentPackages(compUnit, linkedCompUnit) || !areSimilar(items, linkedCompUnit.getAllDataTypesAndSelf(),
                     filteredCommonWords)) {
                 continue;
             }
-            Confidence extendedConfidence = getNodeResult().getConfidence(new EndpointTuple(archEndpoint, linkedCompUnit));
+            Confidence extendedConfidence = input.nodeResult().getConfidence(new EndpointTuple(archEndpoint, linkedCompUnit));
             if (extendedConfidence.compareTo(maxConfidence) > 0) {
                 maxConfidence = extendedConfidence;
             }
@@ -1,6 +1,10 @@
-/* Licensed under MIT 2023. */
+/* Licensed under MIT 2023-2024. */
 package edu.kit.kastel.mcse.ardoco.core.codetraceability.informants.arcotl.functions.heuristics;
 
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.IntStream;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -13,39 +17,83 @@
 import edu.kit.kastel.mcse.ardoco.core.codetraceability.informants.arcotl.computation.Confidence;
 import edu.kit.kastel.mcse.ardoco.core.codetraceability.informants.arcotl.computation.EndpointTupleRepo;
 import edu.kit.kastel.mcse.ardoco.core.codetraceability.informants.arcotl.computation.NodeResult;
+import edu.kit.kastel.mcse.ardoco.core.codetraceability.informants.arcotl.computation.ParallelComputation;
+import edu.kit.kastel.mcse.ardoco.core.codetraceability.informants.arcotl.computation.SamCodeEndpointTuple;
 
 /**
- * A heuristic.
+ * A heuristic. Heuristics are stateless, the models and the results they depend on are passed as {@link Input}, so a heuristic can be evaluated for several
+ * endpoint tuples and computations concurrently.
  */
 public abstract class Heuristic {
     protected static final Logger logger = LoggerFactory.getLogger(Heuristic.class);
 
-    protected final NodeResult getNodeResult(ArchitectureModel archModel, CodeModel codeModel) {
-        NodeResult confidences = new NodeResult();
-        EndpointTupleRepo endpointTupleRepo = new EndpointTupleRepo(archModel, codeModel);
-        for (var endpointTuple : endpointTupleRepo.getEndpointTuples()) {
-            ArchitectureItem archEndpoint = endpointTuple.getArchitectureEndpoint();
-            CodeCompilationUnit compUnit = endpointTuple.getCodeEndpoint();
-            Confidence confidence = new Confidence();
-            if (archEndpoint instanceof ArchitectureInterface archInterface) {
-                confidence = calculateConfidence(archInterface, compUnit);
-            }
-            if (archEndpoint instanceof ArchitectureComponent archComponent) {
-                confidence = calculateConfidence(archComponent, compUnit);
-            }
-            confidences.add(endpointTuple, confidence);
+    /**
+     * The input of a single evaluation of a heuristic.
+     *
+     * @param archModel  the architecture model
+     * @param codeModel  the code model
+     * @param nodeResult the result of the child node of a dependent heuristic, or null for a standalone heuristic
+     * @param pool       the pool that evaluates the endpoint tuples concurrently, or null to evaluate them sequentially
+     */
+    public record Input(ArchitectureModel archModel, CodeModel codeModel, NodeResult nodeResult, ForkJoinPool pool) {
+    }
+
+    /**
+     * Calculates the confidences of all endpoint tuples of the models of the specified input. If the input specifies a pool, e.g., the pool of a
+     * {@link ParallelComputation}, the endpoint tuples are split across that pool. The confidences are always added in the order of the endpoint tuples.
+     *
+     * @param input the input of the evaluation
+     * @return the confidences of all endpoint tuples
+     */
+    protected final NodeResult getNodeResult(Input input) {
+        EndpointTupleRepo endpointTupleRepo = new EndpointTupleRepo(input.archModel(), input.codeModel());
+        Confidence[] calculatedConfidences;
+        ForkJoinPool pool = input.pool();
+        if (pool == null) {
+            calculatedConfidences = calculateConfidences(endpointTupleRepo, input, false);
+        } else if (ForkJoinTask.getPool() == pool) {
+            // A parallel stream splits its work across the pool of the current worker
+            calculatedConfidences = calculateConfidences(endpointTupleRepo, input, true);
+        } else {
+            calculatedConfidences = pool.invoke(ForkJoinTask.adapt(() -> calculateConfidences(endpointTupleRepo, input, true)));
+        }
+
+        NodeResult confidences = new NodeResult(endpointTupleRepo);
+        for (int i = 0; i < calculatedConfidences.length; i++) {
+            confidences.add(endpointTupleRepo.getEndpointTuple(i), calculatedConfidences[i]);
         }
         return confidences;
     }
 
-    protected Confidence calculateConfidence(ArchitectureComponent archComponent, CodeCompilationUnit compUnit) {
+    private Confidence[] calculateConfidences(EndpointTupleRepo endpointTupleRepo, Input input, boolean parallel) {
+        IntStream indices = IntStream.range(0, endpointTupleRepo.size());
+        if (parallel) {
+            indices = indices.parallel();
+        }
+        return indices.mapToObj(i -> calculateConfidence(endpointTupleRepo.getEndpointTuple(i), input)).toArray(Confidence[]::new);
+    }
+
+    private Confidence calculateConfidence(SamCodeEndpointTuple endpointTuple, Input input) {
+        ArchitectureItem archEndpoint = endpointTuple.getArchitectureEndpoint();
+        CodeCompilationUnit compUnit = endpointTuple.getCodeEndpoint();
+        Confidence confidence = new Confidence();
+        if (archEndpoint instanceof ArchitectureInterface archInterface) {
+            confidence = calculateConfidence(archInterface, compUnit, input);
+        }
+        if (archEndpoint instanceof ArchitectureComponent archComponent) {
+            confidence = calculateConfidence(archComponent, compUnit, input);
+        }
+        return confidence;
+    }
+
+    protected Confidence calculateConfidence(ArchitectureComponent archComponent, CodeCompilationUnit compUnit, Input input) {
         if (archComponent == null || compUnit == null) {
             logger.warn("null values when calculating confidence");
         }
         return new Confidence();
     }
 
-    protected Confidence calculateConfidence(ArchitectureInterface archInterface, CodeCompilationUnit compUnit) {
+    protected Confidence calculateConfidence(ArchitectureInterface archInterface, CodeCompilationUnit compUnit, Input input) {
         if (archInterface == null || compUnit == null) {
             logger.warn("null values when calculating confidence");
         }
@@ -62,6 +110,6 @@ public boolean equals(Object obj) {
         if (this == obj) {
             return true;
         }
-        return (obj instanceof Heuristic);
+        return obj != null && getClass() == obj.getClass();
     }
 }
@@ -10,29 +10,30 @@
 import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.Datatype;
 import edu.kit.kastel.mcse.ardoco.core.api.models.tracelinks.EndpointTuple;
 import edu.kit.kastel.mcse.ardoco.core.codetraceability.informants.arcotl.computation.Confidence;
+import edu.kit.kastel.mcse.ardoco.core.codetraceability.informants.arcotl.computation.NodeResult;
 
 public class InheritLinks extends DependentHeuristic {
 
     @Override
-    protected Confidence calculateConfidence(ArchitectureComponent archComponent, CodeCompilationUnit compUnit) {
-        return inheritLinks(archComponent, compUnit);
+    protected Confidence calculateConfidence(ArchitectureComponent archComponent, CodeCompilationUnit compUnit, Input input) {
+        return inheritLinks(archComponent, compUnit, input.nodeResult());
     }
 
     @Override
-    protected Confidence calculateConfidence(ArchitectureInterface archInterface, CodeCompilationUnit compUnit) {
+    protected Confidence calculateConfidence(ArchitectureInterface archInterface, CodeCompilationUnit compUnit, Input input) {
         if (!archInterface.getSignatures().isEmpty()) {
             return new Confidence();
         }
-        return inheritLinks(archInterface, compUnit);
+        return inheritLinks(archInterface, compUnit, input.nodeResult());
     }
 
-    private Confidence inheritLinks(ArchitectureItem archEndpoint, CodeCompilationUnit compUnit) {
-        if (!getNodeResult().getLinkedEndpoints(compUnit).isEmpty()) {
+    private Confidence inheritLinks(ArchitectureItem archEndpoint, CodeCompilationUnit compUnit, NodeResult nodeResult) {
+        if (!nodeResult.getLinkedEndpoints(compUnit).isEmpty()) {
             return new Confidence();
         }
         Confidence maxConfidence = new Confidence();
         for (Datatype codeType : compUnit.getAllDataTypes()) {
-            Confidence extendedConfidence = inheritLinks(archEndpoint, codeType);
+            Confidence extendedConfidence = inheritLinks(archEndpoint, codeType, nodeResult);
             if (extendedConfidence.compareTo(maxConfidence) > 0) {
                 maxConfidence = extendedConfidence;
             }
@@ -40,7 +41,7 @@ private Confidence inheritLinks(ArchitectureItem archEndpoint, CodeCompilationUn
         return maxConfidence;
     }
 
-    private Confidence inheritLinks(ArchitectureItem archEndpoint, Datatype codeType) {
+    private Confidence inheritLinks(ArchitectureItem archEndpoint, Datatype codeType, NodeResult nodeResult) {
         SortedSet<Datatype> extendedTypes = MethodResemblance.getAllExtendedTypes(codeType);
         MethodResemblance.getAllImplementedInterfaces(codeType).forEach(i -> extendedTypes.addAll(MethodResemblance.getAllExtendedTypes(i)));
 
@@ -49,7 +50,7 @@ private Confidence inheritLinks(ArchitectureItem archEndpoint, Datatype codeType
             if (areInDifferentPackages(codeType.getCompilationUnit(), extendedType.getCompilationUnit())) {
                 continue;
             }
-            Confidence extendedConfidence = getNodeResult().getConfidence(new EndpointTuple(archEndpoint, extendedType.getCompilationUnit()));
+            Confidence extendedConfidence = nodeResult.getConfidence(new EndpointTuple(archEndpoint, extendedType.getCompilationUnit()));
             if (extendedConfidence.compareTo(maxConfidence) > 0) {
                 maxConfidence = extendedConfidence;
             }
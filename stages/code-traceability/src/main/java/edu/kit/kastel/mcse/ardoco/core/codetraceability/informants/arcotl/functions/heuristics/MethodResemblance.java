@@ -1,4 +1,4 @@
-/* Licensed under MIT 2023. */
+/* Licensed under MIT 2023-2024. */
 package edu.kit.kastel.mcse.ardoco.core.codetraceability.informants.arcotl.functions.heuristics;
 
 import java.util.SortedSet;
@@ -15,7 +15,7 @@
 public class MethodResemblance extends StandaloneHeuristic {
 
     @Override
-    protected Confidence calculateConfidence(ArchitectureInterface archInterface, CodeCompilationUnit compUnit) {
+    protected Confidence calculateConfidence(ArchitectureInterface archInterface, CodeCompilationUnit compUnit, Input input) {
         int numArchMethods = archInterface.getSignatures().size();
         if (0 == numArchMethods) {
             return new Confidence();
@@ -54,35 +54,27 @@ protected Confidence calculateConfidence(ArchitectureInterface archInterface, Co
 
     private boolean isImplementedMethod(ControlElement codeMethod, Datatype codeType) {
         SortedSet<ControlElement> implMethods = new TreeSet<>();
-        getAllImplementedInterfaces(codeType).forEach(i -> getAllExtendedTypes(i).forEach(j -> implMethods.addAll(j.getDeclaredMethods())));
+        codeType.getAllImplementedTypes().forEach(i -> i.getAllExtendedTypes().forEach(j -> implMethods.addAll(j.getDeclaredMethods())));
         return implMethods.stream().anyMatch(implMethod -> implMethod.getName().equalsIgnoreCase(codeMethod.getName()));
     }
 
     private boolean isExtendedMethod(ControlElement codeMethod, Datatype codeType) {
         SortedSet<ControlElement> extendedMethods = new TreeSet<>();
-        SortedSet<Datatype> extendedTypes = getAllExtendedTypes(codeType);
-        extendedTypes.remove(codeType);
-        extendedTypes.forEach(i -> extendedMethods.addAll(i.getDeclaredMethods()));
+        for (Datatype extendedType : codeType.getAllExtendedTypes()) {
+            if (!extendedType.equals(codeType)) {
+                extendedMethods.addAll(extendedType.getDeclaredMethods());
+            }
+        }
         return extendedMethods.stream().anyMatch(i -> i.getName().equalsIgnoreCase(codeMethod.getName()));
     }
 
     // returns extended types + type itself
     public static SortedSet<Datatype> getAllExtendedTypes(Datatype codeType) {
-        SortedSet<Datatype> allExtendedTypes = new TreeSet<>();
-        allExtendedTypes.add(codeType);
-        for (Datatype extendedType : codeType.getExtendedTypes()) {
-            allExtendedTypes.add(extendedType);
-            allExtendedTypes.addAll(getAllExtendedTypes(extendedType));
-        }
-        return allExtendedTypes;
+        return new TreeSet<>(codeType.getAllExtendedTypes());
     }
 
     public static SortedSet<Datatype> getAllImplementedInterfaces(Datatype codeType) {
-        SortedSet<Datatype> allImplementedInterfaces = new TreeSet<>();
-        for (Datatype extendedType : getAllExtendedTypes(codeType)) {
-            allImplementedInterfaces.addAll(extendedType.getImplementedTypes());
-        }
-        return allImplementedInterfaces;
+        return new TreeSet<>(codeType.getAllImplementedTypes());
     }
 
     @Override
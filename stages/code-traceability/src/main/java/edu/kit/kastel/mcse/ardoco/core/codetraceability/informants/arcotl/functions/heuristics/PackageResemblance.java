@@ -20,12 +20,12 @@ public PackageResemblance(NameComparisonUtils.PreprocessingMethod config) {
     }
 
     @Override
-    protected Confidence calculateConfidence(ArchitectureComponent archComponent, CodeCompilationUnit compUnit) {
+    protected Confidence calculateConfidence(ArchitectureComponent archComponent, CodeCompilationUnit compUnit, Input input) {
         return calculatePackageResemblance(archComponent, compUnit);
     }
 
     @Override
-    protected Confidence calculateConfidence(ArchitectureInterface archInterface, CodeCompilationUnit compUnit) {
+    protected Confidence calculateConfidence(ArchitectureInterface archInterface, CodeCompilationUnit compUnit, Input input) {
         if (!archInterface.getSignatures().isEmpty()) {
             return new Confidence();
         }
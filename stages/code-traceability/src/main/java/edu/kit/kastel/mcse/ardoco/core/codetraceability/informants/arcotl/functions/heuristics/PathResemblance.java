@@ -7,6 +7,7 @@
 import java.util.TreeSet;
 
 import edu.kit.kastel.mcse.ardoco.core.api.models.Entity;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.CodeModel;
 import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.architecture.ArchitectureComponent;
 import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.architecture.ArchitectureInterface;
 import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.CodeCompilationUnit;
@@ -17,21 +18,21 @@
 public class PathResemblance extends StandaloneHeuristic {
 
     @Override
-    protected Confidence calculateConfidence(ArchitectureComponent archComponent, CodeCompilationUnit compUnit) {
-        return calculatePathResemblance(archComponent, compUnit);
+    protected Confidence calculateConfidence(ArchitectureComponent archComponent, CodeCompilationUnit compUnit, Input input) {
+        return calculatePathResemblance(archComponent, compUnit, input.codeModel());
     }
 
     @Override
-    protected Confidence calculateConfidence(ArchitectureInterface archInterface, CodeCompilationUnit compUnit) {
+    protected Confidence calculateConfidence(ArchitectureInterface archInterface, CodeCompilationUnit compUnit, Input input) {
         if (!archInterface.getSignatures().isEmpty()) {
             return new Confidence();
         }
-        return calculatePathResemblance(archInterface, compUnit);
+        return calculatePathResemblance(archInterface, compUnit, input.codeModel());
     }
 
-    private Confidence calculatePathResemblance(Entity archEndpoint, CodeCompilationUnit compUnit) {
+    private Confidence calculatePathResemblance(Entity archEndpoint, CodeCompilationUnit compUnit, CodeModel codeModel) {
         List<String> codeNames = NameComparisonUtils.getProcessedSplit(compUnit.getPathElements());
-        Set<String> allPackageNames = getAllPackageNames();
+        Set<String> allPackageNames = getAllPackageNames(codeModel);
         if (compUnit.hasParent()) {
             codeNames.removeAll(allPackageNames);
         }
@@ -42,8 +43,8 @@ private Confidence calculatePathResemblance(Entity archEndpoint, CodeCompilation
         return new Confidence(similarity);
     }
 
-    private SortedSet<String> getAllPackageNames() {
-        List<? extends CodePackage> packages = getCodeModel().getAllPackages();
+    private SortedSet<String> getAllPackageNames(CodeModel codeModel) {
+        List<? extends CodePackage> packages = codeModel.getAllPackages();
         SortedSet<String> allPackageNames = new TreeSet<>();
         for (CodePackage codePackage : packages) {
             allPackageNames.add(codePackage.getName());
@@ -15,16 +15,17 @@
 import edu.kit.kastel.mcse.ardoco.core.api.models.tracelinks.EndpointTuple;
 import edu.kit.kastel.mcse.ardoco.core.codetraceability.informants.arcotl.NameComparisonUtils;
 import edu.kit.kastel.mcse.ardoco.core.codetraceability.informants.arcotl.computation.Confidence;
+import edu.kit.kastel.mcse.ardoco.core.codetraceability.informants.arcotl.computation.NodeResult;
 
 public class ProvidedInterfaceCorrespondence extends DependentHeuristic {
 
     @Override
-    protected Confidence calculateConfidence(ArchitectureComponent archComponent, CodeCompilationUnit compUnit) {
-        return calculateProvidedInterfaceCorrespondence(archComponent, compUnit);
+    protected Confidence calculateConfidence(ArchitectureComponent archComponent, CodeCompilationUnit compUnit, Input input) {
+        return calculateProvidedInterfaceCorrespondence(archComponent, compUnit, input.nodeResult());
     }
 
-    private Confidence calculateProvidedInterfaceCorrespondence(ArchitectureComponent archComponent, CodeCompilationUnit compUnit) {
-        if (!getNodeResult().getConfidence(new EndpointTuple(archComponent, compUnit)).hasValue()) {
+    private Confidence calculateProvidedInterfaceCorrespondence(ArchitectureComponent archComponent, CodeCompilationUnit compUnit, NodeResult nodeResult) {
+        if (!nodeResult.getConfidence(new EndpointTuple(archComponent, compUnit)).hasValue()) {
             return new Confidence();
         }
         if (!compUnit.hasParent()) {
@@ -33,7 +34,7 @@ private Confidence calculateProvidedInterfaceCorrespondence(ArchitectureComponen
 
         SortedSet<Entity> interfaceLinks = new TreeSet<>();
         for (ArchitectureInterface providedInterface : archComponent.getProvidedInterfaces()) {
-            interfaceLinks.addAll(getLinks(providedInterface));
+            interfaceLinks.addAll(getLinks(providedInterface, nodeResult));
         }
 
         SortedSet<CodeModule> componentPackage = getPackage(archComponent, compUnit);
@@ -41,7 +42,7 @@ private Confidence calculateProvidedInterfaceCorrespondence(ArchitectureComponen
             return new Confidence();
         }
 
-        SortedSet<CodeModule> allPackages = getPackages(archComponent, getLinks(archComponent));
+        SortedSet<CodeModule> allPackages = getPackages(archComponent, getLinks(archComponent, nodeResult));
         if (containsAny(interfaceLinks, allPackages)) {
             return new Confidence(1.0);
         }
@@ -75,9 +76,9 @@ private SortedSet<CodeCompilationUnit> getAllOverridenTypes(CodeCompilationUnit
         return overridenCompUnits;
     }
 
-    private SortedSet<CodeCompilationUnit> getLinks(Entity ae) {
+    private SortedSet<CodeCompilationUnit> getLinks(Entity ae, NodeResult nodeResult) {
         SortedSet<CodeCompilationUnit> ces = new TreeSet<>();
-        SortedSet<Entity> endpoints = getNodeResult().getLinkedEndpoints(ae);
+        SortedSet<Entity> endpoints = nodeResult.getLinkedEndpoints(ae);
         endpoints.forEach(endpoint -> ces.add((CodeCompilationUnit) endpoint));
         return ces;
     }
@@ -10,20 +10,21 @@
 import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.CodeCompilationUnit;
 import edu.kit.kastel.mcse.ardoco.core.api.models.tracelinks.EndpointTuple;
 import edu.kit.kastel.mcse.ardoco.core.codetraceability.informants.arcotl.computation.Confidence;
+import edu.kit.kastel.mcse.ardoco.core.codetraceability.informants.arcotl.computation.NodeResult;
 
 public class Required extends DependentHeuristic {
 
     @Override
-    protected Confidence calculateConfidence(ArchitectureComponent archComponent, CodeCompilationUnit compUnit) {
-        return calculateReq(archComponent, compUnit);
+    protected Confidence calculateConfidence(ArchitectureComponent archComponent, CodeCompilationUnit compUnit, Input input) {
+        return calculateReq(archComponent, compUnit, input.nodeResult());
     }
 
-    private Confidence calculateReq(ArchitectureComponent archEndpoint, CodeCompilationUnit compUnit) {
-        if (!getNodeResult().getConfidence(new EndpointTuple(archEndpoint, compUnit)).hasValue()) {
+    private Confidence calculateReq(ArchitectureComponent archEndpoint, CodeCompilationUnit compUnit, NodeResult nodeResult) {
+        if (!nodeResult.getConfidence(new EndpointTuple(archEndpoint, compUnit)).hasValue()) {
             return new Confidence();
         }
         SortedSet<ArchitectureComponent> allLinks = new TreeSet<>();
-        SortedSet<Entity> linkedEndpoints = getNodeResult().getLinkedEndpoints(compUnit);
+        SortedSet<Entity> linkedEndpoints = nodeResult.getLinkedEndpoints(compUnit);
         for (Entity linkedEndpoint : linkedEndpoints) {
             if (linkedEndpoint instanceof ArchitectureComponent comp) {
                 allLinks.add(comp);
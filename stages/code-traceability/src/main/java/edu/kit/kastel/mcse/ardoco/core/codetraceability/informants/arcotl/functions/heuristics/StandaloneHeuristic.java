@@ -1,7 +1,7 @@
-/* Licensed under MIT 2023. */
+/* Licensed under MIT 2023-2024. */
 package edu.kit.kastel.mcse.ardoco.core.codetraceability.informants.arcotl.functions.heuristics;
 
-import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
 
 import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.ArchitectureModel;
 import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.CodeModel;
@@ -13,37 +13,15 @@
  */
 public abstract class StandaloneHeuristic extends Heuristic {
 
-    private CodeModel codeModel;
-
     public StandaloneHeuristicNode getNode() {
         return new StandaloneHeuristicNode(this);
     }
 
-    protected CodeModel getCodeModel() {
-        return codeModel;
-    }
-
     public NodeResult calculateConfidences(ArchitectureModel archModel, CodeModel codeModel) {
-        this.codeModel = codeModel;
-        return getNodeResult(archModel, codeModel);
-    }
-
-    @Override
-    public boolean equals(Object o) {
-        if (this == o)
-            return true;
-        if (!(o instanceof StandaloneHeuristic that))
-            return false;
-        if (!super.equals(o))
-            return false;
-
-        return Objects.equals(codeModel, that.codeModel);
+        return calculateConfidences(archModel, codeModel, null);
     }
 
-    @Override
-    public int hashCode() {
-        int result = super.hashCode();
-        result = 31 * result + (codeModel != null ? codeModel.hashCode() : 0);
-        return result;
+    public NodeResult calculateConfidences(ArchitectureModel archModel, CodeModel codeModel, ForkJoinPool pool) {
+        return getNodeResult(new Input(archModel, codeModel, null, pool));
     }
 }
@@ -13,29 +13,30 @@
 import edu.kit.kastel.mcse.ardoco.core.api.models.tracelinks.EndpointTuple;
 import edu.kit.kastel.mcse.ardoco.core.codetraceability.informants.arcotl.NameComparisonUtils;
 import edu.kit.kastel.mcse.ardoco.core.codetraceability.informants.arcotl.computation.Confidence;
+import edu.kit.kastel.mcse.ardoco.core.codetraceability.informants.arcotl.computation.NodeResult;
 
 public class SubpackageFilter extends DependentHeuristic {
 
     @Override
-    protected Confidence calculateConfidence(ArchitectureComponent archComponent, CodeCompilationUnit compUnit) {
-        return calculateSubpackageFilter(archComponent, compUnit);
+    protected Confidence calculateConfidence(ArchitectureComponent archComponent, CodeCompilationUnit compUnit, Input input) {
+        return calculateSubpackageFilter(archComponent, compUnit, input.nodeResult());
     }
 
     @Override
-    protected Confidence calculateConfidence(ArchitectureInterface archInterface, CodeCompilationUnit compUnit) {
+    protected Confidence calculateConfidence(ArchitectureInterface archInterface, CodeCompilationUnit compUnit, Input input) {
         if (!archInterface.getSignatures().isEmpty()) {
             return new Confidence();
         }
-        return calculateSubpackageFilter(archInterface, compUnit);
+        return calculateSubpackageFilter(archInterface, compUnit, input.nodeResult());
     }
 
-    private Confidence calculateSubpackageFilter(ArchitectureItem archEndpoint, CodeCompilationUnit compUnit) {
+    private Confidence calculateSubpackageFilter(ArchitectureItem archEndpoint, CodeCompilationUnit compUnit, NodeResult nodeResult) {
         EndpointTuple thisTuple = new EndpointTuple(archEndpoint, compUnit);
-        if (!getNodeResult().getConfidence(thisTuple).hasValue()) {
+        if (!nodeResult.getConfidence(thisTuple).hasValue()) {
             return new Confidence();
         }
         List<CodePackage> thisPackages = NameComparisonUtils.getMatchedPackages(archEndpoint, compUnit);
-        SortedSet<Entity> linkedArchitectureEndpoints = getNodeResult().getLinkedEndpoints(compUnit);
+        SortedSet<Entity> linkedArchitectureEndpoints = nodeResult.getLinkedEndpoints(compUnit);
         linkedArchitectureEndpoints.remove(archEndpoint);
         for (var linkedArchitectureEndpoint : linkedArchitectureEndpoints) {
             List<CodePackage> otherPackages = NameComparisonUtils.getMatchedPackages(linkedArchitectureEndpoint, compUnit);
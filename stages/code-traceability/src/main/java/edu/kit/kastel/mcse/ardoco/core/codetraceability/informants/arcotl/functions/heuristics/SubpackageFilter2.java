@@ -10,29 +10,30 @@
 import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.CodeCompilationUnit;
 import edu.kit.kastel.mcse.ardoco.core.api.models.tracelinks.EndpointTuple;
 import edu.kit.kastel.mcse.ardoco.core.codetraceability.informants.arcotl.computation.Confidence;
+import edu.kit.kastel.mcse.ardoco.core.codetraceability.informants.arcotl.computation.NodeResult;
 
 public class SubpackageFilter2 extends DependentHeuristic {
 
     @Override
-    protected Confidence calculateConfidence(ArchitectureComponent archComponent, CodeCompilationUnit compUnit) {
-        return calculateSubpackageFilter(archComponent, compUnit);
+    protected Confidence calculateConfidence(ArchitectureComponent archComponent, CodeCompilationUnit compUnit, Input input) {
+        return calculateSubpackageFilter(archComponent, compUnit, input.nodeResult());
     }
 
     @Override
-    protected Confidence calculateConfidence(ArchitectureInterface archInterface, CodeCompilationUnit compUnit) {
+    protected Confidence calculateConfidence(ArchitectureInterface archInterface, CodeCompilationUnit compUnit, Input input) {
         if (!archInterface.getSignatures().isEmpty()) {
             return new Confidence();
         }
-        return calculateSubpackageFilter(archInterface, compUnit);
+        return calculateSubpackageFilter(archInterface, compUnit, input.nodeResult());
     }
 
-    private Confidence calculateSubpackageFilter(ArchitectureItem archEndpoint, CodeCompilationUnit compUnit) {
+    private Confidence calculateSubpackageFilter(ArchitectureItem archEndpoint, CodeCompilationUnit compUnit, NodeResult nodeResult) {
         EndpointTuple thisTuple = new EndpointTuple(archEndpoint, compUnit);
-        if (!getNodeResult().getConfidence(thisTuple).hasValue()) {
+        if (!nodeResult.getConfidence(thisTuple).hasValue()) {
             return new Confidence();
         }
         int i = 0;
-        SortedSet<Entity> linkedArchEndpoints = getNodeResult().getLinkedEndpoints(compUnit);
+        SortedSet<Entity> linkedArchEndpoints = nodeResult.getLinkedEndpoints(compUnit);
         for (var linkedArchEndpoint : linkedArchEndpoints) {
             if (linkedArchEndpoint instanceof ArchitectureComponent) {
                 i++;
@@ -0,0 +1,61 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.core.codetraceability.informants;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.TreeSet;
+
+import org.eclipse.collections.api.factory.Sets;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import edu.kit.kastel.mcse.ardoco.core.api.models.ModelInstanceImpl;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.architecture.ArchitectureComponent;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.CodeCompilationUnit;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.CodeItemRepository;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.ProgrammingLanguage;
+import edu.kit.kastel.mcse.ardoco.core.api.models.tracelinks.EndpointTuple;
+import edu.kit.kastel.mcse.ardoco.core.api.models.tracelinks.SadSamTraceLink;
+import edu.kit.kastel.mcse.ardoco.core.api.models.tracelinks.SamCodeTraceLink;
+import edu.kit.kastel.mcse.ardoco.core.api.models.tracelinks.TransitiveTraceLink;
+
+class TraceLinkCombinerTest {
+
+    @Test
+    void combineToTransitiveTraceLinksTest() {
+        var first = new ArchitectureComponent("First", "1", new TreeSet<>(), new TreeSet<>(), new TreeSet<>(), "component");
+        var second = new ArchitectureComponent("Second", "2", new TreeSet<>(), new TreeSet<>(), new TreeSet<>(), "component");
+        var repository = new CodeItemRepository();
+        var firstUnit = new CodeCompilationUnit(repository, "First.java", new TreeSet<>(), List.of("a"), "java", ProgrammingLanguage.JAVA);
+        var secondUnit = new CodeCompilationUnit(repository, "Second.java", new TreeSet<>(), List.of("a"), "java", ProgrammingLanguage.JAVA);
+        var firstToFirstUnit = new SamCodeTraceLink(first, firstUnit);
+        var firstToSecondUnit = new SamCodeTraceLink(first, secondUnit);
+        var secondToSecondUnit = new SamCodeTraceLink(second, secondUnit);
+
+        var sadSamTraceLink = mockSadSamTraceLink(new ModelInstanceImpl("First", "component", "1"));
+        var unmatchedSadSamTraceLink = mockSadSamTraceLink(new ModelInstanceImpl("Third", "component", "3"));
+
+        var index = TraceLinkCombiner.indexByArchitectureEndpoint(Sets.immutable.with(firstToFirstUnit, firstToSecondUnit, secondToSecondUnit));
+        assertEquals(2, index.keysView().size());
+        assertEquals(2, index.get("1").size());
+
+        var combined = TraceLinkCombiner.combineToTransitiveTraceLinks(Sets.immutable.with(sadSamTraceLink, unmatchedSadSamTraceLink), index);
+        assertEquals(2, combined.size());
+        for (var transitiveTraceLink : combined) {
+            assertTrue(transitiveTraceLink instanceof TransitiveTraceLink);
+            var traceLink = (TransitiveTraceLink) transitiveTraceLink;
+            assertEquals(sadSamTraceLink, traceLink.getFirstTraceLink());
+            assertTrue(index.get("1").contains(traceLink.getSecondTraceLink()));
+        }
+        assertEquals(Sets.immutable.with(firstUnit, secondUnit), combined.collect(traceLink -> traceLink.getEndpointTuple().secondEndpoint()));
+    }
+
+    private static SadSamTraceLink mockSadSamTraceLink(ModelInstanceImpl modelInstance) {
+        SadSamTraceLink sadSamTraceLink = Mockito.mock(SadSamTraceLink.class);
+        Mockito.when(sadSamTraceLink.getModelElementUid()).thenReturn(modelInstance.getUid());
+        Mockito.when(sadSamTraceLink.getEndpointTuple()).thenReturn(new EndpointTuple(modelInstance, modelInstance));
+        return sadSamTraceLink;
+    }
+}
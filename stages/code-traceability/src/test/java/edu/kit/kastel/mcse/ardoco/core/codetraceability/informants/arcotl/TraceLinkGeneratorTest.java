@@ -0,0 +1,119 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.core.codetraceability.informants.arcotl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.ArchitectureModel;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.CodeModel;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.architecture.ArchitectureComponent;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.architecture.ArchitectureItem;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.CodeCompilationUnit;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.CodeItemRepository;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.CodePackage;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.ProgrammingLanguage;
+import edu.kit.kastel.mcse.ardoco.core.api.models.tracelinks.SamCodeTraceLink;
+
+class TraceLinkGeneratorTest {
+
+    private ForkJoinPool pool;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void parallelEqualsSequentialTest() {
+        var archModel = createArchitectureModel("Database", "Logic", "Frontend");
+        var codeModel = createCodeModel("database", "logic", "frontend", "util");
+
+        Set<SamCodeTraceLink> sequential = TraceLinkGenerator.generateTraceLinks(TraceLinkGenerator.getRoot(), archModel, codeModel, null);
+        Set<SamCodeTraceLink> parallel = TraceLinkGenerator.generateTraceLinks(TraceLinkGenerator.getRoot(), archModel, codeModel, pool);
+
+        assertEquals(List.copyOf(sequential), List.copyOf(parallel));
+    }
+
+    @Test
+    void concurrentRunsTest() {
+        var firstArchModel = createArchitectureModel("Database", "Logic");
+        var firstCodeModel = createCodeModel("database", "logic");
+        var secondArchModel = createArchitectureModel("Frontend", "Storage", "Util");
+        var secondCodeModel = createCodeModel("frontend", "storage", "util", "misc");
+        var expectedFirst = List.copyOf(TraceLinkGenerator.generateTraceLinks(TraceLinkGenerator.getRoot(), firstArchModel, firstCodeModel, null));
+        var expectedSecond = List.copyOf(TraceLinkGenerator.generateTraceLinks(TraceLinkGenerator.getRoot(), secondArchModel, secondCodeModel, null));
+
+        List<ForkJoinTask<Set<SamCodeTraceLink>>> runs = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            runs.add(pool.submit(() -> TraceLinkGenerator.generateTraceLinks(firstArchModel, firstCodeModel)));
+            runs.add(pool.submit(() -> TraceLinkGenerator.generateTraceLinks(secondArchModel, secondCodeModel)));
+        }
+        for (int i = 0; i < runs.size(); i++) {
+            assertEquals(i % 2 == 0 ? expectedFirst : expectedSecond, List.copyOf(runs.get(i).join()));
+        }
+    }
+
+    @Test
+    void sharedTreeTest() {
+        var firstArchModel = createArchitectureModel("Database", "Logic");
+        var firstCodeModel = createCodeModel("database", "logic");
+        var secondArchModel = createArchitectureModel("Frontend", "Storage", "Util");
+        var secondCodeModel = createCodeModel("frontend", "storage", "util", "misc");
+        var expectedFirst = List.copyOf(TraceLinkGenerator.generateTraceLinks(firstArchModel, firstCodeModel));
+        var expectedSecond = List.copyOf(TraceLinkGenerator.generateTraceLinks(secondArchModel, secondCodeModel));
+
+        // The heuristics are stateless, so concurrent computations can share a tree
+        var root = TraceLinkGenerator.getRoot();
+        List<ForkJoinTask<Set<SamCodeTraceLink>>> runs = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            runs.add(pool.submit(() -> TraceLinkGenerator.generateTraceLinks(root, firstArchModel, firstCodeModel, pool)));
+            runs.add(pool.submit(() -> TraceLinkGenerator.generateTraceLinks(root, secondArchModel, secondCodeModel, pool)));
+        }
+        for (int i = 0; i < runs.size(); i++) {
+            assertEquals(i % 2 == 0 ? expectedFirst : expectedSecond, List.copyOf(runs.get(i).join()));
+        }
+    }
+
+    @Test
+    void getRootTest() {
+        assertNotSame(TraceLinkGenerator.getRoot(), TraceLinkGenerator.getRoot());
+    }
+
+    private static ArchitectureModel createArchitectureModel(String... names) {
+        List<ArchitectureItem> components = new ArrayList<>();
+        for (String name : names) {
+            components.add(new ArchitectureComponent(name, name, new TreeSet<>(), new TreeSet<>(), new TreeSet<>(), "component"));
+        }
+        return new ArchitectureModel(components);
+    }
+
+    private static CodeModel createCodeModel(String... packageNames) {
+        var repository = new CodeItemRepository();
+        var codePackages = new TreeSet<CodePackage>();
+        for (String packageName : packageNames) {
+            String className = Character.toUpperCase(packageName.charAt(0)) + packageName.substring(1);
+            var units = new TreeSet<CodeCompilationUnit>();
+            units.add(new CodeCompilationUnit(repository, className, new TreeSet<>(), List.of("src", packageName), "java", ProgrammingLanguage.JAVA));
+            units.add(new CodeCompilationUnit(repository, className + "Manager", new TreeSet<>(), List.of("src", packageName), "java",
+                    ProgrammingLanguage.JAVA));
+            codePackages.add(new CodePackage(repository, packageName, units));
+        }
+        return new CodeModel(repository, codePackages);
+    }
+}
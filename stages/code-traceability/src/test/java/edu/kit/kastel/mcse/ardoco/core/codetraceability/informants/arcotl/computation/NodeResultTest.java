@@ -0,0 +1,100 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.core.codetraceability.informants.arcotl.computation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.ArchitectureModel;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.CodeModel;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.architecture.ArchitectureComponent;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.architecture.ArchitectureItem;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.CodeCompilationUnit;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.CodeItemRepository;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.CodePackage;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.ProgrammingLanguage;
+import edu.kit.kastel.mcse.ardoco.core.api.models.tracelinks.SamCodeTraceLink;
+
+class NodeResultTest {
+
+    private ArchitectureComponent first;
+    private ArchitectureComponent second;
+    private CodeCompilationUnit firstUnit;
+    private CodeCompilationUnit secondUnit;
+    private EndpointTupleRepo endpointTupleRepo;
+
+    @BeforeEach
+    void setUp() {
+        first = new ArchitectureComponent("First", "1", new TreeSet<>(), new TreeSet<>(), new TreeSet<>(), "component");
+        second = new ArchitectureComponent("Second", "2", new TreeSet<>(), new TreeSet<>(), new TreeSet<>(), "component");
+        var repository = new CodeItemRepository();
+        firstUnit = new CodeCompilationUnit(repository, "First.java", new TreeSet<>(), List.of("a"), "java", ProgrammingLanguage.JAVA);
+        secondUnit = new CodeCompilationUnit(repository, "Second.java", new TreeSet<>(), List.of("a"), "java", ProgrammingLanguage.JAVA);
+        var codePackage = new CodePackage(repository, "a", new TreeSet<>(List.of(firstUnit, secondUnit)));
+        endpointTupleRepo = new EndpointTupleRepo(new ArchitectureModel(List.<ArchitectureItem>of(first, second)), new CodeModel(repository, new TreeSet<>(
+                List.of(codePackage))));
+    }
+
+    @Test
+    void endpointTupleRepoTest() {
+        assertEquals(4, endpointTupleRepo.size());
+        var endpointTuples = endpointTupleRepo.getEndpointTuples();
+        for (int i = 0; i < endpointTuples.size(); i++) {
+            assertEquals(endpointTuples.get(i), endpointTupleRepo.getEndpointTuple(i));
+        }
+        assertEquals(List.of(new SamCodeEndpointTuple(second, firstUnit), new SamCodeEndpointTuple(second, secondUnit)), endpointTupleRepo.getEndpointTuples(
+                second));
+        assertTrue(endpointTupleRepo.contains(new SamCodeEndpointTuple(first, secondUnit)));
+    }
+
+    @Test
+    void implicitConfidencesTest() {
+        var result = new NodeResult(endpointTupleRepo);
+        var linked = new SamCodeEndpointTuple(first, secondUnit);
+        result.add(linked, new Confidence(0.8));
+
+        assertEquals(new Confidence(0.8), result.getConfidence(linked));
+        assertFalse(result.getConfidence(new SamCodeEndpointTuple(second, firstUnit)).hasValue());
+        assertNull(new NodeResult().getConfidence(linked));
+        assertEquals(new Confidence(0.8), result.getBestConfidence(first));
+        assertFalse(result.getBestConfidence(second).hasValue());
+        assertEquals(List.of(secondUnit), List.copyOf(result.getLinkedEndpoints(first)));
+        assertTrue(result.hasTraceLink(secondUnit));
+        assertFalse(result.hasTraceLink(firstUnit));
+        assertEquals(List.of(new SamCodeTraceLink(first, secondUnit)), List.copyOf(result.getTraceLinks()));
+
+        // Endpoint tuples without value are only stored implicitly
+        var withoutValue = result.getEndpointTuples(first, new Confidence());
+        assertEquals(List.of(new SamCodeEndpointTuple(first, firstUnit)), List.copyOf(withoutValue.getStoredEndpointTuples()));
+        assertEquals(List.of(linked), List.copyOf(result.getResultForEndpoint(secondUnit).getStoredEndpointTuples()));
+    }
+
+    @Test
+    void removeAndFilterTest() {
+        var result = new NodeResult(endpointTupleRepo);
+        var firstTuple = new SamCodeEndpointTuple(first, firstUnit);
+        var secondTuple = new SamCodeEndpointTuple(second, secondUnit);
+        result.add(firstTuple, new Confidence(0.5));
+        result.add(secondTuple, new Confidence(1.0));
+
+        var toFilter = new NodeResult();
+        toFilter.add(secondTuple, new Confidence(1.0));
+        var filtered = result.filter(toFilter);
+        assertTrue(filtered.hasTraceLink(first));
+        assertFalse(filtered.hasTraceLink(second));
+        assertEquals(List.of(firstTuple), List.copyOf(filtered.getStoredEndpointTuples()));
+
+        // Adding a confidence without value removes the stored confidence
+        result.add(firstTuple, new Confidence());
+        assertFalse(result.hasTraceLink(first));
+        assertFalse(result.hasTraceLink(firstUnit));
+        assertEquals(List.of(secondTuple), List.copyOf(result.getStoredEndpointTuples()));
+    }
+}
@@ -67,6 +67,8 @@ public class DiagramModelLinkInformant extends Informant {
     private double similarityThreshold = DEFAULT_SIMILARITY_THRESHOLD;
     @Configurable
     private boolean skip = false;
+    @Configurable
+    private boolean parallelFlooding = false;
 
     /**
      * Creates a new DiagramModelLinkInformant.
@@ -127,7 +129,7 @@ private void match(Diagram diagram, CodeModel model, ModelType type, DiagramMode
     private <M> void match(ModelType modelType, DiagramModelLinkState matching, DirectedMultigraph<Vertex<Box>, Edge> diagramAsGraph,
             DirectedMultigraph<Vertex<M>, Edge> modelAsGraph, Function<M, String> idExtractor, WeightedTextSimilarity similarityFunction) {
         SimilarityFloodingAlgorithm<Vertex<Box>, Vertex<M>, Label> algorithm = new SimilarityFloodingAlgorithm<>(this.epsilon, this.maxIterations,
-                PropagationCoefficientFormula.getInverseAverageFormula(), FixpointFormula.getCFormula());
+                PropagationCoefficientFormula.getInverseAverageFormula(), FixpointFormula.getCFormula(), this.parallelFlooding);
 
         SimilarityMapping<Vertex<Box>, Vertex<M>> initialSimilarity = new SimilarityMapping<>(pair -> {
             double similarity = similarityFunction.apply(pair.getFirst().getName(), pair.getSecond().getName());
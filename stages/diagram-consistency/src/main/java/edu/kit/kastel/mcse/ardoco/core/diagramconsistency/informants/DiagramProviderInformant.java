@@ -6,6 +6,8 @@
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
 import java.util.Optional;
 import java.util.SortedMap;
 
@@ -103,6 +105,11 @@ private void addDiagramToState(Diagram diagram) {
         }
     }
 
+    @Override
+    protected List<Path> getOwnInputFiles() {
+        return this.diagramFile == null ? List.of() : List.of(this.diagramFile.toPath());
+    }
+
     @Override
     protected void delegateApplyConfigurationToInternalObjects(SortedMap<String, String> additionalConfiguration) {
         // Intentionally left empty.
@@ -3,6 +3,14 @@
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
 import org.eclipse.collections.api.bimap.MutableBiMap;
 import org.jgrapht.alg.util.Pair;
 import org.jgrapht.graph.DefaultEdge;
@@ -65,6 +73,121 @@ void largeGraph() {
         }
     }
 
+    @DisplayName("Match random graphs like the cartesian product of the vertices")
+    @Test
+    void randomGraphs() {
+        Random random = new Random(42);
+        List<PropagationCoefficientFormula<Integer, Integer>> propagationCoefficientFormulas = List.of(PropagationCoefficientFormula
+                .getInverseProductFormula(), PropagationCoefficientFormula.getInverseAverageFormula());
+
+        for (int run = 0; run < 50; run++) {
+            DirectedMultigraph<Integer, Edge> a = this.buildRandomGraph(random, random.nextInt(20), random.nextInt(30));
+            DirectedMultigraph<Integer, Edge> b = this.buildRandomGraph(random, random.nextInt(20), random.nextInt(30));
+            SimilarityMapping<Integer, Integer> initialMapping = new SimilarityMapping<>(pair -> ((pair.getFirst() * 31 + pair.getSecond() * 17) % 7) / 7.0);
+
+            for (PropagationCoefficientFormula<Integer, Integer> propagationCoefficientFormula : propagationCoefficientFormulas) {
+                SimilarityMapping<Integer, Integer> expected = this.matchCartesian(a, b, initialMapping, propagationCoefficientFormula);
+                for (boolean parallel : new boolean[] { false, true }) {
+                    SimilarityMapping<Integer, Integer> mapping = new SimilarityFloodingAlgorithm<Integer, Integer, Label>(0.01, 50,
+                            propagationCoefficientFormula, FixpointFormula.getCFormula(), parallel).match(a, b, initialMapping);
+
+                    assertEquals(new ArrayList<>(expected.getMappedElements()), new ArrayList<>(mapping.getMappedElements()));
+                    for (Pair<Integer, Integer> pair : expected.getMappedElements()) {
+                        assertEquals(expected.getSimilarity(pair), mapping.getSimilarity(pair), 1e-9);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * A straightforward implementation of the algorithm that visits every pair of vertices.
+     */
+    private SimilarityMapping<Integer, Integer> matchCartesian(DirectedMultigraph<Integer, Edge> a, DirectedMultigraph<Integer, Edge> b,
+            SimilarityMapping<Integer, Integer> initialMapping, PropagationCoefficientFormula<Integer, Integer> propagationCoefficientFormula) {
+        List<Pair<Integer, Integer>> vertices = new ArrayList<>();
+        List<Pair<Pair<Integer, Integer>, Pair<Pair<Integer, Integer>, Double>>> edges = new ArrayList<>();
+        for (Integer vertexOfA : a.vertexSet()) {
+            for (Integer vertexOfB : b.vertexSet()) {
+                Pair<Integer, Integer> vertex = new Pair<>(vertexOfA, vertexOfB);
+                boolean propagates = false;
+                for (boolean incoming : new boolean[] { true, false }) {
+                    Map<Label, Set<Integer>> neighborsInA = this.neighbors(a, vertexOfA, incoming);
+                    Map<Label, Set<Integer>> neighborsInB = this.neighbors(b, vertexOfB, incoming);
+                    for (Label label : Label.values()) {
+                        Set<Integer> labelNeighborsInA = neighborsInA.getOrDefault(label, Set.of());
+                        Set<Integer> labelNeighborsInB = neighborsInB.getOrDefault(label, Set.of());
+                        if (labelNeighborsInA.isEmpty() && labelNeighborsInB.isEmpty()) {
+                            continue;
+                        }
+                        double coefficient = propagationCoefficientFormula.calculate(Pair.of(labelNeighborsInA, labelNeighborsInB));
+                        if (coefficient > 0.0) {
+                            propagates = true;
+                            for (Integer neighborInA : labelNeighborsInA) {
+                                for (Integer neighborInB : labelNeighborsInB) {
+                                    edges.add(Pair.of(vertex, Pair.of(new Pair<>(neighborInA, neighborInB), coefficient)));
+                                }
+                            }
+                        }
+                    }
+                }
+                if (propagates) {
+                    vertices.add(vertex);
+                }
+            }
+        }
+
+        double[] initial = initialMapping.getMappedValuesAsArray(vertices);
+        double[] previous = initial;
+        double[] next = initial;
+        double delta = Double.POSITIVE_INFINITY;
+        for (int iteration = 0; iteration < 50 && delta > 0.01; iteration++) {
+            next = FixpointFormula.getCFormula().calculate(initial, previous, mapping -> {
+                double[] flooded = new double[mapping.length];
+                for (var edge : edges) {
+                    int target = vertices.indexOf(edge.getSecond().getFirst());
+                    if (target >= 0) {
+                        flooded[target] += edge.getSecond().getSecond() * mapping[vertices.indexOf(edge.getFirst())];
+                    }
+                }
+                return flooded;
+            });
+            double residuum = 0.0;
+            for (int i = 0; i < next.length; i++) {
+                residuum += (next[i] - previous[i]) * (next[i] - previous[i]);
+            }
+            delta = Math.sqrt(residuum);
+            previous = next;
+        }
+        return new SimilarityMapping<>(vertices, next);
+    }
+
+    private Map<Label, Set<Integer>> neighbors(DirectedMultigraph<Integer, Edge> graph, Integer vertex, boolean incoming) {
+        Map<Label, Set<Integer>> neighbors = new LinkedHashMap<>();
+        for (Edge edge : incoming ? graph.incomingEdgesOf(vertex) : graph.outgoingEdgesOf(vertex)) {
+            Integer neighbor = incoming ? graph.getEdgeSource(edge) : graph.getEdgeTarget(edge);
+            neighbors.computeIfAbsent(edge.getLabel(), label -> new LinkedHashSet<>()).add(neighbor);
+        }
+        return neighbors;
+    }
+
+    private DirectedMultigraph<Integer, Edge> buildRandomGraph(Random random, int size, int numberOfEdges) {
+        DirectedMultigraph<Integer, Edge> graph = new DirectedMultigraph<>(Edge.class);
+        for (int i = 0; i < size; i++) {
+            graph.addVertex(i);
+        }
+        for (int i = 0; i < numberOfEdges && size > 0; i++) {
+            int source = random.nextInt(size);
+            int target = random.nextInt(size);
+            Edge edge = new Edge(Label.values()[random.nextInt(Label.values().length)]);
+            // Multigraphs do not allow loops
+            if (source != target) {
+                graph.addEdge(source, target, edge);
+            }
+        }
+        return graph;
+    }
+
     private DirectedMultigraph<GraphA, Edge> buildGraphA() {
         DirectedMultigraph<GraphA, Edge> a = new DirectedMultigraph<>(Edge.class);
 
@@ -2,6 +2,7 @@
 
 import edu.kit.kastel.mcse.ardoco.core.api.InputDiagramData
 import edu.kit.kastel.mcse.ardoco.core.api.diagramrecognition.DiagramRecognitionState
+import edu.kit.kastel.mcse.ardoco.core.api.models.ModelStates
 import edu.kit.kastel.mcse.ardoco.core.common.util.wordsim.UnicodeCharacterMatchFunctions
 import edu.kit.kastel.mcse.ardoco.core.data.DataRepository
 import edu.kit.kastel.mcse.ardoco.core.pipeline.AbstractExecutionStage
@@ -25,6 +26,13 @@ class DiagramRecognition(
     private lateinit var previousCharacterMatchFunction: UnicodeCharacterMatchFunctions
     private val wordSimUtils = getDataRepository().globalConfiguration.wordSimUtils
 
+    init {
+        declareDataDependencies(
+            listOf(InputDiagramData.ID, ModelStates.ID, DiagramRecognitionState.ID),
+            listOf(DiagramRecognitionState.ID)
+        )
+    }
+
     companion object {
         const val ID = "DiagramRecognition"
 
@@ -7,6 +7,7 @@
 import java.util.SortedMap;
 
 import edu.kit.kastel.mcse.ardoco.core.api.models.ArchitectureModelType;
+import edu.kit.kastel.mcse.ardoco.core.api.models.ModelStates;
 import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.CodeItemRepository;
 import edu.kit.kastel.mcse.ardoco.core.data.DataRepository;
 import edu.kit.kastel.mcse.ardoco.core.models.connectors.generators.Extractor;
@@ -33,6 +34,7 @@ public class ArCoTLModelProviderAgent extends PipelineAgent {
      */
     public ArCoTLModelProviderAgent(DataRepository data, List<Extractor> extractors) {
         super(informants(data, extractors), ArCoTLModelProviderAgent.class.getSimpleName(), data);
+        declareDataDependencies(List.of(ModelStates.ID), List.of(ModelStates.ID));
     }
 
     private static List<? extends Informant> informants(DataRepository data, List<Extractor> extractors) {
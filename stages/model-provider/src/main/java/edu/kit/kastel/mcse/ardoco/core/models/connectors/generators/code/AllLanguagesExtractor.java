@@ -1,9 +1,10 @@
-/* Licensed under MIT 2023. */
+/* Licensed under MIT 2023-2024. */
 package edu.kit.kastel.mcse.ardoco.core.models.connectors.generators.code;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableSet;
 import java.util.SortedSet;
 import java.util.TreeSet;
 
@@ -12,6 +13,7 @@
 import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.CodeItemRepository;
 import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.ProgrammingLanguage;
 import edu.kit.kastel.mcse.ardoco.core.architecture.Deterministic;
+import edu.kit.kastel.mcse.ardoco.core.models.connectors.generators.code.CodeModelManifest.SourceFileChanges;
 import edu.kit.kastel.mcse.ardoco.core.models.connectors.generators.code.java.JavaExtractor;
 import edu.kit.kastel.mcse.ardoco.core.models.connectors.generators.code.shell.ShellExtractor;
 
@@ -28,6 +30,25 @@ public AllLanguagesExtractor(CodeItemRepository codeItemRepository, String path)
                 codeItemRepository, path));
     }
 
+    @Override
+    public void configureBatchedParsing(int batchSize, int numberOfThreads) {
+        codeExtractors.values().forEach(extractor -> extractor.configureBatchedParsing(batchSize, numberOfThreads));
+    }
+
+    /**
+     * Updates the code items of all languages. The languages are updated in a fixed order, so the ids of the created code items do not depend on the order of
+     * the extractors.
+     */
+    @Override
+    protected synchronized NavigableSet<CodeItem> update(CodeItemRepository repository, List<? extends CodeItem> previousContent, SourceFileChanges changes,
+            CodeModelManifest manifest) {
+        NavigableSet<CodeItem> content = new TreeSet<>();
+        for (ProgrammingLanguage language : new TreeSet<>(codeExtractors.keySet())) {
+            content.addAll(codeExtractors.get(language).update(repository, previousContent, changes, manifest));
+        }
+        return content;
+    }
+
     @Override
     public synchronized CodeModel extractModel() {
         if (extractedModel == null) {
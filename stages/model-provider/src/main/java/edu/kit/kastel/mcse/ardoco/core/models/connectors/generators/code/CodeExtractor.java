@@ -5,6 +5,10 @@
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Objects;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -15,14 +19,19 @@
 import edu.kit.kastel.mcse.ardoco.core.api.models.CodeModelType;
 import edu.kit.kastel.mcse.ardoco.core.api.models.ModelType;
 import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.CodeModel;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.BinaryCodeItemStore;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.CodeItem;
 import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.CodeItemRepository;
+import edu.kit.kastel.mcse.ardoco.core.common.IdentifierProvider;
 import edu.kit.kastel.mcse.ardoco.core.models.connectors.generators.Extractor;
 
 public abstract class CodeExtractor extends Extractor {
     private static final Logger logger = LoggerFactory.getLogger(CodeExtractor.class);
 
     private static final String CODE_MODEL_FILE_NAME = "codeModel.acm";
+    private static final String CODE_MODEL_MANIFEST_FILE_NAME = "codeModel.manifest.json";
     protected final CodeItemRepository codeItemRepository;
+    private CodeModelFormat codeModelFormat = CodeModelFormat.JSON;
 
     protected CodeExtractor(CodeItemRepository codeItemRepository, String path) {
         super(path);
@@ -32,12 +41,92 @@ protected CodeExtractor(CodeItemRepository codeItemRepository, String path) {
     @Override
     public abstract CodeModel extractModel();
 
+    /**
+     * Configures whether the source files are parsed in batches by multiple threads. Has to be called before the model is extracted. Extractors that do not
+     * support batched parsing ignore the configuration.
+     *
+     * @param batchSize       the number of source files per batch, zero or less parses all source files at once
+     * @param numberOfThreads the number of threads that parse batches concurrently, at least one
+     */
+    public void configureBatchedParsing(int batchSize, int numberOfThreads) {
+        // Batched parsing is not supported by default
+    }
+
+    /**
+     * Sets the format in which code models are written. Code models are always read in the format they were written in.
+     *
+     * @param codeModelFormat the format of written code models
+     */
+    public void setCodeModelFormat(CodeModelFormat codeModelFormat) {
+        this.codeModelFormat = Objects.requireNonNull(codeModelFormat);
+    }
+
+    /**
+     * Extracts the code model incrementally. The code model of the previous extraction is read from the folder of the code together with a manifest of the
+     * files it was extracted from. Only the files that were added, changed, or removed since then are processed and the code items of the previous code model
+     * are updated in place. If there is no previous code model or manifest, all files are processed. The updated code model and manifest are written back to
+     * the folder of the code afterward.
+     *
+     * @return the extracted code model
+     */
+    public synchronized CodeModel extractModelIncrementally() {
+        CodeModelManifest manifest = readInManifest();
+        CodeModel previousModel = manifest == null ? null : readInCodeModel();
+        if (previousModel == null) {
+            manifest = new CodeModelManifest();
+        }
+
+        CodeModelManifest.SourceFileChanges changes;
+        try {
+            changes = manifest.scan(Path.of(path), List.of(CODE_MODEL_FILE_NAME, CODE_MODEL_MANIFEST_FILE_NAME));
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+        if (previousModel != null && changes.isEmpty()) {
+            logger.info("The code has not changed since the previous extraction.");
+            writeOutManifest(manifest);
+            return previousModel;
+        }
+        logger.info("Extracting code model from {} changed and {} removed files.", changes.changedFiles().size(), changes.removedFiles().size());
+
+        CodeItemRepository repository = previousModel == null ? codeItemRepository : previousModel.getCodeItemRepository();
+        List<? extends CodeItem> previousContent = previousModel == null ? List.of() : previousModel.getContent();
+        // New code items of this run must not reuse the identifiers of the previous code items
+        IdentifierProvider.advancePast(repository.getCodeItemIds());
+        NavigableSet<CodeItem> content = update(repository, previousContent, changes, manifest);
+        CodeModel codeModel = new CodeModel(repository, content);
+        writeOutCodeModel(codeModel);
+        writeOutManifest(manifest);
+        return codeModel;
+    }
+
+    /**
+     * Updates the code items of a previous extraction in place. Code items of changed or removed files are removed, and code items are extracted from added
+     * or changed files. The entries of the manifest that belong to this extractor are updated accordingly.
+     *
+     * @param repository      the repository of the previous extraction
+     * @param previousContent the content of the previous code model, which may contain code items of other extractors
+     * @param changes         the files that were added, changed, or removed since the previous extraction
+     * @param manifest        the manifest of the previous extraction
+     * @return the content of the updated code model that belongs to this extractor
+     */
+    protected abstract NavigableSet<CodeItem> update(CodeItemRepository repository, List<? extends CodeItem> previousContent,
+            CodeModelManifest.SourceFileChanges changes, CodeModelManifest manifest);
+
     @Override
     public final ModelType getModelType() {
         return CodeModelType.CODE_MODEL;
     }
 
     public void writeOutCodeModel(CodeModel codeModel, File outputFile) {
+        if (codeModelFormat == CodeModelFormat.BINARY) {
+            try {
+                codeModel.writeBinary(outputFile.toPath());
+            } catch (IOException e) {
+                logger.warn("An exception occurred when writing the code model.", e);
+            }
+            return;
+        }
         ObjectMapper objectMapper = createObjectMapper();
         objectMapper.registerModule(new Jdk8Module());
         try {
@@ -62,9 +151,23 @@ public CodeModel readInCodeModel() {
         return readInCodeModel(codeModelFile);
     }
 
+    /**
+     * Reads a code model that was written in any {@link CodeModelFormat}. The format is detected from the content of the file.
+     *
+     * @param codeModelFile the file of the code model
+     * @return the code model or null if it cannot be read
+     */
     public static CodeModel readInCodeModel(File codeModelFile) {
         if (codeModelFile != null && codeModelFile.isFile()) {
             logger.info("Reading in existing code model.");
+            if (BinaryCodeItemStore.isBinary(codeModelFile.toPath())) {
+                try {
+                    return CodeModel.readBinary(codeModelFile.toPath());
+                } catch (IOException e) {
+                    logger.warn("An exception occurred when reading the code model.", e);
+                    return null;
+                }
+            }
             ObjectMapper objectMapper = createObjectMapper();
             objectMapper.registerModule(new Jdk8Module());
             try {
@@ -76,6 +179,31 @@ public static CodeModel readInCodeModel(File codeModelFile) {
         return null;
     }
 
+    private CodeModelManifest readInManifest() {
+        File manifestFile = new File(path + File.separator + CODE_MODEL_MANIFEST_FILE_NAME);
+        if (!manifestFile.isFile()) {
+            return null;
+        }
+        try {
+            CodeModelManifest manifest = createObjectMapper().readValue(manifestFile, CodeModelManifest.class);
+            if (manifest.getVersion() == CodeModelManifest.VERSION) {
+                return manifest;
+            }
+            logger.info("Discarding the code model manifest of version {}.", manifest.getVersion());
+        } catch (IOException e) {
+            logger.warn("An exception occurred when reading the code model manifest.", e);
+        }
+        return null;
+    }
+
+    private void writeOutManifest(CodeModelManifest manifest) {
+        try {
+            createObjectMapper().writeValue(new File(path + File.separator + CODE_MODEL_MANIFEST_FILE_NAME), manifest);
+        } catch (IOException e) {
+            logger.warn("An exception occurred when writing the code model manifest.", e);
+        }
+    }
+
     private String getCodeModelFileString() {
         return path + File.separator + CODE_MODEL_FILE_NAME;
     }
@@ -0,0 +1,17 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.core.models.connectors.generators.code;
+
+/**
+ * The formats in which a code extractor writes code models.
+ */
+public enum CodeModelFormat {
+    /**
+     * The code model is serialized into JSON using Jackson. The whole code model is read into memory at once.
+     */
+    JSON,
+    /**
+     * The code model is written in the binary format of {@link edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.BinaryCodeItemStore}. Its code items
+     * are decoded from the memory-mapped file when they are first requested.
+     */
+    BINARY
+}
@@ -0,0 +1,207 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.core.models.connectors.generators.code;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.ProgrammingLanguage;
+import edu.kit.kastel.mcse.ardoco.core.architecture.Deterministic;
+
+/**
+ * The manifest of an incremental code model extraction. It records the size, modification time, and content hash of every file in the code directory and,
+ * for each programming language, the code items that were extracted from a file. A file whose size and modification time did not change is not read again.
+ * Otherwise, its content hash decides whether it changed. Files that were modified after the previous scan started are always hashed, so a modification in
+ * the same clock tick as the scan is not missed. An instance of this class can be serialized and deserialized into JSON using Jackson.
+ */
+@Deterministic
+public final class CodeModelManifest {
+    /**
+     * The version of the manifest format. Manifests of other versions are discarded.
+     */
+    public static final int VERSION = 1;
+
+    @JsonProperty
+    private int version = VERSION;
+    @JsonProperty
+    private long scannedAt = Long.MIN_VALUE;
+    @JsonProperty
+    private SortedMap<String, SourceFile> files = new TreeMap<>();
+    @JsonProperty
+    private SortedMap<ProgrammingLanguage, SortedMap<String, ExtractedFile>> extractedFiles = new TreeMap<>();
+
+    /**
+     * {@return the version of the format this manifest was written in}
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the files from which code items of the specified language were extracted. The returned map is backed by this manifest, so an extractor updates
+     * the manifest by modifying it.
+     *
+     * @param language the programming language
+     * @return the extracted files by their path relative to the code directory
+     */
+    public SortedMap<String, ExtractedFile> getExtractedFiles(ProgrammingLanguage language) {
+        return extractedFiles.computeIfAbsent(language, key -> new TreeMap<>());
+    }
+
+    /**
+     * Scans the code directory and records the current state of its files.
+     *
+     * @param directory    the code directory
+     * @param ignoredFiles the paths relative to the code directory of files that are not scanned, e.g., the code model itself
+     * @return the files that were added, changed, or removed since the previous scan
+     * @throws IOException if the code directory cannot be read
+     */
+    public SourceFileChanges scan(Path directory, Collection<String> ignoredFiles) throws IOException {
+        long scanStart = System.currentTimeMillis();
+        SortedMap<String, SourceFile> scannedFiles = new TreeMap<>();
+        NavigableSet<String> changedFiles = new TreeSet<>();
+        List<Path> paths;
+        try (Stream<Path> walk = Files.walk(directory)) {
+            paths = walk.filter(Files::isRegularFile).toList();
+        }
+        for (Path path : paths) {
+            String file = relativize(directory, path);
+            if (ignoredFiles.contains(file)) {
+                continue;
+            }
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            long size = attributes.size();
+            long lastModified = attributes.lastModifiedTime().toMillis();
+            SourceFile previous = files.get(file);
+            if (previous != null && previous.size() == size && previous.lastModified() == lastModified && lastModified < scannedAt) {
+                scannedFiles.put(file, previous);
+                continue;
+            }
+            String hash = hash(path);
+            if (previous == null || !previous.hash().equals(hash)) {
+                changedFiles.add(file);
+            }
+            scannedFiles.put(file, new SourceFile(size, lastModified, hash));
+        }
+        NavigableSet<String> removedFiles = new TreeSet<>(files.keySet());
+        removedFiles.removeAll(scannedFiles.keySet());
+
+        this.files = scannedFiles;
+        this.scannedAt = scanStart;
+        return new SourceFileChanges(changedFiles, removedFiles);
+    }
+
+    /**
+     * Converts a path into a path relative to the code directory. Extractors use the same form for the keys of their compilation units.
+     *
+     * @param directory the code directory
+     * @param path      a path in the code directory
+     * @return the relative path
+     */
+    public static String relativize(Path directory, Path path) {
+        return directory.toUri().relativize(path.toUri()).toString();
+    }
+
+    /**
+     * Converts a path relative to the code directory into a path.
+     *
+     * @param directory the code directory
+     * @param file      the relative path
+     * @return the path
+     */
+    public static Path resolve(Path directory, String file) {
+        return Path.of(directory.toUri().resolve(file));
+    }
+
+    private static String hash(Path path) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+        try (InputStream inputStream = new DigestInputStream(Files.newInputStream(path), digest)) {
+            inputStream.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * The recorded state of a scanned file.
+     *
+     * @param size         the size of the file in bytes
+     * @param lastModified the modification time of the file in milliseconds since the epoch
+     * @param hash         the SHA-256 hash of the content of the file
+     */
+    public record SourceFile(@JsonProperty("size") long size, @JsonProperty("lastModified") long lastModified, @JsonProperty("hash") String hash) {
+    }
+
+    /**
+     * The code items extracted from a file.
+     *
+     * @param compilationUnitId   the id of the compilation unit of the file
+     * @param codeItemIds         the ids of all code items that belong only to the file, including the compilation unit
+     * @param types               the types declared in the file, if the language has types
+     * @param unresolvedTypeNames the simple names of the types that are referenced in the file but could not be resolved
+     * @param sourceRoot          the source root of the file relative to the code directory or null if the language has none
+     */
+    public record ExtractedFile(@JsonProperty("compilationUnitId") String compilationUnitId, @JsonProperty("codeItemIds") List<String> codeItemIds,
+                                @JsonProperty("types") List<ExtractedType> types, @JsonProperty("unresolvedTypeNames") List<String> unresolvedTypeNames,
+                                @JsonProperty("sourceRoot") String sourceRoot) {
+    }
+
+    /**
+     * A type declared in an extracted file. Types are identified by keys, so the relations between the types can be resolved again without parsing the file.
+     *
+     * @param id             the id of the datatype
+     * @param interfaceType  whether the type is an interface
+     * @param key            the key of the type
+     * @param interfaceKeys  the keys of the implemented or extended interfaces
+     * @param superclassKey  the key of the superclass or null if there is none
+     * @param referencedKeys the keys of the types referenced in the body of the type
+     */
+    public record ExtractedType(@JsonProperty("id") String id, @JsonProperty("interfaceType") boolean interfaceType, @JsonProperty("key") String key,
+                                @JsonProperty("interfaceKeys") List<String> interfaceKeys, @JsonProperty("superclassKey") String superclassKey,
+                                @JsonProperty("referencedKeys") List<String> referencedKeys) {
+    }
+
+    /**
+     * The changes of the code directory between two scans.
+     *
+     * @param changedFiles the paths of added or changed files relative to the code directory
+     * @param removedFiles the paths of removed files relative to the code directory
+     */
+    public record SourceFileChanges(NavigableSet<String> changedFiles, NavigableSet<String> removedFiles) {
+        /**
+         * {@return whether no file was added, changed, or removed}
+         */
+        public boolean isEmpty() {
+            return changedFiles.isEmpty() && removedFiles.isEmpty();
+        }
+
+        /**
+         * {@return the paths of all added, changed, or removed files}
+         */
+        public NavigableSet<String> allFiles() {
+            NavigableSet<String> allFiles = new TreeSet<>(changedFiles);
+            allFiles.addAll(removedFiles);
+            return allFiles;
+        }
+    }
+}
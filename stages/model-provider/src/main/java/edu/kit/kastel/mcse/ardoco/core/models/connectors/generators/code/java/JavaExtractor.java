@@ -1,4 +1,4 @@
-/* Licensed under MIT 2023. */
+/* Licensed under MIT 2023-2024. */
 package edu.kit.kastel.mcse.ardoco.core.models.connectors.generators.code.java;
 
 import java.io.IOException;
@@ -6,10 +6,25 @@
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
 import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Set;
 import java.util.SortedMap;
 import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Pattern;
 import java.util.stream.Stream;
 
 import org.eclipse.core.runtime.NullProgressMonitor;
@@ -18,22 +33,66 @@
 import org.eclipse.jdt.core.dom.ASTParser;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.dom.FileASTRequestor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.CodeModel;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.CodeCompilationUnit;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.CodeItem;
 import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.CodeItemRepository;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.CodePackage;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.ProgrammingLanguage;
 import edu.kit.kastel.mcse.ardoco.core.architecture.Deterministic;
 import edu.kit.kastel.mcse.ardoco.core.models.connectors.generators.code.CodeExtractor;
+import edu.kit.kastel.mcse.ardoco.core.models.connectors.generators.code.CodeModelManifest;
+import edu.kit.kastel.mcse.ardoco.core.models.connectors.generators.code.CodeModelManifest.ExtractedFile;
+import edu.kit.kastel.mcse.ardoco.core.models.connectors.generators.code.CodeModelManifest.ExtractedType;
+import edu.kit.kastel.mcse.ardoco.core.models.connectors.generators.code.CodeModelManifest.SourceFileChanges;
 
 /**
  * An extractor for Java. Extracts a CMTL instance.
+ * <p>
+ * By default, all source files are parsed at once. If a batch size is configured, the source files are parsed in batches of that size by a pool of worker
+ * threads. Each batch is converted into code items as soon as it is parsed and its ASTs are released afterward, so only a bounded number of ASTs is alive at
+ * any time. Types of other batches are resolved via the source roots of the code directory. The batches are converted in the order of their paths, so the
+ * resulting code model does not depend on the number of threads.
+ * <p>
+ * When the model is extracted incrementally, only the changed source files and the files that depend on types they added or removed are parsed again.
  */
 @Deterministic
 public final class JavaExtractor extends CodeExtractor {
+    private static final Logger logger = LoggerFactory.getLogger(JavaExtractor.class);
+
+    private static final Pattern PACKAGE_DECLARATION = Pattern.compile("^\\s*package\\s+([\\w.]+)\\s*;", Pattern.MULTILINE);
 
     private CodeModel extractedModel = null;
+    private int batchSize;
+    private int numberOfThreads;
 
     public JavaExtractor(CodeItemRepository codeItemRepository, String path) {
+        this(codeItemRepository, path, 0, 1);
+    }
+
+    /**
+     * Creates a new extractor that parses the source files in batches.
+     *
+     * @param codeItemRepository the repository of the extracted code items
+     * @param path               the path of the code directory
+     * @param batchSize          the number of source files per batch, zero or less parses all source files at once
+     * @param numberOfThreads    the number of threads that parse batches concurrently, at least one
+     */
+    public JavaExtractor(CodeItemRepository codeItemRepository, String path, int batchSize, int numberOfThreads) {
         super(codeItemRepository, path);
+        configureBatchedParsing(batchSize, numberOfThreads);
+    }
+
+    @Override
+    public synchronized void configureBatchedParsing(int batchSize, int numberOfThreads) {
+        if (numberOfThreads < 1) {
+            throw new IllegalArgumentException("The number of threads must be positive: " + numberOfThreads);
+        }
+        this.batchSize = batchSize;
+        this.numberOfThreads = numberOfThreads;
     }
 
     /**
@@ -45,31 +104,251 @@ public JavaExtractor(CodeItemRepository codeItemRepository, String path) {
     public synchronized CodeModel extractModel() {
         if (extractedModel == null) {
             Path directoryPath = Path.of(path);
-            SortedMap<String, CompilationUnit> compUnitMap = parseDirectory(directoryPath);
-            JavaModel javaModel = new JavaModel(codeItemRepository, compUnitMap);
+            JavaModel javaModel;
+            if (batchSize > 0) {
+                javaModel = new JavaModel(codeItemRepository);
+                parseDirectoryInBatches(directoryPath, javaModel);
+            } else {
+                SortedMap<String, CompilationUnit> compUnitMap = parseDirectory(directoryPath);
+                javaModel = new JavaModel(codeItemRepository, compUnitMap);
+            }
             this.extractedModel = javaModel.getCodeModel();
         }
         return this.extractedModel;
     }
 
+    /**
+     * Updates the Java code items of a previous extraction. Besides the changed files, unchanged files are parsed again if they refer to a type that no longer
+     * exists or to a type name that could not be resolved before and is declared by a changed file now. All other files keep their code items, and the
+     * relations between all types are resolved from the keys recorded in the manifest.
+     */
+    @Override
+    protected synchronized NavigableSet<CodeItem> update(CodeItemRepository repository, List<? extends CodeItem> previousContent, SourceFileChanges changes,
+            CodeModelManifest manifest) {
+        Path dir = Path.of(path);
+        SortedMap<String, ExtractedFile> extractedFiles = manifest.getExtractedFiles(ProgrammingLanguage.JAVA);
+        JavaModel javaModel = new JavaModel(repository, previousContent.stream().filter(JavaExtractor::isJavaContent).toList());
+
+        Set<String> previousTypes = new TreeSet<>();
+        for (String file : changes.allFiles()) {
+            ExtractedFile extractedFile = extractedFiles.remove(file);
+            if (extractedFile != null) {
+                previousTypes.addAll(getTypeDeclarations(extractedFile));
+                javaModel.removeExtractedFile(extractedFile);
+            }
+        }
+        SortedMap<String, String> parsedFiles = new TreeMap<>();
+        for (String file : changes.changedFiles()) {
+            if (file.toLowerCase().endsWith(".java")) {
+                Path sourceRoot = getSourceRoot(CodeModelManifest.resolve(dir, file).toString());
+                parsedFiles.put(file, sourceRoot == null ? null : CodeModelManifest.relativize(dir, sourceRoot));
+            }
+        }
+        NavigableSet<String> sourceRoots = new TreeSet<>();
+        Stream.concat(extractedFiles.values().stream().map(ExtractedFile::sourceRoot), parsedFiles.values().stream())
+                .filter(Objects::nonNull)
+                .forEach(sourceRoots::add);
+        String[] absoluteSourceRoots = sourceRoots.stream().map(sourceRoot -> CodeModelManifest.resolve(dir, sourceRoot).toString()).toArray(String[]::new);
+        parseFiles(dir, parsedFiles.keySet(), absoluteSourceRoots, javaModel);
+
+        Set<String> currentTypes = new TreeSet<>();
+        parsedFiles.forEach((file, sourceRoot) -> currentTypes.addAll(getTypeDeclarations(javaModel.getExtractedFile(file, sourceRoot))));
+        Set<String> removedKeys = new TreeSet<>();
+        previousTypes.stream().filter(type -> !currentTypes.contains(type)).forEach(type -> removedKeys.add(getKey(type)));
+        Set<String> addedNames = new TreeSet<>();
+        currentTypes.stream().filter(type -> !previousTypes.contains(type)).forEach(type -> addedNames.add(getSimpleName(getKey(type))));
+
+        SortedMap<String, String> dependentFiles = new TreeMap<>();
+        for (var entry : extractedFiles.entrySet()) {
+            if (dependsOn(entry.getValue(), removedKeys, addedNames)) {
+                dependentFiles.put(entry.getKey(), entry.getValue().sourceRoot());
+            }
+        }
+        for (String file : dependentFiles.keySet()) {
+            javaModel.removeExtractedFile(extractedFiles.remove(file));
+        }
+        parseFiles(dir, dependentFiles.keySet(), absoluteSourceRoots, javaModel);
+        parsedFiles.putAll(dependentFiles);
+        logger.info("Parsed {} changed and {} dependent Java files", parsedFiles.size() - dependentFiles.size(), dependentFiles.size());
+
+        extractedFiles.forEach(javaModel::addExtractedFile);
+        NavigableSet<CodeItem> content = javaModel.updateContent();
+        parsedFiles.forEach((file, sourceRoot) -> {
+            ExtractedFile extractedFile = javaModel.getExtractedFile(file, sourceRoot);
+            if (extractedFile != null) {
+                extractedFiles.put(file, extractedFile);
+            }
+        });
+        return content;
+    }
+
+    private void parseFiles(Path dir, Collection<String> files, String[] sourceRoots, JavaModel javaModel) {
+        if (files.isEmpty()) {
+            return;
+        }
+        List<String> sources = files.stream().map(file -> CodeModelManifest.resolve(dir, file).toString()).toList();
+        parseInBatches(dir, sources, sourceRoots, batchSize > 0 ? batchSize : sources.size(), javaModel);
+    }
+
+    private static boolean isJavaContent(CodeItem codeItem) {
+        if (codeItem instanceof CodeCompilationUnit compilationUnit) {
+            return compilationUnit.getLanguage() == ProgrammingLanguage.JAVA;
+        }
+        return codeItem instanceof CodePackage;
+    }
+
+    /**
+     * Describes the types declared in a file by their kind and key, so that a type that changes its kind is considered removed.
+     */
+    private static List<String> getTypeDeclarations(ExtractedFile extractedFile) {
+        if (extractedFile == null) {
+            return List.of();
+        }
+        return extractedFile.types().stream().map(type -> (type.interfaceType() ? "I" : "C") + type.key()).toList();
+    }
+
+    private static String getKey(String typeDeclaration) {
+        return typeDeclaration.substring(1);
+    }
+
+    /**
+     * Determines the simple name of a type from its key, e.g., "Ledu/AClass$AnInnerClass;" -> "AnInnerClass".
+     */
+    private static String getSimpleName(String key) {
+        String name = key.endsWith(";") ? key.substring(0, key.length() - 1) : key;
+        int start = Math.max(name.lastIndexOf('/'), name.lastIndexOf('$'));
+        if (start < 0 && name.startsWith("L")) {
+            start = 0;
+        }
+        return name.substring(start + 1);
+    }
+
+    private static boolean dependsOn(ExtractedFile extractedFile, Set<String> removedKeys, Set<String> addedNames) {
+        for (ExtractedType type : extractedFile.types()) {
+            // Types without a superclass have no superclass key, and sorted sets do not accept null
+            boolean extendsRemovedType = type.superclassKey() != null && removedKeys.contains(type.superclassKey());
+            if (extendsRemovedType || containsAny(removedKeys, type.interfaceKeys()) || containsAny(removedKeys, type.referencedKeys())) {
+                return true;
+            }
+        }
+        return containsAny(addedNames, extractedFile.unresolvedTypeNames());
+    }
+
+    private static boolean containsAny(Set<String> set, List<String> elements) {
+        return elements.stream().anyMatch(set::contains);
+    }
+
     private static SortedMap<String, CompilationUnit> parseDirectory(Path dir) {
-        ASTParser parser = getJavaParser();
         final String[] sources = getEntries(dir, ".java");
+        return parse(dir, sources, new String[0]);
+    }
+
+    private void parseDirectoryInBatches(Path dir, JavaModel javaModel) {
+        List<String> sources = Arrays.stream(getEntries(dir, ".java")).sorted(Comparator.comparing(source -> relativize(dir, source))).toList();
+        parseInBatches(dir, sources, getSourceRoots(sources), batchSize, javaModel);
+    }
+
+    /**
+     * Parses the source files in batches and adds each batch to the model in the order of the paths. At most one batch more than there are threads is parsed
+     * ahead of the conversion.
+     *
+     * @param sources the absolute paths of the source files in the order of their paths relative to the code directory
+     */
+    private void parseInBatches(Path dir, List<String> sources, String[] sourceRoots, int filesPerBatch, JavaModel javaModel) {
+        List<String[]> batches = new ArrayList<>();
+        for (int start = 0; start < sources.size(); start += filesPerBatch) {
+            batches.add(sources.subList(start, Math.min(start + filesPerBatch, sources.size())).toArray(String[]::new));
+        }
+        logger.info("Parsing {} Java files in {} batches with {} threads", sources.size(), batches.size(), numberOfThreads);
+
+        ExecutorService executor = Executors.newFixedThreadPool(numberOfThreads);
+        try {
+            Deque<Future<SortedMap<String, CompilationUnit>>> pending = new ArrayDeque<>();
+            int nextBatch = 0;
+            while (nextBatch < batches.size() || !pending.isEmpty()) {
+                while (nextBatch < batches.size() && pending.size() <= numberOfThreads) {
+                    String[] batch = batches.get(nextBatch++);
+                    pending.add(executor.submit(() -> parse(dir, batch, sourceRoots)));
+                }
+                javaModel.addCompilationUnits(await(pending.poll()));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static SortedMap<String, CompilationUnit> await(Future<SortedMap<String, CompilationUnit>> batch) {
+        try {
+            return batch.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while parsing Java files", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Could not parse Java files", e.getCause());
+        }
+    }
+
+    private static SortedMap<String, CompilationUnit> parse(Path dir, String[] sources, String[] sourceRoots) {
+        ASTParser parser = getJavaParser();
         final String[] encodings = new String[sources.length];
         Arrays.fill(encodings, StandardCharsets.UTF_8.toString());
+        final String[] sourceRootEncodings = new String[sourceRoots.length];
+        Arrays.fill(sourceRootEncodings, StandardCharsets.UTF_8.toString());
         final SortedMap<String, CompilationUnit> compilationUnits = new TreeMap<>();
-        parser.setEnvironment(new String[0], new String[0], new String[0], false);
+        parser.setEnvironment(new String[0], sourceRoots, sourceRootEncodings, false);
         parser.createASTs(sources, encodings, new String[0], new FileASTRequestor() {
             @Override
             public void acceptAST(final String sourceFilePath, final CompilationUnit ast) {
-                URI sourceFileUri = Path.of(sourceFilePath).toUri();
-                String relativeSourceFilePath = dir.toUri().relativize(sourceFileUri).toString();
-                compilationUnits.put(relativeSourceFilePath, ast);
+                compilationUnits.put(relativize(dir, sourceFilePath), ast);
             }
         }, new NullProgressMonitor());
         return compilationUnits;
     }
 
+    private static String relativize(Path dir, String sourceFilePath) {
+        URI sourceFileUri = Path.of(sourceFilePath).toUri();
+        return dir.toUri().relativize(sourceFileUri).toString();
+    }
+
+    /**
+     * Determines the source roots of the source files from their package declarations, so that types declared in other batches can be resolved.
+     *
+     * @param sources the absolute paths of the source files
+     * @return the sorted source roots
+     */
+    private static String[] getSourceRoots(List<String> sources) {
+        NavigableSet<String> sourceRoots = new TreeSet<>();
+        for (String source : sources) {
+            Path sourceRoot = getSourceRoot(source);
+            if (sourceRoot != null) {
+                sourceRoots.add(sourceRoot.toString());
+            }
+        }
+        return sourceRoots.toArray(String[]::new);
+    }
+
+    /**
+     * Determines the source root of a source file from its package declaration.
+     *
+     * @param source the absolute path of the source file
+     * @return the source root or null if the path does not match the package declaration
+     */
+    private static Path getSourceRoot(String source) {
+        Path parent = Path.of(source).getParent();
+        try {
+            var matcher = PACKAGE_DECLARATION.matcher(Files.readString(Path.of(source), StandardCharsets.UTF_8));
+            if (matcher.find()) {
+                String[] packageNames = matcher.group(1).split("\\.");
+                for (int i = packageNames.length - 1; i >= 0 && parent != null; i--) {
+                    parent = packageNames[i].equals(parent.getFileName().toString()) ? parent.getParent() : null;
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Could not read the package declaration of {}", source, e);
+        }
+        return parent;
+    }
+
     private static ASTParser getJavaParser() {
         String javaCoreVersion = JavaCore.latestSupportedJavaVersion();
         final ASTParser parser = ASTParser.newParser(AST.getJLSLatest());
@@ -1,17 +1,22 @@
-/* Licensed under MIT 2023. */
+/* Licensed under MIT 2023-2024. */
 package edu.kit.kastel.mcse.ardoco.core.models.connectors.generators.code.java;
 
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.SortedSet;
+import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.function.Predicate;
 
 import org.apache.commons.io.FilenameUtils;
 import org.eclipse.jdt.core.dom.ASTNode;
@@ -22,9 +27,12 @@
 import org.eclipse.jdt.core.dom.ITypeBinding;
 import org.eclipse.jdt.core.dom.MethodDeclaration;
 import org.eclipse.jdt.core.dom.Name;
+import org.eclipse.jdt.core.dom.NameQualifiedType;
 import org.eclipse.jdt.core.dom.PackageDeclaration;
 import org.eclipse.jdt.core.dom.QualifiedName;
+import org.eclipse.jdt.core.dom.QualifiedType;
 import org.eclipse.jdt.core.dom.SimpleName;
+import org.eclipse.jdt.core.dom.SimpleType;
 import org.eclipse.jdt.core.dom.Type;
 import org.eclipse.jdt.core.dom.TypeDeclaration;
 
@@ -40,154 +48,244 @@
 import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.InterfaceUnit;
 import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.ProgrammingLanguage;
 import edu.kit.kastel.mcse.ardoco.core.architecture.Deterministic;
+import edu.kit.kastel.mcse.ardoco.core.models.connectors.generators.code.CodeModelManifest.ExtractedFile;
+import edu.kit.kastel.mcse.ardoco.core.models.connectors.generators.code.CodeModelManifest.ExtractedType;
 import edu.kit.kastel.mcse.ardoco.core.models.connectors.generators.code.java.finder.EnumDeclarationFinder;
 import edu.kit.kastel.mcse.ardoco.core.models.connectors.generators.code.java.finder.MethodDeclarationFinder;
 import edu.kit.kastel.mcse.ardoco.core.models.connectors.generators.code.java.finder.TypeDeclarationFinder;
 import edu.kit.kastel.mcse.ardoco.core.models.connectors.generators.code.java.finder.TypeFinder;
 
+/**
+ * Converts Java compilation units into the code items of a code model. The compilation units can be added in multiple batches, e.g., while the remaining
+ * source files are still being parsed. Only the keys of the type bindings are kept after a batch has been converted, so the ASTs of a batch can be released
+ * right away. The relations between the types are resolved once the code model is requested. Two types are considered the same if the keys of their
+ * erasures are equal, which is the contract of {@link ITypeBinding#isEqualTo(org.eclipse.jdt.core.dom.IBinding)}. Since all code items are created in the
+ * order in which the compilation units are added, the same sequence of compilation units always results in the same code model.
+ * <p>
+ * A model can also update the code items of a previous extraction. The code items of changed files are removed, the changed files are added as compilation
+ * units, and the types of unchanged files are restored from the keys recorded in the manifest of the previous extraction. The relations between all types are
+ * resolved again afterward.
+ */
 @Deterministic
 public final class JavaModel {
 
     private final CodeItemRepository codeItemRepository;
-    private Set<JavaType> javaTypes;
-    private Set<JavaClassifier> javaClassifiers;
-    private Set<JavaInterface> javaInterfaces;
+    /**
+     * The converted or restored files by their path relative to the code directory, so that the types are always resolved in the order of the paths
+     */
+    private final SortedMap<String, JavaFile> javaFiles = new TreeMap<>();
+    /**
+     * The content of the previous extraction that is updated or null if the model does not update a previous extraction
+     */
+    private final NavigableSet<CodeItem> previousContent;
+    private final NavigableSet<CodeItem> modelContent = new TreeSet<>();
+    private final NavigableSet<CodePackage> codePackages = new TreeSet<>();
+    private final NavigableSet<CodeCompilationUnit> codeCompilationUnits = new TreeSet<>();
     private CodeModel codeModel;
 
     public JavaModel(CodeItemRepository codeItemRepository, SortedMap<String, CompilationUnit> compUnitMap) {
+        this(codeItemRepository);
+        addCompilationUnits(compUnitMap);
+        initModel();
+    }
+
+    /**
+     * Creates an empty model. Compilation units are added with {@link #addCompilationUnits(SortedMap)}.
+     *
+     * @param codeItemRepository the repository of the created code items
+     */
+    JavaModel(CodeItemRepository codeItemRepository) {
+        this.codeItemRepository = codeItemRepository;
+        this.previousContent = null;
+    }
+
+    /**
+     * Creates a model that updates the code items of a previous extraction. Compilation units are added with {@link #addCompilationUnits(SortedMap)}, the
+     * files that did not change with {@link #addExtractedFile(String, ExtractedFile)}, and the updated content is created with {@link #updateContent()}.
+     *
+     * @param codeItemRepository the repository of the previous extraction
+     * @param previousContent    the Java packages and compilation units of the previous code model
+     */
+    JavaModel(CodeItemRepository codeItemRepository, Collection<? extends CodeItem> previousContent) {
         this.codeItemRepository = codeItemRepository;
-        javaTypes = new LinkedHashSet<>();
-        javaClassifiers = new LinkedHashSet<>();
-        javaInterfaces = new LinkedHashSet<>();
-        initModel(compUnitMap);
+        this.previousContent = new TreeSet<>(previousContent);
     }
 
+    /**
+     * {@return the code model} After the code model has been created, no more compilation units can be added.
+     */
     public CodeModel getCodeModel() {
+        if (codeModel == null) {
+            initModel();
+        }
         return codeModel;
     }
 
-    private void addType(Datatype codeType, AbstractTypeDeclaration abstractTypeDeclaration) {
+    private void addClassifier(ClassUnit codeClassifier, AbstractTypeDeclaration abstractTypeDeclaration, List<JavaType> fileTypes) {
         ITypeBinding binding = abstractTypeDeclaration.resolveBinding();
         if (null == binding) {
             return;
         }
-        javaTypes.add(new JavaType(codeType, binding, getReferencedBindings(abstractTypeDeclaration)));
+        ITypeBinding superclassBinding = binding.getSuperclass();
+        String superclassKey = null == superclassBinding ? null : getErasureKey(superclassBinding);
+        fileTypes.add(new JavaType(codeClassifier, getErasureKey(binding), getErasureKeys(binding.getInterfaces()), superclassKey, getReferencedKeys(
+                abstractTypeDeclaration)));
     }
 
-    private void addClassifier(ClassUnit codeClassifier, AbstractTypeDeclaration abstractTypeDeclaration) {
-        ITypeBinding binding = abstractTypeDeclaration.resolveBinding();
+    private void addInterface(InterfaceUnit codeInterface, TypeDeclaration typeDeclaration, List<JavaType> fileTypes) {
+        ITypeBinding binding = typeDeclaration.resolveBinding();
         if (null == binding) {
             return;
         }
-        javaClassifiers.add(new JavaClassifier(codeClassifier, binding));
-        addType(codeClassifier, abstractTypeDeclaration);
+        fileTypes.add(new JavaType(codeInterface, getErasureKey(binding), getErasureKeys(binding.getInterfaces()), null, getReferencedKeys(typeDeclaration)));
     }
 
-    private void addInterface(InterfaceUnit codeInterface, TypeDeclaration typeDeclaration) {
-        ITypeBinding binding = typeDeclaration.resolveBinding();
-        if (null == binding) {
-            return;
+    /**
+     * @param codeType       the classifier or interface
+     * @param key            the erasure key of the type
+     * @param interfaceKeys  the erasure keys of the implemented or extended interfaces
+     * @param superclassKey  the erasure key of the superclass or null if there is none
+     * @param referencedKeys the erasure keys of the types referenced in the body of the type
+     */
+    private record JavaType(Datatype codeType, String key, List<String> interfaceKeys, String superclassKey, List<String> referencedKeys) {
+        boolean isInterface() {
+            return codeType instanceof InterfaceUnit;
+        }
+
+        boolean isClassifier() {
+            return codeType instanceof ClassUnit;
         }
-        javaInterfaces.add(new JavaInterface(codeInterface, binding));
-        addType(codeInterface, typeDeclaration);
     }
 
-    private record JavaType(Datatype codeType, ITypeBinding binding, List<ITypeBinding> referencedBindings) {
+    /**
+     * @param compilationUnitId   the id of the compilation unit
+     * @param codeItemIds         the ids of the compilation unit and of the types and methods declared in it
+     * @param types               the types declared in the file
+     * @param unresolvedTypeNames the simple names of the referenced types that could not be resolved
+     */
+    private record JavaFile(String compilationUnitId, List<String> codeItemIds, List<JavaType> types, List<String> unresolvedTypeNames) {
     }
 
-    private record JavaClassifier(ClassUnit codeClassifier, ITypeBinding binding) {
+    private static String getErasureKey(ITypeBinding binding) {
+        return binding.getErasure().getKey();
+    }
+
+    private static List<String> getErasureKeys(ITypeBinding[] bindings) {
+        return Arrays.stream(bindings).map(JavaModel::getErasureKey).toList();
+    }
+
+    /**
+     * Indexes the elements by their key. If multiple elements share a key, the first one is kept. Elements without a key are never matched.
+     */
+    private static Map<String, JavaType> indexByKey(List<JavaType> javaTypes, Predicate<JavaType> filter) {
+        Map<String, JavaType> index = new LinkedHashMap<>();
+        for (JavaType javaType : javaTypes) {
+            if (filter.test(javaType) && null != javaType.key()) {
+                index.putIfAbsent(javaType.key(), javaType);
+            }
+        }
+        return index;
     }
 
-    private record JavaInterface(InterfaceUnit codeInterface, ITypeBinding binding) {
+    private static <T> T getByKey(Map<String, T> index, String key) {
+        T element = null == key ? null : index.get(key);
+        if (null == element) {
+            throw new NoSuchElementException("No value present");
+        }
+        return element;
     }
 
     //
 
-    private void initImplementedInterfaces() {
-        for (JavaClassifier javaClassifier : javaClassifiers) {
-            ITypeBinding binding = javaClassifier.binding();
-            ITypeBinding[] implInterfacesBindings = binding.getInterfaces();
-            List<JavaInterface> javaImplInterfaces = Arrays.stream(implInterfacesBindings)
-                    .map(implInterfaceBinding -> javaInterfaces.stream()
-                            .filter(javaInterface -> javaInterface.binding().getErasure().isEqualTo(implInterfaceBinding.getErasure()))
-                            .findFirst()
-                            .orElseThrow())
-                    .toList();
+    private void initImplementedInterfaces(List<JavaType> javaTypes, Map<String, JavaType> interfacesByKey) {
+        for (JavaType javaClassifier : javaTypes) {
+            if (!javaClassifier.isClassifier()) {
+                continue;
+            }
             SortedSet<Datatype> codeImplInterfaces = new TreeSet<>();
-            javaImplInterfaces.forEach(javaImplInterface -> codeImplInterfaces.add(javaImplInterface.codeInterface()));
-            javaClassifier.codeClassifier().setImplementedTypes(codeImplInterfaces);
+            javaClassifier.interfaceKeys().forEach(key -> codeImplInterfaces.add(getByKey(interfacesByKey, key).codeType()));
+            javaClassifier.codeType().setImplementedTypes(codeImplInterfaces);
         }
     }
 
-    private void initExtendedInterfaces() {
-        for (JavaInterface javaInterface : javaInterfaces) {
-            ITypeBinding binding = javaInterface.binding();
-            ITypeBinding[] extendedInterfacesBindings = binding.getInterfaces();
-            List<JavaInterface> javaExtendedInterfaces = Arrays.stream(extendedInterfacesBindings)
-                    .map(extendedInterfaceBinding -> javaInterfaces.stream()
-                            .filter(otherJavaInterface -> otherJavaInterface.binding().getErasure().isEqualTo(extendedInterfaceBinding.getErasure()))
-                            .findFirst()
-                            .orElseThrow())
-                    .toList();
+    private void initExtendedInterfaces(List<JavaType> javaTypes, Map<String, JavaType> interfacesByKey) {
+        for (JavaType javaInterface : javaTypes) {
+            if (!javaInterface.isInterface()) {
+                continue;
+            }
             SortedSet<Datatype> codeExtendedInterfaces = new TreeSet<>();
-            javaExtendedInterfaces.forEach(javaExtendedInterface -> codeExtendedInterfaces.add(javaExtendedInterface.codeInterface()));
-            javaInterface.codeInterface().setExtendedTypes(codeExtendedInterfaces);
+            javaInterface.interfaceKeys().forEach(key -> codeExtendedInterfaces.add(getByKey(interfacesByKey, key).codeType()));
+            javaInterface.codeType().setExtendedTypes(codeExtendedInterfaces);
         }
     }
 
-    private void initSuperclasses() {
-        for (JavaClassifier javaClassifier : javaClassifiers) {
-            ITypeBinding binding = javaClassifier.binding();
-            ITypeBinding superclassBinding = binding.getSuperclass();
-            if (null == superclassBinding) {
+    private void initSuperclasses(List<JavaType> javaTypes) {
+        Map<String, JavaType> classifiersByKey = indexByKey(javaTypes, JavaType::isClassifier);
+        for (JavaType javaClassifier : javaTypes) {
+            if (!javaClassifier.isClassifier()) {
                 continue;
             }
-            JavaClassifier javaSuperclass = javaClassifiers.stream()
-                    .filter(otherJavaClass -> otherJavaClass.binding().getErasure().isEqualTo(superclassBinding.getErasure()))
-                    .findFirst()
-                    .orElseThrow();
             SortedSet<Datatype> superclasses = new TreeSet<>();
-            superclasses.add(javaSuperclass.codeClassifier());
-            javaClassifier.codeClassifier().setExtendedTypes(superclasses);
+            if (null != javaClassifier.superclassKey()) {
+                superclasses.add(getByKey(classifiersByKey, javaClassifier.superclassKey()).codeType());
+            }
+            javaClassifier.codeType().setExtendedTypes(superclasses);
         }
     }
 
-    private void initDependencies() {
+    private void initDependencies(List<JavaType> javaTypes) {
+        Map<String, JavaType> typesByKey = indexByKey(javaTypes, javaType -> true);
         for (JavaType javaType : javaTypes) {
-            List<ITypeBinding> referencedBindings = javaType.referencedBindings();
             SortedSet<Datatype> dependencies = new TreeSet<>();
-            for (ITypeBinding referencedBinding : referencedBindings) {
-                javaTypes.stream()
-                        .filter(otherJavaType -> otherJavaType.binding().getErasure().isEqualTo(referencedBinding.getErasure()))
-                        .findFirst()
-                        .ifPresent(referencedJavaType -> dependencies.add(referencedJavaType.codeType()));
+            for (String referencedKey : javaType.referencedKeys()) {
+                JavaType referencedJavaType = typesByKey.get(referencedKey);
+                if (null != referencedJavaType) {
+                    dependencies.add(referencedJavaType.codeType());
+                }
             }
             javaType.codeType().setDatatypeReference(dependencies);
         }
     }
 
-    private static List<ITypeBinding> getReferencedBindings(AbstractTypeDeclaration abstractTypeDeclaration) {
+    private void initRelations() {
+        List<JavaType> javaTypes = javaFiles.values().stream().flatMap(javaFile -> javaFile.types().stream()).toList();
+        Map<String, JavaType> interfacesByKey = indexByKey(javaTypes, JavaType::isInterface);
+        initImplementedInterfaces(javaTypes, interfacesByKey);
+        initExtendedInterfaces(javaTypes, interfacesByKey);
+        initSuperclasses(javaTypes);
+        initDependencies(javaTypes);
+    }
+
+    private static List<String> getReferencedKeys(AbstractTypeDeclaration abstractTypeDeclaration) {
         @SuppressWarnings("unchecked") List<BodyDeclaration> bodyDeclarations = abstractTypeDeclaration.bodyDeclarations();
         List<Type> referencedTypes = new ArrayList<>();
         bodyDeclarations.forEach(bodyDeclaration -> referencedTypes.addAll(TypeFinder.find(bodyDeclaration)));
-        List<ITypeBinding> referencedBindings = new ArrayList<>();
+        List<String> referencedKeys = new ArrayList<>();
         for (Type referencedType : referencedTypes) {
             ITypeBinding referencedBinding = referencedType.resolveBinding();
             if (null == referencedBinding) {
                 continue;
             }
-            referencedBindings.add(referencedBinding);
+            String referencedKey = getErasureKey(referencedBinding);
+            if (null != referencedKey) {
+                referencedKeys.add(referencedKey);
+            }
         }
-        return referencedBindings;
+        return referencedKeys;
     }
 
     //
 
-    private void initModel(SortedMap<String, CompilationUnit> compUnitMap) {
-        SortedSet<CodeItem> modelContent = new TreeSet<>();
-        SortedSet<CodePackage> codePackages = new TreeSet<>();
-        SortedSet<CodeCompilationUnit> codeCompilationUnits = new TreeSet<>();
-
+    /**
+     * Converts the compilation units into code items. The compilation units are not referenced afterward. Batches have to be added in the order of their
+     * paths to obtain the same code model as for a single batch.
+     *
+     * @param compUnitMap the compilation units of the batch by their path relative to the code directory
+     */
+    void addCompilationUnits(SortedMap<String, CompilationUnit> compUnitMap) {
+        if (codeModel != null) {
+            throw new IllegalStateException("The code model has already been created");
+        }
         for (var entry : compUnitMap.entrySet()) {
             CompilationUnit compilationUnit = entry.getValue();
             PackageDeclaration packageDeclaration = compilationUnit.getPackage();
@@ -213,31 +311,192 @@ private void initModel(SortedMap<String, CompilationUnit> compUnitMap) {
             } else {
                 modelContent.add(codeCompilationUnit);
             }
-            List<Datatype> types = extractTypes(compilationUnit);
+            List<JavaType> fileTypes = new ArrayList<>();
+            List<Datatype> types = extractTypes(compilationUnit, fileTypes);
             types.forEach(t -> t.setCompilationUnit(codeCompilationUnit));
             codeCompilationUnit.setContent(types);
+
+            List<String> codeItemIds = new ArrayList<>();
+            codeItemIds.add(codeCompilationUnit.getId());
+            for (Datatype type : types) {
+                codeItemIds.add(type.getId());
+                type.getContent().forEach(method -> codeItemIds.add(method.getId()));
+            }
+            List<String> unresolvedTypeNames = previousContent == null ? List.of() : getUnresolvedTypeNames(compilationUnit);
+            javaFiles.put(entry.getKey(), new JavaFile(codeCompilationUnit.getId(), codeItemIds, fileTypes, unresolvedTypeNames));
         }
+    }
 
+    private void initModel() {
         Set<CodePackage> mergedCodePackages = mergePackages(codePackages);
-        initImplementedInterfaces();
-        initExtendedInterfaces();
-        initSuperclasses();
-        initDependencies();
+        initRelations();
 
         modelContent.addAll(mergedCodePackages);
 
         codeModel = new CodeModel(codeItemRepository, modelContent);
     }
 
-    private List<Datatype> extractTypes(CompilationUnit compilationUnit) {
+    /**
+     * Restores the types of a file that did not change since the previous extraction, so that the relations to them are resolved.
+     *
+     * @param path          the path of the file relative to the code directory
+     * @param extractedFile the code items extracted from the file by the previous extraction
+     */
+    void addExtractedFile(String path, ExtractedFile extractedFile) {
+        List<JavaType> types = new ArrayList<>();
+        for (ExtractedType extractedType : extractedFile.types()) {
+            List<CodeItem> codeItems = codeItemRepository.getCodeItemsFromIds(List.of(extractedType.id()));
+            if (codeItems.isEmpty() || !(codeItems.getFirst() instanceof Datatype codeType)) {
+                throw new IllegalStateException("The code model does not contain the type " + extractedType.id() + " of " + path);
+            }
+            types.add(new JavaType(codeType, extractedType.key(), extractedType.interfaceKeys(), extractedType.superclassKey(), extractedType.referencedKeys()));
+        }
+        javaFiles.put(path, new JavaFile(extractedFile.compilationUnitId(), extractedFile.codeItemIds(), types, extractedFile.unresolvedTypeNames()));
+    }
+
+    /**
+     * Removes the code items of a file that changed or was removed since the previous extraction. Packages that become empty are removed as well.
+     *
+     * @param extractedFile the code items extracted from the file by the previous extraction
+     */
+    void removeExtractedFile(ExtractedFile extractedFile) {
+        List<CodeItem> compilationUnits = codeItemRepository.getCodeItemsFromIds(List.of(extractedFile.compilationUnitId()));
+        if (!compilationUnits.isEmpty() && compilationUnits.getFirst() instanceof CodeCompilationUnit compilationUnit) {
+            CodeModule child = compilationUnit;
+            CodeModule parent = compilationUnit.getParent();
+            while (null != parent) {
+                CodeModule removedChild = child;
+                parent.setContent(parent.getContent().stream().filter(item -> !item.equals(removedChild)).toList());
+                if (!parent.getContent().isEmpty()) {
+                    break;
+                }
+                codeItemRepository.removeCodeItems(List.of(parent.getId()));
+                child = parent;
+                parent = parent.getParent();
+            }
+            if (null == parent) {
+                previousContent.remove(child);
+            }
+        }
+        codeItemRepository.removeCodeItems(extractedFile.codeItemIds());
+    }
+
+    /**
+     * Adds the converted compilation units to the packages of the previous extraction and resolves the relations between all types.
+     *
+     * @return the updated Java packages and compilation units
+     */
+    NavigableSet<CodeItem> updateContent() {
+        NavigableSet<CodeItem> content = new TreeSet<>(previousContent);
+        content.addAll(modelContent);
+        for (CodePackage codePackage : codePackages) {
+            CodePackage existingCodePackage = findPackage(content, codePackage.getName());
+            if (null == existingCodePackage) {
+                content.add(codePackage);
+                linkParents(codePackage);
+            } else {
+                graftPackage(existingCodePackage, codePackage);
+            }
+        }
+        initRelations();
+        return content;
+    }
+
+    /**
+     * Returns the code items that were extracted from a file, so they can be recorded in the manifest.
+     *
+     * @param path       the path of the file relative to the code directory
+     * @param sourceRoot the source root of the file relative to the code directory
+     * @return the extracted code items or null if the file was not converted
+     */
+    ExtractedFile getExtractedFile(String path, String sourceRoot) {
+        JavaFile javaFile = javaFiles.get(path);
+        if (null == javaFile) {
+            return null;
+        }
+        List<ExtractedType> types = javaFile.types()
+                .stream()
+                .map(type -> new ExtractedType(type.codeType().getId(), type.isInterface(), type.key(), type.interfaceKeys(), type.superclassKey(), type
+                        .referencedKeys()))
+                .toList();
+        return new ExtractedFile(javaFile.compilationUnitId(), javaFile.codeItemIds(), types, javaFile.unresolvedTypeNames(), sourceRoot);
+    }
+
+    private static CodePackage findPackage(Collection<? extends CodeItem> codeItems, String name) {
+        for (CodeItem codeItem : codeItems) {
+            if (codeItem instanceof CodePackage codePackage && codePackage.getName().equals(name)) {
+                return codePackage;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Moves the content of a newly created package into an existing package of the same name and removes the newly created package.
+     */
+    private void graftPackage(CodePackage existingCodePackage, CodePackage codePackage) {
+        for (CodeItem packageElement : codePackage.getContent()) {
+            CodePackage existingSubpackage = packageElement instanceof CodePackage subpackage ?
+                    findPackage(existingCodePackage.getContent(), subpackage.getName()) :
+                    null;
+            if (null != existingSubpackage) {
+                graftPackage(existingSubpackage, (CodePackage) packageElement);
+            } else if (packageElement instanceof CodeModule codeModule) {
+                existingCodePackage.addContent(codeModule);
+                codeModule.setParent(existingCodePackage);
+                if (codeModule instanceof CodePackage subpackage) {
+                    linkParents(subpackage);
+                }
+            }
+        }
+        codeItemRepository.removeCodeItems(List.of(codePackage.getId()));
+    }
+
+    private static void linkParents(CodePackage codePackage) {
+        for (CodeItem packageElement : codePackage.getContent()) {
+            if (packageElement instanceof CodeModule codeModule) {
+                codeModule.setParent(codePackage);
+                if (codeModule instanceof CodePackage subpackage) {
+                    linkParents(subpackage);
+                }
+            }
+        }
+    }
+
+    /**
+     * Collects the simple names of all types referenced in the compilation unit that cannot be resolved. If a type of such a name is added later, the
+     * compilation unit has to be converted again.
+     */
+    private static List<String> getUnresolvedTypeNames(CompilationUnit compilationUnit) {
+        NavigableSet<String> unresolvedTypeNames = new TreeSet<>();
+        for (Type type : TypeFinder.find(compilationUnit)) {
+            if (null != type.resolveBinding()) {
+                continue;
+            }
+            if (type instanceof SimpleType simpleType) {
+                unresolvedTypeNames.add(getSimpleName(simpleType.getName()));
+            } else if (type instanceof QualifiedType qualifiedType) {
+                unresolvedTypeNames.add(qualifiedType.getName().getIdentifier());
+            } else if (type instanceof NameQualifiedType nameQualifiedType) {
+                unresolvedTypeNames.add(nameQualifiedType.getName().getIdentifier());
+            }
+        }
+        return List.copyOf(unresolvedTypeNames);
+    }
+
+    private static String getSimpleName(Name name) {
+        return name instanceof QualifiedName qualifiedName ? qualifiedName.getName().getIdentifier() : ((SimpleName) name).getIdentifier();
+    }
+
+    private List<Datatype> extractTypes(CompilationUnit compilationUnit, List<JavaType> fileTypes) {
         Map<ASTNode, Datatype> codeTypes = new LinkedHashMap<>();
         Set<TypeDeclaration> typeDeclarations = TypeDeclarationFinder.find(compilationUnit);
         for (TypeDeclaration typeDeclaration : typeDeclarations) {
-            codeTypes.put(typeDeclaration, processTypeDeclaration(typeDeclaration));
+            codeTypes.put(typeDeclaration, processTypeDeclaration(typeDeclaration, fileTypes));
         }
         Set<EnumDeclaration> enumDeclarations = EnumDeclarationFinder.find(compilationUnit);
         for (EnumDeclaration enumDeclaration : enumDeclarations) {
-            codeTypes.put(enumDeclaration, processEnumDeclaration(enumDeclaration));
+            codeTypes.put(enumDeclaration, processEnumDeclaration(enumDeclaration, fileTypes));
         }
         for (var entry : codeTypes.entrySet()) {
             ASTNode node = entry.getKey();
@@ -249,25 +508,25 @@ private List<Datatype> extractTypes(CompilationUnit compilationUnit) {
         return codeTypes.values().stream().toList();
     }
 
-    private ClassUnit processEnumDeclaration(EnumDeclaration enumDeclaration) {
+    private ClassUnit processEnumDeclaration(EnumDeclaration enumDeclaration, List<JavaType> fileTypes) {
         String name = enumDeclaration.getName().getIdentifier();
         SortedSet<ControlElement> declaredMethods = extractMethods(enumDeclaration);
         ClassUnit codeClassifier = new ClassUnit(codeItemRepository, name, declaredMethods);
-        addClassifier(codeClassifier, enumDeclaration);
+        addClassifier(codeClassifier, enumDeclaration, fileTypes);
         return codeClassifier;
     }
 
-    private Datatype processTypeDeclaration(TypeDeclaration typeDeclaration) {
+    private Datatype processTypeDeclaration(TypeDeclaration typeDeclaration, List<JavaType> fileTypes) {
         String name = typeDeclaration.getName().getIdentifier();
         SortedSet<ControlElement> declaredMethods = extractMethods(typeDeclaration);
         Datatype codeType;
         if (typeDeclaration.isInterface()) {
             InterfaceUnit codeInterface = new InterfaceUnit(codeItemRepository, name, declaredMethods);
-            addInterface(codeInterface, typeDeclaration);
+            addInterface(codeInterface, typeDeclaration, fileTypes);
             codeType = codeInterface;
         } else {
             ClassUnit classifier = new ClassUnit(codeItemRepository, name, declaredMethods);
-            addClassifier(classifier, typeDeclaration);
+            addClassifier(classifier, typeDeclaration, fileTypes);
             codeType = classifier;
         }
         return codeType;
@@ -1,4 +1,4 @@
-/* Licensed under MIT 2023. */
+/* Licensed under MIT 2023-2024. */
 package edu.kit.kastel.mcse.ardoco.core.models.connectors.generators.code.shell;
 
 import java.io.File;
@@ -6,10 +6,20 @@
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.SortedMap;
+import java.util.TreeSet;
 
 import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.CodeModel;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.CodeCompilationUnit;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.CodeItem;
 import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.CodeItemRepository;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.ProgrammingLanguage;
 import edu.kit.kastel.mcse.ardoco.core.models.connectors.generators.code.CodeExtractor;
+import edu.kit.kastel.mcse.ardoco.core.models.connectors.generators.code.CodeModelManifest;
+import edu.kit.kastel.mcse.ardoco.core.models.connectors.generators.code.CodeModelManifest.ExtractedFile;
+import edu.kit.kastel.mcse.ardoco.core.models.connectors.generators.code.CodeModelManifest.SourceFileChanges;
 
 public final class ShellExtractor extends CodeExtractor {
 
@@ -27,6 +37,35 @@ public synchronized CodeModel extractModel() {
         return this.extractedModel;
     }
 
+    @Override
+    protected synchronized NavigableSet<CodeItem> update(CodeItemRepository repository, List<? extends CodeItem> previousContent, SourceFileChanges changes,
+            CodeModelManifest manifest) {
+        SortedMap<String, ExtractedFile> extractedFiles = manifest.getExtractedFiles(ProgrammingLanguage.SHELL);
+        NavigableSet<CodeItem> content = new TreeSet<>();
+        for (CodeItem codeItem : previousContent) {
+            if (codeItem instanceof CodeCompilationUnit compilationUnit && compilationUnit.getLanguage() == ProgrammingLanguage.SHELL) {
+                content.add(compilationUnit);
+            }
+        }
+        for (String file : changes.allFiles()) {
+            ExtractedFile extractedFile = extractedFiles.remove(file);
+            if (extractedFile != null) {
+                content.removeIf(codeItem -> codeItem.getId().equals(extractedFile.compilationUnitId()));
+                repository.removeCodeItems(extractedFile.codeItemIds());
+            }
+        }
+        Path startingDir = Paths.get(new File(path).toURI());
+        for (String file : changes.changedFiles()) {
+            Path filePath = CodeModelManifest.resolve(startingDir, file);
+            if (ShellVisitor.isShellFile(filePath)) {
+                CodeCompilationUnit sourceFile = ShellVisitor.extractShellFile(repository, startingDir, filePath);
+                content.add(sourceFile);
+                extractedFiles.put(file, new ExtractedFile(sourceFile.getId(), List.of(sourceFile.getId()), List.of(), List.of(), null));
+            }
+        }
+        return content;
+    }
+
     private CodeModel parseCode(File file) {
         Path startingDir = Paths.get(file.toURI());
         ShellVisitor shellScriptVisitor = new ShellVisitor(codeItemRepository, startingDir);
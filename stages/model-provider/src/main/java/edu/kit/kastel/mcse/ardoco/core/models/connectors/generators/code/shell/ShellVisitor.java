@@ -1,4 +1,4 @@
-/* Licensed under MIT 2023. */
+/* Licensed under MIT 2023-2024. */
 package edu.kit.kastel.mcse.ardoco.core.models.connectors.generators.code.shell;
 
 import java.io.FileReader;
@@ -58,25 +58,27 @@ public FileVisitResult visitFileFailed(Path file, IOException exc) throws IOExce
 
     @Override
     public FileVisitResult visitFile(Path path, BasicFileAttributes attrs) throws IOException {
-        String fileName = path.getFileName().toString();
-        String code = "";
-        try (FileReader reader = new FileReader(path.toFile())) {
-            code = IOUtils.toString(reader);
-        } catch (IOException e) {
-            logger.warn("Exception when reading file", e);
-        }
-        if (!isShellFile(fileName, code)) {
+        if (!isShellFile(path)) {
             return FileVisitResult.CONTINUE;
         }
 
-        String extension = FilenameUtils.getExtension(fileName);
-        String fileNameWithoutExtension = FilenameUtils.removeExtension(fileName);
-        CodeCompilationUnit sourceFile = extractShellFile(path, fileNameWithoutExtension, extension);
+        CodeCompilationUnit sourceFile = extractShellFile(codeItemRepository, startingDir, path);
         codeEndpoints.add(sourceFile);
         return FileVisitResult.CONTINUE;
     }
 
-    private CodeCompilationUnit extractShellFile(Path path, String fileNameWithoutExtension, String extension) {
+    /**
+     * Creates the compilation unit of a shell file.
+     *
+     * @param codeItemRepository the repository of the created compilation unit
+     * @param startingDir        the code directory
+     * @param path               the path of the shell file
+     * @return the compilation unit
+     */
+    static CodeCompilationUnit extractShellFile(CodeItemRepository codeItemRepository, Path startingDir, Path path) {
+        String fileName = path.getFileName().toString();
+        String extension = FilenameUtils.getExtension(fileName);
+        String fileNameWithoutExtension = FilenameUtils.removeExtension(fileName);
         List<String> pathElements = new ArrayList<>();
 
         // relativize path
@@ -90,6 +92,22 @@ private CodeCompilationUnit extractShellFile(Path path, String fileNameWithoutEx
         return new CodeCompilationUnit(codeItemRepository, fileNameWithoutExtension, new TreeSet<>(), pathElements, extension, ProgrammingLanguage.SHELL);
     }
 
+    /**
+     * Checks whether a file is a shell file by its extension or its shebang.
+     *
+     * @param path the path of the file
+     * @return whether the file is a shell file
+     */
+    static boolean isShellFile(Path path) {
+        String code = "";
+        try (FileReader reader = new FileReader(path.toFile())) {
+            code = IOUtils.toString(reader);
+        } catch (IOException e) {
+            logger.warn("Exception when reading file", e);
+        }
+        return isShellFile(path.getFileName().toString(), code);
+    }
+
     private static boolean isShellFile(String fileName, String code) {
         return fileName.endsWith(".sh") || code.startsWith("#!/bin/bash") || code.startsWith("#!/bin/sh") || code.startsWith("#!/usr/bin/env bash");
     }
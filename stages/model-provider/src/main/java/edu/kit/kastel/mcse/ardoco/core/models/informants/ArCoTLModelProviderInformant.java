@@ -1,6 +1,8 @@
 /* Licensed under MIT 2021-2024. */
 package edu.kit.kastel.mcse.ardoco.core.models.informants;
 
+import java.nio.file.Path;
+import java.util.List;
 import java.util.Optional;
 import java.util.SortedMap;
 
@@ -8,9 +10,11 @@
 import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.CodeModel;
 import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.Model;
 import edu.kit.kastel.mcse.ardoco.core.common.IdentifierProvider;
+import edu.kit.kastel.mcse.ardoco.core.configuration.Configurable;
 import edu.kit.kastel.mcse.ardoco.core.data.DataRepository;
 import edu.kit.kastel.mcse.ardoco.core.models.connectors.generators.Extractor;
 import edu.kit.kastel.mcse.ardoco.core.models.connectors.generators.code.CodeExtractor;
+import edu.kit.kastel.mcse.ardoco.core.models.connectors.generators.code.CodeModelFormat;
 import edu.kit.kastel.mcse.ardoco.core.pipeline.agent.Informant;
 
 /**
@@ -20,6 +24,27 @@ public final class ArCoTLModelProviderInformant extends Informant {
     private static final String MODEL_STATES_DATA = "ModelStatesData";
     private final Extractor extractor;
 
+    /**
+     * The number of source files a code extractor parses per batch, zero or less parses all source files at once
+     */
+    @Configurable
+    private int codeParsingBatchSize = 0;
+    /**
+     * The number of threads a code extractor parses the batches of source files with, zero or less uses one thread per available processor
+     */
+    @Configurable
+    private int codeParsingThreads = 0;
+    /**
+     * Whether a code extractor only processes the source files that changed since the previous extraction and updates the previous code model
+     */
+    @Configurable
+    private boolean incrementalCodeExtraction = false;
+    /**
+     * The format in which a code extractor writes the code model. Existing code models are read in either format.
+     */
+    @Configurable
+    private CodeModelFormat codeModelFormat = CodeModelFormat.JSON;
+
     // Needed for Configuration Generation
     @SuppressWarnings("unused")
     private ArCoTLModelProviderInformant() {
@@ -46,13 +71,23 @@ public void process() {
 
         IdentifierProvider.reset();
 
-        Model extractedModel = null;
         if (extractor instanceof CodeExtractor codeExtractor) {
+            codeExtractor.setCodeModelFormat(codeModelFormat);
+        }
+
+        Model extractedModel = null;
+        if (extractor instanceof CodeExtractor codeExtractor && incrementalCodeExtraction) {
+            codeExtractor.configureBatchedParsing(codeParsingBatchSize, getCodeParsingThreads());
+            extractedModel = codeExtractor.extractModelIncrementally();
+        } else if (extractor instanceof CodeExtractor codeExtractor) {
             extractedModel = codeExtractor.readInCodeModel();
         }
 
         if (extractedModel == null) {
             logger.info("Extracting code model.");
+            if (extractor instanceof CodeExtractor codeExtractor) {
+                codeExtractor.configureBatchedParsing(codeParsingBatchSize, getCodeParsingThreads());
+            }
             extractedModel = extractor.extractModel();
             if (extractor instanceof CodeExtractor codeExtractor && extractedModel instanceof CodeModel codeModel) {
                 codeExtractor.writeOutCodeModel(codeModel);
@@ -73,6 +108,18 @@ private void addModelStateToDataRepository(String modelId, Model model) {
         }
     }
 
+    private int getCodeParsingThreads() {
+        return codeParsingThreads > 0 ? codeParsingThreads : Runtime.getRuntime().availableProcessors();
+    }
+
+    @Override
+    protected List<Path> getOwnInputFiles() {
+        if (extractor == null || extractor.getPath() == null) {
+            return List.of();
+        }
+        return List.of(Path.of(extractor.getPath()));
+    }
+
     @Override
     protected void delegateApplyConfigurationToInternalObjects(SortedMap<String, String> map) {
         // empty
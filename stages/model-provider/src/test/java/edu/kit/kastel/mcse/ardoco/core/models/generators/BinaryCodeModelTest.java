@@ -0,0 +1,90 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.core.models.generators;
+
+import static edu.kit.kastel.mcse.ardoco.core.common.JsonHandling.createObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.CodeModel;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.BinaryCodeItemStore;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.CodeItemRepository;
+import edu.kit.kastel.mcse.ardoco.core.common.IdentifierProvider;
+import edu.kit.kastel.mcse.ardoco.core.common.util.DataRepositoryHelper;
+import edu.kit.kastel.mcse.ardoco.core.models.connectors.generators.code.AllLanguagesExtractor;
+import edu.kit.kastel.mcse.ardoco.core.models.connectors.generators.code.CodeExtractor;
+import edu.kit.kastel.mcse.ardoco.core.models.connectors.generators.code.CodeModelFormat;
+
+class BinaryCodeModelTest {
+    private static final String CODE = "src/test/resources/interface";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void binaryRoundTripTest() throws IOException {
+        IdentifierProvider.reset();
+        AllLanguagesExtractor extractor = new AllLanguagesExtractor(new CodeItemRepository(), CODE);
+        CodeModel codeModel = extractor.extractModel();
+        extractor.setCodeModelFormat(CodeModelFormat.BINARY);
+        File file = tempDir.resolve("codeModel.acm").toFile();
+        extractor.writeOutCodeModel(codeModel, file);
+        Assertions.assertTrue(BinaryCodeItemStore.isBinary(file.toPath()));
+
+        CodeModel readModel = CodeExtractor.readInCodeModel(file);
+        Assertions.assertNotNull(readModel);
+        Assertions.assertEquals(codeModel.getId(), readModel.getId());
+        Assertions.assertEquals(codeModel.getCodeItemRepository().getCodeItemIds(), readModel.getCodeItemRepository().getCodeItemIds());
+        Assertions.assertEquals(codeModel.getEndpoints(), readModel.getEndpoints());
+        Assertions.assertEquals(toJson(codeModel), toJson(readModel));
+    }
+
+    @Test
+    void serializeLazyRepositoryTest() throws IOException {
+        IdentifierProvider.reset();
+        AllLanguagesExtractor extractor = new AllLanguagesExtractor(new CodeItemRepository(), CODE);
+        extractor.setCodeModelFormat(CodeModelFormat.BINARY);
+        File file = tempDir.resolve("codeModel.acm").toFile();
+        extractor.writeOutCodeModel(extractor.extractModel(), file);
+
+        CodeModel readModel = CodeExtractor.readInCodeModel(file);
+        Assertions.assertNotNull(readModel);
+        CodeItemRepository repository = readModel.getCodeItemRepository();
+        var ids = repository.getCodeItemIds();
+        CodeModel copy = DataRepositoryHelper.deepCopy(readModel);
+        Assertions.assertEquals(ids, copy.getCodeItemRepository().getCodeItemIds());
+        Assertions.assertEquals(toJson(readModel), toJson(copy));
+
+        // Writing does not change the repository, and the copy does not depend on it
+        String removedId = ids.first();
+        repository.removeCodeItems(List.of(removedId));
+        Assertions.assertFalse(repository.getCodeItemIds().contains(removedId));
+        Assertions.assertTrue(copy.getCodeItemRepository().getCodeItemIds().contains(removedId));
+    }
+
+    @Test
+    void jsonIsDefaultTest() throws IOException {
+        IdentifierProvider.reset();
+        AllLanguagesExtractor extractor = new AllLanguagesExtractor(new CodeItemRepository(), CODE);
+        CodeModel codeModel = extractor.extractModel();
+        File file = tempDir.resolve("codeModel.acm").toFile();
+        extractor.writeOutCodeModel(codeModel, file);
+        Assertions.assertFalse(BinaryCodeItemStore.isBinary(file.toPath()));
+        Assertions.assertEquals(toJson(codeModel), toJson(CodeExtractor.readInCodeModel(file)));
+    }
+
+    private static String toJson(CodeModel codeModel) throws IOException {
+        ObjectMapper objectMapper = createObjectMapper();
+        objectMapper.registerModule(new Jdk8Module());
+        return objectMapper.writeValueAsString(codeModel);
+    }
+}
@@ -0,0 +1,140 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.core.models.generators;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import edu.kit.kastel.mcse.ardoco.core.api.models.Entity;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.CodeModel;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.CodeItemRepository;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.CodePackage;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.Datatype;
+import edu.kit.kastel.mcse.ardoco.core.common.IdentifierProvider;
+import edu.kit.kastel.mcse.ardoco.core.models.connectors.generators.code.AllLanguagesExtractor;
+
+class IncrementalCodeExtractionTest {
+    private static final Path CODE = Path.of("src/test/resources/interface");
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void unchangedCodeTest() throws IOException {
+        Path code = copy(CODE, tempDir.resolve("code"));
+        CodeModel initial = extractIncrementally(code);
+        Assertions.assertEquals(7, initial.getEndpoints().size());
+        Assertions.assertEquals(describe(extract(copy(CODE, tempDir.resolve("plain")))), describe(initial));
+
+        CodeModel unchanged = extractIncrementally(code);
+        Assertions.assertEquals(ids(initial.getEndpoints()), ids(unchanged.getEndpoints()));
+        Assertions.assertEquals(describe(initial), describe(unchanged));
+    }
+
+    @Test
+    void changedCodeTest() throws IOException {
+        Path code = copy(CODE, tempDir.resolve("code"));
+        extractIncrementally(code);
+
+        // AClass refers to the removed enum, so it has to be parsed again
+        changeCode(code);
+        Files.delete(code.resolve("edu/AnEnum.java"));
+        Path expected = changeCode(copy(CODE, tempDir.resolve("changed")));
+        Files.delete(expected.resolve("edu/AnEnum.java"));
+        Assertions.assertEquals(describe(extract(expected)), describe(extractIncrementally(code)));
+
+        // AClass could not resolve the enum before, so it has to be parsed again
+        Files.copy(CODE.resolve("edu/AnEnum.java"), code.resolve("edu/AnEnum.java"));
+        Files.delete(code.resolve("edu/drei/OtherInterface.java"));
+        Path restored = changeCode(copy(CODE, tempDir.resolve("restored")));
+        Files.delete(restored.resolve("edu/drei/OtherInterface.java"));
+        CodeModel updated = extractIncrementally(code);
+        Assertions.assertEquals(describe(extract(restored)), describe(updated));
+        Assertions.assertTrue(updated.getAllPackages().stream().noneMatch(codePackage -> codePackage.getName().equals("drei")));
+    }
+
+    private static CodeModel extractIncrementally(Path code) {
+        IdentifierProvider.reset();
+        return new AllLanguagesExtractor(new CodeItemRepository(), code.toString()).extractModelIncrementally();
+    }
+
+    private static CodeModel extract(Path code) {
+        IdentifierProvider.reset();
+        return new AllLanguagesExtractor(new CodeItemRepository(), code.toString()).extractModel();
+    }
+
+    private static Path changeCode(Path code) throws IOException {
+        Files.writeString(code.resolve("edu/ExtendedInterface.java"), """
+                package edu;
+
+                public interface ExtendedInterface {
+                    void extended();
+                }
+                """, StandardCharsets.UTF_8);
+        Files.createDirectories(code.resolve("edu/vier"));
+        Files.writeString(code.resolve("edu/vier/Added.java"), """
+                package edu.vier;
+
+                import edu.AnInterface;
+                import edu.Superclass;
+
+                public class Added extends Superclass implements AnInterface<String> {
+                    private Superclass superclass;
+                }
+                """, StandardCharsets.UTF_8);
+        Files.createDirectories(code.resolve("scripts"));
+        Files.writeString(code.resolve("scripts/build"), "#!/bin/sh\necho build\n", StandardCharsets.UTF_8);
+        return code;
+    }
+
+    private static Path copy(Path source, Path target) throws IOException {
+        try (Stream<Path> paths = Files.walk(source)) {
+            for (Path path : paths.toList()) {
+                Path copy = target.resolve(source.relativize(path).toString());
+                if (Files.isDirectory(path)) {
+                    Files.createDirectories(copy);
+                } else {
+                    Files.copy(path, copy);
+                }
+            }
+        }
+        return target;
+    }
+
+    /**
+     * Describes the model by the names of its code items, since the ids depend on the order in which the code items were created.
+     */
+    private static List<String> describe(CodeModel model) {
+        List<String> description = new ArrayList<>();
+        for (CodePackage codePackage : model.getAllPackages()) {
+            description.add("package " + codePackage.getName() + " " + names(codePackage.getContent()) + " in " + codePackage.getParent());
+        }
+        for (var compilationUnit : model.getEndpoints()) {
+            description.add(compilationUnit.getPath() + " " + compilationUnit.getLanguage() + " in " + compilationUnit.getParentPackageNames());
+            for (Datatype datatype : compilationUnit.getAllDataTypes()) {
+                description.add(compilationUnit.getPath() + " " + datatype.getName() + " extends " + names(datatype.getExtendedTypes()) + " implements " + names(
+                        datatype.getImplementedTypes()) + " uses " + names(datatype.getDatatypeReferences()) + " declares " + names(datatype
+                                .getDeclaredMethods()));
+            }
+        }
+        description.sort(null);
+        return description;
+    }
+
+    private static List<String> names(Collection<? extends Entity> entities) {
+        return entities.stream().map(Entity::getName).sorted().toList();
+    }
+
+    private static List<String> ids(Collection<? extends Entity> entities) {
+        return entities.stream().map(Entity::getId).toList();
+    }
+}
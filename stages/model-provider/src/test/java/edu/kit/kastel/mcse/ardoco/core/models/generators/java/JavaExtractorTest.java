@@ -1,6 +1,10 @@
-/* Licensed under MIT 2023. */
+/* Licensed under MIT 2023-2024. */
 package edu.kit.kastel.mcse.ardoco.core.models.generators.java;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
@@ -9,6 +13,8 @@
 import edu.kit.kastel.mcse.ardoco.core.api.models.Entity;
 import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.CodeModel;
 import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.CodeItemRepository;
+import edu.kit.kastel.mcse.ardoco.core.api.models.arcotl.code.Datatype;
+import edu.kit.kastel.mcse.ardoco.core.common.IdentifierProvider;
 import edu.kit.kastel.mcse.ardoco.core.models.connectors.generators.code.java.JavaExtractor;
 
 class JavaExtractorTest {
@@ -26,4 +32,30 @@ void extractorTest() {
 
         Assertions.assertEquals(7, model.getEndpoints().size());
     }
+
+    @Test
+    void batchedExtractorTest() {
+        IdentifierProvider.reset();
+        var expected = describe(new JavaExtractor(new CodeItemRepository(), "src/test/resources/interface").extractModel());
+        for (int threads : new int[] { 1, 3 }) {
+            IdentifierProvider.reset();
+            var batched = new JavaExtractor(new CodeItemRepository(), "src/test/resources/interface", 2, threads).extractModel();
+            Assertions.assertEquals(expected, describe(batched));
+        }
+    }
+
+    private static List<String> describe(CodeModel model) {
+        List<String> description = new ArrayList<>();
+        for (var compilationUnit : model.getEndpoints()) {
+            for (Datatype datatype : compilationUnit.getAllDataTypes()) {
+                description.add(compilationUnit.getId() + " " + datatype.getId() + " " + datatype.getName() + " extends " + ids(datatype.getExtendedTypes()) +
+                        " implements " + ids(datatype.getImplementedTypes()) + " uses " + ids(datatype.getDatatypeReferences()));
+            }
+        }
+        return description;
+    }
+
+    private static List<String> ids(Collection<? extends Entity> entities) {
+        return entities.stream().map(Entity::getId).toList();
+    }
 }
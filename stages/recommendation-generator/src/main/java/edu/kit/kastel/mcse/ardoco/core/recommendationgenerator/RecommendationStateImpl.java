@@ -1,6 +1,12 @@
 /* Licensed under MIT 2021-2024. */
 package edu.kit.kastel.mcse.ardoco.core.recommendationgenerator;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serial;
+import java.util.LinkedHashMap;
+
 import org.eclipse.collections.api.factory.Lists;
 import org.eclipse.collections.api.factory.SortedSets;
 import org.eclipse.collections.api.list.ImmutableList;
@@ -22,6 +28,17 @@ public class RecommendationStateImpl extends AbstractState implements Recommenda
     private final RecommendationStateStrategy recommendationStateStrategy;
     private MutableSortedSet<RecommendedInstance> recommendedInstances;
 
+    /*
+     * Secondary indexes over the recommended instances by lower case name and type and by name and type mapping. They are derived data and (re-)built lazily.
+     * The recommended instances of this state notify the index updater about changes of their name, type, and mappings. The index updater is not serialized,
+     * it is registered again after deserialization.
+     */
+    private transient LinkedHashMap<String, MutableList<RecommendedInstance>> recommendedInstancesByName;
+    private transient LinkedHashMap<String, MutableList<RecommendedInstance>> recommendedInstancesByType;
+    private transient LinkedHashMap<NounMapping, MutableList<RecommendedInstance>> recommendedInstancesByNameMapping;
+    private transient LinkedHashMap<NounMapping, MutableList<RecommendedInstance>> recommendedInstancesByTypeMapping;
+    private transient IndexUpdater indexUpdater = new IndexUpdater();
+
     /**
      * Creates a new recommendation state.
      */
@@ -81,7 +98,7 @@ private void addRecommendedInstance(RecommendedInstance ri) {
             return;
         }
 
-        var risWithExactName = recommendedInstances.select(r -> r.getName().equalsIgnoreCase(ri.getName())).toImmutable().toImmutableList();
+        var risWithExactName = getRecommendedInstancesByName(ri.getName()).select(r -> r.getName().equalsIgnoreCase(ri.getName()));
         var risWithExactNameAndType = risWithExactName.select(r -> r.getType().equalsIgnoreCase(ri.getType()));
 
         if (risWithExactNameAndType.isEmpty()) {
@@ -93,7 +110,7 @@ private void addRecommendedInstance(RecommendedInstance ri) {
 
     private void processRecommendedInstancesWithNoExactNameAndType(RecommendedInstance ri, ImmutableList<RecommendedInstance> risWithExactName) {
         if (risWithExactName.isEmpty()) {
-            recommendedInstances.add(ri);
+            addRecommendedInstanceToState(ri);
         } else {
             var added = false;
 
@@ -107,11 +124,64 @@ private void processRecommendedInstancesWithNoExactNameAndType(RecommendedInstan
             }
 
             if (!added && !ri.getType().isBlank()) {
-                recommendedInstances.add(ri);
+                addRecommendedInstanceToState(ri);
             }
         }
     }
 
+    private void addRecommendedInstanceToState(RecommendedInstance ri) {
+        if (!recommendedInstances.add(ri)) {
+            return;
+        }
+        if (ri instanceof RecommendedInstanceImpl recommendedInstance) {
+            recommendedInstance.registerChangeListener(indexUpdater);
+        }
+        if (recommendedInstancesByName != null) {
+            indexRecommendedInstance(ri);
+        }
+    }
+
+    private void ensureIndexes() {
+        if (recommendedInstancesByName != null) {
+            return;
+        }
+        recommendedInstancesByName = new LinkedHashMap<>();
+        recommendedInstancesByType = new LinkedHashMap<>();
+        recommendedInstancesByNameMapping = new LinkedHashMap<>();
+        recommendedInstancesByTypeMapping = new LinkedHashMap<>();
+        recommendedInstances.forEach(this::indexRecommendedInstance);
+    }
+
+    private void indexRecommendedInstance(RecommendedInstance ri) {
+        addToIndex(recommendedInstancesByName, ri.getName().toLowerCase(), ri);
+        addToIndex(recommendedInstancesByType, ri.getType().toLowerCase(), ri);
+        ri.getNameMappings().forEach(nameMapping -> addToIndex(recommendedInstancesByNameMapping, nameMapping, ri));
+        ri.getTypeMappings().forEach(typeMapping -> addToIndex(recommendedInstancesByTypeMapping, typeMapping, ri));
+    }
+
+    private static <K> void addToIndex(LinkedHashMap<K, MutableList<RecommendedInstance>> index, K key, RecommendedInstance ri) {
+        index.computeIfAbsent(key, k -> Lists.mutable.empty()).add(ri);
+    }
+
+    private static <K> void removeFromIndex(LinkedHashMap<K, MutableList<RecommendedInstance>> index, K key, RecommendedInstance ri) {
+        var bucket = index.get(key);
+        if (bucket == null) {
+            return;
+        }
+        bucket.removeIf(r -> r == ri);
+        if (bucket.isEmpty()) {
+            index.remove(key);
+        }
+    }
+
+    /**
+     * Returns the recommended instances of an index bucket in the order of the recommended instances of this state.
+     */
+    private static <K> MutableSortedSet<RecommendedInstance> lookup(LinkedHashMap<K, MutableList<RecommendedInstance>> index, K key) {
+        var bucket = index.get(key);
+        return bucket == null ? SortedSets.mutable.empty() : SortedSets.mutable.withAll(bucket);
+    }
+
     private static boolean recommendedInstancesHasEmptyType(RecommendedInstance ri, RecommendedInstance riWithExactName) {
         return riWithExactName.getType().isBlank() && !ri.getType().isBlank();
     }
@@ -124,7 +194,8 @@ private static boolean recommendedInstancesHasEmptyType(RecommendedInstance ri,
      */
     @Override
     public ImmutableList<RecommendedInstance> getRecommendedInstancesByTypeMapping(NounMapping mapping) {
-        return recommendedInstances.select(sinstance -> sinstance.getTypeMappings().contains(mapping)).toImmutableList();
+        ensureIndexes();
+        return lookup(recommendedInstancesByTypeMapping, mapping).toImmutableList();
     }
 
     /**
@@ -135,9 +206,10 @@ public ImmutableList<RecommendedInstance> getRecommendedInstancesByTypeMapping(N
      */
     @Override
     public ImmutableList<RecommendedInstance> getAnyRecommendedInstancesByMapping(NounMapping mapping) {
-        return recommendedInstances //
-                .select(sinstance -> sinstance.getTypeMappings().contains(mapping) || sinstance.getNameMappings().contains(mapping))
-                .toImmutableList();
+        ensureIndexes();
+        var result = lookup(recommendedInstancesByTypeMapping, mapping);
+        result.addAll(lookup(recommendedInstancesByNameMapping, mapping));
+        return result.toImmutableList();
     }
 
     /**
@@ -148,7 +220,8 @@ public ImmutableList<RecommendedInstance> getAnyRecommendedInstancesByMapping(No
      */
     @Override
     public ImmutableList<RecommendedInstance> getRecommendedInstancesByName(String name) {
-        return recommendedInstances.select(ri -> ri.getName().toLowerCase().contentEquals(name.toLowerCase())).toImmutableList();
+        ensureIndexes();
+        return lookup(recommendedInstancesByName, name.toLowerCase()).toImmutableList();
     }
 
     /**
@@ -159,9 +232,10 @@ public ImmutableList<RecommendedInstance> getRecommendedInstancesByName(String n
      */
     @Override
     public ImmutableList<RecommendedInstance> getRecommendedInstancesBySimilarName(String name) {
+        LinkedHashMap<String, Boolean> similarNames = new LinkedHashMap<>();
         MutableList<RecommendedInstance> ris = Lists.mutable.empty();
         for (RecommendedInstance ri : recommendedInstances) {
-            if (recommendationStateStrategy.areRINamesSimilar(ri.getName(), name)) {
+            if (similarNames.computeIfAbsent(ri.getName(), riName -> recommendationStateStrategy.areRINamesSimilar(riName, name))) {
                 ris.add(ri);
             }
         }
@@ -177,7 +251,8 @@ public ImmutableList<RecommendedInstance> getRecommendedInstancesBySimilarName(S
      */
     @Override
     public ImmutableList<RecommendedInstance> getRecommendedInstancesByType(String type) {
-        return recommendedInstances.select(ri -> ri.getType().toLowerCase().contentEquals(type.toLowerCase())).toImmutableList();
+        ensureIndexes();
+        return lookup(recommendedInstancesByType, type.toLowerCase()).toImmutableList();
     }
 
     /**
@@ -188,6 +263,74 @@ public ImmutableList<RecommendedInstance> getRecommendedInstancesByType(String t
      */
     @Override
     public ImmutableList<RecommendedInstance> getRecommendedInstancesBySimilarType(String type) {
-        return recommendedInstances.select(ri -> recommendationStateStrategy.areRITypesSimilar(ri.getType(), type)).toImmutableList();
+        LinkedHashMap<String, Boolean> similarTypes = new LinkedHashMap<>();
+        return recommendedInstances.select(ri -> similarTypes.computeIfAbsent(ri.getType(), riType -> recommendationStateStrategy.areRITypesSimilar(riType, type)))
+                .toImmutableList();
+    }
+
+    @Serial
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        // The indexes are rebuilt lazily and the index updater is registered again on read
+        out.defaultWriteObject();
+    }
+
+    @Serial
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        indexUpdater = new IndexUpdater();
+        for (var recommendedInstance : recommendedInstances) {
+            if (recommendedInstance instanceof RecommendedInstanceImpl recommendedInstanceImpl) {
+                recommendedInstanceImpl.registerChangeListener(indexUpdater);
+            }
+        }
+    }
+
+    /**
+     * Keeps the indexes up to date when a recommended instance of this state changes.
+     */
+    private final class IndexUpdater implements RecommendedInstanceChangeListener {
+        @Override
+        public void onNameChanged(RecommendedInstance recommendedInstance, String oldName) {
+            if (recommendedInstancesByName != null) {
+                removeFromIndex(recommendedInstancesByName, oldName.toLowerCase(), recommendedInstance);
+                addToIndex(recommendedInstancesByName, recommendedInstance.getName().toLowerCase(), recommendedInstance);
+            }
+        }
+
+        @Override
+        public void onTypeChanged(RecommendedInstance recommendedInstance, String oldType) {
+            if (recommendedInstancesByType != null) {
+                removeFromIndex(recommendedInstancesByType, oldType.toLowerCase(), recommendedInstance);
+                addToIndex(recommendedInstancesByType, recommendedInstance.getType().toLowerCase(), recommendedInstance);
+            }
+        }
+
+        @Override
+        public void onNameMappingAdded(RecommendedInstance recommendedInstance, NounMapping nameMapping) {
+            if (recommendedInstancesByNameMapping != null) {
+                addToIndex(recommendedInstancesByNameMapping, nameMapping, recommendedInstance);
+            }
+        }
+
+        @Override
+        public void onTypeMappingAdded(RecommendedInstance recommendedInstance, NounMapping typeMapping) {
+            if (recommendedInstancesByTypeMapping != null) {
+                addToIndex(recommendedInstancesByTypeMapping, typeMapping, recommendedInstance);
+            }
+        }
+
+        @Override
+        public void onNameMappingRemoved(RecommendedInstance recommendedInstance, NounMapping nameMapping) {
+            if (recommendedInstancesByNameMapping != null) {
+                removeFromIndex(recommendedInstancesByNameMapping, nameMapping, recommendedInstance);
+            }
+        }
+
+        @Override
+        public void onTypeMappingRemoved(RecommendedInstance recommendedInstance, NounMapping typeMapping) {
+            if (recommendedInstancesByTypeMapping != null) {
+                removeFromIndex(recommendedInstancesByTypeMapping, typeMapping, recommendedInstance);
+            }
+        }
     }
 }
@@ -0,0 +1,24 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.core.recommendationgenerator;
+
+import java.io.Serializable;
+
+import edu.kit.kastel.mcse.ardoco.core.api.recommendationgenerator.RecommendedInstance;
+import edu.kit.kastel.mcse.ardoco.core.api.textextraction.NounMapping;
+
+/**
+ * Listens to the changes of a {@link RecommendedInstanceImpl} that affect by which name, type, or noun mapping it can be found.
+ */
+interface RecommendedInstanceChangeListener extends Serializable {
+    void onNameChanged(RecommendedInstance recommendedInstance, String oldName);
+
+    void onTypeChanged(RecommendedInstance recommendedInstance, String oldType);
+
+    void onNameMappingAdded(RecommendedInstance recommendedInstance, NounMapping nameMapping);
+
+    void onTypeMappingAdded(RecommendedInstance recommendedInstance, NounMapping typeMapping);
+
+    void onNameMappingRemoved(RecommendedInstance recommendedInstance, NounMapping nameMapping);
+
+    void onTypeMappingRemoved(RecommendedInstance recommendedInstance, NounMapping typeMapping);
+}
@@ -1,6 +1,10 @@
 /* Licensed under MIT 2021-2024. */
 package edu.kit.kastel.mcse.ardoco.core.recommendationgenerator;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serial;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
@@ -42,6 +46,10 @@ public final class RecommendedInstanceImpl extends RecommendedInstance implement
     private Confidence internalConfidence;
     private final MutableList<NounMapping> typeMappings;
     private final MutableList<NounMapping> nameMappings;
+    /**
+     * The listeners are not serialized, the owner of this recommended instance registers them again after deserialization.
+     */
+    private transient MutableList<RecommendedInstanceChangeListener> changeListeners = Lists.mutable.empty();
 
     private RecommendedInstanceImpl(String name, String type) {
         super(name, UUID.randomUUID().toString());
@@ -60,9 +68,13 @@ public void onDelete(NounMapping deletedNounMapping, NounMapping replacement) {
         if (this.nameMappings.remove(deletedNounMapping)) {
             this.nameMappings.add(replacement);
             replacement.registerChangeListener(this);
+            changeListeners.forEach(listener -> listener.onNameMappingRemoved(this, deletedNounMapping));
+            changeListeners.forEach(listener -> listener.onNameMappingAdded(this, replacement));
         } else if (this.typeMappings.remove(deletedNounMapping)) {
             this.typeMappings.add(replacement);
             replacement.registerChangeListener(this);
+            changeListeners.forEach(listener -> listener.onTypeMappingRemoved(this, deletedNounMapping));
+            changeListeners.forEach(listener -> listener.onTypeMappingAdded(this, replacement));
         } else {
             throw new IllegalArgumentException("Try to delete an unknown noun mapping: " + deletedNounMapping);
         }
@@ -174,6 +186,7 @@ public void addName(NounMapping nameMapping) {
             return;
         nameMappings.add(nameMapping);
         nameMapping.registerChangeListener(this);
+        changeListeners.forEach(listener -> listener.onNameMappingAdded(this, nameMapping));
     }
 
     /**
@@ -187,6 +200,7 @@ public void addType(NounMapping typeMapping) {
             return;
         typeMappings.add(typeMapping);
         typeMapping.registerChangeListener(this);
+        changeListeners.forEach(listener -> listener.onTypeMappingAdded(this, typeMapping));
     }
 
     /**
@@ -216,7 +230,9 @@ public String getName() {
      */
     @Override
     public void setType(String type) {
+        String oldType = this.type;
         this.type = type;
+        changeListeners.forEach(listener -> listener.onTypeChanged(this, oldType));
     }
 
     /**
@@ -226,7 +242,20 @@ public void setType(String type) {
      */
     @Override
     public void setName(String name) {
+        String oldName = this.name;
         this.name = name;
+        changeListeners.forEach(listener -> listener.onNameChanged(this, oldName));
+    }
+
+    /**
+     * Registers a listener that is notified when the name, the type, or the mappings of this recommended instance change.
+     *
+     * @param listener the listener
+     */
+    void registerChangeListener(RecommendedInstanceChangeListener listener) {
+        if (changeListeners.noneSatisfy(registered -> registered == listener)) {
+            changeListeners.add(listener);
+        }
     }
 
     @Override
@@ -289,4 +318,16 @@ public ImmutableList<Claimant> getClaimants() {
         return Lists.immutable.withAll(this.internalConfidence.getClaimants());
     }
 
+    @Serial
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        // The change listeners belong to the states and are not written
+        out.defaultWriteObject();
+    }
+
+    @Serial
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        changeListeners = Lists.mutable.empty();
+    }
+
 }
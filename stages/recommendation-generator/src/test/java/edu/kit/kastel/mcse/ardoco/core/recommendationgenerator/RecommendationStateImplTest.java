@@ -0,0 +1,209 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.core.recommendationgenerator;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.List;
+
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.factory.SortedSets;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import edu.kit.kastel.mcse.ardoco.core.api.recommendationgenerator.RecommendationStateStrategy;
+import edu.kit.kastel.mcse.ardoco.core.api.recommendationgenerator.RecommendedInstance;
+import edu.kit.kastel.mcse.ardoco.core.api.text.DependencyTag;
+import edu.kit.kastel.mcse.ardoco.core.api.text.POSTag;
+import edu.kit.kastel.mcse.ardoco.core.api.text.Phrase;
+import edu.kit.kastel.mcse.ardoco.core.api.text.Sentence;
+import edu.kit.kastel.mcse.ardoco.core.api.text.Word;
+import edu.kit.kastel.mcse.ardoco.core.api.textextraction.MappingKind;
+import edu.kit.kastel.mcse.ardoco.core.api.textextraction.NounMapping;
+import edu.kit.kastel.mcse.ardoco.core.pipeline.agent.Claimant;
+import edu.kit.kastel.mcse.ardoco.core.textextraction.NounMappingImpl;
+
+class RecommendationStateImplTest {
+    private static final Claimant CLAIMANT = new TestClaimant();
+
+    private RecommendationStateImpl recommendationState;
+    private NounMapping database;
+    private NounMapping store;
+    private NounMapping component;
+
+    @BeforeEach
+    void setUp() {
+        recommendationState = new RecommendationStateImpl(new EqualityStrategy());
+        database = createNounMapping("database", 0, MappingKind.NAME);
+        store = createNounMapping("store", 1, MappingKind.NAME);
+        component = createNounMapping("component", 2, MappingKind.TYPE);
+    }
+
+    @Test
+    void addAndMergeTest() {
+        var first = addRecommendedInstance("Database", "component", database, component);
+        // First lookup builds the indexes, later changes update them
+        Assertions.assertEquals(List.of(first), recommendationState.getRecommendedInstancesByName("database").castToList());
+
+        var merged = recommendationState.addRecommendedInstance("database", "Component", CLAIMANT, 1.0, Lists.immutable.with(store), Lists.immutable
+                .empty());
+        Assertions.assertNotSame(first, merged);
+        Assertions.assertEquals(List.of(first), recommendationState.getRecommendedInstances().castToList());
+        Assertions.assertEquals(List.of(first), recommendationState.getAnyRecommendedInstancesByMapping(store).castToList());
+        Assertions.assertEquals(List.of(first), recommendationState.getRecommendedInstancesByTypeMapping(component).castToList());
+        assertIndexesMatchScan(recommendationState);
+
+        var other = addRecommendedInstance("Store", "", store, null);
+        Assertions.assertEquals(List.of(first, other), recommendationState.getAnyRecommendedInstancesByMapping(store).castToList());
+        assertIndexesMatchScan(recommendationState);
+    }
+
+    @Test
+    void renameTest() {
+        var recommendedInstance = addRecommendedInstance("Database", "component", database, component);
+        recommendationState.getRecommendedInstancesByName("database");
+
+        recommendedInstance.setName("Storage");
+        recommendedInstance.setType("service");
+        Assertions.assertTrue(recommendationState.getRecommendedInstancesByName("database").isEmpty());
+        Assertions.assertEquals(List.of(recommendedInstance), recommendationState.getRecommendedInstancesByName("STORAGE").castToList());
+        Assertions.assertTrue(recommendationState.getRecommendedInstancesByType("component").isEmpty());
+        Assertions.assertEquals(List.of(recommendedInstance), recommendationState.getRecommendedInstancesByType("service").castToList());
+
+        // Replacing a noun mapping, e.g., when noun mappings are merged, moves the recommended instance to the replacement
+        database.onDelete(store);
+        Assertions.assertTrue(recommendationState.getAnyRecommendedInstancesByMapping(database).isEmpty());
+        Assertions.assertEquals(List.of(recommendedInstance), recommendationState.getAnyRecommendedInstancesByMapping(store).castToList());
+        assertIndexesMatchScan(recommendationState);
+    }
+
+    @Test
+    void serializationTest() throws IOException, ClassNotFoundException {
+        addRecommendedInstance("Database", "component", database, component);
+        recommendationState.getRecommendedInstancesByName("database");
+
+        var copy = copy(recommendationState);
+        var recommendedInstance = copy.getRecommendedInstances().getOnly();
+        Assertions.assertEquals(List.of(recommendedInstance), copy.getRecommendedInstancesByName("database").castToList());
+
+        recommendedInstance.setName("Storage");
+        Assertions.assertTrue(copy.getRecommendedInstancesByName("database").isEmpty());
+        Assertions.assertEquals(List.of(recommendedInstance), copy.getRecommendedInstancesByName("storage").castToList());
+        assertIndexesMatchScan(copy);
+        // The original state is not affected by the copy
+        Assertions.assertEquals("Database", recommendationState.getRecommendedInstances().getOnly().getName());
+        assertIndexesMatchScan(recommendationState);
+    }
+
+    private RecommendedInstance addRecommendedInstance(String name, String type, NounMapping nameMapping, NounMapping typeMapping) {
+        ImmutableList<NounMapping> typeMappings = typeMapping == null ? Lists.immutable.empty() : Lists.immutable.with(typeMapping);
+        return recommendationState.addRecommendedInstance(name, type, CLAIMANT, 1.0, Lists.immutable.with(nameMapping), typeMappings);
+    }
+
+    private static void assertIndexesMatchScan(RecommendationStateImpl state) {
+        var recommendedInstances = state.getRecommendedInstances();
+        for (var recommendedInstance : recommendedInstances) {
+            String name = recommendedInstance.getName();
+            String type = recommendedInstance.getType();
+            Assertions.assertEquals(recommendedInstances.select(ri -> ri.getName().equalsIgnoreCase(name)), state.getRecommendedInstancesByName(name));
+            Assertions.assertEquals(recommendedInstances.select(ri -> ri.getType().equalsIgnoreCase(type)), state.getRecommendedInstancesByType(type));
+            for (var nounMapping : recommendedInstance.getNameMappings().newWithAll(recommendedInstance.getTypeMappings())) {
+                Assertions.assertEquals(recommendedInstances.select(ri -> ri.getTypeMappings().contains(nounMapping) || ri.getNameMappings()
+                        .contains(nounMapping)), state.getAnyRecommendedInstancesByMapping(nounMapping));
+                Assertions.assertEquals(recommendedInstances.select(ri -> ri.getTypeMappings().contains(nounMapping)), state
+                        .getRecommendedInstancesByTypeMapping(nounMapping));
+            }
+        }
+    }
+
+    private static RecommendationStateImpl copy(RecommendationStateImpl state) throws IOException, ClassNotFoundException {
+        var bytes = new ByteArrayOutputStream();
+        try (var out = new ObjectOutputStream(bytes)) {
+            out.writeObject(state);
+        }
+        try (var in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            return (RecommendationStateImpl) in.readObject();
+        }
+    }
+
+    private static NounMapping createNounMapping(String text, int position, MappingKind kind) {
+        Word word = new TestWord(text, position);
+        return new NounMappingImpl(SortedSets.immutable.with(word), kind, CLAIMANT, 1.0, Lists.immutable.with(word), Lists.immutable.with(text));
+    }
+
+    private record TestClaimant() implements Claimant {
+    }
+
+    private record EqualityStrategy() implements RecommendationStateStrategy {
+        @Override
+        public boolean areRITypesSimilar(String typeA, String typeB) {
+            return typeA.equalsIgnoreCase(typeB);
+        }
+
+        @Override
+        public boolean areRINamesSimilar(String nameA, String nameB) {
+            return nameA.equalsIgnoreCase(nameB);
+        }
+    }
+
+    private record TestWord(String text, int position) implements Word {
+        @Override
+        public int getSentenceNo() {
+            return 0;
+        }
+
+        @Override
+        public Sentence getSentence() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Phrase getPhrase() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public String getText() {
+            return text;
+        }
+
+        @Override
+        public POSTag getPosTag() {
+            return POSTag.NOUN;
+        }
+
+        @Override
+        public Word getPreWord() {
+            return null;
+        }
+
+        @Override
+        public Word getNextWord() {
+            return null;
+        }
+
+        @Override
+        public int getPosition() {
+            return position;
+        }
+
+        @Override
+        public String getLemma() {
+            return text;
+        }
+
+        @Override
+        public ImmutableList<Word> getOutgoingDependencyWordsWithType(DependencyTag dependencyTag) {
+            return Lists.immutable.empty();
+        }
+
+        @Override
+        public ImmutableList<Word> getIncomingDependencyWordsWithType(DependencyTag dependencyTag) {
+            return Lists.immutable.empty();
+        }
+    }
+}
@@ -14,6 +14,7 @@
 
 import edu.kit.kastel.mcse.ardoco.core.api.text.Phrase;
 import edu.kit.kastel.mcse.ardoco.core.api.text.PhraseType;
+import edu.kit.kastel.mcse.ardoco.core.api.text.PhraseVector;
 import edu.kit.kastel.mcse.ardoco.core.api.text.Sentence;
 import edu.kit.kastel.mcse.ardoco.core.api.text.Word;
 
@@ -23,6 +24,8 @@
 public class ContextPhrase implements Phrase {
     private final MutableList<Word> words;
     private final Sentence sentence;
+    private transient ImmutableSortedMap<Word, Integer> phraseVector;
+    private transient PhraseVector sparsePhraseVector;
 
     /**
      * Creates a new phrase consisting of the provided words in the provided sentence.
@@ -76,11 +79,22 @@ public boolean isSubPhraseOf(Phrase other) {
 
     @Override
     public ImmutableSortedMap<Word, Integer> getPhraseVector() {
-        MutableSortedMap<Word, Integer> phraseVector = SortedMaps.mutable.empty();
+        if (phraseVector == null) {
+            MutableSortedMap<Word, Integer> vector = SortedMaps.mutable.empty();
 
-        getContainedWords().groupBy(Word::getText).forEachKeyImmutableList((text, listOfWords) -> phraseVector.put(listOfWords.getAny(), listOfWords.size()));
+            getContainedWords().groupBy(Word::getText).forEachKeyImmutableList((text, listOfWords) -> vector.put(listOfWords.getAny(), listOfWords.size()));
 
-        return phraseVector.toImmutable();
+            phraseVector = vector.toImmutable();
+        }
+        return phraseVector;
+    }
+
+    @Override
+    public PhraseVector getSparsePhraseVector() {
+        if (sparsePhraseVector == null || !sparsePhraseVector.isOfCurrentRun()) {
+            sparsePhraseVector = PhraseVector.of(getContainedWords());
+        }
+        return sparsePhraseVector;
     }
 
     @Override
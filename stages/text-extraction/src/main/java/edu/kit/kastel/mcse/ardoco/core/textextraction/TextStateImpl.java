@@ -6,9 +6,11 @@
 
 import org.eclipse.collections.api.block.predicate.Predicate;
 import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.factory.SortedMaps;
 import org.eclipse.collections.api.factory.SortedSets;
 import org.eclipse.collections.api.list.ImmutableList;
 import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.map.sorted.MutableSortedMap;
 import org.eclipse.collections.api.ordered.SortedIterable;
 import org.eclipse.collections.api.set.sorted.ImmutableSortedSet;
 import org.eclipse.collections.api.set.sorted.MutableSortedSet;
@@ -55,6 +57,15 @@ public class TextStateImpl extends AbstractState implements TextState {
     private MutableSortedSet<PhraseAbbreviation> phraseAbbreviations;
     private final TextStateStrategy strategy;
 
+    /*
+     * Secondary indexes over the noun and phrase mappings. The buckets keep the order of the respective lists. They are derived data, so they are not
+     * serialized and (re-)built by their getters on first access. As the phrases of a phrase mapping may shrink, the phrase mapping index may contain
+     * outdated entries that are filtered on lookup.
+     */
+    private transient MutableSortedMap<Word, MutableList<NounMapping>> wordToNounMappings;
+    private transient MutableSortedMap<Phrase, MutableList<NounMapping>> phraseToNounMappings;
+    private transient MutableSortedMap<Phrase, MutableList<PhraseMapping>> phraseToPhraseMappings;
+
     // Configuration Test
     private TextStateImpl() {
         super();
@@ -87,11 +98,13 @@ public ImmutableList<PhraseMapping> getPhraseMappings() {
     }
 
     public ImmutableList<PhraseMapping> getPhraseMappingsByNounMapping(NounMapping nounMapping) {
-
         MutableList<PhraseMapping> result = Lists.mutable.empty();
 
         for (Phrase phrase : nounMapping.getPhrases()) {
-            result.addAll(phraseMappings.select(pm -> pm.getPhrases().contains(phrase)));
+            var candidates = getPhraseToPhraseMappings().get(phrase);
+            if (candidates != null) {
+                result.addAll(candidates.select(pm -> pm.getPhrases().contains(phrase)));
+            }
         }
 
         return result.toImmutable();
@@ -106,8 +119,16 @@ public PhraseMapping getPhraseMappingByNounMapping(NounMapping nounMapping) {
 
     @Override
     public ImmutableList<NounMapping> getNounMappingsByPhraseMapping(PhraseMapping phraseMapping) {
-        return getNounMappings().select(nm -> Comparators.collectionsEqualsAnyOrder(phraseMapping.getPhrases().castToCollection(), nm.getPhrases()
-                .castToCollection()));
+        var phrases = phraseMapping.getPhrases();
+        if (phrases.isEmpty()) {
+            return getNounMappings().select(nm -> nm.getPhrases().isEmpty());
+        }
+
+        var candidates = getPhraseToNounMappings().get(phrases.getFirst());
+        if (candidates == null) {
+            return Lists.immutable.empty();
+        }
+        return candidates.select(nm -> Comparators.collectionsEqualsAnyOrder(phrases.castToCollection(), nm.getPhrases().castToCollection())).toImmutable();
     }
 
     /**
@@ -177,17 +198,28 @@ public ImmutableList<NounMapping> getMappingsThatCouldBeMultipleKinds(Word word,
 
     @Override
     public ImmutableList<NounMapping> getNounMappingsByWord(Word word) {
-        return getNounMappings().select(nm -> nm.getWords().contains(word));
+        return nounMappingsOfWord(word).toImmutable();
     }
 
     @Override
     public ImmutableList<NounMapping> getNounMappingsByWordAndKind(Word word, MappingKind kind) {
-        return getNounMappings().select(n -> n.getWords().contains(word)).select(nounMappingIsOfKind(kind)).toImmutable();
+        return nounMappingsOfWord(word).select(nounMappingIsOfKind(kind)).toImmutable();
     }
 
     @Override
     public boolean isWordContainedByMappingKind(Word word, MappingKind kind) {
-        return getNounMappings().select(n -> n.getWords().contains(word)).anySatisfy(nounMappingIsOfKind(kind));
+        return nounMappingsOfWord(word).anySatisfy(nounMappingIsOfKind(kind));
+    }
+
+    /**
+     * Returns the noun mappings that contain the given word. The mapping kind is not indexed, as it changes whenever a claimant adds a confidence.
+     *
+     * @param word the word
+     * @return the (live) bucket of the word index in the order of the noun mappings
+     */
+    private MutableList<NounMapping> nounMappingsOfWord(Word word) {
+        var result = getWordToNounMappings().get(word);
+        return result == null ? Lists.mutable.empty() : result;
     }
 
     @Override
@@ -237,7 +269,7 @@ public PhraseMapping mergePhraseMappings(PhraseMapping phraseMapping, PhraseMapp
 
         PhraseMapping mergedPhraseMapping = new PhraseMappingImpl(mergedPhrases.toImmutable());
 
-        this.phraseMappings.add(mergedPhraseMapping);
+        this.addPhraseMappingToState(mergedPhraseMapping);
 
         this.removePhraseMappingFromState(phraseMapping, mergedPhraseMapping);
         this.removePhraseMappingFromState(similarPhraseMapping, mergedPhraseMapping);
@@ -246,7 +278,7 @@ public PhraseMapping mergePhraseMappings(PhraseMapping phraseMapping, PhraseMapp
 
     @Override
     public NounMapping getNounMappingByWord(Word word) {
-        var result = getNounMappings().select(nMapping -> nMapping.getWords().contains(word)).toImmutable();
+        var result = nounMappingsOfWord(word);
 
         assert (result.size() <= 1) : "A word should only contained by one noun mapping";
         if (result.isEmpty()) {
@@ -282,7 +314,7 @@ void addNounMappingAddPhraseMapping(NounMapping nounMapping) {
         }))
             return;
         PhraseMapping phraseMappingImpl = new PhraseMappingImpl(nounMapping.getPhrases());
-        phraseMappings.add(phraseMappingImpl);
+        addPhraseMappingToState(phraseMappingImpl);
     }
 
     @Override
@@ -292,17 +324,37 @@ public void removeNounMapping(NounMapping nounMapping, NounMapping replacement)
         var otherNounMappings = getNounMappingsThatBelongToTheSamePhraseMapping(nounMapping);
         if (!otherNounMappings.isEmpty()) {
             var phrases = nounMapping.getPhrases().select(p -> !otherNounMappings.flatCollect(NounMapping::getPhrases).contains(p));
-            phrases.forEach(phraseMapping::removePhrase);
+            for (Phrase phrase : phrases) {
+                phraseMapping.removePhrase(phrase);
+                removeFromIndex(getPhraseToPhraseMappings(), phrase, phraseMapping);
+            }
         }
         removeNounMappingFromState(nounMapping, replacement);
     }
 
     private void addNounMappingToState(NounMapping nounMapping) {
-        if (this.nounMappings.contains(nounMapping)) {
+        if (containsNounMapping(nounMapping)) {
             throw new IllegalArgumentException("Nounmapping was already in state");
         }
+        // The indexes are built from the noun mappings on first access, so they have to exist before the noun mapping is added
+        getWordToNounMappings();
         this.nounMappings.add(nounMapping);
         this.nounMappings.sortThis(ORDER_NOUNMAPPING);
+        indexNounMapping(nounMapping);
+    }
+
+    private boolean containsNounMapping(NounMapping nounMapping) {
+        var words = nounMapping.getWords();
+        if (words.isEmpty()) {
+            return this.nounMappings.contains(nounMapping);
+        }
+        return nounMappingsOfWord(words.getFirst()).contains(nounMapping);
+    }
+
+    private void addPhraseMappingToState(PhraseMapping phraseMapping) {
+        getPhraseToPhraseMappings();
+        this.phraseMappings.add(phraseMapping);
+        indexPhraseMapping(phraseMapping);
     }
 
     /**
@@ -314,6 +366,11 @@ private void addNounMappingToState(NounMapping nounMapping) {
      */
     boolean removePhraseMappingFromState(PhraseMapping phraseMapping, PhraseMapping replacement) {
         var success = this.phraseMappings.remove(phraseMapping);
+        if (success) {
+            for (Phrase phrase : phraseMapping.getPhrases()) {
+                removeFromIndex(getPhraseToPhraseMappings(), phrase, phraseMapping);
+            }
+        }
         phraseMapping.onDelete(replacement);
         return success;
     }
@@ -327,10 +384,81 @@ boolean removePhraseMappingFromState(PhraseMapping phraseMapping, PhraseMapping
      */
     boolean removeNounMappingFromState(NounMapping nounMapping, NounMapping replacement) {
         var success = this.nounMappings.remove(nounMapping);
+        if (success) {
+            for (Word word : nounMapping.getWords()) {
+                removeFromIndex(getWordToNounMappings(), word, nounMapping);
+            }
+            for (Phrase phrase : nounMapping.getPhrases()) {
+                removeFromIndex(getPhraseToNounMappings(), phrase, nounMapping);
+            }
+        }
         nounMapping.onDelete(replacement);
         return success;
     }
 
+    private MutableSortedMap<Word, MutableList<NounMapping>> getWordToNounMappings() {
+        if (wordToNounMappings == null) {
+            buildIndexes();
+        }
+        return wordToNounMappings;
+    }
+
+    private MutableSortedMap<Phrase, MutableList<NounMapping>> getPhraseToNounMappings() {
+        if (phraseToNounMappings == null) {
+            buildIndexes();
+        }
+        return phraseToNounMappings;
+    }
+
+    private MutableSortedMap<Phrase, MutableList<PhraseMapping>> getPhraseToPhraseMappings() {
+        if (phraseToPhraseMappings == null) {
+            buildIndexes();
+        }
+        return phraseToPhraseMappings;
+    }
+
+    private void buildIndexes() {
+        wordToNounMappings = SortedMaps.mutable.empty();
+        phraseToNounMappings = SortedMaps.mutable.empty();
+        phraseToPhraseMappings = SortedMaps.mutable.empty();
+        for (NounMapping nounMapping : nounMappings) {
+            indexNounMapping(nounMapping);
+        }
+        for (PhraseMapping phraseMapping : phraseMappings) {
+            indexPhraseMapping(phraseMapping);
+        }
+    }
+
+    private void indexNounMapping(NounMapping nounMapping) {
+        for (Word word : nounMapping.getWords()) {
+            var bucket = getWordToNounMappings().getIfAbsentPut(word, Lists.mutable::empty);
+            bucket.add(nounMapping);
+            bucket.sortThis(ORDER_NOUNMAPPING);
+        }
+        for (Phrase phrase : nounMapping.getPhrases()) {
+            var bucket = getPhraseToNounMappings().getIfAbsentPut(phrase, Lists.mutable::empty);
+            bucket.add(nounMapping);
+            bucket.sortThis(ORDER_NOUNMAPPING);
+        }
+    }
+
+    private void indexPhraseMapping(PhraseMapping phraseMapping) {
+        for (Phrase phrase : phraseMapping.getPhrases()) {
+            getPhraseToPhraseMappings().getIfAbsentPut(phrase, Lists.mutable::empty).add(phraseMapping);
+        }
+    }
+
+    private static <K, V> void removeFromIndex(MutableSortedMap<K, MutableList<V>> index, K key, V value) {
+        var bucket = index.get(key);
+        if (bucket == null) {
+            return;
+        }
+        bucket.remove(value);
+        if (bucket.isEmpty()) {
+            index.remove(key);
+        }
+    }
+
     @Override
     public String toString() {
         return "TextExtractionState [NounMappings: \n" + getNounMappings() + "\n PhraseMappings: \n" + getPhraseMappings() + "]";
@@ -0,0 +1,232 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.core.textextraction;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.factory.SortedMaps;
+import org.eclipse.collections.api.factory.SortedSets;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.api.map.sorted.ImmutableSortedMap;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import edu.kit.kastel.mcse.ardoco.core.api.text.DependencyTag;
+import edu.kit.kastel.mcse.ardoco.core.api.text.POSTag;
+import edu.kit.kastel.mcse.ardoco.core.api.text.Phrase;
+import edu.kit.kastel.mcse.ardoco.core.api.text.PhraseType;
+import edu.kit.kastel.mcse.ardoco.core.api.text.Sentence;
+import edu.kit.kastel.mcse.ardoco.core.api.text.Word;
+import edu.kit.kastel.mcse.ardoco.core.api.textextraction.MappingKind;
+import edu.kit.kastel.mcse.ardoco.core.api.textextraction.NounMapping;
+import edu.kit.kastel.mcse.ardoco.core.data.DataRepository;
+import edu.kit.kastel.mcse.ardoco.core.pipeline.agent.Claimant;
+
+class TextStateImplTest implements Claimant {
+
+    private TextStateImpl textState;
+    private TestPhrase databasePhrase;
+    private TestPhrase serverPhrase;
+
+    @BeforeEach
+    void setUp() {
+        textState = new TextStateImpl(new OriginalTextStateStrategy(new DataRepository().getGlobalConfiguration()));
+        databasePhrase = new TestPhrase(0, "the database", 0, "the", "database");
+        serverPhrase = new TestPhrase(0, "a server", 2, "a", "server");
+    }
+
+    @Test
+    void nounMappingsByWordTest() {
+        var database = addNounMapping(databasePhrase.word(1), MappingKind.TYPE);
+        // First lookup builds the indexes, later additions update them
+        Assertions.assertEquals(database, textState.getNounMappingByWord(databasePhrase.word(1)));
+        var server = addNounMapping(serverPhrase.word(1), MappingKind.NAME);
+
+        Assertions.assertEquals(server, textState.getNounMappingByWord(serverPhrase.word(1)));
+        Assertions.assertNull(textState.getNounMappingByWord(databasePhrase.word(0)));
+        Assertions.assertEquals(List.of(database), textState.getNounMappingsByWordAndKind(databasePhrase.word(1), MappingKind.TYPE).castToList());
+        Assertions.assertTrue(textState.getNounMappingsByWordAndKind(databasePhrase.word(1), MappingKind.NAME).isEmpty());
+        Assertions.assertTrue(textState.isWordContainedByMappingKind(serverPhrase.word(1), MappingKind.NAME));
+        assertIndexesMatchScan();
+
+        textState.removeNounMappingFromState(database, null);
+        Assertions.assertNull(textState.getNounMappingByWord(databasePhrase.word(1)));
+        Assertions.assertEquals(List.of(server), textState.getNounMappings().castToList());
+        assertIndexesMatchScan();
+    }
+
+    @Test
+    void phraseMappingsTest() {
+        var database = addNounMapping(databasePhrase.word(1), MappingKind.TYPE);
+        var server = addNounMapping(serverPhrase.word(1), MappingKind.NAME);
+
+        var databaseMapping = textState.getPhraseMappingByNounMapping(database);
+        var serverMapping = textState.getPhraseMappingByNounMapping(server);
+        Assertions.assertEquals(List.of(databasePhrase), databaseMapping.getPhrases().toList());
+        Assertions.assertEquals(List.of(database), textState.getNounMappingsByPhraseMapping(databaseMapping).castToList());
+
+        var merged = textState.mergePhraseMappings(databaseMapping, serverMapping);
+        Assertions.assertEquals(List.of(merged), textState.getPhraseMappings().castToList());
+        Assertions.assertEquals(merged, textState.getPhraseMappingByNounMapping(database));
+        Assertions.assertEquals(merged, textState.getPhraseMappingByNounMapping(server));
+        assertIndexesMatchScan();
+    }
+
+    private NounMapping addNounMapping(Word word, MappingKind kind) {
+        var nounMapping = new NounMappingImpl(SortedSets.immutable.with(word), kind, this, 1.0, Lists.immutable.with(word), Lists.immutable.with(word
+                .getText()));
+        textState.addNounMappingAddPhraseMapping(nounMapping);
+        return nounMapping;
+    }
+
+    private void assertIndexesMatchScan() {
+        for (var phrase : List.of(databasePhrase, serverPhrase)) {
+            for (var word : phrase.getContainedWords()) {
+                var expected = textState.getNounMappings().select(nm -> nm.getWords().contains(word));
+                Assertions.assertEquals(expected, textState.getNounMappingsByWord(word));
+            }
+        }
+        for (var nounMapping : textState.getNounMappings()) {
+            var expected = textState.getPhraseMappings().select(pm -> nounMapping.getPhrases().anySatisfy(pm.getPhrases()::contains));
+            Assertions.assertEquals(expected, textState.getPhraseMappingsByNounMapping(nounMapping));
+        }
+    }
+
+    private static final class TestPhrase implements Phrase {
+        private final int sentenceNo;
+        private final String text;
+        private final ImmutableList<Word> words;
+
+        private TestPhrase(int sentenceNo, String text, int firstPosition, String... words) {
+            this.sentenceNo = sentenceNo;
+            this.text = text;
+            List<Word> containedWords = new ArrayList<>();
+            for (int i = 0; i < words.length; i++) {
+                containedWords.add(new TestWord(this, words[i], firstPosition + i));
+            }
+            this.words = Lists.immutable.withAll(containedWords);
+        }
+
+        private Word word(int index) {
+            return words.get(index);
+        }
+
+        @Override
+        public int getSentenceNo() {
+            return sentenceNo;
+        }
+
+        @Override
+        public String getText() {
+            return text;
+        }
+
+        @Override
+        public PhraseType getPhraseType() {
+            return PhraseType.NP;
+        }
+
+        @Override
+        public ImmutableList<Word> getContainedWords() {
+            return words;
+        }
+
+        @Override
+        public ImmutableList<Phrase> getSubPhrases() {
+            return Lists.immutable.empty();
+        }
+
+        @Override
+        public boolean isSuperPhraseOf(Phrase other) {
+            return false;
+        }
+
+        @Override
+        public boolean isSubPhraseOf(Phrase other) {
+            return false;
+        }
+
+        @Override
+        public ImmutableSortedMap<Word, Integer> getPhraseVector() {
+            return SortedMaps.immutable.empty();
+        }
+
+        @Override
+        public int compareTo(Phrase o) {
+            return Comparator.comparingInt(Phrase::getSentenceNo)
+                    .thenComparingInt(p -> p.getContainedWords().get(0).getPosition())
+                    .thenComparing(Phrase::getText)
+                    .compare(this, o);
+        }
+    }
+
+    private record TestWord(Phrase phrase, String text, int position) implements Word {
+        @Override
+        public int getSentenceNo() {
+            return phrase.getSentenceNo();
+        }
+
+        @Override
+        public Sentence getSentence() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Phrase getPhrase() {
+            return phrase;
+        }
+
+        @Override
+        public String getText() {
+            return text;
+        }
+
+        @Override
+        public POSTag getPosTag() {
+            return POSTag.NOUN;
+        }
+
+        @Override
+        public Word getPreWord() {
+            return null;
+        }
+
+        @Override
+        public Word getNextWord() {
+            return null;
+        }
+
+        @Override
+        public int getPosition() {
+            return position;
+        }
+
+        @Override
+        public String getLemma() {
+            return text;
+        }
+
+        @Override
+        public ImmutableList<Word> getOutgoingDependencyWordsWithType(DependencyTag dependencyTag) {
+            return Lists.immutable.empty();
+        }
+
+        @Override
+        public ImmutableList<Word> getIncomingDependencyWordsWithType(DependencyTag dependencyTag) {
+            return Lists.immutable.empty();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return this == obj;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(this);
+        }
+    }
+}
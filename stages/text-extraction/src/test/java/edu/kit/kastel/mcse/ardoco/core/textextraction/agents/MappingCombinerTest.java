@@ -441,6 +441,7 @@ private void mockPhrase(PhraseImpl phrase, String text, int sentenceNumber, Immu
         Mockito.when(phrase.getSentenceNo()).thenReturn(sentenceNumber);
         Mockito.when(phrase.getContainedWords()).thenReturn(containedWords);
         Mockito.when(phrase.getPhraseVector()).thenCallRealMethod();
+        Mockito.when(phrase.getSparsePhraseVector()).thenCallRealMethod();
         Mockito.when(phrase.toString()).thenCallRealMethod();
         Mockito.when(phrase.compareTo(Mockito.any())).thenCallRealMethod();
     }
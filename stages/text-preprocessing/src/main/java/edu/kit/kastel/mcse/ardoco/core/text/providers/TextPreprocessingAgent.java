@@ -1,9 +1,11 @@
-/* Licensed under MIT 2023. */
+/* Licensed under MIT 2023-2024. */
 package edu.kit.kastel.mcse.ardoco.core.text.providers;
 
 import java.util.List;
 import java.util.SortedMap;
 
+import edu.kit.kastel.mcse.ardoco.core.api.InputTextData;
+import edu.kit.kastel.mcse.ardoco.core.api.PreprocessingData;
 import edu.kit.kastel.mcse.ardoco.core.api.text.NlpInformant;
 import edu.kit.kastel.mcse.ardoco.core.data.DataRepository;
 import edu.kit.kastel.mcse.ardoco.core.pipeline.agent.PipelineAgent;
@@ -18,6 +20,7 @@ public class TextPreprocessingAgent extends PipelineAgent {
      */
     public TextPreprocessingAgent(DataRepository data) {
         super(List.of(new CoreNLPProvider(data)), TextPreprocessingAgent.class.getSimpleName(), data);
+        declareDataDependencies(List.of(InputTextData.ID, PreprocessingData.ID), List.of(PreprocessingData.ID));
     }
 
     /**
@@ -7,11 +7,24 @@
 import edu.kit.kastel.mcse.ardoco.core.api.text.NlpInformant;
 import edu.kit.kastel.mcse.ardoco.core.api.text.Text;
 import edu.kit.kastel.mcse.ardoco.core.common.util.DataRepositoryHelper;
+import edu.kit.kastel.mcse.ardoco.core.configuration.Configurable;
 import edu.kit.kastel.mcse.ardoco.core.data.DataRepository;
+import edu.kit.kastel.mcse.ardoco.core.text.providers.informants.corenlp.config.ConfigManager;
 import edu.kit.kastel.mcse.ardoco.core.text.providers.informants.corenlp.textprocessor.TextProcessor;
+import edu.stanford.nlp.ling.CoreLabel;
+import edu.stanford.nlp.semgraph.SemanticGraph;
+import edu.stanford.nlp.trees.Tree;
 
 public class CoreNLPProvider extends NlpInformant {
 
+    /**
+     * Whether texts annotated locally are cached in the directory given by {@link ConfigManager#getAnnotatedTextCacheDirectory()}, if any. A cached text is
+     * read from the JSON format of the text provider JSON module instead of being a CoreNLP text, see
+     * {@link edu.kit.kastel.mcse.ardoco.core.text.providers.informants.corenlp.textprocessor.AnnotatedTextCache}.
+     */
+    @Configurable
+    private boolean useAnnotatedTextCache = false;
+
     private Text annotatedText;
 
     // Needed for Configuration Generation
@@ -29,6 +42,10 @@ public CoreNLPProvider(DataRepository data) {
     public void process() {
         if (!DataRepositoryHelper.hasAnnotatedText(getDataRepository())) {
             var preprocessingData = new PreprocessingData(getAnnotatedText());
+            // The annotations of CoreNLP are the bulk of a text and are not modified after annotation, so forks of the data repository share them
+            getDataRepository().shareOnFork(CoreLabel.class);
+            getDataRepository().shareOnFork(SemanticGraph.class);
+            getDataRepository().shareOnFork(Tree.class);
             DataRepositoryHelper.putPreprocessingData(getDataRepository(), preprocessingData);
         }
     }
@@ -53,7 +70,8 @@ public synchronized Text getAnnotatedText() {
     }
 
     private Text processText(String inputText) {
-        return new TextProcessor().processText(inputText);
+        var cacheDirectory = useAnnotatedTextCache ? ConfigManager.INSTANCE.getAnnotatedTextCacheDirectory() : null;
+        return new TextProcessor(cacheDirectory).processText(inputText);
     }
 
     @Override
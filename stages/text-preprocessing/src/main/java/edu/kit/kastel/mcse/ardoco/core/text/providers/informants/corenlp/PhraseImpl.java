@@ -15,6 +15,7 @@
 
 import edu.kit.kastel.mcse.ardoco.core.api.text.Phrase;
 import edu.kit.kastel.mcse.ardoco.core.api.text.PhraseType;
+import edu.kit.kastel.mcse.ardoco.core.api.text.PhraseVector;
 import edu.kit.kastel.mcse.ardoco.core.api.text.Word;
 import edu.kit.kastel.mcse.ardoco.core.architecture.Deterministic;
 import edu.stanford.nlp.trees.Tree;
@@ -28,6 +29,8 @@ public class PhraseImpl implements Phrase {
     private final SentenceImpl parent;
 
     private String text = null;
+    private transient ImmutableSortedMap<Word, Integer> phraseVector;
+    private transient PhraseVector sparsePhraseVector;
 
     public PhraseImpl(Tree tree, ImmutableList<Word> words, SentenceImpl parent) {
         this.tree = tree;
@@ -96,12 +99,23 @@ public boolean isSubPhraseOf(Phrase other) {
 
     @Override
     public ImmutableSortedMap<Word, Integer> getPhraseVector() {
-        MutableSortedMap<Word, Integer> phraseVector = SortedMaps.mutable.empty();
+        if (phraseVector == null) {
+            MutableSortedMap<Word, Integer> vector = SortedMaps.mutable.empty();
 
-        MutableMap<String, RichIterable<Word>> grouped = getContainedWords().groupBy(Word::getText).toMap();
-        grouped.forEach((key, value) -> phraseVector.put(value.getAny(), value.size()));
+            MutableMap<String, RichIterable<Word>> grouped = getContainedWords().groupBy(Word::getText).toMap();
+            grouped.forEach((key, value) -> vector.put(value.getAny(), value.size()));
 
-        return phraseVector.toImmutable();
+            phraseVector = vector.toImmutable();
+        }
+        return phraseVector;
+    }
+
+    @Override
+    public PhraseVector getSparsePhraseVector() {
+        if (sparsePhraseVector == null || !sparsePhraseVector.isOfCurrentRun()) {
+            sparsePhraseVector = PhraseVector.of(getContainedWords());
+        }
+        return sparsePhraseVector;
     }
 
     @Override
@@ -14,9 +14,11 @@
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import edu.kit.kastel.mcse.ardoco.core.api.text.DependencyTag;
 import edu.kit.kastel.mcse.ardoco.core.api.text.Phrase;
 import edu.kit.kastel.mcse.ardoco.core.api.text.Sentence;
 import edu.kit.kastel.mcse.ardoco.core.api.text.Word;
+import edu.kit.kastel.mcse.ardoco.core.textproviderjson.textobject.DependencyAdjacency;
 import edu.stanford.nlp.ling.CoreLabel;
 import edu.stanford.nlp.pipeline.CoreSentence;
 import edu.stanford.nlp.semgraph.SemanticGraph;
@@ -35,6 +37,13 @@ class SentenceImpl implements Sentence {
 
     private final String text;
 
+    /*
+     * The incoming and outgoing dependencies of the tokens of this sentence, indexed by the (one-based) index of the token in this sentence. Derived from
+     * the dependency parse on first access.
+     */
+    private transient DependencyAdjacency[] incomingDependencies;
+    private transient DependencyAdjacency[] outgoingDependencies;
+
     public SentenceImpl(CoreSentence coreSentence, int sentenceNumber, TextImpl parent) {
         this.coreSentence = coreSentence;
         this.sentenceNumber = sentenceNumber;
@@ -129,6 +138,78 @@ public SemanticGraph dependencyParse() {
         return semanticGraph;
     }
 
+    /**
+     * Returns the outgoing dependencies of the token with the specified index. The positions of the adjacency are the indices of the dependent tokens in
+     * this sentence.
+     *
+     * @param tokenIndex the (one-based) index of the token in this sentence
+     * @return the outgoing dependencies of the token
+     */
+    DependencyAdjacency getOutgoingDependencies(int tokenIndex) {
+        indexDependencies();
+        return tokenIndex >= 0 && tokenIndex < outgoingDependencies.length ? outgoingDependencies[tokenIndex] : DependencyAdjacency.empty();
+    }
+
+    /**
+     * Returns the incoming dependencies of the token with the specified index. The positions of the adjacency are the indices of the governing tokens in
+     * this sentence.
+     *
+     * @param tokenIndex the (one-based) index of the token in this sentence
+     * @return the incoming dependencies of the token
+     */
+    DependencyAdjacency getIncomingDependencies(int tokenIndex) {
+        indexDependencies();
+        return tokenIndex >= 0 && tokenIndex < incomingDependencies.length ? incomingDependencies[tokenIndex] : DependencyAdjacency.empty();
+    }
+
+    private synchronized void indexDependencies() {
+        if (outgoingDependencies != null) {
+            return;
+        }
+        var typedDependencies = dependencyParse().typedDependencies();
+        int size = 0;
+        for (var typedDependency : typedDependencies) {
+            size = Math.max(size, Math.max(typedDependency.gov().index(), typedDependency.dep().index()) + 1);
+        }
+        var outgoingBuilders = new DependencyAdjacency.Builder[size];
+        var incomingBuilders = new DependencyAdjacency.Builder[size];
+        for (var typedDependency : typedDependencies) {
+            DependencyTag dependencyTag = toDependencyTag(typedDependency.reln().getShortName());
+            if (dependencyTag == null) {
+                continue;
+            }
+            int source = typedDependency.gov().index();
+            int target = typedDependency.dep().index();
+            if (outgoingBuilders[source] == null) {
+                outgoingBuilders[source] = new DependencyAdjacency.Builder();
+            }
+            outgoingBuilders[source].add(dependencyTag, target);
+            if (incomingBuilders[target] == null) {
+                incomingBuilders[target] = new DependencyAdjacency.Builder();
+            }
+            incomingBuilders[target].add(dependencyTag, source);
+        }
+        this.incomingDependencies = build(incomingBuilders);
+        this.outgoingDependencies = build(outgoingBuilders);
+    }
+
+    private static DependencyAdjacency[] build(DependencyAdjacency.Builder[] builders) {
+        var adjacencies = new DependencyAdjacency[builders.length];
+        for (int i = 0; i < builders.length; i++) {
+            adjacencies[i] = builders[i] == null ? DependencyAdjacency.empty() : builders[i].build();
+        }
+        return adjacencies;
+    }
+
+    private static DependencyTag toDependencyTag(String relationShortName) {
+        for (var dependencyTag : DependencyTag.values()) {
+            if (dependencyTag.name().equalsIgnoreCase(relationShortName)) {
+                return dependencyTag;
+            }
+        }
+        return null;
+    }
+
     @Serial
     private void writeObject(ObjectOutputStream out) throws IOException {
         getPhrases(); //Initialize before write
@@ -1,19 +1,20 @@
-/* Licensed under MIT 2023. */
+/* Licensed under MIT 2023-2024. */
 package edu.kit.kastel.mcse.ardoco.core.text.providers.informants.corenlp.config;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
 import java.util.Properties;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * This Singleton manages access to the config file.
+ * This Singleton manages access to the config file. The configuration is read-only and shared by all runs in the JVM.
  */
 public final class ConfigManager {
 
-    public static ConfigManager INSTANCE = new ConfigManager();
+    public static final ConfigManager INSTANCE = new ConfigManager();
 
     private final Logger logger = LoggerFactory.getLogger(ConfigManager.class);
 
@@ -23,6 +24,7 @@ public final class ConfigManager {
     private static final String PROPERTY_NLP_PROVIDER_SOURCE = "nlpProviderSource";
     private static final String PROPERTY_CORENLP_SERVICE = "corenlpService";
     private static final String PROPERTY_HEALTH_SERVICE = "healthService";
+    private static final String PROPERTY_ANNOTATED_TEXT_CACHE_DIRECTORY = "annotatedTextCacheDirectory";
 
     private ConfigManager() {
         properties = new Properties();
@@ -41,6 +43,9 @@ private ConfigManager() {
         if (System.getenv("NLP_PROVIDER_SOURCE") != null) {
             properties.setProperty(PROPERTY_NLP_PROVIDER_SOURCE, System.getenv("NLP_PROVIDER_SOURCE"));
         }
+        if (System.getenv("ANNOTATED_TEXT_CACHE_DIRECTORY") != null) {
+            properties.setProperty(PROPERTY_ANNOTATED_TEXT_CACHE_DIRECTORY, System.getenv("ANNOTATED_TEXT_CACHE_DIRECTORY"));
+        }
     }
 
     public String getMicroserviceUrl() {
@@ -59,4 +64,17 @@ public String getHealthService() {
         return properties.getProperty(PROPERTY_HEALTH_SERVICE);
     }
 
+    /**
+     * Returns the directory in which annotated texts are cached across runs.
+     *
+     * @return the cache directory, or null if annotated texts should not be cached
+     */
+    public Path getAnnotatedTextCacheDirectory() {
+        String directory = properties.getProperty(PROPERTY_ANNOTATED_TEXT_CACHE_DIRECTORY);
+        if (directory == null || directory.isBlank()) {
+            return null;
+        }
+        return Path.of(directory);
+    }
+
 }
@@ -0,0 +1,137 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.core.text.providers.informants.corenlp.textprocessor;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import edu.kit.kastel.mcse.ardoco.core.api.text.Text;
+import edu.kit.kastel.mcse.ardoco.core.common.util.CacheException;
+import edu.kit.kastel.mcse.ardoco.core.common.util.FileBasedCache;
+import edu.kit.kastel.mcse.ardoco.core.textproviderjson.converter.DtoToObjectConverter;
+import edu.kit.kastel.mcse.ardoco.core.textproviderjson.converter.JsonConverter;
+import edu.kit.kastel.mcse.ardoco.core.textproviderjson.converter.ObjectToDtoConverter;
+import edu.kit.kastel.mcse.ardoco.core.textproviderjson.error.InvalidJsonException;
+import edu.kit.kastel.mcse.ardoco.core.textproviderjson.error.NotConvertableException;
+
+/**
+ * A persistent {@link FileBasedCache} for a text annotated by CoreNLP. The cache file is named after a hash of the input text and the annotator
+ * configuration, so a text is only annotated again if it or the configuration changed. The annotated text is stored in the JSON format of the text provider
+ * JSON module. An empty cache file means that the text has not been annotated yet.
+ * <p>
+ * A cached text is always the text read from the JSON format, also directly after it was cached (see {@link #cache(Text)}), so a text has the same type
+ * and annotations whether it was cached in an earlier run or not. The JSON of a cached text is kept until it is written, so a text is only converted to the
+ * JSON format once. The cache file is replaced atomically, so concurrent runs read either no text or the whole text.
+ */
+public class AnnotatedTextCache extends FileBasedCache<Text> {
+    private static final Logger logger = LoggerFactory.getLogger(AnnotatedTextCache.class);
+    private static final String SUB_FOLDER = "annotated-texts" + File.separator;
+
+    /**
+     * The text that was cached last and its JSON, to write it without converting it again
+     */
+    private Text cachedText;
+    private String cachedJson;
+
+    /**
+     * Creates a new cache for the annotated version of the given text.
+     *
+     * @param directory     the persistent directory of the cache
+     * @param inputText     the text that is annotated
+     * @param configuration a description of the annotator configuration, see {@link TextProcessorLocal#getConfigurationDescription()}
+     */
+    public AnnotatedTextCache(Path directory, String inputText, String configuration) {
+        super(hash(inputText, configuration), ".json", SUB_FOLDER, directory);
+    }
+
+    private static String hash(String inputText, String configuration) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(configuration.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(inputText.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Caches the annotated text as it is read from the JSON format. If the text cannot be converted to the JSON format, it is not cached.
+     *
+     * @param content the annotated text
+     */
+    @Override
+    public void cache(Text content) {
+        if (content == null) {
+            cachedText = null;
+            cachedJson = null;
+            super.cache(null);
+            return;
+        }
+        try {
+            String json = toJson(content);
+            Text text = new DtoToObjectConverter().convertText(JsonConverter.fromJsonString(json));
+            cachedText = text;
+            cachedJson = json;
+            super.cache(text);
+        } catch (IOException | InvalidJsonException | NotConvertableException e) {
+            logger.error("Could not convert the annotated text, it is not cached", e);
+        }
+    }
+
+    private static String toJson(Text content) throws IOException, InvalidJsonException, NotConvertableException {
+        return JsonConverter.toJsonString(new ObjectToDtoConverter().convertTextToDTO(content));
+    }
+
+    @Override
+    protected void write(Text content) {
+        if (content == null) {
+            return;
+        }
+        try {
+            //Convert before writing to the file, so we don't mess up the entire file due to a conversion error
+            String json = content == cachedText ? cachedJson : toJson(content);
+            Path file = getFile().toPath();
+            Path temporaryFile = Files.createTempFile(file.getParent(), getIdentifier(), ".tmp");
+            try {
+                Files.writeString(temporaryFile, json, StandardCharsets.UTF_8);
+                Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temporaryFile);
+            }
+            logger.info("Saved {} file", getIdentifier());
+        } catch (IOException | InvalidJsonException | NotConvertableException e) {
+            logger.error("Error writing {} file", getIdentifier(), e);
+        }
+    }
+
+    @Override
+    protected Text read() throws CacheException {
+        try {
+            String json = Files.readString(getFile().toPath(), StandardCharsets.UTF_8);
+            if (json.isEmpty()) {
+                return null;
+            }
+            logger.info("Reading {} file", getIdentifier());
+            return new DtoToObjectConverter().convertText(JsonConverter.fromJsonString(json));
+        } catch (IOException | InvalidJsonException | NotConvertableException e) {
+            logger.error("Error reading {} file", getIdentifier());
+            throw new CacheException(e);
+        }
+    }
+
+    @Override
+    protected Text getDefault() {
+        return null;
+    }
+}
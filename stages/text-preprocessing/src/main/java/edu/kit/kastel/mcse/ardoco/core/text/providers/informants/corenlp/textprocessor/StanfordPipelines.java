@@ -0,0 +1,76 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.core.text.providers.informants.corenlp.textprocessor;
+
+import java.io.Serial;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import edu.stanford.nlp.pipeline.StanfordCoreNLP;
+
+/**
+ * Caches CoreNLP pipelines by their annotator configuration. Creating a pipeline loads all models of its annotators, so a pipeline is only created once per
+ * configuration and shared afterward. At most the given number of pipelines is kept, the least recently used pipeline is evicted first.
+ */
+final class StanfordPipelines {
+    private final PipelineCache pipelines;
+
+    /**
+     * @param capacity the maximum number of pipelines that are kept
+     */
+    StanfordPipelines(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.pipelines = new PipelineCache(capacity);
+    }
+
+    /**
+     * Returns the pipeline for the given configuration and creates it, if necessary. Concurrent requests wait for the pipeline that is currently created, so
+     * the models of a configuration are not loaded twice.
+     *
+     * @param properties the configuration of the pipeline
+     * @return the pipeline
+     */
+    synchronized StanfordCoreNLP get(Properties properties) {
+        return pipelines.computeIfAbsent(describe(properties), description -> new StanfordCoreNLP(properties));
+    }
+
+    /**
+     * {@return the number of pipelines that are kept}
+     */
+    synchronized int size() {
+        return pipelines.size();
+    }
+
+    /**
+     * {@return a description of the given configuration} Configurations with the same description create identical pipelines.
+     *
+     * @param properties the configuration
+     */
+    static String describe(Properties properties) {
+        return new TreeSet<>(properties.stringPropertyNames())
+                .stream()
+                .map(name -> name + "=" + properties.getProperty(name))
+                .collect(Collectors.joining(";"));
+    }
+
+    private static final class PipelineCache extends LinkedHashMap<String, StanfordCoreNLP> {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final int capacity;
+
+        private PipelineCache(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, StanfordCoreNLP> eldest) {
+            return size() > capacity;
+        }
+    }
+}
@@ -2,6 +2,7 @@
 package edu.kit.kastel.mcse.ardoco.core.text.providers.informants.corenlp.textprocessor;
 
 import java.io.IOException;
+import java.nio.file.Path;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -19,6 +20,25 @@ public class TextProcessor {
     private static final int MAX_FAILED_SERVICE_REQUESTS = 2;
     Logger logger = LoggerFactory.getLogger(TextProcessor.class);
 
+    private final Path annotatedTextCacheDirectory;
+
+    /**
+     * Creates a text processor that does not cache annotated texts.
+     */
+    public TextProcessor() {
+        this(null);
+    }
+
+    /**
+     * Creates a text processor that caches texts it annotates locally in the given directory, see {@link AnnotatedTextCache}. Texts annotated by the
+     * microservice are not cached, as its annotator configuration is not known.
+     *
+     * @param annotatedTextCacheDirectory the directory of the cache or null to not cache annotated texts
+     */
+    public TextProcessor(Path annotatedTextCacheDirectory) {
+        this.annotatedTextCacheDirectory = annotatedTextCacheDirectory;
+    }
+
     /**
      * processes and annotates a given text
      *
@@ -54,7 +74,21 @@ public Text processText(String inputText) {
     }
 
     private Text processLocally(String inputText) {
-        return new TextProcessorLocal().processText(inputText);
+        if (annotatedTextCacheDirectory == null) {
+            return new TextProcessorLocal().processText(inputText);
+        }
+
+        try (var cache = new AnnotatedTextCache(annotatedTextCacheDirectory, inputText, TextProcessorLocal.getConfigurationDescription())) {
+            Text cachedText = cache.getOrRead();
+            if (cachedText != null) {
+                logger.info("Using cached annotated text {}", cache.getIdentifier());
+                return cachedText;
+            }
+            Text text = new TextProcessorLocal().processText(inputText);
+            cache.cache(text);
+            cachedText = cache.getOrRead();
+            return cachedText != null ? cachedText : text;
+        }
     }
 
     private Text processService(String inputText) throws IOException, NotConvertableException, InvalidJsonException {
@@ -1,20 +1,35 @@
-/* Licensed under MIT 2023. */
+/* Licensed under MIT 2023-2024. */
 package edu.kit.kastel.mcse.ardoco.core.text.providers.informants.corenlp.textprocessor;
 
+import java.util.List;
+import java.util.Objects;
 import java.util.Properties;
 
 import edu.kit.kastel.mcse.ardoco.core.api.text.Text;
 import edu.kit.kastel.mcse.ardoco.core.text.providers.informants.corenlp.TextImpl;
+import edu.kit.kastel.mcse.ardoco.core.textproviderjson.converter.JsonConverter;
+import edu.stanford.nlp.pipeline.Annotation;
 import edu.stanford.nlp.pipeline.CoreDocument;
 import edu.stanford.nlp.pipeline.StanfordCoreNLP;
 
 /**
- * This text processor processes texts locally using CoreNLP.
+ * This text processor processes texts locally using CoreNLP. Creating a CoreNLP pipeline loads all models of its annotators, so the pipelines are created
+ * lazily, once per annotator configuration, and shared by all instances, see {@link StanfordPipelines}. The pipelines are thread-safe.
  */
 public class TextProcessorLocal {
     private static final String ANNOTATORS = "tokenize,ssplit,pos,parse,depparse,lemma"; // further: ",ner,coref"
     private static final String DEPENDENCIES_ANNOTATION = "EnhancedPlusPlusDependenciesAnnotation";
 
+    /**
+     * The processor uses a single configuration, so few pipelines are kept
+     */
+    private static final int MAX_PIPELINES = 2;
+    private static final StanfordPipelines PIPELINES = new StanfordPipelines(MAX_PIPELINES);
+    /**
+     * The version of CoreNLP as stated in the manifest of its jar, the annotations may differ between versions
+     */
+    private static final String CORENLP_VERSION = Objects.requireNonNullElse(StanfordCoreNLP.class.getPackage().getImplementationVersion(), "unknown");
+
     /**
      * processes and annotates a given text locally using CoreNLP.
      *
@@ -22,13 +37,51 @@ public class TextProcessorLocal {
      * @return the annotated text
      */
     public Text processText(String inputText) {
-        Properties props = getStanfordProperties(new Properties());
-        StanfordCoreNLP pipeline = new StanfordCoreNLP(props);
         CoreDocument document = new CoreDocument(inputText);
-        pipeline.annotate(document);
+        PIPELINES.get(getStanfordProperties(new Properties())).annotate(document);
         return new TextImpl(document);
     }
 
+    /**
+     * processes and annotates the given texts locally using CoreNLP. The texts are annotated concurrently with one thread per available processor.
+     *
+     * @param inputTexts the input texts
+     * @return the annotated texts, in the order of the input texts
+     */
+    public List<Text> processTexts(List<String> inputTexts) {
+        return processTexts(inputTexts, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * processes and annotates the given texts locally using CoreNLP. The texts are annotated concurrently by the given number of threads.
+     *
+     * @param inputTexts      the input texts
+     * @param numberOfThreads the number of threads that annotate the texts
+     * @return the annotated texts, in the order of the input texts
+     */
+    public List<Text> processTexts(List<String> inputTexts, int numberOfThreads) {
+        if (numberOfThreads < 1) {
+            throw new IllegalArgumentException("numberOfThreads must be positive");
+        }
+        List<Annotation> annotations = inputTexts.stream().map(Annotation::new).toList();
+        // Blocks until all annotations are done. The annotations are updated in place, so the callback has nothing to do.
+        PIPELINES.get(getStanfordProperties(new Properties())).annotate(annotations, numberOfThreads, annotation -> {
+        });
+        return annotations.stream().<Text>map(annotation -> new TextImpl(new CoreDocument(annotation))).toList();
+    }
+
+    /**
+     * Returns a description of the annotator configuration that is used to process texts. Texts annotated with the same description are annotated
+     * identically. Besides the properties of the annotators, the description covers the version of CoreNLP and the version of the JSON format annotated texts
+     * are stored in (see {@link JsonConverter#FORMAT_VERSION}).
+     *
+     * @return the description of the annotator configuration
+     */
+    public static String getConfigurationDescription() {
+        return "corenlp=" + CORENLP_VERSION + ";format=" + JsonConverter.FORMAT_VERSION + ";" + StanfordPipelines.describe(getStanfordProperties(
+                new Properties()));
+    }
+
     private static Properties getStanfordProperties(Properties properties) {
         if (properties == null) {
             throw new IllegalArgumentException("Properties are null");
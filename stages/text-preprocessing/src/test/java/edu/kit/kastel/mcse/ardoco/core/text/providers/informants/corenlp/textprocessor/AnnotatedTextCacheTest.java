@@ -0,0 +1,91 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.core.text.providers.informants.corenlp.textprocessor;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import edu.kit.kastel.mcse.ardoco.core.api.text.DependencyTag;
+import edu.kit.kastel.mcse.ardoco.core.api.text.Phrase;
+import edu.kit.kastel.mcse.ardoco.core.api.text.Text;
+import edu.kit.kastel.mcse.ardoco.core.api.text.Word;
+import edu.kit.kastel.mcse.ardoco.core.textproviderjson.converter.JsonConverter;
+
+class AnnotatedTextCacheTest {
+    private static final String INPUT_TEXT = "The WebUI sends requests to the Auth service. The Auth service answers them.";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void hitAndMissAreEquivalentTest() throws IOException {
+        Text annotatedText = new TextProcessorLocal().processText(INPUT_TEXT);
+
+        Text missedText;
+        try (var cache = new AnnotatedTextCache(directory, INPUT_TEXT, TextProcessorLocal.getConfigurationDescription())) {
+            Assertions.assertNull(cache.getOrRead());
+            cache.cache(annotatedText);
+            missedText = cache.getOrRead();
+        }
+        Text cachedText;
+        try (var cache = new AnnotatedTextCache(directory, INPUT_TEXT, TextProcessorLocal.getConfigurationDescription())) {
+            cachedText = cache.getOrRead();
+        }
+
+        Assertions.assertNotNull(cachedText);
+        Assertions.assertEquals(missedText.getClass(), cachedText.getClass());
+        Assertions.assertEquals(describe(annotatedText), describe(missedText));
+        Assertions.assertEquals(describe(missedText), describe(cachedText));
+
+        // The cache file is replaced atomically, so no temporary file is left
+        try (var files = Files.walk(directory)) {
+            Assertions.assertEquals(1, files.filter(Files::isRegularFile).count());
+        }
+    }
+
+    @Test
+    void identifierTest() {
+        String configuration = TextProcessorLocal.getConfigurationDescription();
+        try (var cache = new AnnotatedTextCache(directory, INPUT_TEXT, configuration);
+                var sameCache = new AnnotatedTextCache(directory, INPUT_TEXT, configuration);
+                var otherText = new AnnotatedTextCache(directory, INPUT_TEXT + " ", configuration);
+                var otherConfiguration = new AnnotatedTextCache(directory, INPUT_TEXT, configuration + ";")) {
+            Assertions.assertEquals(cache.getIdentifier(), sameCache.getIdentifier());
+            Assertions.assertNotEquals(cache.getIdentifier(), otherText.getIdentifier());
+            Assertions.assertNotEquals(cache.getIdentifier(), otherConfiguration.getIdentifier());
+        }
+    }
+
+    @Test
+    void configurationCoversVersionsTest() {
+        String configuration = TextProcessorLocal.getConfigurationDescription();
+        Assertions.assertTrue(configuration.startsWith("corenlp="));
+        Assertions.assertFalse(configuration.startsWith("corenlp=unknown;"));
+        Assertions.assertTrue(configuration.contains(";format=" + JsonConverter.FORMAT_VERSION + ";"));
+    }
+
+    private static List<String> describe(Text text) {
+        List<String> descriptions = new ArrayList<>();
+        for (Word word : text.words()) {
+            StringBuilder description = new StringBuilder();
+            description.append(word.getSentenceNo()).append(' ').append(word.getPosition()).append(' ').append(word.getText());
+            description.append(' ').append(word.getPosTag()).append(' ').append(word.getLemma());
+            for (DependencyTag dependencyTag : DependencyTag.values()) {
+                for (Word dependency : word.getOutgoingDependencyWordsWithType(dependencyTag)) {
+                    description.append(' ').append(dependencyTag).append(':').append(dependency.getPosition());
+                }
+            }
+            descriptions.add(description.toString());
+        }
+        for (Phrase phrase : text.phrases()) {
+            descriptions.add(phrase.getSentenceNo() + " " + phrase.getPhraseType() + " " + phrase.getText());
+        }
+        return descriptions;
+    }
+}
@@ -0,0 +1,59 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.core.text.providers.informants.corenlp.textprocessor;
+
+import java.util.Properties;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import edu.stanford.nlp.pipeline.CoreDocument;
+
+class StanfordPipelinesTest {
+
+    @Test
+    void samePipelinePerConfigurationTest() {
+        var pipelines = new StanfordPipelines(2);
+        var pipeline = pipelines.get(properties("tokenize,ssplit"));
+
+        // The description does not depend on the order in which the properties were set
+        var reordered = new Properties();
+        reordered.setProperty("tokenize.language", "en");
+        reordered.setProperty("annotators", "tokenize,ssplit");
+        Assertions.assertSame(pipeline, pipelines.get(reordered));
+        Assertions.assertNotSame(pipeline, pipelines.get(properties("tokenize")));
+        Assertions.assertEquals(2, pipelines.size());
+
+        var document = new CoreDocument("The WebUI sends requests. The Auth service answers.");
+        pipeline.annotate(document);
+        Assertions.assertEquals(2, document.sentences().size());
+    }
+
+    @Test
+    void leastRecentlyUsedPipelineIsEvictedTest() {
+        var pipelines = new StanfordPipelines(2);
+        var tokenize = pipelines.get(properties("tokenize"));
+        var split = pipelines.get(properties("tokenize,ssplit"));
+        Assertions.assertSame(tokenize, pipelines.get(properties("tokenize")));
+
+        pipelines.get(properties("tokenize,cleanxml"));
+        Assertions.assertEquals(2, pipelines.size());
+        Assertions.assertSame(tokenize, pipelines.get(properties("tokenize")));
+        Assertions.assertNotSame(split, pipelines.get(properties("tokenize,ssplit")));
+    }
+
+    @Test
+    void describeTest() {
+        var defaults = properties("tokenize");
+        var properties = new Properties(defaults);
+        properties.setProperty("ssplit.isOneSentence", "true");
+        Assertions.assertEquals("annotators=tokenize;ssplit.isOneSentence=true;tokenize.language=en", StanfordPipelines.describe(properties));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new StanfordPipelines(0));
+    }
+
+    private static Properties properties(String annotators) {
+        var properties = new Properties();
+        properties.setProperty("annotators", annotators);
+        properties.setProperty("tokenize.language", "en");
+        return properties;
+    }
+}
@@ -0,0 +1,36 @@
+/* Licensed under MIT 2024. */
+package edu.kit.kastel.mcse.ardoco.core.text.providers.informants.corenlp.textprocessor;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import edu.kit.kastel.mcse.ardoco.core.api.text.Text;
+
+class TextProcessorLocalTest {
+
+    @Test
+    void processTextsMatchesProcessTextTest() {
+        var textProcessor = new TextProcessorLocal();
+        List<String> inputTexts = List.of("The WebUI component sends requests to the Auth service.", "The Persistence stores the products. It uses a database.");
+
+        List<Text> batch = textProcessor.processTexts(inputTexts, 2);
+
+        Assertions.assertEquals(inputTexts.size(), batch.size());
+        for (int i = 0; i < inputTexts.size(); i++) {
+            Text single = textProcessor.processText(inputTexts.get(i));
+            Assertions.assertEquals(single.getSentences().size(), batch.get(i).getSentences().size());
+            Assertions.assertEquals(single.words().collect(word -> word.getText() + "/" + word.getPosTag() + "/" + word.getLemma()), batch.get(i)
+                    .words()
+                    .collect(word -> word.getText() + "/" + word.getPosTag() + "/" + word.getLemma()));
+        }
+    }
+
+    @Test
+    void processTextsRejectsInvalidNumberOfThreadsTest() {
+        var textProcessor = new TextProcessorLocal();
+        List<String> inputTexts = List.of("The WebUI component sends requests to the Auth service.");
+        Assertions.assertThrows(IllegalArgumentException.class, () -> textProcessor.processTexts(inputTexts, 0));
+    }
+}